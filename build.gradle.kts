@@ -33,7 +33,7 @@ reporting {
     reports {
         @Suppress("UnstableApiUsage")
         val jacocoRootReport by registering(JacocoCoverageReport::class) {
-            testType.set(TestSuiteType.UNIT_TEST)
+            testSuiteName.set("test")
 
             dependencies {
                 project.subprojects
@@ -86,6 +86,13 @@ public interface ComponentDefinition {
      */
     String getName();
 
+    /**
+     * Limits the rate of HTTP requests the component sends.
+     *
+     * @return
+     */
+    Optional<RateLimit> getRateLimit();
+
     /**
      * TODO
      *
@@ -31,6 +31,7 @@ import com.bytechef.definition.BaseOutputDefinition.SampleOutput;
 import com.bytechef.definition.BaseOutputFunction;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.lang.reflect.Constructor;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -1178,6 +1179,7 @@ public final class ComponentDsl {
         private List<String> tags;
         private Map<String, Object> metadata;
         private String name;
+        private RateLimit rateLimit;
         private Resources resources;
         private int version = VERSION_1;
         private String title;
@@ -1285,6 +1287,16 @@ public final class ComponentDsl {
             return this;
         }
 
+        public ModifiableComponentDefinition rateLimit(int limit, Duration period) {
+            return rateLimit(limit, period, RateLimit.Scope.CONNECTION);
+        }
+
+        public ModifiableComponentDefinition rateLimit(int limit, Duration period, RateLimit.Scope scope) {
+            this.rateLimit = new RateLimitImpl(limit, Objects.requireNonNull(period), Objects.requireNonNull(scope));
+
+            return this;
+        }
+
         public ModifiableComponentDefinition resources(String documentationUrl) {
             this.resources = new ResourcesImpl(documentationUrl, null);
 
@@ -1392,6 +1404,11 @@ public final class ComponentDsl {
             return name;
         }
 
+        @Override
+        public Optional<RateLimit> getRateLimit() {
+            return Optional.ofNullable(rateLimit);
+        }
+
         @Override
         @SuppressFBWarnings("EI")
         public Optional<Resources> getResources() {
@@ -1443,14 +1460,15 @@ public final class ComponentDsl {
                 Objects.equals(dataStreamDefinition, that.dataStreamDefinition) &&
                 Objects.equals(description, that.description) && Objects.equals(icon, that.icon) &&
                 Objects.equals(tags, that.tags) && Objects.equals(metadata, that.metadata) &&
-                Objects.equals(name, that.name) && Objects.equals(resources, that.resources) &&
-                Objects.equals(title, that.title) && Objects.equals(triggerDefinitions, that.triggerDefinitions);
+                Objects.equals(name, that.name) && Objects.equals(rateLimit, that.rateLimit) &&
+                Objects.equals(resources, that.resources) && Objects.equals(title, that.title) &&
+                Objects.equals(triggerDefinitions, that.triggerDefinitions);
         }
 
         @Override
         public int hashCode() {
             return Objects.hash(actionDefinitions, categories, connectionDefinition, customAction, customActionHelp,
-                description, icon, tags, metadata, name, resources, version, title, triggerDefinitions);
+                description, icon, tags, metadata, name, rateLimit, resources, version, title, triggerDefinitions);
         }
 
         void setActions(List<ModifiableActionDefinition> actionDefinitions) {
@@ -1480,6 +1498,7 @@ public final class ComponentDsl {
                 ", customActionHelp=" + customActionHelp +
                 ", dataStream=" + dataStreamDefinition +
                 ", metadata=" + metadata +
+                ", rateLimit=" + rateLimit +
                 ", resources=" + resources +
                 ", tags=" + tags +
                 ", actionDefinitions=" + actionDefinitions +
@@ -3648,6 +3667,30 @@ public final class ComponentDsl {
         }
     }
 
+    private record RateLimitImpl(int limit, Duration period, RateLimit.Scope scope) implements RateLimit {
+
+        private RateLimitImpl {
+            if (limit < 1) {
+                throw new IllegalArgumentException("limit must be greater than 0");
+            }
+        }
+
+        @Override
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public Duration getPeriod() {
+            return period;
+        }
+
+        @Override
+        public RateLimit.Scope getScope() {
+            return scope;
+        }
+    }
+
     @SuppressFBWarnings("EI")
     private record ResourcesImpl(String documentationUrl, Map<String, String> additionalUrls) implements Resources {
 
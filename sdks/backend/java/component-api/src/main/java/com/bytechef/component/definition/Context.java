@@ -173,6 +173,7 @@ public interface Context {
         enum ResponseType {
             BINARY,
             JSON,
+            NDJSON,
             TEXT,
             XML,
         }
@@ -758,6 +759,29 @@ public interface Context {
 
             <T> T getBody(TypeReference<T> valueTypeRef);
 
+            /**
+             * Returns the elements of the body one by one, by default the elements of {@link #getBody()}. For the
+             * {@link ResponseType#NDJSON} response type the elements are read lazily from the response, which can be
+             * consumed only once and must be closed after use, since it holds the connection until then.
+             *
+             * @param elementType the type each element is converted to
+             * @return the stream of body elements
+             */
+            default <T> Stream<T> getBodyStream(Class<T> elementType) {
+                Object body = getBody();
+
+                if (body == null) {
+                    return Stream.empty();
+                }
+
+                if (body instanceof List<?> list) {
+                    return list.stream()
+                        .map(elementType::cast);
+                }
+
+                return Stream.of(getBody(elementType));
+            }
+
             String getFirstHeader(String name);
 
             List<String> getHeader(String name);
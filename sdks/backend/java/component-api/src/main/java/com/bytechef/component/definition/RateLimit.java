@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.definition;
+
+import java.time.Duration;
+
+/**
+ * Limits the rate of HTTP requests a component sends through its context, shared by all workers executing the
+ * component.
+ *
+ * @author agent
+ */
+public interface RateLimit {
+
+    /**
+     * @return the maximum number of requests allowed in a period
+     */
+    int getLimit();
+
+    /**
+     * @return the period in which the limit of requests is allowed
+     */
+    Duration getPeriod();
+
+    /**
+     * @return what the limit is counted by
+     */
+    Scope getScope();
+
+    /**
+     * What a rate limit is counted by.
+     */
+    enum Scope {
+
+        /**
+         * Requests are counted per connection, requests without a connection per component and host.
+         */
+        CONNECTION,
+
+        /**
+         * Requests are counted per component and host, regardless of the connection.
+         */
+        HOST
+    }
+}
@@ -99,7 +99,7 @@ public class ComponentDefinitionTest {
 
         jsonAssertEquals(
             """
-                {"categories":null,"customAction":null,"customActionHelp":null,"description":"description","icon":"icon","tags":null,"metadata":null,"name":"name","resources":null,"version":1,"title":"title","connection":null,"actions":null,"dataStream":null,"triggers":null,"unifiedApi":null}
+                {"categories":null,"customAction":null,"customActionHelp":null,"description":"description","icon":"icon","tags":null,"metadata":null,"name":"name","rateLimit":null,"resources":null,"version":1,"title":"title","connection":null,"actions":null,"dataStream":null,"triggers":null,"unifiedApi":null}
                   """,
             componentDefinition);
     }
@@ -27,6 +27,7 @@ dependencies {
     implementation(project(":server:libs:atlas:atlas-configuration:atlas-configuration-service"))
     implementation(project(":server:libs:atlas:atlas-coordinator:atlas-coordinator-config"))
     implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-jdbc"))
+    implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-redis"))
     implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-config"))
     implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-service"))
     implementation(project(":server:libs:atlas:atlas-file-storage:atlas-file-storage-impl"))
@@ -66,6 +67,7 @@ dependencies {
     implementation(project(":server:libs:core:message:message-broker:message-broker-amqp"))
     implementation(project(":server:libs:core:message:message-broker:message-broker-jms"))
     implementation(project(":server:libs:core:message:message-broker:message-broker-kafka"))
+    implementation(project(":server:libs:core:message:message-broker:message-broker-memory"))
     implementation(project(":server:libs:core:message:message-broker:message-broker-redis"))
     implementation(project(":server:libs:core:message:message-event:message-event-impl"))
     implementation(project(":server:libs:embedded:embedded-connected-user:embedded-connected-user-rest"))
@@ -88,6 +90,7 @@ dependencies {
     implementation(project(":server:libs:platform:platform-ai:platform-ai-rest"))
     implementation(project(":server:libs:platform:platform-ai:platform-ai-service"))
     implementation(project(":server:libs:platform:platform-category:platform-category-service"))
+    implementation(project(":server:libs:platform:platform-component:platform-component-rate-limiter-redis"))
     implementation(project(":server:libs:platform:platform-component:platform-component-service"))
     implementation(project(":server:libs:platform:platform-component:platform-component-rest"))
     implementation(project(":server:libs:platform:platform-connection:platform-connection-service"))
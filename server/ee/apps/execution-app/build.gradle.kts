@@ -16,6 +16,7 @@ dependencies {
     implementation("org.springframework.retry:spring-retry")
     implementation(project(":server:libs:atlas:atlas-configuration:atlas-configuration-converter"))
     implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-jdbc"))
+    implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-redis"))
     implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-config"))
     implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-service"))
     implementation(project(":server:libs:atlas:atlas-file-storage:atlas-file-storage-impl"))
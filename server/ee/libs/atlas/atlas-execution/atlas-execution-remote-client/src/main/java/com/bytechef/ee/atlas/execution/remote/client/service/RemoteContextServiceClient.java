@@ -12,6 +12,7 @@ import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.ee.remote.client.LoadBalancedRestClient;
 import com.bytechef.file.storage.domain.FileEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
 import java.util.Map;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.lang.NonNull;
@@ -35,6 +36,11 @@ public class RemoteContextServiceClient implements ContextService {
         this.loadBalancedRestClient = loadBalancedRestClient;
     }
 
+    @Override
+    public List<FileEntry> delete(long stackId, @NonNull Classname classname) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public FileEntry peek(long stackId, @NonNull Classname classname) {
         return loadBalancedRestClient.get(
@@ -74,4 +80,14 @@ public class RemoteContextServiceClient implements ContextService {
                 .build(stackId, classname),
             value, new ParameterizedTypeReference<Map<String, Object>>() {});
     }
+
+    @Override
+    public void push(@NonNull Classname classname, @NonNull Map<Long, FileEntry> values) {
+        loadBalancedRestClient.post(
+            uriBuilder -> uriBuilder
+                .host(EXECUTION_APP)
+                .path(INTERNAL_CONTEXT_SERVICE + "/push/{classname}")
+                .build(classname),
+            values);
+    }
 }
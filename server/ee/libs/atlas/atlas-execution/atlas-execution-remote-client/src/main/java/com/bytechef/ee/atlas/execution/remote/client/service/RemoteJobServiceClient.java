@@ -13,6 +13,7 @@ import com.bytechef.atlas.execution.dto.JobParameters;
 import com.bytechef.atlas.execution.service.JobService;
 import com.bytechef.ee.remote.client.LoadBalancedRestClient;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -66,6 +67,11 @@ public class RemoteJobServiceClient implements JobService {
                 Job.class));
     }
 
+    @Override
+    public List<Long> getFinishedJobIds(LocalDateTime endDate, long lastJobId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Job getJob(long id) {
         return loadBalancedRestClient.get(
@@ -81,6 +87,11 @@ public class RemoteJobServiceClient implements JobService {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public List<Long> getSubflowJobIds(long jobId) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Job getTaskExecutionJob(long taskExecutionId) {
         return loadBalancedRestClient.get(
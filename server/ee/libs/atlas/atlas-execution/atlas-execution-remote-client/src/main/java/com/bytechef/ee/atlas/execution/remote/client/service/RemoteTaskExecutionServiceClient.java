@@ -43,6 +43,16 @@ public class RemoteTaskExecutionServiceClient implements TaskExecutionService {
             taskExecution, TaskExecution.class);
     }
 
+    @Override
+    public List<TaskExecution> create(List<TaskExecution> taskExecutions) {
+        return loadBalancedRestClient.post(
+            uriBuilder -> uriBuilder
+                .host(EXECUTION_APP)
+                .path(TASK_EXECUTION_SERVICE + "/create-all")
+                .build(),
+            taskExecutions, new ParameterizedTypeReference<>() {});
+    }
+
     @Override
     public void delete(long id) {
         throw new UnsupportedOperationException();
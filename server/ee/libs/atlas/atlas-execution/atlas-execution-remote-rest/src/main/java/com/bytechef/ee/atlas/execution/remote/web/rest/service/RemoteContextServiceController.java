@@ -13,6 +13,7 @@ import com.bytechef.file.storage.domain.FileEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
+import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -89,4 +90,19 @@ public class RemoteContextServiceController {
         return ResponseEntity.noContent()
             .build();
     }
+
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/push/{classname}",
+        consumes = {
+            "application/json"
+        })
+    public ResponseEntity<Void> push(
+        @PathVariable Classname classname, @Valid @RequestBody Map<Long, FileEntry> values) {
+
+        contextService.push(classname, values);
+
+        return ResponseEntity.noContent()
+            .build();
+    }
 }
@@ -49,6 +49,19 @@ public class RemoteTaskExecutionServiceController {
         return ResponseEntity.ok(taskExecutionService.create(taskExecution));
     }
 
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/create-all",
+        consumes = {
+            "application/json"
+        },
+        produces = {
+            "application/json"
+        })
+    public ResponseEntity<List<TaskExecution>> create(@RequestBody List<TaskExecution> taskExecutions) {
+        return ResponseEntity.ok(taskExecutionService.create(taskExecutions));
+    }
+
     @RequestMapping(
         method = RequestMethod.GET,
         value = "/get-task-execution/{id}",
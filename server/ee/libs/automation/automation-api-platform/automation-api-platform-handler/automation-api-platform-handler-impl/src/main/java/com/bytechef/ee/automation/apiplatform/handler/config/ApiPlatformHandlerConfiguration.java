@@ -20,6 +20,7 @@ import com.bytechef.atlas.configuration.service.WorkflowService;
 import com.bytechef.atlas.coordinator.task.completion.TaskCompletionHandlerFactory;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherPreSendProcessor;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherResolverFactory;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
 import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.JobService;
@@ -54,6 +55,7 @@ import com.bytechef.task.dispatcher.map.MapTaskDispatcher;
 import com.bytechef.task.dispatcher.map.completion.MapTaskCompletionHandler;
 import com.bytechef.task.dispatcher.parallel.ParallelTaskDispatcher;
 import com.bytechef.task.dispatcher.parallel.completion.ParallelTaskCompletionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -65,6 +67,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class ApiPlatformHandlerConfiguration {
 
+    // job runs of the synchronous executor are short-lived, their windows are not exported as gauges
+    private final TaskDispatcherWindowMetrics eachTaskDispatcherWindowMetrics = new TaskDispatcherWindowMetrics(
+        "each", new SimpleMeterRegistry());
+    private final TaskDispatcherWindowMetrics mapTaskDispatcherWindowMetrics = new TaskDispatcherWindowMetrics(
+        "map", new SimpleMeterRegistry());
+
     @Bean
     ApiPlatformHandlerExecutor apiPlatformHandlerExecutor(
         ContextService contextService, CounterService counterService,
@@ -105,14 +113,16 @@ public class ApiPlatformHandlerConfiguration {
             (taskCompletionHandler, taskDispatcher) -> new ConditionTaskCompletionHandler(
                 contextService, taskCompletionHandler, taskDispatcher, taskExecutionService, taskFileStorage),
             (taskCompletionHandler, taskDispatcher) -> new EachTaskCompletionHandler(
-                counterService, taskCompletionHandler, taskExecutionService),
+                contextService, counterService, taskCompletionHandler, taskDispatcher, taskExecutionService,
+                taskFileStorage, eachTaskDispatcherWindowMetrics),
             (taskCompletionHandler, taskDispatcher) -> new ForkJoinTaskCompletionHandler(
                 taskExecutionService, taskCompletionHandler, counterService, taskDispatcher, contextService,
                 taskFileStorage),
             (taskCompletionHandler, taskDispatcher) -> new LoopTaskCompletionHandler(
                 contextService, taskCompletionHandler, taskDispatcher, taskExecutionService, taskFileStorage),
-            (taskCompletionHandler, taskDispatcher) -> new MapTaskCompletionHandler(taskExecutionService,
-                taskCompletionHandler, counterService, taskFileStorage),
+            (taskCompletionHandler, taskDispatcher) -> new MapTaskCompletionHandler(
+                contextService, taskExecutionService, taskCompletionHandler, counterService, taskDispatcher,
+                taskFileStorage, mapTaskDispatcherWindowMetrics),
             (taskCompletionHandler, taskDispatcher) -> new ParallelTaskCompletionHandler(counterService,
                 taskCompletionHandler, taskExecutionService));
     }
@@ -148,7 +158,7 @@ public class ApiPlatformHandlerConfiguration {
                 taskFileStorage),
             (taskDispatcher) -> new EachTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage),
+                taskFileStorage, eachTaskDispatcherWindowMetrics),
             (taskDispatcher) -> new ForkJoinTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
                 taskFileStorage),
@@ -158,9 +168,8 @@ public class ApiPlatformHandlerConfiguration {
                 taskFileStorage),
             (taskDispatcher) -> new MapTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage),
+                taskFileStorage, mapTaskDispatcherWindowMetrics),
             (taskDispatcher) -> new ParallelTaskDispatcher(
-                eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage));
+                eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService));
     }
 }
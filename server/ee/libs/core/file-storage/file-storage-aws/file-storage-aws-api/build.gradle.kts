@@ -1,3 +1,5 @@
 dependencies {
     api(project(":server:libs:core:file-storage:file-storage-api"))
+
+    implementation("org.springframework:spring-core")
 }
@@ -7,7 +7,13 @@
 
 package com.bytechef.ee.file.storage.aws;
 
+import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.exception.FileStorageException;
 import com.bytechef.file.storage.service.FileStorageService;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import org.springframework.lang.NonNull;
 
 /**
  * @version ee
@@ -15,4 +21,18 @@ import com.bytechef.file.storage.service.FileStorageService;
  * @author Marko Krikovic
  */
 public interface AwsFileStorageService extends FileStorageService {
+
+    /**
+     * Returns a stream of at most {@code length} bytes of the stored content starting at {@code offset}, fetched with a
+     * ranged GET.
+     */
+    InputStream getFileStream(
+        @NonNull String directoryPath, @NonNull FileEntry fileEntry, long offset, long length)
+        throws FileStorageException;
+
+    /**
+     * Returns a pre-signed URL clients can download the stored content from directly, valid for {@code duration}.
+     */
+    URL getPresignedFileEntryURL(@NonNull String directoryPath, @NonNull FileEntry fileEntry, Duration duration)
+        throws FileStorageException;
 }
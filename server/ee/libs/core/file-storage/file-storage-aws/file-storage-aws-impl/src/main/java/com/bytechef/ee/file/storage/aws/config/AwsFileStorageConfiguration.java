@@ -44,11 +44,14 @@ class AwsFileStorageConfiguration {
     }
 
     @Bean
-    AwsFileStorageService awsFileStorageService(S3Template s3Template, ApplicationProperties applicationProperties) {
+    AwsFileStorageService awsFileStorageService(
+        S3Client s3Client, S3Template s3Template, ApplicationProperties applicationProperties) {
+
         Aws aws = applicationProperties.getFileStorage()
             .getAws();
 
-        return new AwsFileStorageServiceImpl(s3Template, aws.getBucket());
+        return new AwsFileStorageServiceImpl(
+            s3Client, s3Template, aws.getBucket(), aws.getPartSize(), aws.getUploadConcurrency());
     }
 
     @Bean
@@ -19,65 +19,107 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 /**
+ * Stores content as raw objects under {@code <tenant>/<directory>/<key>}. Content up to the part size is sent with a
+ * single PUT, larger streams with a multipart upload that reads one part at a time and sends up to
+ * {@code uploadConcurrency} parts in parallel, so at most {@code uploadConcurrency + 1} parts are buffered. Reads
+ * stream the object, partial reads use ranged GETs.
+ *
+ * <p>
+ * Objects written by earlier versions hold the content as a base64 JSON string, they are recognized by their
+ * {@code application/json} content type and decoded on read.
+ *
  * @version ee
  *
  * @author Ivica Cardic
  */
 public class AwsFileStorageServiceImpl implements AwsFileStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AwsFileStorageServiceImpl.class);
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final String LEGACY_CONTENT_TYPE = "application/json";
     private static final Base64.Decoder MIME_DECODER = Base64.getMimeDecoder();
+    private static final int MINIMUM_PART_SIZE = 5 * 1024 * 1024;
     private static final String URL_PREFIX = "s3://";
 
-    private final S3Template s3Template;
     private final String bucketName;
+    private final int partSize;
+    private final S3Client s3Client;
+    private final S3Template s3Template;
+    private final int uploadConcurrency;
 
     @SuppressFBWarnings("EI")
-    public AwsFileStorageServiceImpl(S3Template s3Template, String bucketName) {
-        this.s3Template = s3Template;
+    public AwsFileStorageServiceImpl(
+        S3Client s3Client, S3Template s3Template, String bucketName, int partSize, int uploadConcurrency) {
+
+        Validate.isTrue(partSize >= MINIMUM_PART_SIZE, "'partSize' must be at least %d", MINIMUM_PART_SIZE);
+        Validate.isTrue(uploadConcurrency > 0, "'uploadConcurrency' must be positive");
+
         this.bucketName = bucketName;
+        this.partSize = partSize;
+        this.s3Client = s3Client;
+        this.s3Template = s3Template;
+        this.uploadConcurrency = uploadConcurrency;
     }
 
     @Override
     public void deleteFile(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
-        if (!bucketExists()) {
-            throw new FileStorageException("Bucket %s doesn't exist.".formatted(bucketName));
-        }
+        String key = getKey(directoryPath, fileEntry);
 
-        if (!fileExists(directoryPath, fileEntry.getName())) {
+        if (!s3Template.objectExists(bucketName, key)) {
             throw new FileStorageException("File %s doesn't exist".formatted(fileEntry.getName()));
         }
 
-        S3Resource s3Resource = getObject(directoryPath, fileEntry.getName());
-
-        s3Template.deleteObject(bucketName, Objects.requireNonNull(s3Resource.getFilename()));
+        s3Template.deleteObject(bucketName, key);
     }
 
     @Override
     public boolean fileExists(@NonNull String directoryPath, @NonNull FileEntry fileEntry) throws FileStorageException {
-        return fileExists(directoryPath, fileEntry.getName());
+        return s3Template.objectExists(bucketName, getKey(directoryPath, fileEntry));
     }
 
     @Override
     public boolean fileExists(@NonNull String directoryPath, @NonNull String key) throws FileStorageException {
-        if (!bucketExists()) {
-            throw new FileStorageException("Bucket %s doesn't exist.".formatted(bucketName));
-        }
-
-        List<S3Resource> s3Resources = listAllObjects();
-
-        return s3Resources.stream()
-            .map(S3Resource::getFilename)
-            .filter(Objects::nonNull)
-            .anyMatch((filename) -> filename.endsWith(directoryPath + "/" + key));
+        return s3Template.objectExists(bucketName, combinePaths(directoryPath, key));
     }
 
     @Override
@@ -86,9 +128,7 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
             throw new FileStorageException("File %s doesn't exist".formatted(key));
         }
 
-        S3Resource s3Resource = getObject(directoryPath, key);
-
-        return new FileEntry(key, URL_PREFIX + bucketName + "/" + s3Resource.getFilename());
+        return new FileEntry(key, URL_PREFIX + bucketName + "/" + combinePaths(directoryPath, key));
     }
 
     @Override
@@ -97,7 +137,7 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
             throw new FileStorageException("Bucket %s doesn't exist.".formatted(bucketName));
         }
 
-        List<S3Resource> s3Resources = listAllObjects();
+        List<S3Resource> s3Resources = s3Template.listObjects(bucketName, combinePaths(directoryPath, null) + "/");
 
         return s3Resources.stream()
             .map(S3Resource::getFilename)
@@ -109,47 +149,99 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
 
     @Override
     public InputStream getFileStream(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
-        if (!fileExists(directoryPath, fileEntry.getName())) {
-            throw new FileStorageException("File %s doesn't exist".formatted(fileEntry.getName()));
+        ResponseInputStream<GetObjectResponse> responseInputStream = getObject(
+            getKey(directoryPath, fileEntry), null);
+
+        GetObjectResponse getObjectResponse = responseInputStream.response();
+
+        if (isLegacy(getObjectResponse.contentType())) {
+            return new ByteArrayInputStream(decode(responseInputStream));
         }
 
-        return new ByteArrayInputStream(readFileToBytes(directoryPath, fileEntry));
+        return responseInputStream;
     }
 
     @Override
-    public URL getFileEntryURL(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
-        if (!fileExists(directoryPath, fileEntry.getName())) {
-            throw new FileStorageException("File %s doesn't exist".formatted(fileEntry.getName()));
-        }
+    public InputStream getFileStream(
+        @NonNull String directoryPath, @NonNull FileEntry fileEntry, long offset, long length) {
 
-        S3Resource s3Resource = getObject(directoryPath, fileEntry.getName());
+        Validate.isTrue(offset >= 0, "'offset' must not be negative");
+        Validate.isTrue(length > 0, "'length' must be positive");
 
-        try {
-            return s3Resource.getURL();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        String key = getKey(directoryPath, fileEntry);
+
+        ResponseInputStream<GetObjectResponse> responseInputStream = getObject(
+            key, "bytes=%d-%d".formatted(offset, offset + length - 1));
+
+        GetObjectResponse getObjectResponse = responseInputStream.response();
+
+        if (isLegacy(getObjectResponse.contentType())) {
+            close(responseInputStream);
+
+            byte[] bytes = decode(getObject(key, null));
+
+            int from = (int) Math.min(offset, bytes.length);
+
+            return new ByteArrayInputStream(
+                Arrays.copyOfRange(bytes, from, (int) Math.min(bytes.length, from + length)));
         }
+
+        return responseInputStream;
     }
 
     @Override
-    public byte[] readFileToBytes(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
-        throws FileStorageException {
+    public URL getFileEntryURL(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
+        String key = getKey(directoryPath, fileEntry);
 
-        if (!fileExists(directoryPath, fileEntry.getName())) {
+        if (!s3Template.objectExists(bucketName, key)) {
             throw new FileStorageException("File %s doesn't exist".formatted(fileEntry.getName()));
         }
 
-        S3Resource s3Resource = getObject(directoryPath, fileEntry.getName());
+        return s3Client.utilities()
+            .getUrl(
+                GetUrlRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+    }
+
+    @Override
+    public long getFileSize(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
+        HeadObjectResponse headObjectResponse;
 
-        byte[] bytes;
+        try {
+            headObjectResponse = s3Client.headObject(
+                HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(getKey(directoryPath, fileEntry))
+                    .build());
+        } catch (SdkException sdke) {
+            throw new FileStorageException("Failed to get size of file " + fileEntry.getName(), sdke);
+        }
 
-        try (InputStream inputStream = s3Resource.getInputStream()) {
-            bytes = inputStream.readAllBytes();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (isLegacy(headObjectResponse.contentType())) {
+            return readFileToBytes(directoryPath, fileEntry).length;
         }
 
-        return MIME_DECODER.decode(bytes);
+        return headObjectResponse.contentLength();
+    }
+
+    @Override
+    public URL getPresignedFileEntryURL(
+        @NonNull String directoryPath, @NonNull FileEntry fileEntry, Duration duration) {
+
+        return s3Template.createSignedGetURL(bucketName, getKey(directoryPath, fileEntry), duration);
+    }
+
+    @Override
+    public byte[] readFileToBytes(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
+        throws FileStorageException {
+
+        try (InputStream inputStream = getFileStream(directoryPath, fileEntry)) {
+            return inputStream.readAllBytes();
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to read file " + fileEntry.getName(), ioe);
+        }
     }
 
     @Override
@@ -165,15 +257,11 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
     public FileEntry storeFileContent(@NonNull String directoryPath, @NonNull String key, byte[] data)
         throws FileStorageException {
 
-        if (!bucketExists()) {
-            throw new FileStorageException("Bucket %s doesn't exist.".formatted(bucketName));
-        }
-
-        directoryPath = combinePaths(directoryPath, key);
+        String objectKey = combinePaths(directoryPath, key);
 
-        s3Template.store(bucketName, directoryPath, data);
+        putObject(objectKey, data);
 
-        return new FileEntry(key, URL_PREFIX + bucketName + "/" + directoryPath);
+        return new FileEntry(key, URL_PREFIX + bucketName + "/" + objectKey);
     }
 
     @Override
@@ -181,7 +269,10 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
         @NonNull String directoryPath, @NonNull String filename, byte[] data, boolean randomFilename)
         throws FileStorageException {
 
-        throw new UnsupportedOperationException();
+        FileEntry fileEntry = storeFileContent(
+            directoryPath, randomFilename ? generateRandomFilename(filename) : filename, data);
+
+        return new FileEntry(filename, fileEntry.getUrl());
     }
 
     @Override
@@ -194,7 +285,7 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
         @NonNull String directoryPath, @NonNull String key, @NonNull String data, boolean randomFilename)
         throws FileStorageException {
 
-        throw new UnsupportedOperationException();
+        return storeFileContent(directoryPath, key, data.getBytes(StandardCharsets.UTF_8), randomFilename);
     }
 
     @Override
@@ -202,11 +293,21 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
         @NonNull String directoryPath, @NonNull String key, @NonNull InputStream inputStream)
         throws FileStorageException {
 
+        String objectKey = combinePaths(directoryPath, key);
+
         try {
-            return storeFileContent(directoryPath, key, inputStream.readAllBytes());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            byte[] part = inputStream.readNBytes(partSize);
+
+            if (part.length < partSize) {
+                putObject(objectKey, part);
+            } else {
+                uploadMultipart(objectKey, part, inputStream);
+            }
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to store file " + key, ioe);
         }
+
+        return new FileEntry(key, URL_PREFIX + bucketName + "/" + objectKey);
     }
 
     @Override
@@ -214,24 +315,185 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
         @NonNull String directoryPath, @NonNull String filename, @NonNull InputStream inputStream,
         boolean randomFilename) throws FileStorageException {
 
-        throw new UnsupportedOperationException();
+        // the object key is random, the file entry keeps the original filename
+
+        FileEntry fileEntry = storeFileContent(
+            directoryPath, randomFilename ? generateRandomFilename(filename) : filename, inputStream);
+
+        return new FileEntry(filename, fileEntry.getUrl());
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(
+                AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (SdkException sdke) {
+            logger.warn("Unable to abort multipart upload {} of {}", uploadId, key, sdke);
+        }
     }
 
     private boolean bucketExists() {
         return s3Template.bucketExists(bucketName);
     }
 
-    private List<S3Resource> listAllObjects() {
-        return s3Template.listObjects(bucketName, "");
+    private String getKey(String directoryPath, FileEntry fileEntry) {
+        String url = fileEntry.getUrl();
+        String urlPrefix = URL_PREFIX + bucketName + "/";
+
+        if (url.startsWith(urlPrefix)) {
+            return url.substring(urlPrefix.length());
+        }
+
+        return combinePaths(directoryPath, fileEntry.getName());
     }
 
-    private S3Resource getObject(String directoryPath, String key) {
-        List<S3Resource> s3Resources = s3Template.listObjects(bucketName, "");
+    private ResponseInputStream<GetObjectResponse> getObject(String key, String range) {
+        try {
+            return s3Client.getObject(
+                GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .range(range)
+                    .build());
+        } catch (SdkException sdke) {
+            throw new FileStorageException("Failed to open file " + key, sdke);
+        }
+    }
 
-        return s3Resources.stream()
-            .filter((file) -> StringUtils.contains(file.getFilename(), directoryPath + "/" + key))
-            .findFirst()
-            .orElseThrow(() -> new FileStorageException("File %s doesn't exist".formatted(key)));
+    private void putObject(String key, byte[] data) {
+        try {
+            s3Client.putObject(
+                PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(CONTENT_TYPE)
+                    .build(),
+                RequestBody.fromBytes(data));
+        } catch (SdkException sdke) {
+            throw new FileStorageException("Failed to store file " + key, sdke);
+        }
+    }
+
+    private void uploadMultipart(String key, byte[] firstPart, InputStream inputStream) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(
+            CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(CONTENT_TYPE)
+                .build())
+            .uploadId();
+
+        boolean completed = false;
+
+        try {
+            List<CompletedPart> completedParts = uploadParts(key, uploadId, firstPart, inputStream);
+
+            s3Client.completeMultipartUpload(
+                CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(
+                        CompletedMultipartUpload.builder()
+                            .parts(completedParts)
+                            .build())
+                    .build());
+
+            completed = true;
+        } catch (SdkException sdke) {
+            throw new FileStorageException("Failed to store file " + key, sdke);
+        } finally {
+            if (!completed) {
+                abortMultipartUpload(key, uploadId);
+            }
+        }
+    }
+
+    private CompletedPart uploadPart(String key, String uploadId, int partNumber, byte[] part) {
+        UploadPartResponse uploadPartResponse = s3Client.uploadPart(
+            UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .build(),
+            RequestBody.fromBytes(part));
+
+        return CompletedPart.builder()
+            .eTag(uploadPartResponse.eTag())
+            .partNumber(partNumber)
+            .build();
+    }
+
+    /**
+     * Reads the next part only after a permit is free, so the parts in flight and the one being read bound the
+     * buffered content. Returns once every started part upload finished.
+     */
+    private List<CompletedPart> uploadParts(String key, String uploadId, byte[] firstPart, InputStream inputStream)
+        throws IOException {
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        Semaphore semaphore = new Semaphore(uploadConcurrency);
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            byte[] part = firstPart;
+
+            while (part.length > 0 && !failed.get()) {
+                semaphore.acquire();
+
+                byte[] curPart = part;
+                int partNumber = futures.size() + 1;
+
+                futures.add(executorService.submit(() -> {
+                    try {
+                        return uploadPart(key, uploadId, partNumber, curPart);
+                    } catch (RuntimeException re) {
+                        failed.set(true);
+
+                        throw re;
+                    } finally {
+                        semaphore.release();
+                    }
+                }));
+
+                part = inputStream.readNBytes(partSize);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread()
+                .interrupt();
+
+            throw new FileStorageException("Interrupted while storing file " + key, ie);
+        }
+
+        List<CompletedPart> completedParts = new ArrayList<>(futures.size());
+
+        for (Future<CompletedPart> future : futures) {
+            try {
+                completedParts.add(future.get());
+            } catch (ExecutionException ee) {
+                throw new FileStorageException("Failed to store file " + key, ee.getCause());
+            } catch (InterruptedException ie) {
+                Thread.currentThread()
+                    .interrupt();
+
+                throw new FileStorageException("Interrupted while storing file " + key, ie);
+            }
+        }
+
+        return completedParts;
+    }
+
+    private static void close(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ioe) {
+            logger.warn("Unable to close object stream", ioe);
+        }
     }
 
     private static String combinePaths(String directoryPath, String key) {
@@ -245,4 +507,22 @@ public class AwsFileStorageServiceImpl implements AwsFileStorageService {
 
         return directoryPath;
     }
+
+    private static byte[] decode(InputStream inputStream) {
+        try (inputStream) {
+            return MIME_DECODER.decode(inputStream.readAllBytes());
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to read file", ioe);
+        }
+    }
+
+    private static String generateRandomFilename(String filename) {
+        int index = filename.lastIndexOf('.');
+
+        return UUID.randomUUID() + (index == -1 ? "" : filename.substring(index));
+    }
+
+    private static boolean isLegacy(String contentType) {
+        return StringUtils.startsWith(contentType, LEGACY_CONTENT_TYPE);
+    }
 }
@@ -17,13 +17,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.s3.S3ObjectConverter;
 import io.awspring.cloud.s3.S3OutputStreamProvider;
 import io.awspring.cloud.s3.S3Template;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,6 +66,7 @@ class AwsFileStorageIntTest {
     private static final String DIR_PATH = "RandomDirectory/Test";
     private static final String TENANT_ID = "public";
     private static final String KEY = "key";
+    private static final int PART_SIZE = 5 * 1024 * 1024;
     private static final String FILE_PATH = "s3://" + BUCKET_NAME + "/" + TENANT_ID + "/" + DIR_PATH + "/" + KEY;
 
     @Container
@@ -199,7 +206,7 @@ class AwsFileStorageIntTest {
     void canGetFileEntries() {
         FileEntry fileEntry1 = storageService.storeFileContent(DIR_PATH, KEY, DATA);
         FileEntry fileEntry2 = storageService.storeFileContent(DIR_PATH, "key2", DATA);
-        Set<FileEntry> fileEntries = storageService.getFileEntries(TENANT_ID + "/" + DIR_PATH);
+        Set<FileEntry> fileEntries = storageService.getFileEntries(DIR_PATH);
 
         await()
             .pollInterval(Duration.ofSeconds(2))
@@ -211,6 +218,49 @@ class AwsFileStorageIntTest {
             });
     }
 
+    @Test
+    void canGetFileStreamRange() throws IOException {
+        FileEntry fileEntry = storageService.storeFileContent(DIR_PATH, KEY, DATA);
+
+        try (InputStream inputStream = storageService.getFileStream(DIR_PATH, fileEntry, 6, 5)) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("World");
+        }
+    }
+
+    @Test
+    void canGetPresignedFileEntryUrl() throws IOException, InterruptedException {
+        FileEntry fileEntry = storageService.storeFileContent(DIR_PATH, KEY, DATA);
+
+        URL url = storageService.getPresignedFileEntryURL(DIR_PATH, fileEntry, Duration.ofMinutes(1));
+
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            HttpResponse<String> httpResponse = httpClient.send(
+                HttpRequest.newBuilder(URI.create(url.toString()))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertThat(httpResponse.statusCode()).isEqualTo(200);
+            assertThat(httpResponse.body()).isEqualTo(DATA);
+        }
+    }
+
+    @Test
+    void canStoreFileContentMultipart() throws IOException {
+        byte[] data = new byte[PART_SIZE * 2 + 1024];
+
+        ThreadLocalRandom.current()
+            .nextBytes(data);
+
+        FileEntry fileEntry = storageService.storeFileContent(DIR_PATH, "multipart", new ByteArrayInputStream(data));
+
+        assertThat(storageService.getFileSize(DIR_PATH, fileEntry)).isEqualTo(data.length);
+        assertThat(storageService.readFileToBytes(DIR_PATH, fileEntry)).isEqualTo(data);
+
+        try (InputStream inputStream = storageService.getFileStream(DIR_PATH, fileEntry, PART_SIZE - 1, 2)) {
+            assertThat(inputStream.readAllBytes()).containsExactly(data[PART_SIZE - 1], data[PART_SIZE]);
+        }
+    }
+
     @Test
     void canDeleteFile() {
         FileEntry fileEntry = storageService.storeFileContent(DIR_PATH, KEY, DATA);
@@ -236,11 +286,13 @@ class AwsFileStorageIntTest {
 
         @Bean
         AwsFileStorageServiceImpl awsFileStorageService(
-            S3Template s3Template, ApplicationProperties applicationProperties) {
+            S3Client s3Client, S3Template s3Template, ApplicationProperties applicationProperties) {
 
-            return new AwsFileStorageServiceImpl(s3Template, applicationProperties.getFileStorage()
-                .getAws()
-                .getBucket());
+            return new AwsFileStorageServiceImpl(
+                s3Client, s3Template, applicationProperties.getFileStorage()
+                    .getAws()
+                    .getBucket(),
+                PART_SIZE, 2);
         }
 
         @Bean
@@ -7,6 +7,7 @@
 
 package com.bytechef.ee.message.broker.aws;
 
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.MessageBroker;
 import com.bytechef.message.route.MessageRoute;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -20,15 +21,35 @@ import io.awspring.cloud.sqs.operations.SqsTemplate;
  */
 public class AwsMessageBroker implements MessageBroker {
 
+    /**
+     * The longest delay SQS applies to a single message.
+     */
+    private static final long MAX_DELAY_MILLIS = 900_000;
+
+    private final DelayedMessageScheduler delayedMessageScheduler;
     private final SqsTemplate sqsTemplate;
 
     @SuppressFBWarnings("EI")
-    public AwsMessageBroker(SqsTemplate sqsTemplate) {
+    public AwsMessageBroker(DelayedMessageScheduler delayedMessageScheduler, SqsTemplate sqsTemplate) {
+        this.delayedMessageScheduler = delayedMessageScheduler;
         this.sqsTemplate = sqsTemplate;
     }
 
     @Override
     public void send(MessageRoute route, Object message) {
+        long delayMillis = DelayedMessageScheduler.getDelayMillis(message);
+
+        if (delayMillis > MAX_DELAY_MILLIS) {
+            // only the part of the delay SQS can not hold is kept in memory
+
+            delayedMessageScheduler.schedule(
+                delayMillis - MAX_DELAY_MILLIS, () -> send(route, message, MAX_DELAY_MILLIS));
+        } else {
+            send(route, message, delayMillis);
+        }
+    }
+
+    private void send(MessageRoute route, Object message, long delayMillis) {
         String routeName = route.getName();
 
         String modifiedRoute = routeName.replace(".", "-");
@@ -36,6 +57,10 @@ public class AwsMessageBroker implements MessageBroker {
         sqsTemplate.sendAsync(to -> {
             SqsSendOptions<Object> queue = to.queue(modifiedRoute);
 
+            if (delayMillis > 0) {
+                queue.delaySeconds((int) Math.ceilDiv(delayMillis, 1000));
+            }
+
             queue.payload(message);
         });
     }
@@ -8,6 +8,7 @@
 package com.bytechef.ee.message.broker.aws.config;
 
 import com.bytechef.ee.message.broker.aws.AwsMessageBroker;
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.annotation.ConditionalOnMessageBrokerAws;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -45,8 +46,13 @@ public class AwsMessageBrokerConfiguration {
     }
 
     @Bean
-    AwsMessageBroker awsMessageBroker(SqsTemplate sqsTemplate) {
-        return new AwsMessageBroker(sqsTemplate);
+    AwsMessageBroker awsMessageBroker(DelayedMessageScheduler delayedMessageScheduler, SqsTemplate sqsTemplate) {
+        return new AwsMessageBroker(delayedMessageScheduler, sqsTemplate);
+    }
+
+    @Bean
+    DelayedMessageScheduler delayedMessageScheduler() {
+        return new DelayedMessageScheduler();
     }
 
     @Bean
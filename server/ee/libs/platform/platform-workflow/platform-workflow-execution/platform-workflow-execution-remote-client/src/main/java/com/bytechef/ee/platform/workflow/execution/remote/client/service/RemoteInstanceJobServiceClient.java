@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 /**
@@ -47,6 +48,11 @@ public class RemoteInstanceJobServiceClient implements InstanceJobService {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Optional<InstanceJob> fetchJobInstanceJob(long jobId) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Optional<Long> fetchLastJobId(long instanceId, ModeType type) {
         return Optional.ofNullable(
@@ -86,4 +92,20 @@ public class RemoteInstanceJobServiceClient implements InstanceJobService {
 
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public Page<Long> getJobIdsWithApproximateCount(
+        Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, ModeType type,
+        List<String> workflowIds, int pageNumber) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Slice<Long> getJobIdsSlice(
+        Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, ModeType type,
+        List<String> workflowIds, Long lastJobId) {
+
+        throw new UnsupportedOperationException();
+    }
 }
@@ -26,7 +26,7 @@ import java.util.Map;
 /**
  * @author Ivica Cardic
  */
-public abstract class AbstractEvent implements MessageEvent<TaskCoordinatorMessageRoute> {
+public abstract class AbstractEvent implements Cloneable, MessageEvent<TaskCoordinatorMessageRoute> {
 
     protected LocalDateTime createDate;
     protected Map<String, Object> metadata = new HashMap<>();
@@ -40,6 +40,15 @@ public abstract class AbstractEvent implements MessageEvent<TaskCoordinatorMessa
         this.route = route;
     }
 
+    @Override
+    public AbstractEvent clone() throws CloneNotSupportedException {
+        AbstractEvent event = (AbstractEvent) super.clone();
+
+        event.metadata = new HashMap<>(metadata);
+
+        return event;
+    }
+
     @Override
     public LocalDateTime getCreateDate() {
         return createDate;
@@ -37,6 +37,15 @@ public class TaskExecutionCompleteEvent extends AbstractEvent {
         this.taskExecution = taskExecution;
     }
 
+    @Override
+    public TaskExecutionCompleteEvent clone() throws CloneNotSupportedException {
+        TaskExecutionCompleteEvent event = (TaskExecutionCompleteEvent) super.clone();
+
+        event.taskExecution = taskExecution.clone();
+
+        return event;
+    }
+
     @SuppressFBWarnings("EI")
     public TaskExecution getTaskExecution() {
         return taskExecution;
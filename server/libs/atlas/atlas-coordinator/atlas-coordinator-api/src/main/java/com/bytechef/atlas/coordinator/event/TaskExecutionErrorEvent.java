@@ -41,6 +41,15 @@ public class TaskExecutionErrorEvent extends AbstractEvent implements ErrorEvent
         this.taskExecution = taskExecution;
     }
 
+    @Override
+    public TaskExecutionErrorEvent clone() throws CloneNotSupportedException {
+        TaskExecutionErrorEvent event = (TaskExecutionErrorEvent) super.clone();
+
+        event.taskExecution = taskExecution.clone();
+
+        return event;
+    }
+
     @Override
     public ExecutionError getError() {
         return taskExecution.getError();
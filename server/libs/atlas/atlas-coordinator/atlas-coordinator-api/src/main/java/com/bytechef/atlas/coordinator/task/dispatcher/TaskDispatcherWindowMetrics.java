@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.task.dispatcher;
+
+import com.bytechef.atlas.coordinator.event.ApplicationEvent;
+import com.bytechef.atlas.coordinator.event.JobStatusApplicationEvent;
+import com.bytechef.atlas.coordinator.event.listener.ApplicationEventListener;
+import com.bytechef.atlas.execution.domain.Job;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregate gauges of the in-flight and queued iteratees of the windowed task executions of one task dispatcher type,
+ * e.g. each or map. The values are derived from the remaining iteratee count, so they are correct whichever
+ * coordinator instance handled the last completion. The windows of a job are dropped once it has completed, failed or
+ * has been stopped.
+ *
+ * @author agent
+ */
+public class TaskDispatcherWindowMetrics implements ApplicationEventListener {
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+    public TaskDispatcherWindowMetrics(String type, MeterRegistry meterRegistry) {
+        String iteratees = "bytechef.task.dispatcher." + type + ".iteratees";
+
+        Gauge.builder(iteratees, this, metrics -> metrics.sum(true))
+            .tag("state", "in-flight")
+            .register(meterRegistry);
+        Gauge.builder(iteratees, this, metrics -> metrics.sum(false))
+            .tag("state", "queued")
+            .register(meterRegistry);
+        Gauge.builder("bytechef.task.dispatcher." + type + ".windows", windows, Map::size)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent applicationEvent) {
+        if (applicationEvent instanceof JobStatusApplicationEvent jobStatusApplicationEvent &&
+            isFinished(jobStatusApplicationEvent.getStatus())) {
+
+            long jobId = jobStatusApplicationEvent.getJobId();
+
+            windows.values()
+                .removeIf(window -> window.jobId == jobId);
+        }
+    }
+
+    public void update(long jobId, long taskExecutionId, int maxConcurrency, long iterateesLeft) {
+        if (iterateesLeft == 0) {
+            windows.remove(taskExecutionId);
+        } else {
+            windows.put(
+                taskExecutionId,
+                new Window(
+                    jobId, Math.min(maxConcurrency, iterateesLeft), Math.max(0, iterateesLeft - maxConcurrency)));
+        }
+    }
+
+    private static boolean isFinished(Job.Status status) {
+        return status == Job.Status.COMPLETED || status == Job.Status.FAILED || status == Job.Status.STOPPED;
+    }
+
+    private long sum(boolean inFlight) {
+        return windows.values()
+            .stream()
+            .mapToLong(window -> inFlight ? window.inFlight : window.queued)
+            .sum();
+    }
+
+    private record Window(long jobId, long inFlight, long queued) {
+    }
+}
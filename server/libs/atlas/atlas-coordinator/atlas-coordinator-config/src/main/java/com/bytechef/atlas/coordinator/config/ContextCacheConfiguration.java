@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.config;
+
+import com.bytechef.atlas.coordinator.annotation.ConditionalOnCoordinator;
+import com.bytechef.atlas.coordinator.context.CachingContextService;
+import com.bytechef.atlas.coordinator.context.CachingTaskFileStorage;
+import com.bytechef.atlas.coordinator.context.ContextCache;
+import com.bytechef.atlas.coordinator.event.listener.ContextCacheJobStatusApplicationEventListener;
+import com.bytechef.atlas.execution.service.ContextService;
+import com.bytechef.atlas.execution.service.TaskExecutionService;
+import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.config.ApplicationProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Decorates the {@link ContextService} and {@link TaskFileStorage} beans with the write-through {@link ContextCache}
+ * when <code>bytechef.coordinator.context-cache.enabled</code> is set to <code>true</code>.
+ *
+ * @author agent
+ */
+@Configuration
+@ConditionalOnCoordinator
+@ConditionalOnProperty(prefix = "bytechef", name = "coordinator.context-cache.enabled", havingValue = "true")
+public class ContextCacheConfiguration {
+
+    @Bean
+    static BeanPostProcessor contextCacheBeanPostProcessor(ObjectProvider<ContextCache> contextCacheProvider) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ContextService contextService) {
+                    return new CachingContextService(contextService, contextCacheProvider.getObject());
+                } else if (bean instanceof TaskFileStorage taskFileStorage) {
+                    return new CachingTaskFileStorage(taskFileStorage, contextCacheProvider.getObject());
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    ContextCache contextCache(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Coordinator coordinator = applicationProperties.getCoordinator();
+
+        ApplicationProperties.Coordinator.ContextCache contextCache = coordinator.getContextCache();
+
+        return new ContextCache(contextCache.getMaxSize());
+    }
+
+    @Bean
+    ContextCacheJobStatusApplicationEventListener contextCacheJobStatusApplicationEventListener(
+        ContextCache contextCache, TaskExecutionService taskExecutionService) {
+
+        return new ContextCacheJobStatusApplicationEventListener(contextCache, taskExecutionService);
+    }
+}
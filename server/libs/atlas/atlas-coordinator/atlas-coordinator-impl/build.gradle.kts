@@ -2,6 +2,8 @@ dependencies {
     api("org.springframework:spring-context")
     api(project(":server:libs:atlas:atlas-coordinator:atlas-coordinator-api"))
 
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
     implementation("org.apache.commons:commons-lang3")
     implementation("org.slf4j:slf4j-api")
     implementation("org.springframework:spring-context")
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.context;
+
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.execution.service.ContextService;
+import com.bytechef.file.storage.domain.FileEntry;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.NonNull;
+
+/**
+ * {@link ContextService} decorator that serves {@code peek} calls from the {@link ContextCache} and writes every
+ * {@code push} through to both the delegate and the cache.
+ *
+ * @author agent
+ */
+public class CachingContextService implements ContextService {
+
+    private final ContextCache contextCache;
+    private final ContextService contextService;
+
+    @SuppressFBWarnings("EI")
+    public CachingContextService(ContextService contextService, ContextCache contextCache) {
+        this.contextCache = contextCache;
+        this.contextService = contextService;
+    }
+
+    @Override
+    public List<FileEntry> delete(long stackId, @NonNull Context.Classname classname) {
+        return contextService.delete(stackId, classname);
+    }
+
+    @Override
+    public FileEntry peek(long stackId, @NonNull Context.Classname classname) {
+        return contextCache.getFileEntry(stackId, null, classname, () -> contextService.peek(stackId, classname));
+    }
+
+    @Override
+    public FileEntry peek(long stackId, int subStackId, @NonNull Context.Classname classname) {
+        return contextCache.getFileEntry(
+            stackId, subStackId, classname, () -> contextService.peek(stackId, subStackId, classname));
+    }
+
+    @Override
+    public void push(long stackId, @NonNull Context.Classname classname, @NonNull FileEntry value) {
+        contextService.push(stackId, classname, value);
+
+        contextCache.putFileEntry(stackId, null, classname, value);
+    }
+
+    @Override
+    public void push(long stackId, int subStackId, @NonNull Context.Classname classname, @NonNull FileEntry value) {
+        contextService.push(stackId, subStackId, classname, value);
+
+        contextCache.putFileEntry(stackId, subStackId, classname, value);
+    }
+
+    @Override
+    public void push(@NonNull Context.Classname classname, @NonNull Map<Long, FileEntry> values) {
+        contextService.push(classname, values);
+
+        for (Map.Entry<Long, FileEntry> entry : values.entrySet()) {
+            contextCache.putFileEntry(entry.getKey(), null, classname, entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.context;
+
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.file.storage.domain.FileEntry;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.NonNull;
+
+/**
+ * {@link TaskFileStorage} decorator that serves {@code readContextValue} and {@code readTaskExecutionList} calls from
+ * the {@link ContextCache} and writes stored context values and task execution lists through to the cache. Job outputs
+ * and task execution outputs are not cached.
+ *
+ * @author agent
+ */
+public class CachingTaskFileStorage implements TaskFileStorage {
+
+    private final ContextCache contextCache;
+    private final TaskFileStorage taskFileStorage;
+
+    @SuppressFBWarnings("EI")
+    public CachingTaskFileStorage(TaskFileStorage taskFileStorage, ContextCache contextCache) {
+        this.contextCache = contextCache;
+        this.taskFileStorage = taskFileStorage;
+    }
+
+    @Override
+    public long deleteContextValue(@NonNull FileEntry fileEntry) {
+        return taskFileStorage.deleteContextValue(fileEntry);
+    }
+
+    @Override
+    public long deleteJobOutputs(@NonNull FileEntry fileEntry) {
+        return taskFileStorage.deleteJobOutputs(fileEntry);
+    }
+
+    @Override
+    public long deleteTaskExecutionList(@NonNull FileEntry fileEntry) {
+        contextCache.removeList(fileEntry);
+
+        return taskFileStorage.deleteTaskExecutionList(fileEntry);
+    }
+
+    @Override
+    public long deleteTaskExecutionOutput(@NonNull FileEntry fileEntry) {
+        return taskFileStorage.deleteTaskExecutionOutput(fileEntry);
+    }
+
+    @Override
+    public Map<String, ?> readContextValue(@NonNull FileEntry fileEntry) {
+        return contextCache.getValue(fileEntry, () -> taskFileStorage.readContextValue(fileEntry));
+    }
+
+    @Override
+    public Map<String, ?> readJobOutputs(@NonNull FileEntry fileEntry) {
+        return taskFileStorage.readJobOutputs(fileEntry);
+    }
+
+    @Override
+    public List<?> readTaskExecutionList(@NonNull FileEntry fileEntry) {
+        return contextCache.getList(fileEntry, () -> taskFileStorage.readTaskExecutionList(fileEntry));
+    }
+
+    @Override
+    public Object readTaskExecutionOutput(@NonNull FileEntry fileEntry) {
+        return taskFileStorage.readTaskExecutionOutput(fileEntry);
+    }
+
+    @Override
+    public FileEntry storeContextOverlay(
+        long stackId, @NonNull Context.Classname classname, @NonNull FileEntry parentFileEntry,
+        @NonNull Map<String, ?> parentValue, @NonNull Map<String, ?> overlay) {
+
+        return taskFileStorage.storeContextOverlay(stackId, classname, parentFileEntry, parentValue, overlay);
+    }
+
+    @Override
+    public FileEntry storeContextValue(
+        long stackId, @NonNull Context.Classname classname, @NonNull Map<String, ?> value) {
+
+        FileEntry fileEntry = taskFileStorage.storeContextValue(stackId, classname, value);
+
+        contextCache.putValue(fileEntry, value);
+
+        return fileEntry;
+    }
+
+    @Override
+    public FileEntry storeContextValue(
+        long stackId, int subStackId, @NonNull Context.Classname classname, @NonNull Map<String, ?> value) {
+
+        FileEntry fileEntry = taskFileStorage.storeContextValue(stackId, subStackId, classname, value);
+
+        contextCache.putValue(fileEntry, value);
+
+        return fileEntry;
+    }
+
+    @Override
+    public FileEntry storeJobOutputs(long jobId, @NonNull Map<String, ?> outputs) {
+        return taskFileStorage.storeJobOutputs(jobId, outputs);
+    }
+
+    @Override
+    public FileEntry storeTaskExecutionList(long taskExecutionId, @NonNull List<?> list) {
+        FileEntry fileEntry = taskFileStorage.storeTaskExecutionList(taskExecutionId, list);
+
+        contextCache.putList(fileEntry, list);
+
+        return fileEntry;
+    }
+
+    @Override
+    public FileEntry storeTaskExecutionOutput(long taskExecutionId, @NonNull Object output) {
+        return taskFileStorage.storeTaskExecutionOutput(taskExecutionId, output);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.context;
+
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.file.storage.domain.FileEntry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+
+/**
+ * Size-bounded, in-memory cache of job and task execution contexts used by the coordinator. It holds three kinds of
+ * entries in a single cache so they share the same memory budget: the latest context {@link FileEntry} per
+ * {@code stackId/subStackId/classname} (served by {@link CachingContextService#peek}), the deserialized context value
+ * per file entry url (served by {@link CachingTaskFileStorage#readContextValue}) and the list an each or map task
+ * execution iterates over per file entry url (served by {@link CachingTaskFileStorage#readTaskExecutionList}).
+ *
+ * <p>
+ * All entry kinds are written through on push/store, so a coordinator that handles all events of a job never reads a
+ * context back from the database or the file storage. Cached context values are unmodifiable.
+ *
+ * <p>
+ * The context keys are also indexed by stack id, so evicting the entries of a finished job only visits the keys of
+ * that job and its task executions.
+ *
+ * @author agent
+ */
+public class ContextCache {
+
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
+    private final Cache<Object, Object> cache;
+    private final Map<Long, Set<ContextKey>> stackContextKeys = new ConcurrentHashMap<>();
+
+    public ContextCache(long maxSize) {
+        this.cache = Caffeine.newBuilder()
+            .evictionListener((key, value, cause) -> {
+                if (key instanceof ContextKey contextKey) {
+                    unindex(contextKey);
+                }
+            })
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .maximumWeight(maxSize)
+            .recordStats()
+            .weigher((key, value) -> (int) Math.min(estimateSize(key) + estimateSize(value), Integer.MAX_VALUE))
+            .build();
+
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, "bytechef.coordinator.context");
+
+        Metrics.gauge("bytechef.coordinator.context.cache.bytes", cache, ContextCache::getWeightedSize);
+    }
+
+    /**
+     * Removes the context entries of the job and of the given task executions, typically once the job has reached a
+     * final status.
+     */
+    public void evict(long jobId, Set<Long> taskExecutionIds) {
+        evict(jobId, jobId, taskExecutionIds);
+
+        for (long taskExecutionId : taskExecutionIds) {
+            evict(taskExecutionId, jobId, taskExecutionIds);
+        }
+    }
+
+    public FileEntry getFileEntry(
+        long stackId, @Nullable Integer subStackId, Context.Classname classname, Supplier<FileEntry> supplier) {
+
+        return (FileEntry) cache.get(new ContextKey(stackId, subStackId, classname), key -> {
+            FileEntry fileEntry = supplier.get();
+
+            if (fileEntry != null) {
+                index((ContextKey) key);
+            }
+
+            return fileEntry;
+        });
+    }
+
+    public List<?> getList(FileEntry fileEntry, Supplier<List<?>> supplier) {
+        return (List<?>) cache.get(fileEntry.getUrl(), url -> Collections.unmodifiableList(supplier.get()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, ?> getValue(FileEntry fileEntry, Supplier<Map<String, ?>> supplier) {
+        return (Map<String, ?>) cache.get(
+            fileEntry.getUrl(), url -> Collections.unmodifiableMap(supplier.get()));
+    }
+
+    public void putFileEntry(long stackId, @Nullable Integer subStackId, Context.Classname classname,
+        FileEntry fileEntry) {
+
+        ContextKey contextKey = new ContextKey(stackId, subStackId, classname);
+
+        index(contextKey);
+
+        cache.put(contextKey, fileEntry);
+    }
+
+    public void putList(FileEntry fileEntry, List<?> list) {
+        cache.put(fileEntry.getUrl(), Collections.unmodifiableList(new ArrayList<>(list)));
+    }
+
+    public void putValue(FileEntry fileEntry, Map<String, ?> value) {
+        cache.put(fileEntry.getUrl(), Collections.unmodifiableMap(new LinkedHashMap<>(value)));
+    }
+
+    public void removeList(FileEntry fileEntry) {
+        cache.invalidate(fileEntry.getUrl());
+    }
+
+    /**
+     * Rough estimate of the heap occupied by a JSON-like object graph, used as the entry weight.
+     */
+    static long estimateSize(@Nullable Object object) {
+        if (object == null) {
+            return 8;
+        } else if (object instanceof CharSequence charSequence) {
+            return 40 + 2L * charSequence.length();
+        } else if (object instanceof FileEntry fileEntry) {
+            return 32 + estimateSize(fileEntry.getName()) + estimateSize(fileEntry.getUrl());
+        } else if (object instanceof Map<?, ?> map) {
+            long size = 48;
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += 32 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+
+            return size;
+        } else if (object instanceof Collection<?> collection) {
+            long size = 40;
+
+            for (Object item : collection) {
+                size += 8 + estimateSize(item);
+            }
+
+            return size;
+        }
+
+        return 24;
+    }
+
+    private void evict(long stackId, long jobId, Set<Long> taskExecutionIds) {
+        Set<ContextKey> contextKeys = stackContextKeys.get(stackId);
+
+        if (contextKeys == null) {
+            return;
+        }
+
+        Map<Object, Object> map = cache.asMap();
+
+        for (ContextKey contextKey : contextKeys) {
+            if (contextKey.belongsTo(jobId, taskExecutionIds)) {
+                unindex(contextKey);
+
+                Object fileEntry = map.remove(contextKey);
+
+                if (fileEntry != null) {
+                    map.remove(((FileEntry) fileEntry).getUrl());
+                }
+            }
+        }
+    }
+
+    private void index(ContextKey contextKey) {
+        stackContextKeys.compute(contextKey.stackId(), (stackId, contextKeys) -> {
+            if (contextKeys == null) {
+                contextKeys = ConcurrentHashMap.newKeySet();
+            }
+
+            contextKeys.add(contextKey);
+
+            return contextKeys;
+        });
+    }
+
+    private void unindex(ContextKey contextKey) {
+        stackContextKeys.computeIfPresent(contextKey.stackId(), (stackId, contextKeys) -> {
+            contextKeys.remove(contextKey);
+
+            return contextKeys.isEmpty() ? null : contextKeys;
+        });
+    }
+
+    private static double getWeightedSize(Cache<Object, Object> cache) {
+        Policy<Object, Object> policy = cache.policy();
+
+        return policy.eviction()
+            .map(eviction -> eviction.weightedSize()
+                .orElse(0L))
+            .orElse(0L);
+    }
+
+    private record ContextKey(long stackId, Integer subStackId, Context.Classname classname) {
+
+        private boolean belongsTo(long jobId, Set<Long> taskExecutionIds) {
+            return switch (classname) {
+                case JOB -> stackId == jobId;
+                case TASK_EXECUTION -> taskExecutionIds.contains(stackId);
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.event.listener;
+
+import com.bytechef.atlas.coordinator.context.ContextCache;
+import com.bytechef.atlas.coordinator.event.ApplicationEvent;
+import com.bytechef.atlas.coordinator.event.JobStatusApplicationEvent;
+import com.bytechef.atlas.execution.domain.Job;
+import com.bytechef.atlas.execution.domain.TaskExecution;
+import com.bytechef.atlas.execution.service.TaskExecutionService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts the cached contexts of a job once it has completed, failed or has been stopped.
+ *
+ * @author agent
+ */
+public class ContextCacheJobStatusApplicationEventListener implements ApplicationEventListener {
+
+    private final ContextCache contextCache;
+    private final TaskExecutionService taskExecutionService;
+
+    @SuppressFBWarnings("EI")
+    public ContextCacheJobStatusApplicationEventListener(
+        ContextCache contextCache, TaskExecutionService taskExecutionService) {
+
+        this.contextCache = contextCache;
+        this.taskExecutionService = taskExecutionService;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent applicationEvent) {
+        if (applicationEvent instanceof JobStatusApplicationEvent jobStatusApplicationEvent &&
+            isFinished(jobStatusApplicationEvent.getStatus())) {
+
+            long jobId = jobStatusApplicationEvent.getJobId();
+
+            Set<Long> taskExecutionIds = taskExecutionService.getJobTaskExecutions(jobId)
+                .stream()
+                .map(TaskExecution::getId)
+                .collect(Collectors.toSet());
+
+            contextCache.evict(jobId, taskExecutionIds);
+        }
+    }
+
+    private static boolean isFinished(Job.Status status) {
+        return status == Job.Status.COMPLETED || status == Job.Status.FAILED || status == Job.Status.STOPPED;
+    }
+}
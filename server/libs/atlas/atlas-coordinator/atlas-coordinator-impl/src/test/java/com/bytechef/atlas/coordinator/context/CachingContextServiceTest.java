@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.coordinator.context;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.execution.service.ContextService;
+import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.file.storage.domain.FileEntry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class CachingContextServiceTest {
+
+    private final ContextCache contextCache = new ContextCache(1024 * 1024);
+    private final ContextService contextService = mock(ContextService.class);
+    private final TaskFileStorage taskFileStorage = mock(TaskFileStorage.class);
+
+    @Test
+    public void testPeekAndReadAfterPush() {
+        CachingContextService cachingContextService = new CachingContextService(contextService, contextCache);
+        CachingTaskFileStorage cachingTaskFileStorage = new CachingTaskFileStorage(taskFileStorage, contextCache);
+
+        FileEntry fileEntry = new FileEntry("JOB_1.json", "file:/tmp/JOB_1.json");
+        Map<String, Object> value = new HashMap<>(Map.of("task1", "output1"));
+
+        when(taskFileStorage.storeContextValue(1L, Context.Classname.JOB, value))
+            .thenReturn(fileEntry);
+
+        cachingContextService.push(
+            1L, Context.Classname.JOB, cachingTaskFileStorage.storeContextValue(1L, Context.Classname.JOB, value));
+
+        value.put("task2", "output2");
+
+        Assertions.assertEquals(fileEntry, cachingContextService.peek(1L, Context.Classname.JOB));
+        Assertions.assertEquals(
+            Map.of("task1", "output1"),
+            cachingTaskFileStorage.readContextValue(cachingContextService.peek(1L, Context.Classname.JOB)));
+
+        verify(contextService, times(1)).push(1L, Context.Classname.JOB, fileEntry);
+        verify(contextService, times(0)).peek(any(Long.class), any());
+        verify(taskFileStorage, times(0)).readContextValue(any());
+    }
+
+    @Test
+    public void testPeekReadsThroughAndEvict() {
+        CachingContextService cachingContextService = new CachingContextService(contextService, contextCache);
+        CachingTaskFileStorage cachingTaskFileStorage = new CachingTaskFileStorage(taskFileStorage, contextCache);
+
+        FileEntry fileEntry = new FileEntry("TASK_EXECUTION_2_0.json", "file:/tmp/TASK_EXECUTION_2_0.json");
+
+        when(contextService.peek(2L, 0, Context.Classname.TASK_EXECUTION))
+            .thenReturn(fileEntry);
+        Map<String, ?> value = Map.of("item", 1);
+
+        when(taskFileStorage.readContextValue(fileEntry))
+            .thenAnswer(invocation -> value);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(
+                Map.of("item", 1),
+                cachingTaskFileStorage.readContextValue(
+                    cachingContextService.peek(2L, 0, Context.Classname.TASK_EXECUTION)));
+        }
+
+        verify(contextService, times(1)).peek(2L, 0, Context.Classname.TASK_EXECUTION);
+        verify(taskFileStorage, times(1)).readContextValue(fileEntry);
+
+        contextCache.evict(1L, Set.of(2L));
+
+        cachingTaskFileStorage.readContextValue(cachingContextService.peek(2L, 0, Context.Classname.TASK_EXECUTION));
+
+        verify(contextService, times(2)).peek(2L, 0, Context.Classname.TASK_EXECUTION);
+        verify(taskFileStorage, times(2)).readContextValue(fileEntry);
+    }
+
+    @Test
+    public void testEvictKeepsOtherStacks() {
+        FileEntry jobFileEntry = new FileEntry("JOB_2.json", "file:/tmp/JOB_2.json");
+        FileEntry taskExecutionFileEntry = new FileEntry(
+            "TASK_EXECUTION_1.json", "file:/tmp/TASK_EXECUTION_1.json");
+
+        contextCache.putFileEntry(2L, null, Context.Classname.JOB, jobFileEntry);
+        contextCache.putFileEntry(1L, null, Context.Classname.TASK_EXECUTION, taskExecutionFileEntry);
+
+        contextCache.evict(1L, Set.of(2L));
+
+        Assertions.assertEquals(
+            jobFileEntry, contextCache.getFileEntry(2L, null, Context.Classname.JOB, () -> null));
+        Assertions.assertEquals(
+            taskExecutionFileEntry,
+            contextCache.getFileEntry(1L, null, Context.Classname.TASK_EXECUTION, () -> null));
+    }
+}
@@ -21,6 +21,7 @@ package com.bytechef.atlas.execution.domain;
 import com.bytechef.atlas.configuration.domain.Task;
 import com.bytechef.atlas.configuration.domain.WorkflowTask;
 import com.bytechef.commons.util.LocalDateTimeUtils;
+import com.bytechef.commons.util.MapUtils;
 import com.bytechef.error.Errorable;
 import com.bytechef.error.ExecutionError;
 import com.bytechef.evaluator.Evaluator;
@@ -188,7 +189,11 @@ public final class TaskExecution
 
     @Override
     public TaskExecution clone() throws CloneNotSupportedException {
-        return (TaskExecution) super.clone();
+        TaskExecution taskExecution = (TaskExecution) super.clone();
+
+        taskExecution.metadata = MapUtils.copy(metadata);
+
+        return taskExecution;
     }
 
     @Override
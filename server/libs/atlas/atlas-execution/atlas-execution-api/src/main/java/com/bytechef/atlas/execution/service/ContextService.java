@@ -18,6 +18,8 @@ package com.bytechef.atlas.execution.service;
 
 import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.file.storage.domain.FileEntry;
+import java.util.List;
+import java.util.Map;
 import org.springframework.lang.NonNull;
 
 /**
@@ -25,6 +27,11 @@ import org.springframework.lang.NonNull;
  */
 public interface ContextService {
 
+    /**
+     * Deletes every value pushed on the stack, including its sub stacks, and returns the deleted values.
+     */
+    List<FileEntry> delete(long stackId, @NonNull Context.Classname classname);
+
     FileEntry peek(long stackId, @NonNull Context.Classname classname);
 
     FileEntry peek(long stackId, int subStackId, @NonNull Context.Classname classname);
@@ -32,4 +39,6 @@ public interface ContextService {
     void push(long stackId, @NonNull Context.Classname classname, @NonNull FileEntry value);
 
     void push(long stackId, int subStackId, @NonNull Context.Classname classname, @NonNull FileEntry value);
+
+    void push(@NonNull Context.Classname classname, @NonNull Map<Long, FileEntry> values);
 }
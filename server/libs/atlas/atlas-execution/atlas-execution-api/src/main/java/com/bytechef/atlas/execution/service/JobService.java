@@ -19,6 +19,7 @@ package com.bytechef.atlas.execution.service;
 import com.bytechef.atlas.configuration.domain.Workflow;
 import com.bytechef.atlas.execution.domain.Job;
 import com.bytechef.atlas.execution.dto.JobParameters;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -36,10 +37,18 @@ public interface JobService {
 
     Optional<Job> fetchLastWorkflowJob(String workflowId);
 
+    /**
+     * Returns ids of finished top-level jobs that ended before the given date, in ascending order starting after
+     * {@code lastJobId}.
+     */
+    List<Long> getFinishedJobIds(LocalDateTime endDate, long lastJobId, int limit);
+
     Job getJob(long id);
 
     Page<Job> getJobsPage(int pageNumber);
 
+    List<Long> getSubflowJobIds(long jobId);
+
     Job getTaskExecutionJob(long taskExecutionId);
 
     List<Job> getWorkflowJobs(String workflowId);
@@ -26,6 +26,8 @@ public interface TaskExecutionService {
 
     TaskExecution create(TaskExecution taskExecution);
 
+    List<TaskExecution> create(List<TaskExecution> taskExecutions);
+
     void delete(long id);
 
     void deleteJobTaskExecutions(long jobId);
@@ -19,6 +19,7 @@
 package com.bytechef.atlas.execution.repository;
 
 import com.bytechef.atlas.execution.domain.Context;
+import java.util.List;
 import org.springframework.data.repository.NoRepositoryBean;
 
 /**
@@ -33,12 +34,18 @@ import org.springframework.data.repository.NoRepositoryBean;
 @NoRepositoryBean
 public interface ContextRepository {
 
+    void deleteByStackIdAndClassnameId(long stackId, int classnameId);
+
     Iterable<Context> findAll();
 
+    List<Context> findAllByStackIdAndClassnameId(long stackId, int classnameId);
+
     Context findTop1ByStackIdAndClassnameIdOrderByCreatedDateDesc(long stackId, int classnameId);
 
     Context findTop1ByStackIdAndSubStackIdAndClassnameIdOrderByCreatedDateDesc(
         long stackId, int subStackId, int classnameId);
 
     Context save(Context context);
+
+    <S extends Context> List<S> saveAll(Iterable<S> contexts);
 }
@@ -35,6 +35,14 @@ public interface CounterRepository {
      */
     void deleteById(Long id);
 
+    /**
+     * Decrement the specified counter by 1 in a single atomic operation.
+     *
+     * @param id the id of the counter
+     * @return the new value, or null if the counter does not exist
+     */
+    Long decrementValueById(Long id);
+
     Iterable<Counter> findAll();
 
     Long findValueByIdForUpdate(Long id);
@@ -46,6 +54,7 @@ public interface CounterRepository {
      *
      * @param id    the id of the counter
      * @param value the value to set the counter to.
+     * @return the number of updated counters, 0 if the counter does not exist
      */
-    void update(Long id, long value);
+    int update(Long id, long value);
 }
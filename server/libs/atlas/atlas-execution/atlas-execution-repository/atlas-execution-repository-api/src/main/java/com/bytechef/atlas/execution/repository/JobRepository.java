@@ -19,6 +19,7 @@
 package com.bytechef.atlas.execution.repository;
 
 import com.bytechef.atlas.execution.domain.Job;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -44,6 +45,14 @@ public interface JobRepository {
 
     Page<Job> findAll(Pageable pageable);
 
+    /**
+     * Returns ids of completed, failed or stopped top-level jobs that ended, or were created if they never ended,
+     * before the given date, in ascending order starting after {@code lastJobId}.
+     */
+    List<Long> findAllFinishedJobIds(LocalDateTime endDate, long lastJobId, int limit);
+
+    List<Long> findAllSubflowJobIds(long jobId);
+
     List<Job> findAllByWorkflowId(String workflowId);
 
     Optional<Job> findById(Long id);
@@ -78,4 +78,13 @@ public interface TaskExecutionRepository {
      * @param taskExecution
      */
     TaskExecution save(TaskExecution taskExecution);
+
+    /**
+     * Creates new persistent representations of the given {@link TaskExecution} instances, in one batch where the
+     * store supports it.
+     *
+     * @param taskExecutions
+     * @return List<TaskExecution>
+     */
+    <S extends TaskExecution> List<S> saveAll(Iterable<S> taskExecutions);
 }
@@ -18,8 +18,12 @@ package com.bytechef.atlas.execution.repository.jdbc;
 
 import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.atlas.execution.repository.ContextRepository;
+import java.util.List;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.ListPagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -30,6 +34,14 @@ public interface JdbcContextRepository
     extends ListPagingAndSortingRepository<Context, Long>, ListCrudRepository<Context, Long>,
     ContextRepository {
 
+    @Override
+    @Modifying
+    @Query("DELETE FROM context WHERE stack_id = :stackId AND classname_id = :classnameId")
+    void deleteByStackIdAndClassnameId(@Param("stackId") long stackId, @Param("classnameId") int classnameId);
+
+    @Override
+    List<Context> findAllByStackIdAndClassnameId(long stackId, int classnameId);
+
     @Override
     Context findTop1ByStackIdAndClassnameIdOrderByCreatedDateDesc(long stackId, int classnameId);
 
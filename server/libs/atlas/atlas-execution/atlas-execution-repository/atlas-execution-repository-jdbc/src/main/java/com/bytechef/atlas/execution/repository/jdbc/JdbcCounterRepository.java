@@ -33,13 +33,17 @@ public interface JdbcCounterRepository
     extends ListPagingAndSortingRepository<Counter, Long>, ListCrudRepository<Counter, Long>,
     CounterRepository {
 
+    @Override
+    @Query("UPDATE counter SET value = value - 1 WHERE id = :id RETURNING value")
+    Long decrementValueById(@Param("id") Long id);
+
     @Override
     @Query("SELECT value FROM counter WHERE id = :id FOR UPDATE")
     Long findValueByIdForUpdate(@Param("id") Long id);
 
     @Modifying
     @Query("UPDATE counter SET value = :value WHERE id = :id")
-    void update(@Param("id") Long id, @Param("value") long value);
+    int update(@Param("id") Long id, @Param("value") long value);
 
     Counter save(Counter counter);
 }
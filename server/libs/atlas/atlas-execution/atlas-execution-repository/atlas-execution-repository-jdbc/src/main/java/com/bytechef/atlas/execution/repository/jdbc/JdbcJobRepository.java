@@ -18,6 +18,8 @@ package com.bytechef.atlas.execution.repository.jdbc;
 
 import com.bytechef.atlas.execution.domain.Job;
 import com.bytechef.atlas.execution.repository.JobRepository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
@@ -47,6 +49,22 @@ public interface JdbcJobRepository
     @Query("SELECT count(*) FROM job WHERE status=1")
     int countRunningJobs();
 
+    @Override
+    @Query("""
+        SELECT id FROM job
+        WHERE status IN (2, 3, 4) AND parent_task_execution_id IS NULL
+        AND COALESCE(end_date, created_date) < :endDate AND id > :lastJobId
+        ORDER BY id LIMIT :limit
+        """)
+    List<Long> findAllFinishedJobIds(
+        @Param("endDate") LocalDateTime endDate, @Param("lastJobId") long lastJobId, @Param("limit") int limit);
+
+    @Override
+    @Query("""
+        SELECT j.id FROM job j JOIN task_execution te ON te.id = j.parent_task_execution_id WHERE te.job_id = :jobId
+        """)
+    List<Long> findAllSubflowJobIds(@Param("jobId") long jobId);
+
     @Override
     @Query("SELECT * FROM job ORDER BY create_date DESC LIMIT 1")
     Optional<Job> findLastJob();
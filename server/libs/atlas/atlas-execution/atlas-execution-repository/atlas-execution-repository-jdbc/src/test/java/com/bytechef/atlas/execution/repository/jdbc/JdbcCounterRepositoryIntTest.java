@@ -25,6 +25,9 @@ import com.bytechef.atlas.execution.repository.jdbc.config.WorkflowExecutionRepo
 import com.bytechef.test.config.testcontainers.PostgreSQLContainerConfiguration;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 import org.apache.commons.lang3.Validate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -74,6 +77,19 @@ public class JdbcCounterRepositoryIntTest {
         counter = counterRepository.save(counter);
     }
 
+    @Test
+    public void testDecrementValueById() throws InterruptedException {
+        counterRepository.update(counter.getId(), 1000);
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(16)) {
+            IntStream.range(0, 1000)
+                .forEach(i -> executorService.execute(() -> counterRepository.decrementValueById(counter.getId())));
+        }
+
+        Assertions.assertEquals(0, counterRepository.findValueByIdForUpdate(counter.getId()));
+        Assertions.assertNull(counterRepository.decrementValueById(-1L));
+    }
+
     @Test
     public void testFindValueById() {
         Long value = counterRepository.findValueByIdForUpdate(counter.getId());
@@ -87,7 +103,7 @@ public class JdbcCounterRepositoryIntTest {
 
         Assertions.assertEquals(counter.getValue(), value);
 
-        counterRepository.update(counter.getId(), 5);
+        Assertions.assertEquals(1, counterRepository.update(counter.getId(), 5));
 
         value = counterRepository.findValueByIdForUpdate(counter.getId());
 
@@ -21,11 +21,14 @@ package com.bytechef.atlas.execution.repository.memory;
 import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.atlas.execution.repository.ContextRepository;
 import com.bytechef.file.storage.domain.FileEntry;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -36,7 +39,14 @@ public class InMemoryContextRepository implements ContextRepository {
 
     private static final Random RANDOM = new Random();
 
-    private final Map<String, Deque<FileEntry>> contexts = new HashMap<>();
+    private final Map<ContextKey, Deque<FileEntry>> contexts = new HashMap<>();
+
+    @Override
+    public void deleteByStackIdAndClassnameId(long stackId, int classnameId) {
+        Set<ContextKey> contextKeys = contexts.keySet();
+
+        contextKeys.removeIf(contextKey -> contextKey.stackId == stackId && contextKey.classnameId == classnameId);
+    }
 
     @Override
     public Iterable<Context> findAll() {
@@ -47,6 +57,26 @@ public class InMemoryContextRepository implements ContextRepository {
             .toList();
     }
 
+    @Override
+    public List<Context> findAllByStackIdAndClassnameId(long stackId, int classnameId) {
+        Context.Classname classname = Context.Classname.values()[classnameId];
+        List<Context> stackContexts = new ArrayList<>();
+
+        for (Map.Entry<ContextKey, Deque<FileEntry>> entry : contexts.entrySet()) {
+            ContextKey contextKey = entry.getKey();
+
+            if (contextKey.stackId != stackId || contextKey.classnameId != classnameId) {
+                continue;
+            }
+
+            for (FileEntry fileEntry : entry.getValue()) {
+                stackContexts.add(new Context(stackId, contextKey.subStackId, classname, fileEntry));
+            }
+        }
+
+        return stackContexts;
+    }
+
     @Override
     public Context findTop1ByStackIdAndClassnameIdOrderByCreatedDateDesc(long stackId, int classnameId) {
         Deque<FileEntry> linkedList = contexts.get(getKey(stackId, null, classnameId));
@@ -80,7 +110,23 @@ public class InMemoryContextRepository implements ContextRepository {
         return context;
     }
 
-    private static String getKey(long stackId, Integer subStackId, int classnameId) {
-        return "" + stackId + subStackId + classnameId;
+    @Override
+    public <S extends Context> List<S> saveAll(Iterable<S> contexts) {
+        List<S> savedContexts = new ArrayList<>();
+
+        for (S context : contexts) {
+            save(context);
+
+            savedContexts.add(context);
+        }
+
+        return savedContexts;
+    }
+
+    private static ContextKey getKey(long stackId, Integer subStackId, int classnameId) {
+        return new ContextKey(stackId, subStackId, classnameId);
+    }
+
+    private record ContextKey(long stackId, Integer subStackId, int classnameId) {
     }
 }
@@ -20,8 +20,10 @@ package com.bytechef.atlas.execution.repository.memory;
 
 import com.bytechef.atlas.execution.domain.Counter;
 import com.bytechef.atlas.execution.repository.CounterRepository;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.Validate;
 
 /**
  * @author Arik Cohen
@@ -30,35 +32,57 @@ import java.util.Map;
  */
 public class InMemoryCounterRepository implements CounterRepository {
 
-    private final Map<Long, Long> counters = new HashMap<>();
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
 
     @Override
     public void deleteById(Long id) {
         counters.remove(id);
     }
 
+    @Override
+    public Long decrementValueById(Long id) {
+        AtomicLong counter = counters.get(id);
+
+        return counter == null ? null : counter.decrementAndGet();
+    }
+
     @Override
     public Iterable<Counter> findAll() {
         return counters.entrySet()
             .stream()
-            .map(entry -> new Counter(entry.getKey(), entry.getValue()))
+            .map(entry -> new Counter(
+                entry.getKey(), entry.getValue()
+                    .get()))
             .toList();
     }
 
     @Override
     public Long findValueByIdForUpdate(Long id) {
-        return counters.get(id);
+        AtomicLong counter = counters.get(id);
+
+        return counter == null ? null : counter.get();
     }
 
     @Override
     public Counter save(Counter counter) {
-        counters.put(counter.getId(), counter.getValue());
+        Long id = Validate.notNull(counter.getId(), "'id' must not be null");
+        Long value = Validate.notNull(counter.getValue(), "'value' must not be null");
+
+        counters.put(id, new AtomicLong(value));
 
         return counter;
     }
 
     @Override
-    public void update(Long id, long value) {
-        counters.put(id, value);
+    public int update(Long id, long value) {
+        AtomicLong counter = counters.get(id);
+
+        if (counter == null) {
+            return 0;
+        }
+
+        counter.set(value);
+
+        return 1;
     }
 }
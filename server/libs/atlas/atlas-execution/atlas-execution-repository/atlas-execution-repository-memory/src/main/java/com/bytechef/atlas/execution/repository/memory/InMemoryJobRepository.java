@@ -24,6 +24,7 @@ import com.bytechef.commons.util.OptionalUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +82,16 @@ public class InMemoryJobRepository implements JobRepository {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public List<Long> findAllFinishedJobIds(LocalDateTime endDate, long lastJobId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Long> findAllSubflowJobIds(long jobId) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public List<Job> findAllByWorkflowId(String workflowId) {
         throw new UnsupportedOperationException();
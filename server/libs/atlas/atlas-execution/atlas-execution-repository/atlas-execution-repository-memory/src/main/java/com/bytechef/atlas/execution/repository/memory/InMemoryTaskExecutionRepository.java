@@ -20,6 +20,7 @@ package com.bytechef.atlas.execution.repository.memory;
 
 import com.bytechef.atlas.execution.domain.TaskExecution;
 import com.bytechef.atlas.execution.repository.TaskExecutionRepository;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -106,4 +107,17 @@ public class InMemoryTaskExecutionRepository implements TaskExecutionRepository
 
         return taskExecution;
     }
+
+    @Override
+    public <S extends TaskExecution> List<S> saveAll(Iterable<S> taskExecutions) {
+        List<S> savedTaskExecutions = new ArrayList<>();
+
+        for (S taskExecution : taskExecutions) {
+            save(taskExecution);
+
+            savedTaskExecutions.add(taskExecution);
+        }
+
+        return savedTaskExecutions;
+    }
 }
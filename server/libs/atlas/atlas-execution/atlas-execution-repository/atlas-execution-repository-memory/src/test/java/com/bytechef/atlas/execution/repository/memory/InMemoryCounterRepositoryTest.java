@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.execution.repository.memory;
+
+import com.bytechef.atlas.execution.domain.Counter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class InMemoryCounterRepositoryTest {
+
+    private final InMemoryCounterRepository counterRepository = new InMemoryCounterRepository();
+
+    @Test
+    public void testDecrementValueById() {
+        counterRepository.save(new Counter(1, 10_000));
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(16)) {
+            IntStream.range(0, 10_000)
+                .forEach(i -> executorService.execute(() -> counterRepository.decrementValueById(1L)));
+        }
+
+        Assertions.assertEquals(0, counterRepository.findValueByIdForUpdate(1L));
+        Assertions.assertNull(counterRepository.decrementValueById(2L));
+    }
+
+    @Test
+    public void testUpdate() {
+        Assertions.assertEquals(0, counterRepository.update(1L, 5));
+
+        counterRepository.save(new Counter(1, 3));
+
+        Assertions.assertEquals(1, counterRepository.update(1L, 5));
+        Assertions.assertEquals(5, counterRepository.findValueByIdForUpdate(1L));
+    }
+}
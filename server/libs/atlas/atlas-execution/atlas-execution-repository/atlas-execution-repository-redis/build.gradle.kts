@@ -0,0 +1,9 @@
+dependencies {
+    implementation("org.springframework.boot:spring-boot-autoconfigure")
+    implementation("org.springframework.data:spring-data-redis")
+    implementation(project(":server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-api"))
+    implementation(project(":server:libs:platform:platform-tenant:platform-tenant-api"))
+
+    testImplementation("io.lettuce:lettuce-core")
+    testImplementation("org.testcontainers:testcontainers")
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.execution.repository.redis;
+
+import com.bytechef.atlas.execution.domain.Counter;
+import com.bytechef.atlas.execution.repository.CounterRepository;
+import com.bytechef.platform.tenant.TenantContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Keeps counters in Redis so coordinators of a cluster share them without a database row lock per decrement.
+ *
+ * @author agent
+ */
+public class RedisCounterRepository implements CounterRepository {
+
+    private static final RedisScript<Long> DECREMENT_SCRIPT = RedisScript.of(
+        "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('DECR', KEYS[1]) end return false",
+        Long.class);
+    private static final String KEY_PREFIX = "bytechef:counter:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ValueOperations<String, String> valueOperations;
+
+    @SuppressFBWarnings("EI")
+    public RedisCounterRepository(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.valueOperations = stringRedisTemplate.opsForValue();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        stringRedisTemplate.delete(getKey(id));
+    }
+
+    @Override
+    public Long decrementValueById(Long id) {
+        return stringRedisTemplate.execute(DECREMENT_SCRIPT, List.of(getKey(id)));
+    }
+
+    @Override
+    public Iterable<Counter> findAll() {
+        String keyPrefix = getKey("");
+        List<Counter> counters = new ArrayList<>();
+
+        try (Cursor<String> cursor = stringRedisTemplate.scan(
+            ScanOptions.scanOptions()
+                .match(keyPrefix + "*")
+                .build())) {
+
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+
+                String value = valueOperations.get(key);
+
+                if (value != null) {
+                    counters.add(
+                        new Counter(Long.parseLong(key.substring(keyPrefix.length())), Long.parseLong(value)));
+                }
+            }
+        }
+
+        return counters;
+    }
+
+    @Override
+    public Long findValueByIdForUpdate(Long id) {
+        String value = valueOperations.get(getKey(id));
+
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    @Override
+    public Counter save(Counter counter) {
+        valueOperations.set(getKey(counter.getId()), String.valueOf(counter.getValue()));
+
+        return counter;
+    }
+
+    @Override
+    public int update(Long id, long value) {
+        return Boolean.TRUE.equals(valueOperations.setIfPresent(getKey(id), String.valueOf(value))) ? 1 : 0;
+    }
+
+    private static String getKey(Object id) {
+        return KEY_PREFIX + TenantContext.getCurrentTenantId() + ":" + id;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Modifications copyright (C) 2023 ByteChef Inc.
+
+package com.bytechef.atlas.execution.repository.redis;
+
+import com.bytechef.atlas.execution.domain.Counter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * @author agent
+ */
+public class RedisCounterRepositoryIntTest {
+
+    private static final GenericContainer<?> redisContainer = new GenericContainer<>("redis:7.2-alpine")
+        .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory lettuceConnectionFactory;
+    private static RedisCounterRepository counterRepository;
+
+    @BeforeAll
+    public static void beforeAll() {
+        redisContainer.start();
+
+        lettuceConnectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getMappedPort(6379)));
+
+        lettuceConnectionFactory.afterPropertiesSet();
+        lettuceConnectionFactory.start();
+
+        counterRepository = new RedisCounterRepository(new StringRedisTemplate(lettuceConnectionFactory));
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        lettuceConnectionFactory.destroy();
+
+        redisContainer.stop();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        counterRepository.deleteById(1L);
+        counterRepository.deleteById(2L);
+    }
+
+    @Test
+    public void testDecrementValueById() {
+        counterRepository.save(new Counter(1, 10_000));
+
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(16)) {
+            IntStream.range(0, 10_000)
+                .forEach(i -> executorService.execute(() -> values.add(counterRepository.decrementValueById(1L))));
+        }
+
+        // every decrement sees its own value, none is lost between concurrent callers
+
+        Assertions.assertEquals(10_000, values.size());
+        Assertions.assertEquals(0, counterRepository.findValueByIdForUpdate(1L));
+    }
+
+    @Test
+    public void testDecrementValueByIdWithMissingKey() {
+        Assertions.assertNull(counterRepository.decrementValueById(2L));
+
+        // the script must not create the key as DECR alone would
+
+        Assertions.assertNull(counterRepository.findValueByIdForUpdate(2L));
+    }
+
+    @Test
+    public void testUpdate() {
+        Assertions.assertEquals(0, counterRepository.update(1L, 5));
+        Assertions.assertNull(counterRepository.findValueByIdForUpdate(1L));
+
+        counterRepository.save(new Counter(1, 3));
+
+        Assertions.assertEquals(1, counterRepository.update(1L, 5));
+        Assertions.assertEquals(5, counterRepository.findValueByIdForUpdate(1L));
+    }
+}
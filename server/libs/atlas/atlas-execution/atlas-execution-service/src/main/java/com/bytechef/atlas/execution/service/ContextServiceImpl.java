@@ -20,6 +20,8 @@ import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.atlas.execution.repository.ContextRepository;
 import com.bytechef.file.storage.domain.FileEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.Validate;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +36,19 @@ public class ContextServiceImpl implements ContextService {
         this.contextRepository = contextRepository;
     }
 
+    @Override
+    public List<FileEntry> delete(long stackId, @NonNull Context.Classname classname) {
+        Validate.notNull(classname, "'classname' must not be null");
+
+        List<Context> contexts = contextRepository.findAllByStackIdAndClassnameId(stackId, classname.ordinal());
+
+        contextRepository.deleteByStackIdAndClassnameId(stackId, classname.ordinal());
+
+        return contexts.stream()
+            .map(Context::getValue)
+            .toList();
+    }
+
     @Override
     public void push(long stackId, @NonNull Context.Classname classname, @NonNull FileEntry value) {
         Validate.notNull(classname, "'classname' must not be null");
@@ -54,6 +69,18 @@ public class ContextServiceImpl implements ContextService {
         contextRepository.save(context);
     }
 
+    @Override
+    public void push(@NonNull Context.Classname classname, @NonNull Map<Long, FileEntry> values) {
+        Validate.notNull(classname, "'classname' must not be null");
+        Validate.notNull(values, "'values' must not be null");
+
+        contextRepository.saveAll(
+            values.entrySet()
+                .stream()
+                .map(entry -> new Context(entry.getKey(), classname, entry.getValue()))
+                .toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public FileEntry peek(long stackId, @NonNull Context.Classname classname) {
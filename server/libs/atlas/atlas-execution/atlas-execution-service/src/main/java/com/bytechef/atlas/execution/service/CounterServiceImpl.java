@@ -42,16 +42,12 @@ public class CounterServiceImpl implements CounterService {
      */
     @Override
     public long decrement(long id) {
-        Long value = counterRepository.findValueByIdForUpdate(id);
+        Long value = counterRepository.decrementValueById(id);
 
         if (value == null) {
             throw new IllegalArgumentException("Unable to locate counter with id: %s".formatted(id));
         }
 
-        value = value - 1;
-
-        counterRepository.update(id, value);
-
         return value;
     }
 
@@ -67,17 +63,13 @@ public class CounterServiceImpl implements CounterService {
      */
     @Override
     public void set(long id, long value) {
-        Long selectedValue = counterRepository.findValueByIdForUpdate(id);
-
-        if (selectedValue == null) {
+        if (counterRepository.update(id, value) == 0) {
             Counter counter = new Counter();
 
             counter.setId(id);
             counter.setValue(value);
 
             counterRepository.save(counter);
-        } else {
-            counterRepository.update(id, value);
         }
     }
 }
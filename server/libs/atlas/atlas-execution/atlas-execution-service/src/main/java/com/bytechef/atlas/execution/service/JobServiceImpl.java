@@ -81,6 +81,12 @@ public class JobServiceImpl implements JobService {
         return jobRepository.findTop1ByWorkflowIdOrderByIdDesc(workflowId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getFinishedJobIds(LocalDateTime endDate, long lastJobId, int limit) {
+        return jobRepository.findAllFinishedJobIds(endDate, lastJobId, limit);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Job getJob(long id) {
@@ -93,6 +99,12 @@ public class JobServiceImpl implements JobService {
         return jobRepository.findAll(PageRequest.of(pageNumber, DEFAULT_PAGE_SIZE));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getSubflowJobIds(long jobId) {
+        return jobRepository.findAllSubflowJobIds(jobId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Job getTaskExecutionJob(long taskExecutionId) {
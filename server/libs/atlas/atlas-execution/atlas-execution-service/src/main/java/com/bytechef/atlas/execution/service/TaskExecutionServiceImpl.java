@@ -48,6 +48,18 @@ public class TaskExecutionServiceImpl implements TaskExecutionService {
         return taskExecutionRepository.save(taskExecution);
     }
 
+    @Override
+    public List<TaskExecution> create(List<TaskExecution> taskExecutions) {
+        Validate.notNull(taskExecutions, "'taskExecutions' must not be null");
+
+        for (TaskExecution taskExecution : taskExecutions) {
+            Validate.isTrue(taskExecution.getId() == null, "'taskExecution.id' must be null");
+            Validate.notNull(taskExecution.getWorkflowTask(), "'taskExecution.workflowTask' must not be null");
+        }
+
+        return taskExecutionRepository.saveAll(taskExecutions);
+    }
+
     @Override
     public void delete(long id) {
         taskExecutionRepository.findById(id);
@@ -18,6 +18,7 @@ package com.bytechef.atlas.file.storage;
 
 import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.file.storage.domain.FileEntry;
+import java.util.List;
 import java.util.Map;
 import org.springframework.lang.NonNull;
 
@@ -26,12 +27,35 @@ import org.springframework.lang.NonNull;
  */
 public interface TaskFileStorage {
 
+    /**
+     * Deletes the stored context value and returns the number of bytes it occupied. The base of a delta is kept, as it
+     * is stored under the file entry of an earlier push.
+     */
+    long deleteContextValue(@NonNull FileEntry fileEntry);
+
+    long deleteJobOutputs(@NonNull FileEntry fileEntry);
+
+    long deleteTaskExecutionList(@NonNull FileEntry fileEntry);
+
+    long deleteTaskExecutionOutput(@NonNull FileEntry fileEntry);
+
     Map<String, ?> readContextValue(@NonNull FileEntry fileEntry);
 
     Map<String, ?> readJobOutputs(@NonNull FileEntry fileEntry);
 
+    List<?> readTaskExecutionList(@NonNull FileEntry fileEntry);
+
     Object readTaskExecutionOutput(@NonNull FileEntry fileEntry);
 
+    /**
+     * Stores the context value of a child stack made of its parent's context value, stored in the given file entry,
+     * with the overlay entries put on top. Implementations may store only the overlay with a reference to the
+     * parent's file entry, so the parent's context value must not be stored again under the same file entry.
+     */
+    FileEntry storeContextOverlay(
+        long stackId, @NonNull Context.Classname classname, @NonNull FileEntry parentFileEntry,
+        @NonNull Map<String, ?> parentValue, @NonNull Map<String, ?> overlay);
+
     FileEntry storeContextValue(long stackId, @NonNull Context.Classname classname, @NonNull Map<String, ?> value);
 
     FileEntry storeContextValue(
@@ -39,5 +63,11 @@ public interface TaskFileStorage {
 
     FileEntry storeJobOutputs(long jobId, @NonNull Map<String, ?> outputs);
 
+    /**
+     * Stores the list a task execution iterates over, so its parameters only need to reference it by the returned file
+     * entry.
+     */
+    FileEntry storeTaskExecutionList(long taskExecutionId, @NonNull List<?> list);
+
     FileEntry storeTaskExecutionOutput(long taskExecutionId, @NonNull Object output);
 }
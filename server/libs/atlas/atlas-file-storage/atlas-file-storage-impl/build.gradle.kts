@@ -1,10 +1,15 @@
 dependencies {
     api(project(":server:libs:atlas:atlas-file-storage:atlas-file-storage-api"))
 
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation(libs.com.github.luben.zstd.jni)
+    implementation("io.micrometer:micrometer-core")
     implementation("org.apache.commons:commons-lang3")
+    implementation(libs.org.lz4.lz4.java)
     implementation("org.springframework.boot:spring-boot-autoconfigure")
     implementation(project(":server:libs:config:app-config"))
     implementation(project(":server:libs:core:file-storage:file-storage-base64-service"))
+    implementation(project(":server:libs:core:file-storage:file-storage-dedup-service"))
     implementation(project(":server:libs:core:file-storage:file-storage-filesystem-service"))
     implementation(project(":server:libs:core:commons:commons-util"))
 
@@ -17,13 +17,43 @@
 package com.bytechef.atlas.file.storage;
 
 import com.bytechef.atlas.execution.domain.Context;
-import com.bytechef.commons.util.CompressionUtils;
 import com.bytechef.commons.util.JsonUtils;
+import com.bytechef.commons.util.MapUtils;
+import com.bytechef.file.storage.base64.service.Base64FileStorageService;
 import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.exception.FileStorageException;
 import com.bytechef.file.storage.service.FileStorageService;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import org.apache.commons.lang3.Validate;
 import org.springframework.lang.NonNull;
 
 /**
@@ -31,66 +61,663 @@ import org.springframework.lang.NonNull;
  */
 public class TaskFileStorageImpl implements TaskFileStorage {
 
+    /**
+     * How context values are persisted.
+     */
+    public enum ContextMode {
+
+        /**
+         * Every store writes the full context value.
+         */
+        SNAPSHOT,
+
+        /**
+         * A store writes only the keys added, changed or removed since the previous value of the same context, as an
+         * append-only delta referencing that value. Reads fold the chain of deltas onto the nearest snapshot, and a
+         * new snapshot is written once the chain reaches the compaction interval. Only useful with storage providers
+         * whose file entry urls are references, not with ones embedding the content in the url.
+         */
+        DELTA
+    }
+
+    /**
+     * How values are compressed. The codec is recorded as the extension of the file entry name, so entries written
+     * with any codec stay readable after it is changed. A bare <code>.json</code> name is either uncompressed or, for
+     * entries written before the codec was recorded, gzip, which the gzip magic number tells apart.
+     */
+    public enum Codec {
+
+        GZIP(".json.gz"), LZ4(".json.lz4"), NONE(".json"), ZSTD(".json.zst");
+
+        private final String filenameSuffix;
+
+        Codec(String filenameSuffix) {
+            this.filenameSuffix = filenameSuffix;
+        }
+
+        private static Codec of(String filename) {
+            for (Codec codec : values()) {
+                if (codec != NONE && filename.endsWith(codec.filenameSuffix)) {
+                    return codec;
+                }
+            }
+
+            return NONE;
+        }
+
+        private OutputStream compress(OutputStream outputStream) throws IOException {
+            return switch (this) {
+                case GZIP -> new GZIPOutputStream(outputStream, BUFFER_SIZE);
+                case LZ4 -> new LZ4FrameOutputStream(outputStream);
+                case NONE -> outputStream;
+                case ZSTD -> new ZstdOutputStream(outputStream);
+            };
+        }
+
+        private InputStream decompress(InputStream inputStream) throws IOException {
+            return switch (this) {
+                case GZIP -> new GZIPInputStream(inputStream, BUFFER_SIZE);
+                case LZ4 -> new LZ4FrameInputStream(inputStream);
+                case NONE -> {
+                    BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+
+                    bufferedInputStream.mark(2);
+
+                    int magic = bufferedInputStream.read() | (bufferedInputStream.read() << 8);
+
+                    bufferedInputStream.reset();
+
+                    yield magic == GZIPInputStream.GZIP_MAGIC
+                        ? new GZIPInputStream(bufferedInputStream, BUFFER_SIZE) : bufferedInputStream;
+                }
+                case ZSTD -> new ZstdInputStream(inputStream);
+            };
+        }
+    }
+
+    private static final int BUFFER_SIZE = 8192;
     private static final String CONTEXT_FILES_DIR = "outputs/workflow_contexts";
+    private static final String DELTA_BASE = "base";
+    private static final String DELTA_FILENAME_SUFFIX = "_delta";
+    private static final String DELTA_PUT = "put";
+    private static final String DELTA_REMOVE = "remove";
+    private static final int INLINE_ATTEMPT_LIMIT = 1_048_576;
+    private static final Counter INLINE_COUNTER = Metrics.counter(
+        "bytechef.workflow.output.storage.entries", "storage", "inline");
+    private static final FileStorageService INLINE_FILE_STORAGE_SERVICE = new Base64FileStorageService();
+    private static final DistributionSummary INLINE_SIZE_SUMMARY = DistributionSummary
+        .builder("bytechef.workflow.output.storage.size")
+        .baseUnit("bytes")
+        .tag("storage", "inline")
+        .register(Metrics.globalRegistry);
     private static final String JOB_FILES_DIR = "outputs/workflow_jobs";
+    private static final int LAST_CONTEXT_VALUES_MAXIMUM_SIZE = 10_000;
+    private static final int PIPE_SIZE = 65_536;
+    private static final Counter SPILLED_COUNTER = Metrics.counter(
+        "bytechef.workflow.output.storage.entries", "storage", "spilled");
+    private static final DistributionSummary SPILLED_SIZE_SUMMARY = DistributionSummary
+        .builder("bytechef.workflow.output.storage.size")
+        .baseUnit("bytes")
+        .tag("storage", "spilled")
+        .register(Metrics.globalRegistry);
     private static final String TASK_EXECUTION_FILES_DIR = "outputs/workflow_task_executions";
+    private static final String TASK_EXECUTION_LIST_FILES_DIR = "outputs/workflow_task_execution_lists";
 
+    private final Codec codec;
+    private final int compactionInterval;
+    private final ContextMode contextMode;
     private final FileStorageService fileStorageService;
+    private final int inlineThreshold;
+    private final Cache<String, LastContextValue> lastContextValues;
 
     @SuppressFBWarnings("EI")
     public TaskFileStorageImpl(FileStorageService fileStorageService) {
+        this(fileStorageService, ContextMode.SNAPSHOT, 0);
+    }
+
+    @SuppressFBWarnings("EI")
+    public TaskFileStorageImpl(FileStorageService fileStorageService, ContextMode contextMode, int compactionInterval) {
+        this(fileStorageService, contextMode, compactionInterval, 0, Codec.GZIP);
+    }
+
+    /**
+     * @param inlineThreshold the maximum size in bytes of a compressed value stored inline in its file entry url,
+     *                        and so in the database row referencing it, instead of in the file storage; 0 disables
+     *                        inlining
+     * @param codec           the codec new values are compressed with
+     */
+    @SuppressFBWarnings("EI")
+    public TaskFileStorageImpl(
+        FileStorageService fileStorageService, ContextMode contextMode, int compactionInterval, int inlineThreshold,
+        Codec codec) {
+
+        Validate.isTrue(
+            contextMode == ContextMode.SNAPSHOT || compactionInterval > 0, "'compactionInterval' must be positive");
+        Validate.isTrue(inlineThreshold >= 0, "'inlineThreshold' must not be negative");
+
+        this.codec = codec;
+        this.compactionInterval = compactionInterval;
+        this.contextMode = contextMode;
         this.fileStorageService = fileStorageService;
+        this.inlineThreshold = inlineThreshold;
+        this.lastContextValues = Caffeine.newBuilder()
+            .maximumSize(LAST_CONTEXT_VALUES_MAXIMUM_SIZE)
+            .build();
+    }
+
+    @Override
+    public long deleteContextValue(@NonNull FileEntry fileEntry) {
+        return deleteValue(CONTEXT_FILES_DIR, fileEntry);
+    }
+
+    @Override
+    public long deleteJobOutputs(@NonNull FileEntry fileEntry) {
+        return deleteValue(JOB_FILES_DIR, fileEntry);
+    }
+
+    @Override
+    public long deleteTaskExecutionList(@NonNull FileEntry fileEntry) {
+        return deleteValue(TASK_EXECUTION_LIST_FILES_DIR, fileEntry);
+    }
+
+    @Override
+    public long deleteTaskExecutionOutput(@NonNull FileEntry fileEntry) {
+        return deleteValue(TASK_EXECUTION_FILES_DIR, fileEntry);
     }
 
     @Override
     public Map<String, ?> readContextValue(@NonNull FileEntry fileEntry) {
-        return JsonUtils.read(
-            CompressionUtils.decompressToString(fileStorageService.readFileToBytes(CONTEXT_FILES_DIR, fileEntry)),
-            new TypeReference<>() {});
+        if (!isDelta(fileEntry)) {
+            return readContextSnapshot(fileEntry);
+        }
+
+        Deque<Map<String, ?>> deltas = new ArrayDeque<>();
+
+        while (isDelta(fileEntry)) {
+            Map<String, ?> delta = readContextSnapshot(fileEntry);
+
+            deltas.push(delta);
+
+            fileEntry = new FileEntry(MapUtils.getRequiredMap(delta, DELTA_BASE));
+        }
+
+        Map<String, Object> value = new LinkedHashMap<>(readContextSnapshot(fileEntry));
+
+        while (!deltas.isEmpty()) {
+            applyDelta(value, deltas.pop());
+        }
+
+        return value;
     }
 
     @Override
     public Map<String, ?> readJobOutputs(@NonNull FileEntry fileEntry) {
-        return JsonUtils.read(
-            CompressionUtils.decompressToString(fileStorageService.readFileToBytes(JOB_FILES_DIR, fileEntry)),
-            new TypeReference<>() {});
+        return readValue(JOB_FILES_DIR, fileEntry, new TypeReference<>() {});
+    }
+
+    @Override
+    public List<?> readTaskExecutionList(@NonNull FileEntry fileEntry) {
+        return readValue(TASK_EXECUTION_LIST_FILES_DIR, fileEntry, new TypeReference<List<?>>() {});
     }
 
     @Override
     public Object readTaskExecutionOutput(@NonNull FileEntry fileEntry) {
-        return JsonUtils.read(
-            CompressionUtils.decompressToString(
-                fileStorageService.readFileToBytes(TASK_EXECUTION_FILES_DIR, fileEntry)),
-            Object.class);
+        return readValue(TASK_EXECUTION_FILES_DIR, fileEntry, new TypeReference<>() {});
+    }
+
+    /**
+     * The overlay is stored as a delta on the parent's file entry, unless that entry is inline, in which case a delta
+     * would embed the parent's value anyway and the merged value is stored instead.
+     */
+    @Override
+    public FileEntry storeContextOverlay(
+        long stackId, @NonNull Context.Classname classname, @NonNull FileEntry parentFileEntry,
+        @NonNull Map<String, ?> parentValue, @NonNull Map<String, ?> overlay) {
+
+        if (isInline(parentFileEntry)) {
+            Map<String, Object> value = new HashMap<>(parentValue);
+
+            value.putAll(overlay);
+
+            return storeContextValue(stackId, classname, value);
+        }
+
+        return storeValue(
+            CONTEXT_FILES_DIR, classname + "_" + stackId + "_" + UUID.randomUUID() + DELTA_FILENAME_SUFFIX,
+            Map.of(
+                DELTA_BASE, Map.of("name", parentFileEntry.getName(), "url", parentFileEntry.getUrl()),
+                DELTA_PUT, overlay, DELTA_REMOVE, List.of()));
     }
 
     @Override
     public FileEntry storeContextValue(
         long stackId, @NonNull Context.Classname classname, @NonNull Map<String, ?> value) {
 
-        return fileStorageService.storeFileContent(
-            CONTEXT_FILES_DIR, classname + "_" + stackId + ".json", CompressionUtils.compress(JsonUtils.write(value)));
+        String filename = classname + "_" + stackId;
+
+        if (contextMode == ContextMode.DELTA) {
+            return storeContextDelta(filename, value);
+        }
+
+        return storeValue(CONTEXT_FILES_DIR, filename, value);
     }
 
     @Override
     public FileEntry storeContextValue(
         long stackId, int subStackId, @NonNull Context.Classname classname, @NonNull Map<String, ?> value) {
 
-        return fileStorageService.storeFileContent(
-            CONTEXT_FILES_DIR, classname + "_" + stackId + "_" + subStackId + ".json",
-            CompressionUtils.compress(JsonUtils.write(value)));
+        String filename = classname + "_" + stackId + "_" + subStackId;
+
+        if (contextMode == ContextMode.DELTA) {
+            return storeContextDelta(filename, value);
+        }
+
+        return storeValue(CONTEXT_FILES_DIR, filename, value);
     }
 
     @Override
     public FileEntry storeJobOutputs(long jobId, @NonNull Map<String, ?> outputs) {
-        return fileStorageService.storeFileContent(
-            JOB_FILES_DIR, jobId + ".json", CompressionUtils.compress(JsonUtils.write(outputs)));
+        return storeValue(JOB_FILES_DIR, String.valueOf(jobId), outputs);
+    }
+
+    @Override
+    public FileEntry storeTaskExecutionList(long taskExecutionId, @NonNull List<?> list) {
+        return storeValue(TASK_EXECUTION_LIST_FILES_DIR, String.valueOf(taskExecutionId), list);
     }
 
     @Override
     public FileEntry storeTaskExecutionOutput(long taskExecutionId, @NonNull Object output) {
-        return fileStorageService.storeFileContent(
-            TASK_EXECUTION_FILES_DIR, taskExecutionId + ".json",
-            CompressionUtils.compress(JsonUtils.write(output)));
+        return storeValue(TASK_EXECUTION_FILES_DIR, String.valueOf(taskExecutionId), output);
+    }
+
+    private static boolean isInline(FileEntry fileEntry) {
+        String url = fileEntry.getUrl();
+
+        return url.startsWith(Base64FileStorageService.URL_PREFIX);
+    }
+
+    private static void applyDelta(Map<String, Object> value, Map<String, ?> delta) {
+        for (Object key : MapUtils.getList(delta, DELTA_REMOVE, List.of())) {
+            value.remove((String) key);
+        }
+
+        value.putAll(MapUtils.getMap(delta, DELTA_PUT, Map.of()));
+    }
+
+    private static boolean isDelta(FileEntry fileEntry) {
+        String name = fileEntry.getName();
+
+        return name.contains(DELTA_FILENAME_SUFFIX + ".json");
+    }
+
+    private long deleteValue(String directoryPath, FileEntry fileEntry) {
+        FileStorageService currentFileStorageService = isInline(fileEntry)
+            ? INLINE_FILE_STORAGE_SERVICE : fileStorageService;
+
+        long size = currentFileStorageService.getFileSize(directoryPath, fileEntry);
+
+        currentFileStorageService.deleteFile(directoryPath, fileEntry);
+
+        return size;
+    }
+
+    private Map<String, ?> readContextSnapshot(FileEntry fileEntry) {
+        return readValue(CONTEXT_FILES_DIR, fileEntry, new TypeReference<>() {});
+    }
+
+    private <T> T readValue(String directoryPath, FileEntry fileEntry, TypeReference<T> typeReference) {
+        FileStorageService currentFileStorageService = isInline(fileEntry)
+            ? INLINE_FILE_STORAGE_SERVICE : fileStorageService;
+        Codec fileEntryCodec = Codec.of(fileEntry.getName());
+
+        try (InputStream inputStream = fileEntryCodec.decompress(
+            currentFileStorageService.getFileStream(directoryPath, fileEntry))) {
+
+            return JsonUtils.read(inputStream, typeReference);
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to read file " + fileEntry.getName(), ioe);
+        }
+    }
+
+    /**
+     * Values whose compressed size does not exceed the inline threshold are kept in the file entry url, which saves
+     * the file storage round trip on both write and read, larger ones spill to the file storage. A value is first
+     * serialized on the calling thread as long as it may still fit inline, so small values never start a writer
+     * thread. A spilled value is never materialized as a whole, the file storage reads it as it is serialized and
+     * compressed.
+     */
+    private FileEntry storeValue(String directoryPath, String filename, Object value) {
+        filename = filename + codec.filenameSuffix;
+
+        try {
+            if (inlineThreshold > 0) {
+                byte[] bytes = serializeInline(value);
+
+                if (bytes != null) {
+                    INLINE_COUNTER.increment();
+                    INLINE_SIZE_SUMMARY.record(bytes.length);
+
+                    return INLINE_FILE_STORAGE_SERVICE.storeFileContent(directoryPath, filename, bytes);
+                }
+            }
+
+            try (ValueInputStream valueInputStream = new ValueInputStream(value, codec)) {
+                FileEntry fileEntry = fileStorageService.storeFileContent(directoryPath, filename, valueInputStream);
+
+                SPILLED_COUNTER.increment();
+                SPILLED_SIZE_SUMMARY.record(valueInputStream.getCount());
+
+                return fileEntry;
+            }
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to store file " + filename, ioe);
+        }
+    }
+
+    /**
+     * Serializes and compresses the value, or returns {@code null} as soon as the compressed value exceeds the inline
+     * threshold or the serialized one exceeds {@link #INLINE_ATTEMPT_LIMIT}, which bounds the work wasted on values a
+     * compressor keeps buffering.
+     */
+    private byte[] serializeInline(Object value) throws IOException {
+        LimitedOutputStream compressedOutputStream = new LimitedOutputStream(
+            new ByteArrayOutputStream(inlineThreshold + 1), inlineThreshold);
+        LimitedOutputStream serializedOutputStream = null;
+
+        try {
+            OutputStream outputStream = codec.compress(compressedOutputStream);
+
+            serializedOutputStream = new LimitedOutputStream(outputStream, INLINE_ATTEMPT_LIMIT);
+
+            JsonUtils.write(serializedOutputStream, value);
+
+            outputStream.close();
+        } catch (IOException | RuntimeException exception) {
+            if (compressedOutputStream.isExceeded() ||
+                (serializedOutputStream != null && serializedOutputStream.isExceeded())) {
+
+                return null;
+            }
+
+            throw exception;
+        }
+
+        return ((ByteArrayOutputStream) compressedOutputStream.outputStream).toByteArray();
+    }
+
+    /**
+     * Context files written in delta mode get unique names because deltas reference their base by file entry and
+     * storage providers may otherwise overwrite an object stored under the same name.
+     */
+    private FileEntry storeContextDelta(String filename, Map<String, ?> value) {
+        LastContextValue lastContextValue = lastContextValues.getIfPresent(filename);
+
+        FileEntry fileEntry;
+        int depth;
+
+        if (lastContextValue == null || lastContextValue.depth() >= compactionInterval) {
+            fileEntry = storeValue(CONTEXT_FILES_DIR, filename + "_" + UUID.randomUUID(), value);
+            depth = 0;
+        } else {
+            Map<String, ?> lastValue = lastContextValue.value();
+            Map<String, Object> put = new HashMap<>();
+            List<String> remove = new ArrayList<>();
+
+            for (Map.Entry<String, ?> entry : value.entrySet()) {
+                String key = entry.getKey();
+
+                if (!lastValue.containsKey(key) || !Objects.equals(lastValue.get(key), entry.getValue())) {
+                    put.put(key, entry.getValue());
+                }
+            }
+
+            for (String key : lastValue.keySet()) {
+                if (!value.containsKey(key)) {
+                    remove.add(key);
+                }
+            }
+
+            FileEntry baseFileEntry = lastContextValue.fileEntry();
+
+            fileEntry = storeValue(
+                CONTEXT_FILES_DIR, filename + "_" + UUID.randomUUID() + DELTA_FILENAME_SUFFIX,
+                Map.of(
+                    DELTA_BASE, Map.of("name", baseFileEntry.getName(), "url", baseFileEntry.getUrl()),
+                    DELTA_PUT, put, DELTA_REMOVE, remove));
+            depth = lastContextValue.depth() + 1;
+        }
+
+        lastContextValues.put(filename, new LastContextValue(fileEntry, new HashMap<>(value), depth));
+
+        return fileEntry;
+    }
+
+    private record LastContextValue(FileEntry fileEntry, Map<String, ?> value, int depth) {
+    }
+
+    /**
+     * Fails a write once more than the given number of bytes have been written, and remembers that it did.
+     */
+    private static class LimitedOutputStream extends OutputStream {
+
+        private long count;
+        private boolean exceeded;
+        private final long limit;
+        private final OutputStream outputStream;
+
+        private LimitedOutputStream(OutputStream outputStream, long limit) {
+            this.outputStream = outputStream;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            checkLimit(1);
+
+            outputStream.write(value);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            checkLimit(length);
+
+            outputStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+        }
+
+        private void checkLimit(int length) throws IOException {
+            count += length;
+
+            if (count > limit) {
+                exceeded = true;
+
+                throw new IOException("Limit of " + limit + " bytes exceeded");
+            }
+        }
+
+        private boolean isExceeded() {
+            return exceeded;
+        }
+    }
+
+    /**
+     * Serializes and compresses a value on a virtual thread into a bounded buffer the file storage reads from. The
+     * buffer is guarded by a {@link ReentrantLock}, so a writer waiting for the reader unmounts from its carrier thread
+     * instead of pinning it as the monitor based {@link java.io.PipedInputStream} would. A failed serialization
+     * surfaces as an {@link IOException} at the end of the stream, so a truncated value is never stored.
+     */
+    private static class ValueInputStream extends InputStream {
+
+        private final byte[] buffer = new byte[PIPE_SIZE];
+        private boolean closed;
+        private long count;
+        private volatile Exception exception;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private int readPosition;
+        private int size;
+        private boolean writerClosed;
+
+        private ValueInputStream(Object value, Codec codec) {
+            Thread.ofVirtual()
+                .name("task-file-storage-writer")
+                .start(() -> write(value, codec, new PipeOutputStream()));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] bytes = new byte[1];
+
+            return read(bytes, 0, 1) == -1 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            int readCount;
+
+            lock.lock();
+
+            try {
+                while (size == 0 && !writerClosed) {
+                    notEmpty.await();
+                }
+
+                if (size == 0) {
+                    readCount = -1;
+                } else {
+                    readCount = Math.min(length, Math.min(size, buffer.length - readPosition));
+
+                    System.arraycopy(buffer, readPosition, bytes, offset, readCount);
+
+                    readPosition = (readPosition + readCount) % buffer.length;
+                    size -= readCount;
+
+                    notFull.signal();
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread()
+                    .interrupt();
+
+                throw new InterruptedIOException();
+            } finally {
+                lock.unlock();
+            }
+
+            if (readCount == -1) {
+                checkException();
+            } else {
+                count += readCount;
+            }
+
+            return readCount;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+
+            try {
+                closed = true;
+
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+        private void checkException() throws IOException {
+            if (exception != null) {
+                throw new IOException("Failed to write value", exception);
+            }
+        }
+
+        private void write(Object value, Codec codec, PipeOutputStream pipeOutputStream) {
+            try (pipeOutputStream) {
+                OutputStream outputStream = codec.compress(pipeOutputStream);
+
+                JsonUtils.write(outputStream, value);
+
+                outputStream.close();
+            } catch (Exception e) {
+                exception = e;
+            }
+        }
+
+        private class PipeOutputStream extends OutputStream {
+
+            @Override
+            public void write(int value) throws IOException {
+                write(new byte[] {
+                    (byte) value
+                }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                lock.lock();
+
+                try {
+                    while (length > 0) {
+                        while (size == buffer.length && !closed) {
+                            notFull.await();
+                        }
+
+                        if (closed) {
+                            throw new IOException("Pipe closed");
+                        }
+
+                        int writePosition = (readPosition + size) % buffer.length;
+                        int writeCount = Math.min(
+                            length, Math.min(buffer.length - size, buffer.length - writePosition));
+
+                        System.arraycopy(bytes, offset, buffer, writePosition, writeCount);
+
+                        size += writeCount;
+                        offset += writeCount;
+                        length -= writeCount;
+
+                        notEmpty.signal();
+                    }
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread()
+                        .interrupt();
+
+                    throw new InterruptedIOException();
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void close() {
+                lock.lock();
+
+                try {
+                    writerClosed = true;
+
+                    notEmpty.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
     }
 }
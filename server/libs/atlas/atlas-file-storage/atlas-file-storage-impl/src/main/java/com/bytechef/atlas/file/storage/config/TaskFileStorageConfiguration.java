@@ -18,10 +18,14 @@ package com.bytechef.atlas.file.storage.config;
 
 import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.atlas.file.storage.TaskFileStorageImpl;
+import com.bytechef.atlas.file.storage.TaskFileStorageImpl.Codec;
+import com.bytechef.atlas.file.storage.TaskFileStorageImpl.ContextMode;
 import com.bytechef.config.ApplicationProperties;
+import com.bytechef.config.ApplicationProperties.Workflow.OutputStorage;
 import com.bytechef.config.ApplicationProperties.Workflow.OutputStorage.Provider;
 import com.bytechef.ee.file.storage.aws.AwsFileStorageService;
 import com.bytechef.file.storage.base64.service.Base64FileStorageService;
+import com.bytechef.file.storage.dedup.service.DedupFileStorageService;
 import com.bytechef.file.storage.filesystem.service.FilesystemFileStorageService;
 import com.bytechef.file.storage.service.FileStorageService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -62,15 +66,48 @@ public class TaskFileStorageConfiguration {
                     StringUtils.lowerCase(provider.name())));
         }
 
-        return new TaskFileStorageImpl(getFileStorageService(provider));
+        OutputStorage outputStorage = applicationProperties.getWorkflow()
+            .getOutputStorage();
+
+        OutputStorage.Context context = outputStorage.getContext();
+
+        ContextMode contextMode = switch (context.getMode()) {
+            case DELTA -> ContextMode.DELTA;
+            case SNAPSHOT -> ContextMode.SNAPSHOT;
+        };
+
+        if (contextMode == ContextMode.DELTA && provider == Provider.JDBC) {
+            logger.warn(
+                "Workflow context delta mode is not supported by the jdbc output storage provider, deltas would " +
+                    "embed their base, falling back to snapshot mode");
+
+            contextMode = ContextMode.SNAPSHOT;
+        }
+
+        Codec codec = switch (outputStorage.getCodec()) {
+            case GZIP -> Codec.GZIP;
+            case LZ4 -> Codec.LZ4;
+            case NONE -> Codec.NONE;
+            case ZSTD -> Codec.ZSTD;
+        };
+
+        return new TaskFileStorageImpl(
+            getFileStorageService(provider), contextMode, context.getCompactionInterval(),
+            provider == Provider.JDBC ? 0 : outputStorage.getInlineThreshold(), codec);
     }
 
     private FileStorageService getFileStorageService(Provider provider) {
-        return switch (provider) {
+        FileStorageService fileStorageService = switch (provider) {
             case Provider.AWS -> awsFileStorageService;
             case Provider.FILESYSTEM -> new FilesystemFileStorageService(getBasedir());
             case Provider.JDBC -> new Base64FileStorageService();
         };
+
+        if (provider != Provider.JDBC && isDedupEnabled()) {
+            return new DedupFileStorageService(fileStorageService, getDedupGracePeriod());
+        }
+
+        return fileStorageService;
     }
 
     private String getBasedir() {
@@ -78,4 +115,16 @@ public class TaskFileStorageConfiguration {
             .getFilesystem()
             .getBasedir();
     }
+
+    private long getDedupGracePeriod() {
+        return applicationProperties.getFileStorage()
+            .getDedup()
+            .getGracePeriod();
+    }
+
+    private boolean isDedupEnabled() {
+        return applicationProperties.getFileStorage()
+            .getDedup()
+            .isEnabled();
+    }
 }
@@ -16,16 +16,205 @@
 
 package com.bytechef.atlas.file.storage;
 
-import org.junit.jupiter.api.Disabled;
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.file.storage.TaskFileStorageImpl.Codec;
+import com.bytechef.atlas.file.storage.TaskFileStorageImpl.ContextMode;
+import com.bytechef.commons.util.CompressionUtils;
+import com.bytechef.commons.util.JsonUtils;
+import com.bytechef.file.storage.base64.service.Base64FileStorageService;
+import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.filesystem.service.FilesystemFileStorageService;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 /**
  * @author Ivica Cardic
  */
 public class TaskFileStorageTest {
 
-    @Disabled
     @Test
-    public void test() {
+    public void testDeleteTaskExecutionOutput(@TempDir Path tempDir) {
+        FilesystemFileStorageService fileStorageService = new FilesystemFileStorageService(tempDir.toString());
+
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(fileStorageService);
+
+        FileEntry fileEntry = taskFileStorage.storeTaskExecutionOutput(1, Map.of("key", "value"));
+
+        long size = fileStorageService.getFileSize("outputs/workflow_task_executions", fileEntry);
+
+        Assertions.assertThat(taskFileStorage.deleteTaskExecutionOutput(fileEntry))
+            .isPositive()
+            .isEqualTo(size);
+        Assertions.assertThat(fileStorageService.fileExists("outputs/workflow_task_executions", fileEntry))
+            .isFalse();
+    }
+
+    @Test
+    public void testStoreContextValueSnapshot() {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(new Base64FileStorageService());
+
+        FileEntry fileEntry = taskFileStorage.storeContextValue(1, Context.Classname.JOB, Map.of("task1", "value1"));
+
+        Assertions.assertThat(taskFileStorage.readContextValue(fileEntry))
+            .isEqualTo(Map.of("task1", "value1"));
+    }
+
+    @Test
+    public void testStoreContextValueDelta(@TempDir Path tempDir) {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(
+            new FilesystemFileStorageService(tempDir.toString()), ContextMode.DELTA, 3);
+
+        Map<String, Object> context = new HashMap<>();
+
+        FileEntry fileEntry = null;
+
+        for (int i = 0; i < 7; i++) {
+            context.put("task" + i, Map.of("index", i));
+
+            if (i == 4) {
+                context.remove("task1");
+                context.put("task0", "changed");
+            }
+
+            fileEntry = taskFileStorage.storeContextValue(1, 2, Context.Classname.TASK_EXECUTION, context);
+
+            Assertions.assertThat(taskFileStorage.readContextValue(fileEntry))
+                .isEqualTo(context);
+        }
+
+        Assertions.assertThat(fileEntry.getName())
+            .endsWith("_delta.json.gz");
+    }
+
+    @Test
+    public void testStoreContextOverlay(@TempDir Path tempDir) {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(
+            new FilesystemFileStorageService(tempDir.toString()));
+
+        Map<String, ?> parentValue = Map.of("task1", "value1", "each", "parent");
+
+        FileEntry parentFileEntry = taskFileStorage.storeContextValue(
+            1, Context.Classname.TASK_EXECUTION, parentValue);
+
+        FileEntry fileEntry = taskFileStorage.storeContextOverlay(
+            2, Context.Classname.TASK_EXECUTION, parentFileEntry, parentValue, Map.of("each", Map.of("index", 0)));
+
+        Assertions.assertThat(fileEntry.getName())
+            .endsWith("_delta.json.gz");
+        Assertions.assertThat(taskFileStorage.readContextValue(fileEntry))
+            .isEqualTo(Map.of("task1", "value1", "each", Map.of("index", 0)));
+        Assertions.assertThat(taskFileStorage.readContextValue(parentFileEntry))
+            .isEqualTo(parentValue);
+    }
+
+    @Test
+    public void testStoreContextOverlayInline() {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(new Base64FileStorageService());
+
+        Map<String, ?> parentValue = Map.of("task1", "value1");
+
+        FileEntry parentFileEntry = taskFileStorage.storeContextValue(
+            1, Context.Classname.TASK_EXECUTION, parentValue);
+
+        FileEntry fileEntry = taskFileStorage.storeContextOverlay(
+            2, Context.Classname.TASK_EXECUTION, parentFileEntry, parentValue, Map.of("each", "item"));
+
+        Assertions.assertThat(fileEntry.getName())
+            .doesNotContain("_delta");
+        Assertions.assertThat(taskFileStorage.readContextValue(fileEntry))
+            .isEqualTo(Map.of("task1", "value1", "each", "item"));
+    }
+
+    @Test
+    public void testReadTaskExecutionOutputWithoutCodec(@TempDir Path tempDir) {
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(filesystemFileStorageService);
+
+        FileEntry fileEntry = filesystemFileStorageService.storeFileContent(
+            "outputs/workflow_task_executions", "1.json",
+            CompressionUtils.compress(JsonUtils.write(Map.of("key", "value"))));
+
+        Assertions.assertThat(taskFileStorage.readTaskExecutionOutput(fileEntry))
+            .isEqualTo(Map.of("key", "value"));
+
+        fileEntry = filesystemFileStorageService.storeFileContent(
+            "outputs/workflow_task_executions", "2.json", JsonUtils.write(List.of("value")));
+
+        Assertions.assertThat(taskFileStorage.readTaskExecutionOutput(fileEntry))
+            .isEqualTo(List.of("value"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Codec.class)
+    public void testStoreTaskExecutionOutputCodec(Codec codec, @TempDir Path tempDir) {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(
+            new FilesystemFileStorageService(tempDir.toString()), ContextMode.SNAPSHOT, 0, 0, codec);
+
+        List<Map<String, Object>> output = IntStream.range(0, 100_000)
+            .mapToObj(i -> Map.<String, Object>of("index", i, "name", "value" + i))
+            .toList();
+
+        FileEntry fileEntry = taskFileStorage.storeTaskExecutionOutput(1, output);
+
+        Assertions.assertThat(taskFileStorage.readTaskExecutionOutput(fileEntry))
+            .isEqualTo(output);
+    }
+
+    @Test
+    public void testStoreTaskExecutionOutputConcurrently(@TempDir Path tempDir) throws Exception {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(
+            new FilesystemFileStorageService(tempDir.toString()), ContextMode.SNAPSHOT, 0, 256, Codec.NONE);
+
+        List<String> output = IntStream.range(0, 50_000)
+            .mapToObj(i -> "value" + i)
+            .toList();
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<FileEntry>> futures = IntStream.range(0, 64)
+                .mapToObj(i -> executorService.submit(() -> taskFileStorage.storeTaskExecutionOutput(i, output)))
+                .toList();
+
+            for (Future<FileEntry> future : futures) {
+                Assertions.assertThat(taskFileStorage.readTaskExecutionOutput(future.get()))
+                    .isEqualTo(output);
+            }
+        }
+    }
+
+    @Test
+    public void testStoreTaskExecutionOutputInline(@TempDir Path tempDir) {
+        TaskFileStorage taskFileStorage = new TaskFileStorageImpl(
+            new FilesystemFileStorageService(tempDir.toString()), ContextMode.SNAPSHOT, 0, 256, Codec.GZIP);
+
+        FileEntry fileEntry = taskFileStorage.storeTaskExecutionOutput(1, Map.of("key", "value"));
+
+        Assertions.assertThat(fileEntry.getUrl())
+            .startsWith(Base64FileStorageService.URL_PREFIX);
+        Assertions.assertThat(taskFileStorage.readTaskExecutionOutput(fileEntry))
+            .isEqualTo(Map.of("key", "value"));
+
+        List<String> output = IntStream.range(0, 1000)
+            .mapToObj(i -> "value" + i)
+            .toList();
+
+        fileEntry = taskFileStorage.storeTaskExecutionOutput(2, output);
+
+        Assertions.assertThat(fileEntry.getUrl())
+            .doesNotStartWith(Base64FileStorageService.URL_PREFIX);
+        Assertions.assertThat(taskFileStorage.readTaskExecutionOutput(fileEntry))
+            .isEqualTo(output);
     }
 }
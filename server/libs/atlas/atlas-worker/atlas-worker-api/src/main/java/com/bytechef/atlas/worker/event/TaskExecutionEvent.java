@@ -49,6 +49,15 @@ public class TaskExecutionEvent extends AbstractEvent
         this.taskExecution = taskExecution;
     }
 
+    @Override
+    public TaskExecutionEvent clone() throws CloneNotSupportedException {
+        TaskExecutionEvent event = (TaskExecutionEvent) super.clone();
+
+        event.taskExecution = taskExecution.clone();
+
+        return event;
+    }
+
     @Override
     public int getPriority() {
         return taskExecution.getPriority();
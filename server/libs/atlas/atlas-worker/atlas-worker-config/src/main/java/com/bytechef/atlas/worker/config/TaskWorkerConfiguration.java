@@ -19,6 +19,7 @@
 package com.bytechef.atlas.worker.config;
 
 import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.atlas.worker.TaskBulkheads;
 import com.bytechef.atlas.worker.TaskWorker;
 import com.bytechef.atlas.worker.annotation.ConditionalOnWorker;
 import com.bytechef.atlas.worker.task.handler.DefaultTaskHandlerResolver;
@@ -27,6 +28,8 @@ import com.bytechef.atlas.worker.task.handler.TaskDispatcherAdapterTaskHandlerRe
 import com.bytechef.atlas.worker.task.handler.TaskHandlerRegistry;
 import com.bytechef.atlas.worker.task.handler.TaskHandlerResolver;
 import com.bytechef.atlas.worker.task.handler.TaskHandlerResolverChain;
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.platform.tenant.concurrent.TenantVirtualThreadTaskExecutor;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Collections;
 import java.util.List;
@@ -82,9 +85,23 @@ public class TaskWorkerConfiguration {
 
     @Bean
     TaskWorker taskWorker(
-        ApplicationEventPublisher eventPublisher, Executor taskExecutor, TaskFileStorage taskFileStorage,
-        TaskHandlerResolver taskHandlerResolver) {
+        ApplicationEventPublisher eventPublisher, ApplicationProperties applicationProperties, Executor taskExecutor,
+        TaskFileStorage taskFileStorage, TaskHandlerResolver taskHandlerResolver) {
 
-        return new TaskWorker(eventPublisher, (AsyncTaskExecutor) taskExecutor, taskHandlerResolver, taskFileStorage);
+        ApplicationProperties.Worker.Task task = applicationProperties.getWorker()
+            .getTask();
+
+        ApplicationProperties.Worker.Task.Bulkhead bulkhead = task.getBulkhead();
+
+        TaskBulkheads taskBulkheads = new TaskBulkheads(bulkhead.getLimits(), bulkhead.getDeferDelay());
+
+        if (task.isVirtualThreads()) {
+            return new TaskWorker(
+                eventPublisher, new TenantVirtualThreadTaskExecutor("task-worker-"), taskHandlerResolver,
+                taskFileStorage, taskBulkheads, task.getMaxConcurrency());
+        }
+
+        return new TaskWorker(
+            eventPublisher, (AsyncTaskExecutor) taskExecutor, taskHandlerResolver, taskFileStorage, taskBulkheads);
     }
 }
@@ -2,11 +2,13 @@ dependencies {
     api(project(":server:libs:atlas:atlas-worker:atlas-worker-api"))
 
     implementation("org.apache.commons:commons-lang3")
+    implementation("io.micrometer:micrometer-core")
     implementation("org.slf4j:slf4j-api")
     implementation("org.springframework:spring-context")
     implementation(project(":server:libs:atlas:atlas-coordinator:atlas-coordinator-api"))
     implementation(project(":server:libs:atlas:atlas-file-storage:atlas-file-storage-api"))
     implementation(project(":server:libs:core:commons:commons-util"))
+    implementation(project(":server:libs:platform:platform-tenant:platform-tenant-api"))
 
     testImplementation("com.fasterxml.jackson.core:jackson-databind")
     testImplementation("com.fasterxml.jackson.datatype:jackson-datatype-jdk8")
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.atlas.worker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Concurrency limits of the tasks a {@link TaskWorker} executes, keyed by a task type prefix. A key such as
+ * {@code openai} limits every operation of a component, a key such as {@code openai/v1/ask} a single operation. A task
+ * has to get a permit from every bulkhead whose key matches its type. A task that can not get one is sent back to the
+ * message broker after the defer delay. When the limits come from configuration properties, an operation key has to
+ * be written as {@code "[openai/v1/ask]"} so that the binder keeps the {@code /} characters.
+ *
+ * @author agent
+ */
+public class TaskBulkheads {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBulkheads.class);
+
+    private final List<Bulkhead> bulkheads;
+    private final long deferDelay;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final Map<String, List<Bulkhead>> typeBulkheadsMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param limits     the maximum number of tasks executed at the same time, keyed by task type prefix
+     * @param deferDelay the time in milliseconds after which a task over a limit is sent back to the message broker
+     */
+    public TaskBulkheads(Map<String, Integer> limits, long deferDelay) {
+        this.bulkheads = limits.entrySet()
+            .stream()
+            .map(entry -> new Bulkhead(entry.getKey(), entry.getValue()))
+            .toList();
+        this.deferDelay = deferDelay;
+
+        if (bulkheads.isEmpty()) {
+            this.scheduledExecutorService = null;
+        } else {
+            ThreadFactory threadFactory = Thread.ofPlatform()
+                .daemon()
+                .name("task-worker-bulkhead")
+                .factory();
+
+            this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+    }
+
+    public void shutdown() {
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the given action, that sends a task over a limit back to the message broker, after the defer delay.
+     */
+    void defer(List<Bulkhead> fullBulkheads, Runnable deferRunnable) {
+        for (Bulkhead bulkhead : fullBulkheads) {
+            bulkhead.deferredCounter.increment();
+        }
+
+        scheduledExecutorService.schedule(
+            () -> {
+                try {
+                    deferRunnable.run();
+                } catch (RuntimeException runtimeException) {
+                    logger.error(runtimeException.getMessage(), runtimeException);
+                }
+            },
+            deferDelay, TimeUnit.MILLISECONDS);
+    }
+
+    void release(List<Bulkhead> acquiredBulkheads) {
+        for (Bulkhead bulkhead : acquiredBulkheads) {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Acquires a permit from every bulkhead that matches the task type.
+     *
+     * @return the result holding either the acquired bulkheads, or the full ones if no permit was acquired
+     */
+    Acquisition tryAcquire(String type) {
+        if (bulkheads.isEmpty() || type == null) {
+            return Acquisition.EMPTY;
+        }
+
+        List<Bulkhead> typeBulkheads = typeBulkheadsMap.computeIfAbsent(type, this::resolveBulkheads);
+
+        List<Bulkhead> acquiredBulkheads = new ArrayList<>(typeBulkheads.size());
+
+        for (Bulkhead bulkhead : typeBulkheads) {
+            if (!bulkhead.tryAcquire()) {
+                release(acquiredBulkheads);
+
+                return new Acquisition(List.of(), List.of(bulkhead));
+            }
+
+            acquiredBulkheads.add(bulkhead);
+        }
+
+        return new Acquisition(acquiredBulkheads, List.of());
+    }
+
+    private List<Bulkhead> resolveBulkheads(String type) {
+        return bulkheads.stream()
+            .filter(bulkhead -> type.equals(bulkhead.key) || type.startsWith(bulkhead.key + "/"))
+            .toList();
+    }
+
+    record Acquisition(List<Bulkhead> acquiredBulkheads, List<Bulkhead> fullBulkheads) {
+
+        private static final Acquisition EMPTY = new Acquisition(List.of(), List.of());
+
+        boolean isAcquired() {
+            return fullBulkheads.isEmpty();
+        }
+    }
+
+    static final class Bulkhead {
+
+        private final Counter deferredCounter;
+        private final AtomicInteger inFlight;
+        private final String key;
+        private final Semaphore semaphore;
+
+        private Bulkhead(String key, int limit) {
+            this.deferredCounter = Metrics.counter("bytechef.task.worker.bulkhead.deferred", "bulkhead", key);
+            this.inFlight = Metrics.gauge(
+                "bytechef.task.worker.bulkhead.tasks", Tags.of("bulkhead", key), new AtomicInteger());
+            this.key = key;
+            this.semaphore = new Semaphore(Math.max(limit, 1));
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+
+            semaphore.release();
+        }
+
+        private boolean tryAcquire() {
+            if (semaphore.tryAcquire()) {
+                inFlight.incrementAndGet();
+
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
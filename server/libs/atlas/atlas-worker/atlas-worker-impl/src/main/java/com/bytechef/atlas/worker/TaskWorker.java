@@ -26,6 +26,7 @@ import com.bytechef.atlas.coordinator.event.TaskStartedApplicationEvent;
 import com.bytechef.atlas.execution.domain.TaskExecution;
 import com.bytechef.atlas.execution.domain.TaskExecution.Status;
 import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.atlas.worker.TaskBulkheads.Acquisition;
 import com.bytechef.atlas.worker.event.CancelControlTaskEvent;
 import com.bytechef.atlas.worker.event.TaskExecutionEvent;
 import com.bytechef.atlas.worker.task.handler.TaskHandler;
@@ -33,6 +34,12 @@ import com.bytechef.atlas.worker.task.handler.TaskHandlerResolver;
 import com.bytechef.commons.util.ExceptionUtils;
 import com.bytechef.error.ExecutionError;
 import com.bytechef.message.event.MessageEvent;
+import com.bytechef.platform.tenant.TenantContext;
+import com.bytechef.platform.tenant.util.TenantUtils;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -45,9 +52,19 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,22 +89,69 @@ public class TaskWorker {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskWorker.class);
 
+    private static final AtomicInteger ACTIVE_TASKS = Metrics.gauge(
+        "bytechef.task.worker.tasks", Tags.of("state", "active"), new AtomicInteger());
     private static final long DEFAULT_TIME_OUT = 24 * 60 * 60 * 1000; // 24 hours
+    private static final AtomicInteger QUEUED_TASKS = Metrics.gauge(
+        "bytechef.task.worker.tasks", Tags.of("state", "queued"), new AtomicInteger());
+    private static final Counter TIMED_OUT_TASKS = Metrics.counter("bytechef.task.worker.tasks.timeouts");
 
+    private final Semaphore concurrencySemaphore;
     private final ApplicationEventPublisher eventPublisher;
     private final AsyncTaskExecutor taskExecutor;
+    private final TaskBulkheads taskBulkheads;
     private final TaskHandlerResolver taskHandlerResolver;
     private final Map<Long, TaskExecutionFuture<?>> taskExecutionFutureMap = new ConcurrentHashMap<>();
     private final TaskFileStorage taskFileStorage;
+    private final ScheduledExecutorService timeoutScheduledExecutorService;
 
     public TaskWorker(
         ApplicationEventPublisher eventPublisher, AsyncTaskExecutor taskExecutor,
         TaskHandlerResolver taskHandlerResolver, TaskFileStorage taskFileStorage) {
 
+        this(eventPublisher, taskExecutor, taskHandlerResolver, taskFileStorage, new TaskBulkheads(Map.of(), 0));
+    }
+
+    @SuppressFBWarnings("EI")
+    public TaskWorker(
+        ApplicationEventPublisher eventPublisher, AsyncTaskExecutor taskExecutor,
+        TaskHandlerResolver taskHandlerResolver, TaskFileStorage taskFileStorage, TaskBulkheads taskBulkheads) {
+
+        this.concurrencySemaphore = null;
+        this.eventPublisher = eventPublisher;
+        this.taskBulkheads = taskBulkheads;
+        this.taskExecutor = taskExecutor;
+        this.taskHandlerResolver = taskHandlerResolver;
+        this.taskFileStorage = taskFileStorage;
+        this.timeoutScheduledExecutorService = null;
+    }
+
+    /**
+     * Creates a worker that does not block the listener thread until a task completes. Tasks are started on the given
+     * executor, typically a virtual thread executor, at most {@code maxConcurrency} at the same time, and a task that
+     * exceeds its timeout is cancelled by a scheduler.
+     *
+     * @param taskBulkheads  the per component concurrency limits
+     * @param maxConcurrency the maximum number of tasks executed at the same time, 0 means unlimited
+     */
+    @SuppressFBWarnings("EI")
+    public TaskWorker(
+        ApplicationEventPublisher eventPublisher, AsyncTaskExecutor taskExecutor,
+        TaskHandlerResolver taskHandlerResolver, TaskFileStorage taskFileStorage, TaskBulkheads taskBulkheads,
+        int maxConcurrency) {
+
+        ThreadFactory threadFactory = Thread.ofPlatform()
+            .daemon()
+            .name("task-worker-timeout")
+            .factory();
+
+        this.concurrencySemaphore = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
         this.eventPublisher = eventPublisher;
+        this.taskBulkheads = taskBulkheads;
         this.taskExecutor = taskExecutor;
         this.taskHandlerResolver = taskHandlerResolver;
         this.taskFileStorage = taskFileStorage;
+        this.timeoutScheduledExecutorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
     }
 
     /**
@@ -99,29 +163,90 @@ public class TaskWorker {
         logger.debug("onTaskExecutionEvent: taskExecutionEvent={}", taskExecutionEvent);
 
         TaskExecution taskExecution = taskExecutionEvent.getTaskExecution();
-        CountDownLatch latch = new CountDownLatch(1);
 
-        Future<?> future = taskExecutor.submit(() -> {
-            try {
-                eventPublisher.publishEvent(
-                    new TaskStartedApplicationEvent(
-                        Validate.notNull(taskExecution.getJobId(), "id"),
-                        Validate.notNull(taskExecution.getId(), "id")));
+        if (timeoutScheduledExecutorService == null) {
+            executeAndWait(taskExecutionEvent, taskExecution);
+        } else {
+            executeAsync(taskExecutionEvent, taskExecution);
+        }
+    }
 
-                TaskExecution completedTaskExecution = doExecuteTask(taskExecution);
+    public void shutdown() {
+        taskBulkheads.shutdown();
 
-                eventPublisher.publishEvent(
-                    new TaskExecutionCompleteEvent(completedTaskExecution));
-            } catch (InterruptedException e) {
-                if (logger.isTraceEnabled()) {
-                    logger.trace(e.getMessage(), e);
-                }
-            } catch (Exception e) {
-                TaskExecutionFuture<?> taskExecutionFuture = taskExecutionFutureMap.get(taskExecution.getId());
+        if (timeoutScheduledExecutorService != null) {
+            timeoutScheduledExecutorService.shutdownNow();
+        }
+    }
 
-                if (taskExecutionFuture == null || !taskExecutionFuture.isCancelled()) {
-                    handleException(taskExecution, e);
+    /**
+     * Handle cancel control tasks to stop an ongoing task or to adjust something on a worker outside the context of a
+     * job.
+     */
+    public void onCancelControlTaskEvent(MessageEvent<?> event) {
+        if (event instanceof CancelControlTaskEvent cancelControlTaskEvent) {
+            CancelControlTask cancelControlTask = cancelControlTaskEvent.getControlTask();
+
+            logger.debug("onCancelControlTaskEvent: cancelControlTask={}", cancelControlTask);
+
+            Long jobId = cancelControlTask.getJobId();
+
+            for (TaskExecutionFuture<?> taskExecutionFuture : taskExecutionFutureMap.values()) {
+                if (Objects.equals(taskExecutionFuture.taskExecution.getJobId(), jobId)) {
+                    logger.info(
+                        "Cancelling task jobId={}->taskExecutionId={}", jobId,
+                        taskExecutionFuture.taskExecution.getId());
+
+                    taskExecutionFuture.cancel(true);
                 }
+            }
+        }
+    }
+
+    Map<Long, TaskExecutionFuture<?>> getTaskExecutions() {
+        return Collections.unmodifiableMap(taskExecutionFutureMap);
+    }
+
+    private void defer(TaskExecutionEvent taskExecutionEvent, Acquisition acquisition) {
+        logger.debug("Deferring task: {}", taskExecutionEvent.getTaskExecution()
+            .getId());
+
+        String tenantId = TenantContext.getCurrentTenantId();
+
+        // the bulkhead thread has no tenant of its own, the event is sent back with the tenant it was received with
+
+        taskBulkheads.defer(
+            acquisition.fullBulkheads(),
+            () -> TenantUtils.runWithTenantId(tenantId, () -> eventPublisher.publishEvent(taskExecutionEvent)));
+    }
+
+    private void executeAndWait(TaskExecutionEvent taskExecutionEvent, TaskExecution taskExecution) {
+        Acquisition acquisition = taskBulkheads.tryAcquire(taskExecution.getType());
+
+        if (!acquisition.isAcquired()) {
+            defer(taskExecutionEvent, acquisition);
+
+            return;
+        }
+
+        try {
+            doExecuteAndWait(taskExecution);
+        } finally {
+            taskBulkheads.release(acquisition.acquiredBulkheads());
+        }
+    }
+
+    private void doExecuteAndWait(TaskExecution taskExecution) {
+        AtomicBoolean finished = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Future<?> future = taskExecutor.submit(() -> {
+            try {
+                executeTask(taskExecution, finished, () -> {
+                    TaskExecutionFuture<?> taskExecutionFuture = taskExecutionFutureMap.get(taskExecution.getId());
+
+                    return taskExecutionFuture != null && taskExecutionFuture.isCancelled();
+                });
             } finally {
                 latch.countDown();
             }
@@ -131,8 +256,18 @@ public class TaskWorker {
 
         try {
             future.get(calculateTimeout(taskExecution), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            handleException(taskExecution, e);
+        } catch (TimeoutException e) {
+            if (finished.compareAndSet(false, true)) {
+                future.cancel(true);
+
+                TIMED_OUT_TASKS.increment();
+
+                handleException(taskExecution, e);
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            if (finished.compareAndSet(false, true)) {
+                handleException(taskExecution, e);
+            }
         } catch (CancellationException e) {
             logger.debug("Cancelled task: {}", taskExecution.getId());
         } finally {
@@ -146,32 +281,120 @@ public class TaskWorker {
         }
     }
 
+    private void executeAsync(TaskExecutionEvent taskExecutionEvent, TaskExecution taskExecution) {
+        Long taskExecutionId = Validate.notNull(taskExecution.getId(), "id");
+        AtomicReference<Future<?>> futureReference = new AtomicReference<>();
+
+        FutureTask<Void> futureTask = new FutureTask<>(() -> {
+            Acquisition acquisition = taskBulkheads.tryAcquire(taskExecution.getType());
+
+            if (!acquisition.isAcquired()) {
+                defer(taskExecutionEvent, acquisition);
+
+                return null;
+            }
+
+            try {
+                doExecuteAsync(taskExecution, futureReference);
+            } finally {
+                taskBulkheads.release(acquisition.acquiredBulkheads());
+            }
+
+            return null;
+        }) {
+
+            @Override
+            protected void done() {
+                taskExecutionFutureMap.remove(taskExecutionId);
+            }
+        };
+
+        futureReference.set(futureTask);
+
+        taskExecutionFutureMap.put(taskExecutionId, new TaskExecutionFuture<>(taskExecution, futureTask));
+
+        taskExecutor.execute(futureTask);
+    }
+
+    private void doExecuteAsync(TaskExecution taskExecution, AtomicReference<Future<?>> futureReference) {
+        QUEUED_TASKS.incrementAndGet();
+
+        try {
+            if (concurrencySemaphore != null) {
+                concurrencySemaphore.acquire();
+            }
+        } catch (InterruptedException e) {
+            logger.debug("Cancelled queued task: {}", taskExecution.getId());
+
+            return;
+        } finally {
+            QUEUED_TASKS.decrementAndGet();
+        }
+
+        AtomicBoolean finished = new AtomicBoolean();
+        String tenantId = TenantContext.getCurrentTenantId();
+        long timeout = calculateTimeout(taskExecution);
+
+        // the timeout thread has no tenant of its own, the error event is published with the tenant of the task
+
+        ScheduledFuture<?> timeoutFuture = timeoutScheduledExecutorService.schedule(
+            () -> TenantUtils.runWithTenantId(
+                tenantId, () -> timeout(taskExecution, futureReference.get(), finished, timeout)),
+            timeout, TimeUnit.MILLISECONDS);
+
+        try {
+            executeTask(taskExecution, finished, () -> futureReference.get()
+                .isCancelled());
+        } finally {
+            timeoutFuture.cancel(false);
+
+            if (concurrencySemaphore != null) {
+                concurrencySemaphore.release();
+            }
+        }
+    }
+
     /**
-     * Handle cancel control tasks to stop an ongoing task or to adjust something on a worker outside the context of a
-     * job.
+     * Executes the task and publishes its outcome. The {@code finished} flag is shared with the timeout path so that
+     * exactly one of the complete, error or timeout events is published for the execution.
      */
-    public void onCancelControlTaskEvent(MessageEvent<?> event) {
-        if (event instanceof CancelControlTaskEvent cancelControlTaskEvent) {
-            CancelControlTask cancelControlTask = cancelControlTaskEvent.getControlTask();
+    private void executeTask(TaskExecution taskExecution, AtomicBoolean finished, BooleanSupplier cancelledSupplier) {
+        ACTIVE_TASKS.incrementAndGet();
 
-            logger.debug("onCancelControlTaskEvent: cancelControlTask={}", cancelControlTask);
+        try {
+            eventPublisher.publishEvent(
+                new TaskStartedApplicationEvent(
+                    Validate.notNull(taskExecution.getJobId(), "id"),
+                    Validate.notNull(taskExecution.getId(), "id")));
 
-            Long jobId = cancelControlTask.getJobId();
+            TaskExecution completedTaskExecution = doExecuteTask(taskExecution);
 
-            for (TaskExecutionFuture<?> taskExecutionFuture : taskExecutionFutureMap.values()) {
-                if (Objects.equals(taskExecutionFuture.taskExecution.getJobId(), jobId)) {
-                    logger.info(
-                        "Cancelling task jobId={}->taskExecutionId={}", jobId,
-                        taskExecutionFuture.taskExecution.getId());
-
-                    taskExecutionFuture.cancel(true);
-                }
+            if (finished.compareAndSet(false, true)) {
+                eventPublisher.publishEvent(
+                    new TaskExecutionCompleteEvent(completedTaskExecution));
+            }
+        } catch (InterruptedException e) {
+            if (logger.isTraceEnabled()) {
+                logger.trace(e.getMessage(), e);
             }
+        } catch (Exception e) {
+            if (!cancelledSupplier.getAsBoolean() && finished.compareAndSet(false, true)) {
+                handleException(taskExecution, e);
+            }
+        } finally {
+            ACTIVE_TASKS.decrementAndGet();
         }
     }
 
-    Map<Long, TaskExecutionFuture<?>> getTaskExecutions() {
-        return Collections.unmodifiableMap(taskExecutionFutureMap);
+    private void timeout(TaskExecution taskExecution, Future<?> future, AtomicBoolean finished, long timeout) {
+        if (finished.compareAndSet(false, true)) {
+            future.cancel(true);
+
+            TIMED_OUT_TASKS.increment();
+
+            handleException(
+                taskExecution, new TimeoutException("Task execution timed out after %d ms".formatted(timeout)));
+        }
     }
 
     private TaskExecution doExecuteTask(TaskExecution taskExecution) throws Exception {
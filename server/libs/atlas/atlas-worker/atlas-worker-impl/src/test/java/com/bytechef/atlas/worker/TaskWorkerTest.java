@@ -23,6 +23,7 @@ import static com.bytechef.atlas.configuration.constant.WorkflowConstants.NAME;
 import static com.bytechef.atlas.configuration.constant.WorkflowConstants.PARAMETERS;
 import static com.bytechef.atlas.configuration.constant.WorkflowConstants.POST;
 import static com.bytechef.atlas.configuration.constant.WorkflowConstants.PRE;
+import static com.bytechef.atlas.configuration.constant.WorkflowConstants.TIMEOUT;
 import static com.bytechef.atlas.configuration.constant.WorkflowConstants.TYPE;
 
 import com.bytechef.atlas.configuration.domain.CancelControlTask;
@@ -40,16 +41,21 @@ import com.bytechef.commons.util.MapUtils;
 import com.bytechef.file.storage.base64.service.Base64FileStorageService;
 import com.bytechef.message.broker.sync.SyncMessageBroker;
 import com.bytechef.message.event.MessageEvent;
+import com.bytechef.platform.tenant.TenantContext;
+import com.bytechef.platform.tenant.concurrent.TenantVirtualThreadTaskExecutor;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.Validate;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 /**
  * @author Arik Cohen
@@ -454,4 +460,222 @@ public class TaskWorkerTest {
 
         Assertions.assertEquals(0, MapUtils.size(worker.getTaskExecutions()));
     }
+
+    @Test
+    public void test9() throws InterruptedException {
+        LinkedBlockingQueue<TaskExecutionCompleteEvent> taskExecutionCompleteEvents = new LinkedBlockingQueue<>();
+        LinkedBlockingQueue<TaskExecutionErrorEvent> taskExecutionErrorEvents = new LinkedBlockingQueue<>();
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        SyncMessageBroker syncMessageBroker = new SyncMessageBroker();
+
+        syncMessageBroker.receive(TaskCoordinatorMessageRoute.APPLICATION_EVENTS, e -> {});
+        syncMessageBroker.receive(
+            TaskCoordinatorMessageRoute.ERROR_EVENTS, e -> taskExecutionErrorEvents.add((TaskExecutionErrorEvent) e));
+        syncMessageBroker.receive(
+            TaskCoordinatorMessageRoute.TASK_EXECUTION_COMPLETE_EVENTS,
+            e -> taskExecutionCompleteEvents.add((TaskExecutionCompleteEvent) e));
+
+        TaskWorker worker = new TaskWorker(
+            event -> syncMessageBroker.send(((MessageEvent<?>) event).getRoute(), event),
+            new VirtualThreadTaskExecutor(),
+            task -> taskExecution -> {
+                try {
+                    releaseLatch.await();
+                } catch (InterruptedException interruptedException) {
+                    throw new TaskExecutionException("Unable to wait due interruption");
+                }
+
+                return null;
+            }, taskFileStorage, new TaskBulkheads(Map.of(), 0), 1);
+
+        TaskExecution taskExecution = TaskExecution.builder()
+            .workflowTask(new WorkflowTask(Map.of(NAME, "name", TIMEOUT, "1s", TYPE, "type")))
+            .build();
+
+        taskExecution.setId(1111L);
+        taskExecution.setJobId(2222L);
+
+        // the listener returns without waiting for the task
+        worker.onTaskExecutionEvent(new TaskExecutionEvent(taskExecution));
+
+        Assertions.assertEquals(1, MapUtils.size(worker.getTaskExecutions()));
+
+        TaskExecutionErrorEvent taskExecutionErrorEvent = taskExecutionErrorEvents.poll(3, TimeUnit.SECONDS);
+
+        Assertions.assertNotNull(taskExecutionErrorEvent);
+        Assertions.assertEquals(
+            "Task execution timed out after 1000 ms", taskExecutionErrorEvent.getTaskExecution()
+                .getError()
+                .getMessage());
+        Assertions.assertEquals(0, MapUtils.size(worker.getTaskExecutions()));
+
+        // the timed out task is interrupted and must not publish a second outcome
+        Assertions.assertNull(taskExecutionErrorEvents.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(taskExecutionCompleteEvents.isEmpty());
+
+        releaseLatch.countDown();
+
+        worker.shutdown();
+    }
+
+    @Test
+    public void test10() throws InterruptedException {
+        LinkedBlockingQueue<TaskExecutionEvent> taskExecutionEvents = new LinkedBlockingQueue<>();
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        TaskBulkheads taskBulkheads = new TaskBulkheads(Map.of("type", 1), 100);
+
+        TaskWorker worker = new TaskWorker(
+            event -> {
+                if (event instanceof TaskExecutionEvent taskExecutionEvent) {
+                    taskExecutionEvents.add(taskExecutionEvent);
+                }
+            },
+            new VirtualThreadTaskExecutor(),
+            task -> taskExecution -> {
+                startedLatch.countDown();
+
+                try {
+                    releaseLatch.await();
+                } catch (InterruptedException interruptedException) {
+                    throw new TaskExecutionException("Unable to wait due interruption");
+                }
+
+                return null;
+            }, taskFileStorage, taskBulkheads, 0);
+
+        TaskExecution taskExecution1 = TaskExecution.builder()
+            .workflowTask(new WorkflowTask(Map.of(NAME, "name", TYPE, "type/v1/action")))
+            .build();
+
+        taskExecution1.setId(1111L);
+        taskExecution1.setJobId(2222L);
+
+        worker.onTaskExecutionEvent(new TaskExecutionEvent(taskExecution1));
+
+        // the first task holds the bulkhead until it is released
+        Assertions.assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+
+        TaskExecution taskExecution2 = TaskExecution.builder()
+            .workflowTask(new WorkflowTask(Map.of(NAME, "name", TYPE, "type/v1/action")))
+            .build();
+
+        taskExecution2.setId(3333L);
+        taskExecution2.setJobId(2222L);
+
+        TaskExecutionEvent taskExecutionEvent2 = new TaskExecutionEvent(taskExecution2);
+
+        worker.onTaskExecutionEvent(taskExecutionEvent2);
+
+        // the second task is over the limit and is sent back after the defer delay
+        Assertions.assertSame(taskExecutionEvent2, taskExecutionEvents.poll(1, TimeUnit.SECONDS));
+
+        releaseLatch.countDown();
+
+        worker.shutdown();
+    }
+
+    @Test
+    public void test11() throws InterruptedException {
+        LinkedBlockingQueue<String> errorEventTenantIds = new LinkedBlockingQueue<>();
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+
+        TaskWorker worker = new TaskWorker(
+            event -> {
+                if (event instanceof TaskExecutionErrorEvent) {
+                    errorEventTenantIds.add(TenantContext.getCurrentTenantId());
+                }
+            },
+            new TenantVirtualThreadTaskExecutor("task-worker-"),
+            task -> taskExecution -> {
+                try {
+                    releaseLatch.await();
+                } catch (InterruptedException interruptedException) {
+                    throw new TaskExecutionException("Unable to wait due interruption");
+                }
+
+                return null;
+            }, taskFileStorage, new TaskBulkheads(Map.of(), 0), 0);
+
+        TaskExecution taskExecution = TaskExecution.builder()
+            .workflowTask(new WorkflowTask(Map.of(NAME, "name", TIMEOUT, "1s", TYPE, "type")))
+            .build();
+
+        taskExecution.setId(1111L);
+        taskExecution.setJobId(2222L);
+
+        try {
+            TenantContext.setCurrentTenantId("tenant1");
+
+            worker.onTaskExecutionEvent(new TaskExecutionEvent(taskExecution));
+        } finally {
+            TenantContext.resetCurrentTenantId();
+        }
+
+        // the timeout error event is published with the tenant of the task, not the one of the timeout thread
+        Assertions.assertEquals("tenant1", errorEventTenantIds.poll(3, TimeUnit.SECONDS));
+
+        releaseLatch.countDown();
+
+        worker.shutdown();
+    }
+
+    @Test
+    public void test12() throws InterruptedException {
+        LinkedBlockingQueue<String> deferredEventTenantIds = new LinkedBlockingQueue<>();
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+
+        TaskWorker worker = new TaskWorker(
+            event -> {
+                if (event instanceof TaskExecutionEvent) {
+                    deferredEventTenantIds.add(TenantContext.getCurrentTenantId());
+                }
+            },
+            new TenantVirtualThreadTaskExecutor("task-worker-"),
+            task -> taskExecution -> {
+                startedLatch.countDown();
+
+                try {
+                    releaseLatch.await();
+                } catch (InterruptedException interruptedException) {
+                    throw new TaskExecutionException("Unable to wait due interruption");
+                }
+
+                return null;
+            }, taskFileStorage, new TaskBulkheads(Map.of("type", 1), 100), 0);
+
+        TaskExecution taskExecution1 = TaskExecution.builder()
+            .workflowTask(new WorkflowTask(Map.of(NAME, "name", TYPE, "type/v1/action")))
+            .build();
+
+        taskExecution1.setId(1111L);
+        taskExecution1.setJobId(2222L);
+
+        TaskExecution taskExecution2 = TaskExecution.builder()
+            .workflowTask(new WorkflowTask(Map.of(NAME, "name", TYPE, "type/v1/action")))
+            .build();
+
+        taskExecution2.setId(3333L);
+        taskExecution2.setJobId(2222L);
+
+        try {
+            TenantContext.setCurrentTenantId("tenant1");
+
+            worker.onTaskExecutionEvent(new TaskExecutionEvent(taskExecution1));
+
+            Assertions.assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+
+            worker.onTaskExecutionEvent(new TaskExecutionEvent(taskExecution2));
+        } finally {
+            TenantContext.resetCurrentTenantId();
+        }
+
+        // the deferred event is sent back with the tenant it was received with, not the one of the bulkhead thread
+        Assertions.assertEquals("tenant1", deferredEventTenantIds.poll(1, TimeUnit.SECONDS));
+
+        releaseLatch.countDown();
+
+        worker.shutdown();
+    }
 }
@@ -16,11 +16,13 @@
 
 package com.bytechef.automation.configuration.instance.accessor;
 
+import com.bytechef.automation.configuration.domain.ProjectInstance;
 import com.bytechef.automation.configuration.domain.ProjectInstanceWorkflow;
 import com.bytechef.automation.configuration.service.ProjectInstanceService;
 import com.bytechef.automation.configuration.service.ProjectInstanceWorkflowService;
 import com.bytechef.automation.configuration.service.ProjectWorkflowService;
 import com.bytechef.platform.configuration.instance.accessor.InstanceAccessor;
+import com.bytechef.platform.constant.Environment;
 import com.bytechef.platform.constant.ModeType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Map;
@@ -65,6 +67,13 @@ public class ProjectInstanceAccessor implements InstanceAccessor {
         return workflowEnabled;
     }
 
+    @Override
+    public Environment getEnvironment(long instanceId) {
+        ProjectInstance projectInstance = projectInstanceService.getProjectInstance(instanceId);
+
+        return projectInstance.getEnvironment();
+    }
+
     @Override
     public Map<String, ?> getInputMap(long instanceId, String workflowReferenceCode) {
         ProjectInstanceWorkflow projectInstanceWorkflow = projectInstanceWorkflowService.getProjectInstanceWorkflow(
@@ -489,16 +489,140 @@ public class ApplicationProperties {
      */
     public static class Component {
 
+        private HttpClient httpClient = new HttpClient();
+        private RateLimiter rateLimiter = new RateLimiter();
         private Registry registry = new Registry();
 
+        public HttpClient getHttpClient() {
+            return httpClient;
+        }
+
+        public RateLimiter getRateLimiter() {
+            return rateLimiter;
+        }
+
         public Registry getRegistry() {
             return registry;
         }
 
+        public void setHttpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+        }
+
+        public void setRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+        }
+
         public void setRegistry(Registry registry) {
             this.registry = registry;
         }
 
+        /**
+         * Http client properties.
+         */
+        public static class HttpClient {
+
+            private boolean http2;
+
+            /**
+             * Time in seconds after which an unused client and its connections are closed.
+             */
+            private int idleTimeout = 300;
+
+            /**
+             * Maximum number of concurrent requests to a single host, 0 means unlimited.
+             */
+            private int maxConnectionsPerHost;
+
+            /**
+             * Size in bytes above which JSON and XML response bodies are stored as a file instead of being parsed, 0
+             * means unlimited.
+             */
+            private long maxResponseSize;
+
+            /**
+             * Maximum number of clients kept, one per distinct proxy, redirect, certificate and timeout configuration.
+             */
+            private int maxSize = 100;
+
+            public int getIdleTimeout() {
+                return idleTimeout;
+            }
+
+            public int getMaxConnectionsPerHost() {
+                return maxConnectionsPerHost;
+            }
+
+            public long getMaxResponseSize() {
+                return maxResponseSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public boolean isHttp2() {
+                return http2;
+            }
+
+            public void setHttp2(boolean http2) {
+                this.http2 = http2;
+            }
+
+            public void setIdleTimeout(int idleTimeout) {
+                this.idleTimeout = idleTimeout;
+            }
+
+            public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+                this.maxConnectionsPerHost = maxConnectionsPerHost;
+            }
+
+            public void setMaxResponseSize(long maxResponseSize) {
+                this.maxResponseSize = maxResponseSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+        }
+
+        /**
+         * Rate limiter properties.
+         */
+        public static class RateLimiter {
+
+            /**
+             * Rate limiter provider.
+             */
+            public enum Provider {
+                MEMORY, REDIS
+            }
+
+            /**
+             * Maximum time in milliseconds the requests of a connection are paused for a {@code Retry-After} response
+             * header.
+             */
+            private long maxRetryAfter = 300000;
+
+            private Provider provider = Provider.MEMORY;
+
+            public long getMaxRetryAfter() {
+                return maxRetryAfter;
+            }
+
+            public Provider getProvider() {
+                return provider;
+            }
+
+            public void setMaxRetryAfter(long maxRetryAfter) {
+                this.maxRetryAfter = maxRetryAfter;
+            }
+
+            public void setProvider(Provider provider) {
+                this.provider = provider;
+            }
+        }
+
         /**
          * Registry properties.
          */
@@ -521,10 +645,15 @@ public class ApplicationProperties {
      */
     public static class Coordinator {
 
+        private ContextCache contextCache = new ContextCache();
         private boolean enabled = true;
         private Task task = new Task();
         private Trigger trigger = new Trigger();
 
+        public ContextCache getContextCache() {
+            return contextCache;
+        }
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -537,6 +666,10 @@ public class ApplicationProperties {
             return trigger;
         }
 
+        public void setContextCache(ContextCache contextCache) {
+            this.contextCache = contextCache;
+        }
+
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
         }
@@ -549,6 +682,36 @@ public class ApplicationProperties {
             this.trigger = trigger;
         }
 
+        /**
+         * Context cache properties. The cache is write-through, so it should only be enabled when all events of a job
+         * are handled by the same coordinator instance.
+         */
+        public static class ContextCache {
+
+            private boolean enabled;
+
+            /**
+             * Maximum (estimated) size of the cached contexts in bytes.
+             */
+            private long maxSize = 64 * 1024 * 1024;
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+        }
+
         /**
          * Task properties.
          */
@@ -827,6 +990,7 @@ public class ApplicationProperties {
         }
 
         private Aws aws = new Aws();
+        private Dedup dedup = new Dedup();
         private Filesystem filesystem = new Filesystem();
         private Provider provider = Provider.FILESYSTEM;
 
@@ -834,6 +998,10 @@ public class ApplicationProperties {
             return aws;
         }
 
+        public Dedup getDedup() {
+            return dedup;
+        }
+
         public Filesystem getFilesystem() {
             return filesystem;
         }
@@ -846,6 +1014,10 @@ public class ApplicationProperties {
             this.aws = aws;
         }
 
+        public void setDedup(Dedup dedup) {
+            this.dedup = dedup;
+        }
+
         public void setFilesystem(Filesystem filesystem) {
             this.filesystem = filesystem;
         }
@@ -861,13 +1033,71 @@ public class ApplicationProperties {
 
             private String bucket;
 
+            /**
+             * Size in bytes of the parts streamed content is uploaded in, S3 requires at least 5 MB.
+             */
+            private int partSize = 8 * 1024 * 1024;
+
+            /**
+             * Maximum number of parts of a single upload sent in parallel.
+             */
+            private int uploadConcurrency = 4;
+
             public String getBucket() {
                 return bucket;
             }
 
+            public int getPartSize() {
+                return partSize;
+            }
+
+            public int getUploadConcurrency() {
+                return uploadConcurrency;
+            }
+
             public void setBucket(String bucket) {
                 this.bucket = bucket;
             }
+
+            public void setPartSize(int partSize) {
+                this.partSize = partSize;
+            }
+
+            public void setUploadConcurrency(int uploadConcurrency) {
+                this.uploadConcurrency = uploadConcurrency;
+            }
+        }
+
+        /**
+         * Content addressed deduplication properties.
+         */
+        public static class Dedup {
+
+            /**
+             * Store each unique content of the aws and filesystem file and output storages once, keyed by its hash.
+             */
+            private boolean enabled;
+
+            /**
+             * Time in milliseconds after the delete of its last reference a stored content is deleted.
+             */
+            private long gracePeriod = 600000;
+
+            public long getGracePeriod() {
+                return gracePeriod;
+            }
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setGracePeriod(long gracePeriod) {
+                this.gracePeriod = gracePeriod;
+            }
         }
 
         /**
@@ -1090,18 +1320,161 @@ public class ApplicationProperties {
     public static class MessageBroker {
 
         public enum Provider {
-            AMQP, AWS, JMS, KAFKA, REDIS
+            AMQP, AWS, JMS, KAFKA, MEMORY, REDIS
         }
 
+        private Memory memory = new Memory();
         private Provider provider = Provider.JMS;
+        private Redis redis = new Redis();
+
+        public Memory getMemory() {
+            return memory;
+        }
 
         public Provider getProvider() {
             return provider;
         }
 
+        public Redis getRedis() {
+            return redis;
+        }
+
+        public void setMemory(Memory memory) {
+            this.memory = memory;
+        }
+
         public void setProvider(Provider provider) {
             this.provider = provider;
         }
+
+        public void setRedis(Redis redis) {
+            this.redis = redis;
+        }
+
+        /**
+         * In-memory message broker properties.
+         */
+        public static class Memory {
+
+            /**
+             * Behaviour of a send to a full queue.
+             */
+            public enum BackPressure {
+                BLOCK, REJECT
+            }
+
+            /**
+             * Behaviour of a send to a full queue, it either waits up to the block timeout for free space and then
+             * queues the message over the capacity, or, opted in with reject, fails at once.
+             */
+            private BackPressure backPressure = BackPressure.BLOCK;
+
+            /**
+             * Time in milliseconds a send to a full queue waits for free space before it queues the message over the
+             * capacity.
+             */
+            private long blockTimeout = 5000;
+
+            /**
+             * Maximum number of messages waiting in the queue of a single route.
+             */
+            private int capacity = 10000;
+
+            /**
+             * Whether listeners consume their queues on virtual threads instead of platform threads.
+             */
+            private boolean virtualThreads;
+
+            public BackPressure getBackPressure() {
+                return backPressure;
+            }
+
+            public long getBlockTimeout() {
+                return blockTimeout;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public boolean isVirtualThreads() {
+                return virtualThreads;
+            }
+
+            public void setBackPressure(BackPressure backPressure) {
+                this.backPressure = backPressure;
+            }
+
+            public void setBlockTimeout(long blockTimeout) {
+                this.blockTimeout = blockTimeout;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public void setVirtualThreads(boolean virtualThreads) {
+                this.virtualThreads = virtualThreads;
+            }
+        }
+
+        /**
+         * Redis message broker properties.
+         */
+        public static class Redis {
+
+            /**
+             * Maximum number of messages read from a queue stream by a single blocking read.
+             */
+            private int batchSize = 10;
+
+            /**
+             * Time in milliseconds an unacknowledged message stays pending before it is claimed and delivered again.
+             */
+            private long claimIdleTimeout = 300000;
+
+            /**
+             * Interval in milliseconds at which due delayed messages are moved to their queues.
+             */
+            private long delayPollInterval = 1000;
+
+            /**
+             * Time in milliseconds a blocking read waits for new messages before it is issued again.
+             */
+            private long pollTimeout = 2000;
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public long getClaimIdleTimeout() {
+                return claimIdleTimeout;
+            }
+
+            public long getDelayPollInterval() {
+                return delayPollInterval;
+            }
+
+            public long getPollTimeout() {
+                return pollTimeout;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public void setClaimIdleTimeout(long claimIdleTimeout) {
+                this.claimIdleTimeout = claimIdleTimeout;
+            }
+
+            public void setDelayPollInterval(long delayPollInterval) {
+                this.delayPollInterval = delayPollInterval;
+            }
+
+            public void setPollTimeout(long pollTimeout) {
+                this.pollTimeout = pollTimeout;
+            }
+        }
     }
 
     /**
@@ -1293,15 +1666,86 @@ public class ApplicationProperties {
          */
         public static class Task {
 
+            private Bulkhead bulkhead = new Bulkhead();
+
+            /**
+             * Maximum number of tasks a worker executes at the same time on virtual threads, 0 means unlimited.
+             */
+            private int maxConcurrency;
+
             private Map<String, Integer> subscriptions = new HashMap<>();
 
+            /**
+             * Whether tasks run on virtual threads. Listeners then return as soon as a task is started and timeouts are
+             * enforced by a scheduler.
+             */
+            private boolean virtualThreads;
+
+            public Bulkhead getBulkhead() {
+                return bulkhead;
+            }
+
+            public int getMaxConcurrency() {
+                return maxConcurrency;
+            }
+
             public Map<String, Integer> getSubscriptions() {
                 return subscriptions;
             }
 
+            public boolean isVirtualThreads() {
+                return virtualThreads;
+            }
+
+            public void setBulkhead(Bulkhead bulkhead) {
+                this.bulkhead = bulkhead;
+            }
+
+            public void setMaxConcurrency(int maxConcurrency) {
+                this.maxConcurrency = maxConcurrency;
+            }
+
             public void setSubscriptions(Map<String, Integer> subscriptions) {
                 this.subscriptions = subscriptions;
             }
+
+            public void setVirtualThreads(boolean virtualThreads) {
+                this.virtualThreads = virtualThreads;
+            }
+
+            /**
+             * Per component concurrency limits of the tasks a worker executes.
+             */
+            public static class Bulkhead {
+
+                /**
+                 * Time in milliseconds after which a task over a limit is sent back to the message broker.
+                 */
+                private long deferDelay = 1000;
+
+                /**
+                 * Maximum number of tasks executed at the same time, keyed by component name, e.g. openai, or by
+                 * component operation, e.g. openai/v1/ask. A component operation key has to be bracketed in the
+                 * configuration, e.g. "[openai/v1/ask]", as the binder otherwise drops the "/" characters.
+                 */
+                private Map<String, Integer> limits = new HashMap<>();
+
+                public long getDeferDelay() {
+                    return deferDelay;
+                }
+
+                public Map<String, Integer> getLimits() {
+                    return limits;
+                }
+
+                public void setDeferDelay(long deferDelay) {
+                    this.deferDelay = deferDelay;
+                }
+
+                public void setLimits(Map<String, Integer> limits) {
+                    this.limits = limits;
+                }
+            }
         }
     }
 
@@ -1310,8 +1754,14 @@ public class ApplicationProperties {
      */
     public static class Workflow {
 
+        private Counter counter = new Counter();
         private OutputStorage outputStorage = new OutputStorage();
         private Repository repository = new Repository();
+        private Retention retention = new Retention();
+
+        public Counter getCounter() {
+            return counter;
+        }
 
         public OutputStorage getOutputStorage() {
             return outputStorage;
@@ -1321,6 +1771,14 @@ public class ApplicationProperties {
             return repository;
         }
 
+        public Retention getRetention() {
+            return retention;
+        }
+
+        public void setCounter(Counter counter) {
+            this.counter = counter;
+        }
+
         public void setOutputStorage(OutputStorage outputStorage) {
             this.outputStorage = outputStorage;
         }
@@ -1329,11 +1787,45 @@ public class ApplicationProperties {
             this.repository = repository;
         }
 
+        public void setRetention(Retention retention) {
+            this.retention = retention;
+        }
+
+        /**
+         * Counter properties.
+         */
+        public static class Counter {
+
+            /**
+             * Counter provider.
+             */
+            public enum Provider {
+                JDBC, REDIS
+            }
+
+            private Provider provider = Provider.JDBC;
+
+            public Provider getProvider() {
+                return provider;
+            }
+
+            public void setProvider(Provider provider) {
+                this.provider = provider;
+            }
+        }
+
         /**
          * OutputStorage properties.
          */
         public static class OutputStorage {
 
+            /**
+             * OutputStorage codec.
+             */
+            public enum Codec {
+                GZIP, LZ4, NONE, ZSTD
+            }
+
             /**
              * OutputStorage provider.
              */
@@ -1341,15 +1833,82 @@ public class ApplicationProperties {
                 AWS, FILESYSTEM, JDBC
             }
 
+            private Codec codec = Codec.GZIP;
+            private Context context = new Context();
+
+            /**
+             * Maximum compressed size in bytes of an output or context value stored inline in the database row instead
+             * of in the output storage provider, 0 disables inlining.
+             */
+            private int inlineThreshold;
             private Provider provider = Provider.JDBC;
 
+            public Codec getCodec() {
+                return codec;
+            }
+
+            public Context getContext() {
+                return context;
+            }
+
+            public int getInlineThreshold() {
+                return inlineThreshold;
+            }
+
             public Provider getProvider() {
                 return provider;
             }
 
+            public void setCodec(Codec codec) {
+                this.codec = codec;
+            }
+
+            public void setContext(Context context) {
+                this.context = context;
+            }
+
+            public void setInlineThreshold(int inlineThreshold) {
+                this.inlineThreshold = inlineThreshold;
+            }
+
             public void setProvider(Provider provider) {
                 this.provider = provider;
             }
+
+            /**
+             * Context properties.
+             */
+            public static class Context {
+
+                /**
+                 * Context persistence mode.
+                 */
+                public enum Mode {
+                    DELTA, SNAPSHOT
+                }
+
+                /**
+                 * Number of consecutive deltas after which a full snapshot is written.
+                 */
+                private int compactionInterval = 10;
+                private Mode mode = Mode.SNAPSHOT;
+
+                public int getCompactionInterval() {
+                    return compactionInterval;
+                }
+
+                public Mode getMode() {
+                    return mode;
+                }
+
+                public void setCompactionInterval(int compactionInterval) {
+                    this.compactionInterval = compactionInterval;
+                }
+
+                public void setMode(Mode mode) {
+                    this.mode = mode;
+                }
+            }
         }
 
         /**
@@ -1521,5 +2080,72 @@ public class ApplicationProperties {
                 }
             }
         }
+
+        /**
+         * Retention properties.
+         */
+        public static class Retention {
+
+            /**
+             * Maximum number of jobs selected per purge query.
+             */
+            private int batchSize = 500;
+
+            /**
+             * Cron expression of the background purge.
+             */
+            private String cron = "0 0 3 * * *";
+
+            /**
+             * Number of days a finished job is kept together with its task executions, contexts, counters and outputs.
+             */
+            private int days = 30;
+            private boolean enabled;
+
+            /**
+             * Per environment overrides of the number of days, keyed by the environment name.
+             */
+            private Map<String, Integer> environments = new HashMap<>();
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public String getCron() {
+                return cron;
+            }
+
+            public int getDays() {
+                return days;
+            }
+
+            public Map<String, Integer> getEnvironments() {
+                return environments;
+            }
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public void setCron(String cron) {
+                this.cron = cron;
+            }
+
+            public void setDays(int days) {
+                this.days = days;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setEnvironments(Map<String, Integer> environments) {
+                this.environments = environments;
+            }
+        }
     }
 }
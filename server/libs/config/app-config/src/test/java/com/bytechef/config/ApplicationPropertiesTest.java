@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * @author agent
+ */
+public class ApplicationPropertiesTest {
+
+    @Test
+    public void testBindWorkerTaskBulkheadLimits() throws IOException {
+        ApplicationProperties applicationProperties = bind(
+            """
+                bytechef:
+                  worker:
+                    task:
+                      bulkhead:
+                        limits:
+                          openai: 2
+                          "[openai/v1/ask]": 1
+                """);
+
+        assertThat(applicationProperties.getWorker()
+            .getTask()
+            .getBulkhead()
+            .getLimits()).isEqualTo(Map.of("openai", 2, "openai/v1/ask", 1));
+    }
+
+    @Test
+    public void testBindWorkerTaskBulkheadLimitsWithoutBrackets() throws IOException {
+        ApplicationProperties applicationProperties = bind(
+            """
+                bytechef:
+                  worker:
+                    task:
+                      bulkhead:
+                        limits:
+                          openai/v1/ask: 1
+                """);
+
+        assertThat(applicationProperties.getWorker()
+            .getTask()
+            .getBulkhead()
+            .getLimits()).isEqualTo(Map.of("openaiv1ask", 1));
+    }
+
+    private static ApplicationProperties bind(String yaml) throws IOException {
+        YamlPropertySourceLoader yamlPropertySourceLoader = new YamlPropertySourceLoader();
+
+        PropertySource<?> propertySource = yamlPropertySourceLoader
+            .load("application", new ByteArrayResource(yaml.getBytes(StandardCharsets.UTF_8)))
+            .getFirst();
+
+        Binder binder = new Binder(ConfigurationPropertySources.from(propertySource));
+
+        return binder.bind("bytechef", ApplicationProperties.class)
+            .get();
+    }
+}
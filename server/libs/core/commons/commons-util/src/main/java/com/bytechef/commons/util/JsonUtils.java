@@ -19,10 +19,12 @@ package com.bytechef.commons.util;
 import static com.bytechef.commons.util.constant.ObjectMapperConstants.OBJECT_MAPPER;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.jayway.jsonpath.Configuration;
@@ -34,11 +36,16 @@ import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Ivica Cardic
@@ -311,6 +318,29 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Lazily reads a sequence of root level values, either newline delimited JSON or the elements of a root level
+     * array. Closing the returned stream closes the input stream.
+     */
+    public static <T> Stream<T> stream(InputStream inputStream, Class<T> elementType) {
+        try {
+            MappingIterator<T> mappingIterator = OBJECT_MAPPER.readerFor(elementType)
+                .readValues(inputStream);
+
+            return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(mappingIterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        mappingIterator.close();
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static String write(Object object) {
         try {
             return OBJECT_MAPPER.writeValueAsString(object);
@@ -334,6 +364,16 @@ public class JsonUtils {
         }
     }
 
+    public static void write(OutputStream outputStream, Object object) {
+        try {
+            OBJECT_MAPPER.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static String writeWithDefaultPrettyPrinter(Object object) {
         try {
             DefaultPrettyPrinter printer = new DefaultPrettyPrinter()
@@ -32,6 +32,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -95,6 +96,23 @@ public class MapUtils {
         return map.containsKey(key);
     }
 
+    /**
+     * Returns a copy of the map in which nested maps and lists are copied as well, so changing the copy at any depth
+     * does not change the given map. Other values are shared.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> copy(Map<K, V> map) {
+        Validate.notNull(map, "'map' must not be null");
+
+        Map<K, V> copy = new HashMap<>();
+
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            copy.put(entry.getKey(), (V) copyValue(entry.getValue()));
+        }
+
+        return copy;
+    }
+
     public static boolean isEmpty(Map<String, ?> map) {
         return map == null || map.isEmpty();
     }
@@ -788,6 +806,30 @@ public class MapUtils {
         return value;
     }
 
+    private static Object copyValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+
+            return copy;
+        }
+
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+
+            for (Object item : list) {
+                copy.add(copyValue(item));
+            }
+
+            return copy;
+        }
+
+        return value;
+    }
+
     private static Object[] getArray(Object value) {
         Object[] outputArray;
 
@@ -16,8 +16,11 @@
 
 package com.bytechef.commons.util;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -215,6 +218,25 @@ public class JsonUtilsTest {
                         """));
     }
 
+    @Test
+    public void testStream() {
+        try (Stream<Map> stream = JsonUtils.stream(
+            new ByteArrayInputStream(
+                "{\"id\":1}\n{\"id\":2}\n\n{\"id\":3}\n".getBytes(StandardCharsets.UTF_8)),
+            Map.class)) {
+
+            Assertions.assertThat(stream.toList())
+                .isEqualTo(List.of(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3)));
+        }
+
+        try (Stream<Map> stream = JsonUtils.stream(
+            new ByteArrayInputStream("[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8)), Map.class)) {
+
+            Assertions.assertThat(stream.toList())
+                .isEqualTo(List.of(Map.of("id", 1), Map.of("id", 2)));
+        }
+    }
+
     @Test
     public void testWrite() {
         Assertions.assertThat(JsonUtils.write(true))
@@ -1,4 +1,6 @@
 dependencies {
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
     implementation("org.slf4j:slf4j-api")
     implementation("org.springframework:spring-expression")
 
@@ -18,29 +18,52 @@
 
 package com.bytechef.evaluator;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.MethodExecutor;
 import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
 import org.springframework.expression.common.CompositeStringExpression;
 import org.springframework.expression.common.LiteralExpression;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.StandardTypeConverter;
+import org.springframework.expression.spel.support.StandardTypeLocator;
 
 /**
  * Task evaluator implementation which is based on Spring Expression Language for resolving expressions.
  *
+ * <p>
+ * Parsed templates are kept in a bounded cache keyed by the template string, and expressions are parsed in
+ * {@link SpelCompilerMode#MIXED} mode so SpEL compiles hot expressions to bytecode after its own interpreted runs
+ * and falls back to interpretation when a compiled form fails. Once a cached template has been evaluated often enough
+ * for SpEL to attempt the compilation, its expressions are counted as compiled or interpreted. The property accessors,
+ * method resolvers, type locator and type converter are shared by all evaluation contexts.
+ *
  * @author Arik Cohen
  * @author Ivica Cardic
  * @since Mar 31, 2017
@@ -49,10 +72,33 @@ public class Evaluator {
 
     private static final Logger logger = LoggerFactory.getLogger(Evaluator.class);
 
-    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+    private static final Counter COMPILED_COUNTER = Metrics.counter(
+        "bytechef.evaluator.expression.compile", "result", "compiled");
+
+    // SpEL compiles a MIXED mode expression on the evaluation following its 100th interpreted one
+
+    private static final int COMPILE_CHECK_THRESHOLD = 101;
+    private static final int EXPRESSION_CACHE_MAXIMUM_SIZE = 10_000;
+    private static final Counter INTERPRETED_COUNTER = Metrics.counter(
+        "bytechef.evaluator.expression.compile", "result", "interpreted");
     private static final Map<String, MethodExecutor> METHOD_EXECUTOR_MAP = new HashMap<>();
     private static final String PREFIX = "${";
     private static final String SUFFIX = "}";
+    private static final TemplateParserContext TEMPLATE_PARSER_CONTEXT = new TemplateParserContext(PREFIX, SUFFIX);
+
+    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, Evaluator.class.getClassLoader()));
+
+    private static final Cache<String, CachedExpression> EXPRESSION_CACHE = Caffeine.newBuilder()
+        .maximumSize(EXPRESSION_CACHE_MAXIMUM_SIZE)
+        .recordStats()
+        .build();
+
+    private static final List<MethodResolver> METHOD_RESOLVERS;
+    private static final List<PropertyAccessor> PROPERTY_ACCESSORS = List.of(
+        new MapPropertyAccessor(), new ReflectivePropertyAccessor());
+    private static final TypeConverter TYPE_CONVERTER = new StandardTypeConverter();
+    private static final TypeLocator TYPE_LOCATOR = new StandardTypeLocator(Evaluator.class.getClassLoader());
 
     static {
         METHOD_EXECUTOR_MAP.put("boolean", new Cast<>(Boolean.class));
@@ -75,22 +121,30 @@ public class Evaluator {
         METHOD_EXECUTOR_MAP.put("tempDir", new TempDir());
         METHOD_EXECUTOR_MAP.put("timestamp", new Timestamp());
         METHOD_EXECUTOR_MAP.put("uuid", new Uuid());
+
+        METHOD_RESOLVERS = List.of(methodResolver(), new ReflectiveMethodResolver());
+
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, EXPRESSION_CACHE, "bytechef.evaluator.expression");
     }
 
     public static Map<String, Object> evaluate(Map<String, Object> map, Map<String, ?> context) {
-        return evaluateInternal(map, context);
+        return evaluateInternal(map, createEvaluationContext(context));
     }
 
     private static StandardEvaluationContext createEvaluationContext(Map<String, ?> context) {
         StandardEvaluationContext evaluationContext = new StandardEvaluationContext(context);
 
-        evaluationContext.addPropertyAccessor(new MapPropertyAccessor());
-        evaluationContext.addMethodResolver(methodResolver());
+        evaluationContext.setMethodResolvers(METHOD_RESOLVERS);
+        evaluationContext.setPropertyAccessors(PROPERTY_ACCESSORS);
+        evaluationContext.setTypeConverter(TYPE_CONVERTER);
+        evaluationContext.setTypeLocator(TYPE_LOCATOR);
 
         return evaluationContext;
     }
 
-    private static String evaluate(CompositeStringExpression compositeStringExpression, Map<String, ?> context) {
+    private static String evaluate(
+        CompositeStringExpression compositeStringExpression, EvaluationContext evaluationContext) {
+
         StringBuilder stringBuilder = new StringBuilder();
         Expression[] subExpressions = compositeStringExpression.getExpressions();
 
@@ -100,7 +154,9 @@ public class Evaluator {
 
                 continue;
             } else if (subExpression instanceof SpelExpression) {
-                stringBuilder.append(evaluate(PREFIX + subExpression.getExpressionString() + SUFFIX, context));
+                stringBuilder.append(
+                    evaluate(
+                        subExpression, PREFIX + subExpression.getExpressionString() + SUFFIX, evaluationContext));
 
                 continue;
             }
@@ -113,44 +169,58 @@ public class Evaluator {
         return stringBuilder.toString();
     }
 
-    private static Object evaluate(Object value, Map<String, ?> context) {
-        if (value instanceof String) {
-            Expression expression = EXPRESSION_PARSER.parseExpression(
-                (String) value, new TemplateParserContext(PREFIX, SUFFIX));
+    private static Object evaluate(Expression expression, String value, EvaluationContext evaluationContext) {
+        try {
+            return expression.getValue(evaluationContext);
+        } catch (SpelEvaluationException e) {
+            if (logger.isTraceEnabled()) {
+                logger.trace(e.getMessage());
+            }
+
+            return value;
+        }
+    }
+
+    private static Object evaluate(Object value, EvaluationContext evaluationContext) {
+        if (value instanceof String string) {
+            if (!string.contains(PREFIX)) {
+                return string;
+            }
+
+            CachedExpression cachedExpression = EXPRESSION_CACHE.get(string, Evaluator::parseExpression);
+
+            Expression expression = cachedExpression.expression();
+            Object evaluatedValue;
 
             if (expression instanceof CompositeStringExpression) { // attempt partial evaluation
-                return evaluate((CompositeStringExpression) expression, context);
+                evaluatedValue = evaluate((CompositeStringExpression) expression, evaluationContext);
             } else {
-                try {
-                    return expression.getValue(createEvaluationContext(context));
-                } catch (SpelEvaluationException e) {
-                    if (logger.isTraceEnabled()) {
-                        logger.trace(e.getMessage());
-                    }
-
-                    return value;
-                }
+                evaluatedValue = evaluate(expression, string, evaluationContext);
             }
+
+            cachedExpression.checkCompiled();
+
+            return evaluatedValue;
         } else if (value instanceof List<?> list) {
             List<Object> evaluatedlist = new ArrayList<>();
 
             for (Object item : list) {
-                evaluatedlist.add(evaluate(item, context));
+                evaluatedlist.add(evaluate(item, evaluationContext));
             }
 
             return evaluatedlist;
         } else if (value instanceof Map<?, ?> map) {
-            return evaluateInternal(map, context);
+            return evaluateInternal(map, evaluationContext);
         }
 
         return value;
     }
 
-    private static Map<String, Object> evaluateInternal(Map<?, ?> map, Map<String, ?> context) {
+    private static Map<String, Object> evaluateInternal(Map<?, ?> map, EvaluationContext evaluationContext) {
         Map<String, Object> newMap = new LinkedHashMap<>();
 
         for (Entry<?, ?> entry : map.entrySet()) {
-            newMap.put((String) entry.getKey(), evaluate(entry.getValue(), context));
+            newMap.put((String) entry.getKey(), evaluate(entry.getValue(), evaluationContext));
         }
 
         return newMap;
@@ -159,4 +229,53 @@ public class Evaluator {
     private static MethodResolver methodResolver() {
         return (ctx, target, name, args) -> METHOD_EXECUTOR_MAP.get(name);
     }
+
+    private static CachedExpression parseExpression(String template) {
+        return new CachedExpression(EXPRESSION_PARSER.parseExpression(template, TEMPLATE_PARSER_CONTEXT));
+    }
+
+    /**
+     * Counts evaluations of a cached template and, once SpEL has had the chance to compile it, records whether its
+     * {@link SpelExpression} parts run compiled. {@link SpelExpression#compileExpression()} returns the existing
+     * compiled form if there is one and gives up on expressions SpEL failed to compile too often.
+     */
+    private static final class CachedExpression {
+
+        private final AtomicInteger evaluationCount = new AtomicInteger();
+        private final Expression expression;
+
+        private CachedExpression(Expression expression) {
+            this.expression = expression;
+        }
+
+        private void checkCompiled() {
+            if (evaluationCount.get() >= COMPILE_CHECK_THRESHOLD ||
+                evaluationCount.incrementAndGet() != COMPILE_CHECK_THRESHOLD) {
+
+                return;
+            }
+
+            if (expression instanceof CompositeStringExpression compositeStringExpression) {
+                for (Expression subExpression : compositeStringExpression.getExpressions()) {
+                    checkCompiled(subExpression);
+                }
+            } else {
+                checkCompiled(expression);
+            }
+        }
+
+        private Expression expression() {
+            return expression;
+        }
+
+        private static void checkCompiled(Expression expression) {
+            if (expression instanceof SpelExpression spelExpression) {
+                if (spelExpression.compileExpression()) {
+                    COMPILED_COUNTER.increment();
+                } else {
+                    INTERPRETED_COUNTER.increment();
+                }
+            }
+        }
+    }
 }
@@ -19,20 +19,25 @@
 package com.bytechef.evaluator;
 
 import java.util.Map;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.lang.NonNull;
 
 /**
- * Simple {@link PropertyAccessor} that can access {@link Map} properties.
+ * Simple {@link CompilablePropertyAccessor} that can access {@link Map} properties. The accessor is compilable so
+ * expressions evaluated in {@code SpelCompilerMode.MIXED} can be turned into bytecode; the generated code delegates to
+ * {@link #readValue(Map, String)}, which fails on a missing key so SpEL falls back to the interpreter exactly like the
+ * interpreted {@link #canRead(EvaluationContext, Object, String)} check does.
  *
  * @author Arik Cohen
  * @since Mar 31, 2017
  */
-class MapPropertyAccessor implements PropertyAccessor {
+public class MapPropertyAccessor implements CompilablePropertyAccessor {
 
     @Override
     public Class<?>[] getSpecificTargetClasses() {
@@ -54,9 +59,55 @@ class MapPropertyAccessor implements PropertyAccessor {
         throws AccessException {
         Map<String, Object> map = (Map<String, Object>) target;
         Object value = map.get(name);
+
+        // parsed expressions are cached and SpEL reuses the accessor that last resolved a node without calling
+        // canRead again, so a missing key has to be reported here as well
+        if (value == null && !map.containsKey(name)) {
+            throw new AccessException("Map does not contain a value for key '%s'".formatted(name));
+        }
+
         return new TypedValue(value, TypeDescriptor.forObject(value));
     }
 
+    @Override
+    public boolean isCompilable() {
+        return true;
+    }
+
+    @Override
+    public Class<?> getPropertyType() {
+        return Object.class;
+    }
+
+    @Override
+    public void generateCode(String propertyName, MethodVisitor methodVisitor, CodeFlow codeFlow) {
+        String descriptor = codeFlow.lastDescriptor();
+
+        if (descriptor == null || !descriptor.equals("Ljava/util/Map")) {
+            if (descriptor == null) {
+                codeFlow.loadTarget(methodVisitor);
+            }
+
+            methodVisitor.visitTypeInsn(CHECKCAST, "java/util/Map");
+        }
+
+        methodVisitor.visitLdcInsn(propertyName);
+        methodVisitor.visitMethodInsn(
+            INVOKESTATIC, "com/bytechef/evaluator/MapPropertyAccessor", "readValue",
+            "(Ljava/util/Map;Ljava/lang/String;)Ljava/lang/Object;", false);
+    }
+
+    /**
+     * Invoked from compiled expressions only.
+     */
+    public static Object readValue(Map<?, ?> map, String name) {
+        if (!map.containsKey(name)) {
+            throw new IllegalStateException("Property '%s' does not exist".formatted(name));
+        }
+
+        return map.get(name);
+    }
+
     @Override
     public boolean canWrite(EvaluationContext evaluationContext, Object target, String name) throws AccessException {
         return false;
@@ -19,6 +19,8 @@
 package com.bytechef.evaluator;
 
 import com.bytechef.commons.util.MapUtils;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -407,6 +409,61 @@ public class EvaluatorTest {
         Assertions.assertEquals(localDateTime.minusDays(1), MapUtils.getLocalDateTime(map, "date"));
     }
 
+    @Test
+    public void test42() {
+        for (int i = 0; i < 250; i++) {
+            Map<String, Object> map = Evaluator.evaluate(
+                Map.of(
+                    "greeting", "${task1.output.firstName} ${task1.output.lastName}",
+                    "name", "${task1.output.firstName}"),
+                Map.of("task1", Map.of("output", Map.of("firstName", "Arik" + i, "lastName", "Cohen"))));
+
+            Assertions.assertEquals("Arik" + i + " Cohen", MapUtils.getString(map, "greeting"));
+            Assertions.assertEquals("Arik" + i, MapUtils.getString(map, "name"));
+        }
+
+        Map<String, Object> map = Evaluator.evaluate(
+            Map.of(
+                "greeting", "${task1.output.firstName} ${task1.output.lastName}",
+                "name", "${task1.output.firstName}"),
+            Map.of("task1", Map.of("output", Map.of("lastName", "Cohen"))));
+
+        Assertions.assertEquals("${task1.output.firstName} Cohen", MapUtils.getString(map, "greeting"));
+        Assertions.assertEquals("${task1.output.firstName}", MapUtils.getString(map, "name"));
+
+        map = Evaluator.evaluate(
+            Map.of("name", "${task1.output.firstName}"), Map.of("task1", Map.of("output", "Arik")));
+
+        Assertions.assertEquals("${task1.output.firstName}", MapUtils.getString(map, "name"));
+    }
+
+    @Test
+    public void test43() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        Metrics.addRegistry(meterRegistry);
+
+        try {
+            for (int i = 0; i < 150; i++) {
+                Map<String, Object> map = Evaluator.evaluate(
+                    Map.of("city", "${task2.output.city}"),
+                    Map.of("task2", Map.of("output", Map.of("city", "Zagreb"))));
+
+                Assertions.assertEquals("Zagreb", MapUtils.getString(map, "city"));
+            }
+
+            // the template is checked once, after SpEL has compiled it
+
+            Assertions.assertEquals(
+                1.0, meterRegistry.get("bytechef.evaluator.expression.compile")
+                    .tag("result", "compiled")
+                    .counter()
+                    .count());
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
 //    @Test
 //    public void test41() {
 //        Environment environment = mock(Environment.class);
@@ -43,6 +43,11 @@ public interface FileStorageService {
 
     URL getFileEntryURL(@NonNull String directoryPath, @NonNull FileEntry fileEntry);
 
+    /**
+     * Returns the size in bytes of the stored content of the given file entry.
+     */
+    long getFileSize(@NonNull String directoryPath, @NonNull FileEntry fileEntry) throws FileStorageException;
+
     byte[] readFileToBytes(@NonNull String directoryPath, @NonNull FileEntry fileEntry) throws FileStorageException;
 
     String readFileToString(@NonNull String directoryPath, @NonNull FileEntry fileEntry) throws FileStorageException;
@@ -78,6 +78,11 @@ public class Base64FileStorageService implements FileStorageService {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public long getFileSize(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
+        return readFileToBytes(directoryPath, fileEntry).length;
+    }
+
     @Override
     public byte[] readFileToBytes(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
         throws FileStorageException {
@@ -0,0 +1,9 @@
+dependencies {
+    implementation("io.micrometer:micrometer-core")
+    implementation("org.apache.commons:commons-lang3")
+    implementation("org.slf4j:slf4j-api")
+    implementation("org.springframework:spring-core")
+    implementation(project(":server:libs:core:file-storage:file-storage-api"))
+
+    testImplementation(project(":server:libs:core:file-storage:file-storage-filesystem-service"))
+}
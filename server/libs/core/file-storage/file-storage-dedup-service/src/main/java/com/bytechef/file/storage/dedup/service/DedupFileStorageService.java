@@ -0,0 +1,626 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.file.storage.dedup.service;
+
+import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.exception.FileStorageException;
+import com.bytechef.file.storage.service.FileStorageService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+/**
+ * Content addressed {@link FileStorageService} decorator. Files stored with a random filename are keyed by the SHA-256
+ * hash of their content, and each unique content is written once to the underlying storage, e.g. filesystem or S3, as
+ * {@code <directory>/dedup/blobs/<h0h1>/<h2h3>/<hash>}. Every stored file also gets a small reference object,
+ * {@code <directory>/dedup/refs/<hash>/<id>} holding the original filename, so the number of references of a blob is
+ * the number of objects in its refs directory. Deleting a file entry removes its reference and records the blob as a
+ * possible orphan, {@code <directory>/dedup/orphans/<hash>} holding the time of the delete. Blobs are not deleted
+ * inline; a background pass running every grace period deletes a recorded blob once the grace period passed and it
+ * still has no references. The pass visits every directory recorded in {@code dedup/roots/}, where each directory a
+ * process stores to or deletes from is recorded once, so orphans are collected by every process, also after a restart.
+ *
+ * <p>
+ * Returned file entries have {@code dedup:<hash>/<id>} urls. File entries of other storages, e.g. written before
+ * deduplication was enabled, and files stored under a non-random filename are passed through to the underlying
+ * storage unchanged.
+ *
+ * <p>
+ * Stores and deletes of the same content are serialized by locks within a process, and across processes by a
+ * tombstone, {@code <directory>/dedup/tombstones/<hash>}. The background pass writes the tombstone, lists the
+ * references a second time and deletes the blob only if there are still none, then removes the tombstone. A store
+ * writes its reference, waits while a tombstone exists and only then checks for the blob. A reference written before
+ * the second listing keeps the blob, one written after it makes its store wait for the delete to finish and write the
+ * blob again, so no store returns a file entry whose blob is deleted. The dedup ratio is
+ * {@code bytechef.file.storage.dedup.stored.bytes} divided by {@code bytechef.file.storage.dedup.written.bytes}.
+ *
+ * @author agent
+ */
+public class DedupFileStorageService implements FileStorageService {
+
+    public static final String URL_PREFIX = "dedup:";
+
+    private static final Logger logger = LoggerFactory.getLogger(DedupFileStorageService.class);
+
+    private static final Counter DELETED_BLOBS = Metrics.counter("bytechef.file.storage.dedup.deleted.blobs");
+    private static final Counter HITS = Metrics.counter("bytechef.file.storage.dedup.hits");
+    private static final Counter STORED_BYTES = Metrics.counter("bytechef.file.storage.dedup.stored.bytes");
+    private static final Counter WRITTEN_BYTES = Metrics.counter("bytechef.file.storage.dedup.written.bytes");
+
+    private static final String BLOBS_DIRECTORY = "/dedup/blobs/";
+    private static final String DEDUP_DIRECTORY = "/dedup/";
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+    private static final int LOCK_STRIPES = 64;
+    private static final String ORPHANS_DIRECTORY = "/dedup/orphans/";
+    private static final String REFS_DIRECTORY = "/dedup/refs/";
+    private static final String ROOTS_DIRECTORY = "dedup/roots";
+    private static final long TOMBSTONE_POLL_INTERVAL = 50;
+    private static final String TOMBSTONES_DIRECTORY = "/dedup/tombstones/";
+
+    private final Set<String> directoryPaths = ConcurrentHashMap.newKeySet();
+    private final FileStorageService fileStorageService;
+    private final long gracePeriod;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * @param gracePeriod the time in milliseconds after the delete of its last reference a blob is deleted, and the
+     *                    interval of the background pass that deletes it
+     */
+    @SuppressFBWarnings("EI")
+    public DedupFileStorageService(FileStorageService fileStorageService, long gracePeriod) {
+        Validate.isTrue(gracePeriod > 0, "'gracePeriod' must be positive");
+
+        ThreadFactory threadFactory = Thread.ofPlatform()
+            .daemon()
+            .name("dedup-file-storage-gc")
+            .factory();
+
+        this.fileStorageService = fileStorageService;
+        this.gracePeriod = gracePeriod;
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        scheduledExecutorService.scheduleWithFixedDelay(
+            this::collectGarbage, gracePeriod, gracePeriod, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void deleteFile(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
+        if (!isDedupFileEntry(fileEntry)) {
+            fileStorageService.deleteFile(directoryPath, fileEntry);
+
+            return;
+        }
+
+        String hash = getHash(fileEntry);
+
+        String refId = getRefId(fileEntry);
+        String refsDirectoryPath = getRefsDirectoryPath(directoryPath, hash);
+
+        // a reference deleted before, e.g. by a retried purge, is already gone
+
+        if (!fileStorageService.fileExists(refsDirectoryPath, refId)) {
+            return;
+        }
+
+        registerDirectoryPath(directoryPath);
+
+        fileStorageService.deleteFile(refsDirectoryPath, fileStorageService.getFileEntry(refsDirectoryPath, refId));
+
+        fileStorageService.storeFileContent(
+            directoryPath + ORPHANS_DIRECTORY, hash, String.valueOf(System.currentTimeMillis()), false);
+    }
+
+    @Override
+    public boolean fileExists(@NonNull String directoryPath, @NonNull FileEntry fileEntry) throws FileStorageException {
+        if (!isDedupFileEntry(fileEntry)) {
+            return fileStorageService.fileExists(directoryPath, fileEntry);
+        }
+
+        return fileStorageService.fileExists(
+            getRefsDirectoryPath(directoryPath, getHash(fileEntry)), getRefId(fileEntry));
+    }
+
+    @Override
+    public boolean fileExists(@NonNull String directoryPath, @NonNull String nonRandomFilename)
+        throws FileStorageException {
+
+        return fileStorageService.fileExists(directoryPath, nonRandomFilename);
+    }
+
+    @Override
+    public FileEntry getFileEntry(@NonNull String directoryPath, @NonNull String nonRandomFilename)
+        throws FileStorageException {
+
+        return fileStorageService.getFileEntry(directoryPath, nonRandomFilename);
+    }
+
+    @Override
+    public Set<FileEntry> getFileEntries(@NonNull String directoryPath) throws FileStorageException {
+        Set<FileEntry> fileEntries = new HashSet<>();
+
+        for (FileEntry fileEntry : fileStorageService.getFileEntries(directoryPath)) {
+            String url = fileEntry.getUrl();
+
+            int index = url.lastIndexOf(REFS_DIRECTORY);
+
+            if (index >= 0) {
+                String[] segments = url.substring(index + REFS_DIRECTORY.length())
+                    .split("/");
+
+                String filename = fileStorageService.readFileToString(
+                    getRefsDirectoryPath(directoryPath, segments[0]), fileEntry);
+
+                fileEntries.add(new FileEntry(filename, URL_PREFIX + segments[0] + "/" + segments[1]));
+            } else if (!url.contains(DEDUP_DIRECTORY)) {
+                fileEntries.add(fileEntry);
+            }
+        }
+
+        return fileEntries;
+    }
+
+    @Override
+    public InputStream getFileStream(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
+        throws FileStorageException {
+
+        if (!isDedupFileEntry(fileEntry)) {
+            return fileStorageService.getFileStream(directoryPath, fileEntry);
+        }
+
+        String hash = getHash(fileEntry);
+
+        String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+        return fileStorageService.getFileStream(
+            blobsDirectoryPath, fileStorageService.getFileEntry(blobsDirectoryPath, hash));
+    }
+
+    @Override
+    public URL getFileEntryURL(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
+        if (!isDedupFileEntry(fileEntry)) {
+            return fileStorageService.getFileEntryURL(directoryPath, fileEntry);
+        }
+
+        String hash = getHash(fileEntry);
+
+        String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+        return fileStorageService.getFileEntryURL(
+            blobsDirectoryPath, fileStorageService.getFileEntry(blobsDirectoryPath, hash));
+    }
+
+    @Override
+    public long getFileSize(@NonNull String directoryPath, @NonNull FileEntry fileEntry) throws FileStorageException {
+        if (!isDedupFileEntry(fileEntry)) {
+            return fileStorageService.getFileSize(directoryPath, fileEntry);
+        }
+
+        String hash = getHash(fileEntry);
+
+        String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+        return fileStorageService.getFileSize(
+            blobsDirectoryPath, fileStorageService.getFileEntry(blobsDirectoryPath, hash));
+    }
+
+    @Override
+    public byte[] readFileToBytes(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
+        throws FileStorageException {
+
+        if (!isDedupFileEntry(fileEntry)) {
+            return fileStorageService.readFileToBytes(directoryPath, fileEntry);
+        }
+
+        String hash = getHash(fileEntry);
+
+        String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+        return fileStorageService.readFileToBytes(
+            blobsDirectoryPath, fileStorageService.getFileEntry(blobsDirectoryPath, hash));
+    }
+
+    @Override
+    public String readFileToString(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
+        throws FileStorageException {
+
+        if (!isDedupFileEntry(fileEntry)) {
+            return fileStorageService.readFileToString(directoryPath, fileEntry);
+        }
+
+        String hash = getHash(fileEntry);
+
+        String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+        return fileStorageService.readFileToString(
+            blobsDirectoryPath, fileStorageService.getFileEntry(blobsDirectoryPath, hash));
+    }
+
+    @Override
+    public FileEntry storeFileContent(@NonNull String directoryPath, @NonNull String filename, byte[] data)
+        throws FileStorageException {
+
+        return storeFileContent(directoryPath, filename, data, true);
+    }
+
+    @Override
+    public FileEntry storeFileContent(
+        @NonNull String directoryPath, @NonNull String filename, byte[] data, boolean randomFilename)
+        throws FileStorageException {
+
+        Validate.notNull(directoryPath, "directory is required");
+        Validate.notNull(filename, "fileName is required");
+        Validate.notNull(data, "data is required");
+
+        if (!randomFilename) {
+            return fileStorageService.storeFileContent(directoryPath, filename, data, false);
+        }
+
+        String hash = HEX_FORMAT.formatHex(getMessageDigest().digest(data));
+
+        try {
+            return storeReference(directoryPath, filename, hash, data.length, () -> new ByteArrayInputStream(data));
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to store file " + filename, ioe);
+        }
+    }
+
+    @Override
+    public FileEntry storeFileContent(@NonNull String directoryPath, @NonNull String filename, @NonNull String data)
+        throws FileStorageException {
+
+        return storeFileContent(directoryPath, filename, data, true);
+    }
+
+    @Override
+    public FileEntry storeFileContent(
+        @NonNull String directoryPath, @NonNull String filename, @NonNull String data, boolean randomFilename)
+        throws FileStorageException {
+
+        Validate.notNull(data, "data is required");
+
+        return storeFileContent(directoryPath, filename, data.getBytes(StandardCharsets.UTF_8), randomFilename);
+    }
+
+    @Override
+    public FileEntry storeFileContent(
+        @NonNull String directoryPath, @NonNull String filename, @NonNull InputStream inputStream)
+        throws FileStorageException {
+
+        return storeFileContent(directoryPath, filename, inputStream, true);
+    }
+
+    /**
+     * Spools the content to a local temporary file while hashing it, so content of any size is stored without being
+     * held in memory.
+     */
+    @Override
+    public FileEntry storeFileContent(
+        @NonNull String directoryPath, @NonNull String filename, @NonNull InputStream inputStream,
+        boolean randomFilename) throws FileStorageException {
+
+        Validate.notNull(directoryPath, "directory is required");
+        Validate.notNull(filename, "fileName is required");
+        Validate.notNull(inputStream, "inputStream is required");
+
+        if (!randomFilename) {
+            return fileStorageService.storeFileContent(directoryPath, filename, inputStream, false);
+        }
+
+        Path tempPath = null;
+
+        try {
+            tempPath = Files.createTempFile("dedup_file_storage_", ".tmp");
+
+            MessageDigest messageDigest = getMessageDigest();
+
+            try (OutputStream outputStream = new DigestOutputStream(Files.newOutputStream(tempPath), messageDigest)) {
+                inputStream.transferTo(outputStream);
+            }
+
+            Path contentPath = tempPath;
+
+            return storeReference(
+                directoryPath, filename, HEX_FORMAT.formatHex(messageDigest.digest()), Files.size(tempPath),
+                () -> Files.newInputStream(contentPath));
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to store file " + filename, ioe);
+        } finally {
+            if (tempPath != null) {
+                deleteTempFile(tempPath);
+            }
+        }
+    }
+
+    /**
+     * Deletes the blobs recorded as possible orphans in the directories any process stored to or deleted from, whose
+     * grace period passed before the given time and which still have no references.
+     */
+    void collectGarbage(long now) {
+        for (String directoryPath : getRootDirectoryPaths()) {
+            String orphansDirectoryPath = directoryPath + ORPHANS_DIRECTORY;
+
+            for (FileEntry orphanFileEntry : fileStorageService.getFileEntries(orphansDirectoryPath)) {
+                String url = orphanFileEntry.getUrl();
+
+                String hash = url.substring(url.lastIndexOf(ORPHANS_DIRECTORY) + ORPHANS_DIRECTORY.length());
+
+                try {
+                    long deleteTime = Long.parseLong(
+                        fileStorageService.readFileToString(orphansDirectoryPath, orphanFileEntry));
+
+                    if (now - deleteTime >= gracePeriod) {
+                        deleteOrphan(directoryPath, hash, orphanFileEntry);
+                    }
+                } catch (FileStorageException | NumberFormatException exception) {
+                    logger.warn("Unable to collect blob {} of {}", hash, directoryPath, exception);
+                }
+            }
+        }
+    }
+
+    private void collectGarbage() {
+        try {
+            collectGarbage(System.currentTimeMillis());
+        } catch (RuntimeException exception) {
+            logger.warn("Unable to collect unreferenced blobs", exception);
+        }
+    }
+
+    /**
+     * Waits while the background pass of another process, which wrote the tombstone of the blob, may still delete it. A
+     * tombstone older than the grace period was left by a pass that did not finish and is ignored.
+     */
+    private void awaitTombstone(String directoryPath, String hash) {
+        String tombstonesDirectoryPath = directoryPath + TOMBSTONES_DIRECTORY;
+
+        while (fileStorageService.fileExists(tombstonesDirectoryPath, hash)) {
+            try {
+                long createTime = Long.parseLong(
+                    fileStorageService.readFileToString(
+                        tombstonesDirectoryPath, fileStorageService.getFileEntry(tombstonesDirectoryPath, hash)));
+
+                if (System.currentTimeMillis() - createTime >= gracePeriod) {
+                    return;
+                }
+            } catch (NumberFormatException numberFormatException) {
+                return;
+            } catch (FileStorageException fileStorageException) {
+                // removed between the check and the read, the loop checks again
+            }
+
+            try {
+                Thread.sleep(TOMBSTONE_POLL_INTERVAL);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread()
+                    .interrupt();
+
+                throw new FileStorageException("Interrupted while waiting for the delete of blob " + hash);
+            }
+        }
+    }
+
+    private void deleteOrphan(String directoryPath, String hash, FileEntry orphanFileEntry) {
+        Lock lock = getLock(hash);
+
+        lock.lock();
+
+        try {
+            String refsDirectoryPath = getRefsDirectoryPath(directoryPath, hash);
+
+            if (fileStorageService.getFileEntries(refsDirectoryPath)
+                .isEmpty()) {
+
+                String tombstonesDirectoryPath = directoryPath + TOMBSTONES_DIRECTORY;
+
+                FileEntry tombstoneFileEntry = fileStorageService.storeFileContent(
+                    tombstonesDirectoryPath, hash, String.valueOf(System.currentTimeMillis()), false);
+
+                try {
+                    // a reference written after this listing belongs to a store that waits for the tombstone to be
+                    // removed before it checks for the blob
+
+                    if (fileStorageService.getFileEntries(refsDirectoryPath)
+                        .isEmpty()) {
+
+                        deleteBlob(directoryPath, hash);
+                    }
+                } finally {
+                    fileStorageService.deleteFile(tombstonesDirectoryPath, tombstoneFileEntry);
+                }
+            }
+
+            fileStorageService.deleteFile(directoryPath + ORPHANS_DIRECTORY, orphanFileEntry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteBlob(String directoryPath, String hash) {
+        String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+        if (fileStorageService.fileExists(blobsDirectoryPath, hash)) {
+            fileStorageService.deleteFile(
+                blobsDirectoryPath, fileStorageService.getFileEntry(blobsDirectoryPath, hash));
+
+            DELETED_BLOBS.increment();
+        }
+    }
+
+    private Lock getLock(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Returns the directories recorded in the storage, together with the ones of this process in case recording one of
+     * them failed.
+     */
+    private Set<String> getRootDirectoryPaths() {
+        Set<String> rootDirectoryPaths = new HashSet<>(directoryPaths);
+
+        for (FileEntry rootFileEntry : fileStorageService.getFileEntries(ROOTS_DIRECTORY)) {
+            try {
+                rootDirectoryPaths.add(fileStorageService.readFileToString(ROOTS_DIRECTORY, rootFileEntry));
+            } catch (FileStorageException fileStorageException) {
+                logger.warn("Unable to read root {}", rootFileEntry.getName(), fileStorageException);
+            }
+        }
+
+        return rootDirectoryPaths;
+    }
+
+    /**
+     * Records the directory in the storage the first time this process uses it, keyed by the hash of its path.
+     */
+    private void registerDirectoryPath(String directoryPath) {
+        if (!directoryPaths.add(directoryPath)) {
+            return;
+        }
+
+        MessageDigest messageDigest = getMessageDigest();
+
+        String rootId = HEX_FORMAT.formatHex(messageDigest.digest(directoryPath.getBytes(StandardCharsets.UTF_8)));
+
+        try {
+            fileStorageService.storeFileContent(ROOTS_DIRECTORY, rootId, directoryPath, false);
+        } catch (FileStorageException fileStorageException) {
+            logger.warn("Unable to record root {}", directoryPath, fileStorageException);
+        }
+    }
+
+    /**
+     * Writes the reference before it checks for the tombstone and then for the blob, so the background pass of another
+     * process either sees the reference and keeps the blob or finishes its delete before the blob is checked. Removes
+     * the reference again when the blob cannot be written.
+     */
+    private FileEntry storeReference(
+        String directoryPath, String filename, String hash, long size,
+        FailableSupplier<InputStream, IOException> inputStreamSupplier) throws IOException {
+
+        String refId = String.valueOf(UUID.randomUUID());
+        String refsDirectoryPath = getRefsDirectoryPath(directoryPath, hash);
+
+        registerDirectoryPath(directoryPath);
+
+        Lock lock = getLock(hash);
+
+        lock.lock();
+
+        try {
+            FileEntry refFileEntry = fileStorageService.storeFileContent(refsDirectoryPath, refId, filename, false);
+
+            String blobsDirectoryPath = getBlobsDirectoryPath(directoryPath, hash);
+
+            try {
+                awaitTombstone(directoryPath, hash);
+
+                if (fileStorageService.fileExists(blobsDirectoryPath, hash)) {
+                    HITS.increment();
+                } else {
+                    try (InputStream inputStream = inputStreamSupplier.get()) {
+                        fileStorageService.storeFileContent(blobsDirectoryPath, hash, inputStream, false);
+                    }
+
+                    WRITTEN_BYTES.increment(size);
+                }
+            } catch (IOException | RuntimeException e) {
+                fileStorageService.deleteFile(refsDirectoryPath, refFileEntry);
+
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        STORED_BYTES.increment(size);
+
+        return new FileEntry(filename, URL_PREFIX + hash + "/" + refId);
+    }
+
+    private static void deleteTempFile(Path tempPath) {
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException ioe) {
+            logger.warn("Unable to delete temporary file {}", tempPath, ioe);
+        }
+    }
+
+    private static String getBlobsDirectoryPath(String directoryPath, String hash) {
+        return directoryPath + BLOBS_DIRECTORY + hash.substring(0, 2) + "/" + hash.substring(2, 4);
+    }
+
+    private static String getHash(FileEntry fileEntry) {
+        String url = fileEntry.getUrl();
+
+        return url.substring(URL_PREFIX.length(), url.indexOf('/', URL_PREFIX.length()));
+    }
+
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    private static String getRefId(FileEntry fileEntry) {
+        String url = fileEntry.getUrl();
+
+        return url.substring(url.indexOf('/', URL_PREFIX.length()) + 1);
+    }
+
+    private static String getRefsDirectoryPath(String directoryPath, String hash) {
+        return directoryPath + REFS_DIRECTORY + hash;
+    }
+
+    private static boolean isDedupFileEntry(FileEntry fileEntry) {
+        String url = fileEntry.getUrl();
+
+        return url.startsWith(URL_PREFIX);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.file.storage.dedup.service;
+
+import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.filesystem.service.FilesystemFileStorageService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent
+ */
+public class DedupFileStorageServiceTest {
+
+    private static final long GRACE_PERIOD = 600_000;
+    private static final String TEST_STRING = "test string";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testDeleteFile() throws IOException {
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        FileEntry fileEntry1 = dedupFileStorageService.storeFileContent("data", "fileName1.txt", TEST_STRING);
+        FileEntry fileEntry2 = dedupFileStorageService.storeFileContent("data", "fileName2.txt", TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry1);
+
+        Assertions.assertThat(dedupFileStorageService.fileExists("data", fileEntry1))
+            .isFalse();
+        Assertions.assertThat(dedupFileStorageService.readFileToString("data", fileEntry2))
+            .isEqualTo(TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry2);
+
+        Assertions.assertThat(dedupFileStorageService.fileExists("data", fileEntry2))
+            .isFalse();
+
+        // the blob and its orphan record are kept until the grace period passed
+
+        dedupFileStorageService.collectGarbage(System.currentTimeMillis());
+
+        Assertions.assertThat(countFiles())
+            .isEqualTo(2);
+
+        dedupFileStorageService.collectGarbage(System.currentTimeMillis() + GRACE_PERIOD);
+
+        Assertions.assertThat(countFiles())
+            .isZero();
+    }
+
+    @Test
+    public void testCollectGarbageOfOtherProcess() throws IOException {
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        FileEntry fileEntry = dedupFileStorageService.storeFileContent("data", "fileName.txt", TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry);
+
+        // a process started later, which neither stored to nor deleted from the directory, collects the blob
+
+        DedupFileStorageService otherDedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        otherDedupFileStorageService.collectGarbage(System.currentTimeMillis() + GRACE_PERIOD);
+
+        Assertions.assertThat(countFiles())
+            .isZero();
+    }
+
+    @Test
+    public void testDeleteFileTwice() {
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        FileEntry fileEntry = dedupFileStorageService.storeFileContent("data", "fileName.txt", TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry);
+
+        Assertions.assertThatCode(() -> dedupFileStorageService.deleteFile("data", fileEntry))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testCollectGarbageKeepsBlobOfStoreAfterFirstListing() throws Exception {
+        DedupFileStorageService otherDedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        // the store of another process completes between the first reference listing and the tombstone
+
+        RefsListingFileStorageService refsListingFileStorageService = new RefsListingFileStorageService(
+            tempDir.toString(), 1,
+            () -> otherDedupFileStorageService.storeFileContent("data", "fileName2.txt", TEST_STRING));
+
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            refsListingFileStorageService, GRACE_PERIOD);
+
+        FileEntry fileEntry1 = dedupFileStorageService.storeFileContent("data", "fileName1.txt", TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry1);
+        dedupFileStorageService.collectGarbage(System.currentTimeMillis() + GRACE_PERIOD);
+
+        FileEntry fileEntry2 = refsListingFileStorageService.storeFuture.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(otherDedupFileStorageService.readFileToString("data", fileEntry2))
+            .isEqualTo(TEST_STRING);
+    }
+
+    @Test
+    public void testCollectGarbageRewritesBlobOfStoreAfterSecondListing() throws Exception {
+        DedupFileStorageService otherDedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        // the store of another process writes its reference after the second listing, while the tombstone exists
+
+        RefsListingFileStorageService refsListingFileStorageService = new RefsListingFileStorageService(
+            tempDir.toString(), 2,
+            () -> otherDedupFileStorageService.storeFileContent("data", "fileName2.txt", TEST_STRING));
+
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            refsListingFileStorageService, GRACE_PERIOD);
+
+        FileEntry fileEntry1 = dedupFileStorageService.storeFileContent("data", "fileName1.txt", TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry1);
+        dedupFileStorageService.collectGarbage(System.currentTimeMillis() + GRACE_PERIOD);
+
+        FileEntry fileEntry2 = refsListingFileStorageService.storeFuture.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(otherDedupFileStorageService.readFileToString("data", fileEntry2))
+            .isEqualTo(TEST_STRING);
+    }
+
+    @Test
+    public void testDeleteFileKeepsReferencedBlob() throws IOException {
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        FileEntry fileEntry1 = dedupFileStorageService.storeFileContent("data", "fileName1.txt", TEST_STRING);
+
+        dedupFileStorageService.deleteFile("data", fileEntry1);
+
+        FileEntry fileEntry2 = dedupFileStorageService.storeFileContent("data", "fileName2.txt", TEST_STRING);
+
+        dedupFileStorageService.collectGarbage(System.currentTimeMillis() + GRACE_PERIOD);
+
+        Assertions.assertThat(dedupFileStorageService.readFileToString("data", fileEntry2))
+            .isEqualTo(TEST_STRING);
+
+        // one blob and one reference
+
+        Assertions.assertThat(countFiles())
+            .isEqualTo(2);
+    }
+
+    @Test
+    public void testGetFileEntries() {
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        FileEntry fileEntry1 = dedupFileStorageService.storeFileContent("data", "fileName1.txt", TEST_STRING);
+        FileEntry fileEntry2 = dedupFileStorageService.storeFileContent("data", "fileName2.txt", TEST_STRING);
+        FileEntry fileEntry3 = dedupFileStorageService.storeFileContent("data", "fileName3.txt", TEST_STRING, false);
+
+        Assertions.assertThat(dedupFileStorageService.getFileEntries("data"))
+            .containsExactlyInAnyOrder(fileEntry1, fileEntry2, fileEntry3);
+    }
+
+    @Test
+    public void testStoreFileContent() throws IOException {
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            new FilesystemFileStorageService(tempDir.toString()), GRACE_PERIOD);
+
+        FileEntry fileEntry1 = dedupFileStorageService.storeFileContent("data", "fileName1.txt", TEST_STRING);
+        FileEntry fileEntry2 = dedupFileStorageService.storeFileContent(
+            "data", "fileName2.txt", new ByteArrayInputStream(TEST_STRING.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThat(fileEntry1.getUrl())
+            .startsWith(DedupFileStorageService.URL_PREFIX)
+            .isNotEqualTo(fileEntry2.getUrl());
+        Assertions.assertThat(fileEntry2.getName())
+            .isEqualTo("fileName2.txt");
+        Assertions.assertThat(dedupFileStorageService.readFileToString("data", fileEntry1))
+            .isEqualTo(TEST_STRING);
+        Assertions.assertThat(dedupFileStorageService.readFileToString("data", fileEntry2))
+            .isEqualTo(TEST_STRING);
+        Assertions.assertThat(dedupFileStorageService.getFileSize("data", fileEntry2))
+            .isEqualTo(TEST_STRING.length());
+
+        // one blob and two references
+
+        Assertions.assertThat(countFiles())
+            .isEqualTo(3);
+    }
+
+    @Test
+    public void testStoreFileContentNonRandomFilename() {
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        DedupFileStorageService dedupFileStorageService = new DedupFileStorageService(
+            filesystemFileStorageService, GRACE_PERIOD);
+
+        FileEntry fileEntry = dedupFileStorageService.storeFileContent("data", "fileName.txt", TEST_STRING, false);
+
+        Assertions.assertThat(fileEntry)
+            .isEqualTo(filesystemFileStorageService.getFileEntry("data", "fileName.txt"));
+        Assertions.assertThat(dedupFileStorageService.readFileToString("data", fileEntry))
+            .isEqualTo(TEST_STRING);
+    }
+
+    /**
+     * Counts the stored files, without the records of the directories the background pass visits.
+     */
+    private long countFiles() throws IOException {
+        Path rootsPath = tempDir.resolve("dedup/roots");
+
+        try (Stream<Path> stream = Files.walk(tempDir)) {
+            return stream.filter(Files::isRegularFile)
+                .filter(path -> !path.startsWith(rootsPath))
+                .count();
+        }
+    }
+
+    /**
+     * Starts a store of another process right after the given listing of a refs directory. The store runs on its own
+     * thread, the first listing returns once the store completed, a later one once its reference is written, as the
+     * store then waits for the tombstone.
+     */
+    private static class RefsListingFileStorageService extends FilesystemFileStorageService {
+
+        private final AtomicInteger listings = new AtomicInteger();
+        private final Path refsPath;
+        private final Supplier<FileEntry> storeSupplier;
+        private final int storeListing;
+        private volatile CompletableFuture<FileEntry> storeFuture;
+
+        private RefsListingFileStorageService(
+            String baseDir, int storeListing, Supplier<FileEntry> storeSupplier) {
+
+            super(baseDir);
+
+            this.refsPath = Path.of(baseDir);
+            this.storeListing = storeListing;
+            this.storeSupplier = storeSupplier;
+        }
+
+        @Override
+        public Set<FileEntry> getFileEntries(String directoryPath) {
+            Set<FileEntry> fileEntries = super.getFileEntries(directoryPath);
+
+            if (directoryPath.contains("/dedup/refs/") && (listings.incrementAndGet() == storeListing)) {
+                storeFuture = CompletableFuture.supplyAsync(storeSupplier);
+
+                if (storeListing == 1) {
+                    storeFuture.join();
+                } else {
+                    awaitReference();
+                }
+            }
+
+            return fileEntries;
+        }
+
+        private void awaitReference() {
+            long deadline = System.currentTimeMillis() + 5000;
+
+            while (System.currentTimeMillis() < deadline) {
+                try (Stream<Path> stream = Files.walk(refsPath)) {
+                    if (stream.filter(Files::isRegularFile)
+                        .anyMatch(path -> path.toString()
+                            .contains("refs"))) {
+
+                        return;
+                    }
+
+                    Thread.sleep(10);
+                } catch (IOException | InterruptedException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        }
+    }
+}
@@ -1,3 +1,7 @@
+plugins {
+    alias(libs.plugins.me.champeau.jmh)
+}
+
 dependencies {
     implementation("org.apache.commons:commons-lang3")
     implementation("org.slf4j:slf4j-api")
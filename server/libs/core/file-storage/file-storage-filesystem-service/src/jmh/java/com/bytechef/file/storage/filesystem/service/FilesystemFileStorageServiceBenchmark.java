@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.file.storage.filesystem.service;
+
+import com.bytechef.file.storage.domain.FileEntry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares write and read throughput of the flat layout, {@code directoryDepth} 0, with the sharded layout in a
+ * directory that already holds {@code fileCount} files. Run with
+ * {@code ./gradlew :server:libs:core:file-storage:file-storage-filesystem-service:jmh}; pass
+ * {@code -p fileCount=10000000} to the JMH arguments to measure at 10M files, which needs about 40 GB of disk on a 4 KB
+ * block size file system and a long setup.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 3, time = 1)
+public class FilesystemFileStorageServiceBenchmark {
+
+    private static final String DIRECTORY = "outputs/workflow_task_executions";
+    private static final int READ_SAMPLE_SIZE = 10_000;
+    private static final byte[] VALUE = "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"0", "2"})
+    public int directoryDepth;
+
+    @Param({"100000"})
+    public int fileCount;
+
+    private Path baseDirPath;
+    private FilesystemFileStorageService filesystemFileStorageService;
+    private List<FileEntry> fileEntries;
+
+    @Setup
+    public void setUp() throws IOException {
+        baseDirPath = Files.createTempDirectory("filesystem_file_storage_benchmark");
+        filesystemFileStorageService = new FilesystemFileStorageService(baseDirPath.toString(), directoryDepth);
+        fileEntries = new ArrayList<>(READ_SAMPLE_SIZE);
+
+        for (int i = 0; i < fileCount; i++) {
+            FileEntry fileEntry = filesystemFileStorageService.storeFileContent(DIRECTORY, i + ".json", VALUE);
+
+            if (i % Math.max(1, fileCount / READ_SAMPLE_SIZE) == 0) {
+                fileEntries.add(fileEntry);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(baseDirPath)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder())
+                .toList()) {
+
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] read() {
+        FileEntry fileEntry = fileEntries.get(
+            ThreadLocalRandom.current()
+                .nextInt(fileEntries.size()));
+
+        return filesystemFileStorageService.readFileToBytes(DIRECTORY, fileEntry);
+    }
+
+    @Benchmark
+    public FileEntry write() {
+        return filesystemFileStorageService.storeFileContent(DIRECTORY, "value.json", VALUE);
+    }
+}
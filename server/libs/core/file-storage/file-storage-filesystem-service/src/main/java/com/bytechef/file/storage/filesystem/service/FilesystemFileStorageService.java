@@ -21,36 +21,73 @@ import com.bytechef.file.storage.exception.FileStorageException;
 import com.bytechef.file.storage.service.FileStorageService;
 import com.bytechef.platform.tenant.TenantContext;
 import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 
 /**
+ * Stores files under {@code <baseDir>/<tenant>/<directory>}. Files with a random name are spread over nested
+ * directories named after the leading characters of the name, two levels of 256 directories by default, so no single
+ * directory grows with the number of stored files. File entry urls hold the absolute path of the file, so files stored
+ * with an earlier layout stay readable.
+ *
+ * <p>
+ * Content is written to a temporary file in the target directory and moved in place atomically, so a crash while
+ * writing never leaves a partially written file under the stored name. The temporary file gets the
+ * {@code rw-r--r--} permissions of a regularly created file before the move, as it is created owner only.
+ *
  * @author Ivica Cardic
  */
 public class FilesystemFileStorageService implements FileStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FilesystemFileStorageService.class);
+
+    private static final int DEFAULT_DIRECTORY_DEPTH = 2;
+    private static final int DIRECTORY_NAME_LENGTH = 2;
+    private static final int DIRECTORY_PATHS_MAXIMUM_SIZE = 100_000;
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+    private static final String TEMP_FILE_PREFIX = ".filestorage-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
     private static final String URL_PREFIX = "file:";
 
     private final Path baseDirPath;
+    private final int directoryDepth;
+    private final Set<Path> directoryPaths = ConcurrentHashMap.newKeySet();
 
     public FilesystemFileStorageService(String baseDir) {
+        this(baseDir, DEFAULT_DIRECTORY_DEPTH);
+    }
+
+    /**
+     * @param directoryDepth the number of nested directories files with a random name are stored in, 0 stores them
+     *                       directly in the requested directory
+     */
+    FilesystemFileStorageService(String baseDir, int directoryDepth) {
+        Validate.isTrue(directoryDepth >= 0, "'directoryDepth' must not be negative");
+
         this.baseDirPath = Paths.get(baseDir);
+        this.directoryDepth = directoryDepth;
     }
 
     @Override
@@ -103,9 +140,14 @@ public class FilesystemFileStorageService implements FileStorageService {
     public Set<FileEntry> getFileEntries(@NonNull String directoryPath) throws FileStorageException {
         Path curDirectoryPath = resolveDirectoryPath(directoryPath);
 
+        if (!Files.isDirectory(curDirectoryPath)) {
+            return Set.of();
+        }
+
         try (Stream<Path> stream = Files.walk(curDirectoryPath)) {
             return stream
                 .filter(path -> !Files.isDirectory(path))
+                .filter(path -> !isTempFile(toString(path.getFileName())))
                 .map(path -> new FileEntry(toString(path.getFileName()), URL_PREFIX + path))
                 .collect(Collectors.toSet());
         } catch (IOException e) {
@@ -139,6 +181,18 @@ public class FilesystemFileStorageService implements FileStorageService {
         }
     }
 
+    @Override
+    public long getFileSize(@NonNull String directoryPath, @NonNull FileEntry fileEntry) {
+        Path path = resolveDirectoryPath(directoryPath);
+        String url = fileEntry.getUrl();
+
+        try {
+            return Files.size(path.resolve(url.replace(URL_PREFIX, "")));
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to get size of file " + url, ioe);
+        }
+    }
+
     @Override
     public byte[] readFileToBytes(@NonNull String directoryPath, @NonNull FileEntry fileEntry)
         throws FileStorageException {
@@ -229,6 +283,36 @@ public class FilesystemFileStorageService implements FileStorageService {
         return doStoreFileContent(directoryPath, filename, inputStream, randomFilename);
     }
 
+    private Path createDirectories(Path directoryPath) {
+        if (!directoryPaths.contains(directoryPath)) {
+            try {
+                Files.createDirectories(directoryPath);
+            } catch (IOException ioe) {
+                throw new FileStorageException("Could not initialize storage", ioe);
+            }
+
+            if (directoryPaths.size() >= DIRECTORY_PATHS_MAXIMUM_SIZE) {
+                directoryPaths.clear();
+            }
+
+            directoryPaths.add(directoryPath);
+        }
+
+        return directoryPath;
+    }
+
+    private Path createTempFile(Path directoryPath) throws IOException {
+        try {
+            return Files.createTempFile(createDirectories(directoryPath), TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        } catch (NoSuchFileException nsfe) {
+            // the directory was removed after it was cached
+
+            directoryPaths.remove(directoryPath);
+
+            return Files.createTempFile(createDirectories(directoryPath), TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        }
+    }
+
     private FileEntry doStoreFileContent(
         String directory, String filename, InputStream inputStream, boolean randomFilename) {
 
@@ -236,32 +320,49 @@ public class FilesystemFileStorageService implements FileStorageService {
 
         Path path = resolveDirectoryPath(directory.toLowerCase());
 
-        path = path.resolve(
-            randomFilename ? generateRandomFilename(filename.substring(filename.lastIndexOf("."))) : filename);
+        if (randomFilename) {
+            String curFilename = generateRandomFilename(filename.substring(filename.lastIndexOf(".")));
 
-        try {
-            Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException ioe) {
-            throw new FileStorageException("Failed to store file " + filename, ioe);
+            path = resolveShardDirectoryPath(path, curFilename).resolve(curFilename);
+        } else {
+            path = path.resolve(filename);
         }
 
-        File file = path.toFile();
+        Path tempPath = null;
+
+        try {
+            tempPath = createTempFile(path.getParent());
+
+            if (Files.copy(inputStream, tempPath, StandardCopyOption.REPLACE_EXISTING) == 0) {
+                throw new FileStorageException("Failed to store empty file " + filename);
+            }
 
-        if (file.length() == 0) {
-            throw new FileStorageException("Failed to store empty file " + filename);
+            setFilePermissions(tempPath);
+
+            move(tempPath, path);
+        } catch (IOException ioe) {
+            throw new FileStorageException("Failed to store file " + filename, ioe);
+        } finally {
+            if (tempPath != null) {
+                deleteTempFile(tempPath);
+            }
         }
 
         return new FileEntry(filename, URL_PREFIX + path);
     }
 
     private Path resolveDirectoryPath(String directoryPath) {
-        try {
-            return Files.createDirectories(
-                baseDirPath.resolve(TenantContext.getCurrentTenantId())
-                    .resolve(directoryPath));
-        } catch (IOException ioe) {
-            throw new FileStorageException("Could not initialize storage", ioe);
+        return baseDirPath.resolve(TenantContext.getCurrentTenantId())
+            .resolve(directoryPath);
+    }
+
+    private Path resolveShardDirectoryPath(Path directoryPath, String filename) {
+        for (int i = 0; i < directoryDepth; i++) {
+            directoryPath = directoryPath.resolve(
+                filename.substring(i * DIRECTORY_NAME_LENGTH, (i + 1) * DIRECTORY_NAME_LENGTH));
         }
+
+        return directoryPath;
     }
 
     private String generateRandomFilename(String extension) {
@@ -271,4 +372,33 @@ public class FilesystemFileStorageService implements FileStorageService {
     private String toString(Path path) {
         return path.toString();
     }
+
+    private static void deleteTempFile(Path tempPath) {
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException ioe) {
+            logger.warn("Unable to delete temporary file {}", tempPath, ioe);
+        }
+    }
+
+    private static boolean isTempFile(String filename) {
+        return filename.startsWith(TEMP_FILE_PREFIX) && filename.endsWith(TEMP_FILE_SUFFIX);
+    }
+
+    private static void move(Path sourcePath, Path targetPath) throws IOException {
+        try {
+            Files.move(sourcePath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void setFilePermissions(Path path) throws IOException {
+        Set<String> fileAttributeViews = path.getFileSystem()
+            .supportedFileAttributeViews();
+
+        if (fileAttributeViews.contains("posix")) {
+            Files.setPosixFilePermissions(path, FILE_PERMISSIONS);
+        }
+    }
 }
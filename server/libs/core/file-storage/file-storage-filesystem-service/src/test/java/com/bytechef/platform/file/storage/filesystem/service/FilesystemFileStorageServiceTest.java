@@ -17,15 +17,21 @@
 package com.bytechef.platform.file.storage.filesystem.service;
 
 import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.exception.FileStorageException;
 import com.bytechef.file.storage.filesystem.service.FilesystemFileStorageService;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Files;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author Ivica Cardic
@@ -51,6 +57,43 @@ public class FilesystemFileStorageServiceTest {
             .isFalse();
     }
 
+    @Test
+    public void testGetFileEntries(@TempDir Path tempDir) {
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        Assertions.assertThat(filesystemFileStorageService.getFileEntries("data"))
+            .isEmpty();
+
+        FileEntry fileEntry = filesystemFileStorageService.storeFileContent("data", "fileName.txt", TEST_STRING);
+
+        Assertions.assertThat(filesystemFileStorageService.getFileEntries("data"))
+            .extracting(FileEntry::getUrl)
+            .containsExactly(fileEntry.getUrl());
+    }
+
+    @Test
+    public void testGetFileEntriesWithTmpFile(@TempDir Path tempDir) {
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        FileEntry fileEntry = filesystemFileStorageService.storeFileContent(
+            "data", "fileName.tmp", TEST_STRING, false);
+
+        Assertions.assertThat(filesystemFileStorageService.getFileEntries("data"))
+            .extracting(FileEntry::getUrl)
+            .containsExactly(fileEntry.getUrl());
+    }
+
+    @Test
+    public void testGetFileSize() {
+        FileEntry fileEntry = fileStorageService.storeFileContent(
+            "data", "fileName.txt", new ByteArrayInputStream(TEST_STRING.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThat(fileStorageService.getFileSize("data", fileEntry))
+            .isEqualTo(TEST_STRING.length());
+    }
+
     @Test
     public void testOpenInputStream() throws IOException {
         FileEntry fileEntry = fileStorageService.storeFileContent(
@@ -71,6 +114,22 @@ public class FilesystemFileStorageServiceTest {
             .isEqualTo(TEST_STRING);
     }
 
+    @Test
+    public void testReadFlatLayout(@TempDir Path tempDir) throws IOException {
+        Path dirPath = java.nio.file.Files.createDirectories(tempDir.resolve("public/data"));
+
+        Path path = dirPath.resolve("fileName.txt");
+
+        java.nio.file.Files.writeString(path, TEST_STRING);
+
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        Assertions.assertThat(
+            filesystemFileStorageService.readFileToString("data", new FileEntry("fileName.txt", "file:" + path)))
+            .isEqualTo(TEST_STRING);
+    }
+
     @Test
     public void testWrite() {
         FileEntry fileEntry = fileStorageService.storeFileContent(
@@ -86,4 +145,61 @@ public class FilesystemFileStorageServiceTest {
         Assertions.assertThat(Files.contentOf(new File(url.replace("file:", "")), StandardCharsets.UTF_8))
             .isEqualTo(TEST_STRING);
     }
+
+    @Test
+    public void testWriteShardedLayout(@TempDir Path tempDir) throws IOException {
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        FileEntry fileEntry = filesystemFileStorageService.storeFileContent("data", "fileName.txt", TEST_STRING);
+
+        String url = fileEntry.getUrl();
+
+        Path path = Path.of(url.replace("file:", ""));
+
+        String filename = String.valueOf(path.getFileName());
+
+        Assertions.assertThat(path)
+            .isEqualTo(
+                tempDir.resolve("public/data")
+                    .resolve(filename.substring(0, 2))
+                    .resolve(filename.substring(2, 4))
+                    .resolve(filename));
+
+        try (Stream<Path> stream = java.nio.file.Files.list(path.getParent())) {
+            Assertions.assertThat(stream.toList())
+                .containsExactly(path);
+        }
+    }
+
+    @Test
+    public void testWriteFilePermissions(@TempDir Path tempDir) throws IOException {
+        Assumptions.assumeTrue(
+            tempDir.getFileSystem()
+                .supportedFileAttributeViews()
+                .contains("posix"));
+
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        FileEntry fileEntry = filesystemFileStorageService.storeFileContent("data", "fileName.txt", TEST_STRING);
+
+        String url = fileEntry.getUrl();
+
+        Assertions.assertThat(java.nio.file.Files.getPosixFilePermissions(Path.of(url.replace("file:", ""))))
+            .isEqualTo(PosixFilePermissions.fromString("rw-r--r--"));
+    }
+
+    @Test
+    public void testWriteEmptyFile(@TempDir Path tempDir) {
+        FilesystemFileStorageService filesystemFileStorageService = new FilesystemFileStorageService(
+            tempDir.toString());
+
+        Assertions.assertThatThrownBy(
+            () -> filesystemFileStorageService.storeFileContent("data", "fileName.txt", new byte[0]))
+            .isInstanceOf(FileStorageException.class);
+
+        Assertions.assertThat(filesystemFileStorageService.getFileEntries("data"))
+            .isEmpty();
+    }
 }
@@ -19,12 +19,18 @@
 package com.bytechef.message.broker.amqp;
 
 import com.bytechef.message.Prioritizable;
-import com.bytechef.message.Retryable;
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.MessageBroker;
 import com.bytechef.message.route.MessageRoute;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.Validate;
+import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
 
 /**
  * @author Arik Cohen
@@ -32,29 +38,72 @@ import org.springframework.amqp.core.MessageProperties;
  */
 public class AmqpMessageBroker implements MessageBroker {
 
+    /**
+     * Extra time in milliseconds a delay queue is kept after its last declaration, so it always outlives its messages.
+     */
+    private static final long DELAY_QUEUE_EXPIRES_MARGIN = 60_000;
+
+    /**
+     * Time in milliseconds after which a delay queue is declared again. Publishing does not count as use for
+     * {@code x-expires}, so the declaration must be renewed well before the margin runs out.
+     */
+    private static final long DELAY_QUEUE_REDECLARE_INTERVAL = DELAY_QUEUE_EXPIRES_MARGIN / 2;
+
+    private AmqpAdmin amqpAdmin;
     private AmqpTemplate amqpTemplate;
+    private final Map<String, Long> delayQueueDeclarationTimes = new ConcurrentHashMap<>();
 
     @Override
     public void send(MessageRoute messageRoute, Object message) {
         Validate.notNull(messageRoute, "'queueName' must not be null");
 
-        amqpTemplate.convertAndSend(
-            determineExchange(messageRoute.getName()), determineRoutingKey(messageRoute.getName()), message,
-            amqpMessage -> {
-                if (message instanceof Retryable retryable) {
-                    MessageProperties messageProperties = amqpMessage.getMessageProperties();
+        String exchange = determineExchange(messageRoute.getName());
+        String routingKey = determineRoutingKey(messageRoute.getName());
 
-                    messageProperties.setDelayLong(Long.valueOf(retryable.getRetryDelayMillis()));
-                }
+        MessagePostProcessor messagePostProcessor = amqpMessage -> {
+            if (message instanceof Prioritizable prioritizable) {
+                MessageProperties messageProperties = amqpMessage.getMessageProperties();
 
-                if (message instanceof Prioritizable prioritizable) {
-                    MessageProperties messageProperties = amqpMessage.getMessageProperties();
+                messageProperties.setPriority(prioritizable.getPriority());
+            }
 
-                    messageProperties.setPriority(prioritizable.getPriority());
-                }
+            return amqpMessage;
+        };
 
-                return amqpMessage;
-            });
+        long delayMillis = DelayedMessageScheduler.getDelayMillis(message);
+
+        if (delayMillis > 0) {
+            amqpTemplate.convertAndSend(
+                "", declareDelayQueue(exchange, routingKey, delayMillis), message, messagePostProcessor);
+        } else {
+            amqpTemplate.convertAndSend(exchange, routingKey, message, messagePostProcessor);
+        }
+    }
+
+    /**
+     * Declares the queue holding messages for the given route and delay. Every message in it has the same time to
+     * live, so they expire in order and are dead lettered to the route's exchange and routing key without a consumer or
+     * the delayed message exchange plugin. The queue is declared on the broker only when it has not been declared by
+     * this instance within the redeclare interval.
+     */
+    private String declareDelayQueue(String exchange, String routingKey, long delayMillis) {
+        String queueName = "delay." + routingKey + "." + delayMillis;
+        long now = System.currentTimeMillis();
+
+        Long declarationTime = delayQueueDeclarationTimes.get(queueName);
+
+        if (declarationTime == null || now - declarationTime > DELAY_QUEUE_REDECLARE_INTERVAL) {
+            amqpAdmin.declareQueue(
+                new Queue(
+                    queueName, true, false, false,
+                    Map.of(
+                        "x-dead-letter-exchange", exchange, "x-dead-letter-routing-key", routingKey,
+                        "x-expires", delayMillis + DELAY_QUEUE_EXPIRES_MARGIN, "x-message-ttl", delayMillis)));
+
+            delayQueueDeclarationTimes.put(queueName, now);
+        }
+
+        return queueName;
     }
 
     private String determineExchange(String queueName) {
@@ -73,6 +122,11 @@ public class AmqpMessageBroker implements MessageBroker {
         return routingKeyItems.length == 2 ? routingKeyItems[1] : queueName;
     }
 
+    @SuppressFBWarnings("EI")
+    public void setAmqpAdmin(AmqpAdmin amqpAdmin) {
+        this.amqpAdmin = amqpAdmin;
+    }
+
     public void setAmqpTemplate(AmqpTemplate amqpTemplate) {
         this.amqpTemplate = amqpTemplate;
     }
@@ -47,9 +47,10 @@ public class AmqpMessageBrokerConfiguration {
     }
 
     @Bean
-    AmqpMessageBroker amqpMessageBroker(AmqpTemplate amqpTemplate) {
+    AmqpMessageBroker amqpMessageBroker(AmqpTemplate amqpTemplate, RabbitAdmin rabbitAdmin) {
         AmqpMessageBroker amqpMessageBroker = new AmqpMessageBroker();
 
+        amqpMessageBroker.setAmqpAdmin(rabbitAdmin);
         amqpMessageBroker.setAmqpTemplate(amqpTemplate);
 
         return amqpMessageBroker;
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.amqp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.bytechef.message.Retryable;
+import com.bytechef.message.route.MessageRoute;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.Queue;
+
+/**
+ * @author agent
+ */
+public class AmqpMessageBrokerTest {
+
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+
+    @Test
+    public void testSendDelayedDeclaresDelayQueueOnce() {
+        AmqpMessageBroker amqpMessageBroker = new AmqpMessageBroker();
+
+        amqpMessageBroker.setAmqpAdmin(amqpAdmin);
+        amqpMessageBroker.setAmqpTemplate(amqpTemplate);
+
+        amqpMessageBroker.send(TestMessageRoute.TEST, new TestMessage(1000));
+        amqpMessageBroker.send(TestMessageRoute.TEST, new TestMessage(1000));
+        amqpMessageBroker.send(TestMessageRoute.TEST, new TestMessage(2000));
+
+        verify(amqpAdmin, times(2)).declareQueue(any(Queue.class));
+        verify(amqpTemplate, times(2)).convertAndSend(
+            eq(""), eq("delay.test.1000"), any(Object.class), any(MessagePostProcessor.class));
+        verify(amqpTemplate, times(1)).convertAndSend(
+            eq(""), eq("delay.test.2000"), any(Object.class), any(MessagePostProcessor.class));
+    }
+
+    private record TestMessage(long retryDelayMillis) implements Retryable {
+
+        @Override
+        public int getMaxRetries() {
+            return 0;
+        }
+
+        @Override
+        public int getRetryAttempts() {
+            return 0;
+        }
+
+        @Override
+        public String getRetryDelay() {
+            return retryDelayMillis + "ms";
+        }
+
+        @Override
+        public int getRetryDelayFactor() {
+            return 1;
+        }
+
+        @Override
+        public long getRetryDelayMillis() {
+            return retryDelayMillis;
+        }
+    }
+
+    private enum TestMessageRoute implements MessageRoute {
+
+        TEST;
+
+        @Override
+        public Exchange getExchange() {
+            return Exchange.MESSAGE;
+        }
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 dependencies {
     api(project(":server:libs:core:message:message-api"))
 
+    implementation("org.slf4j:slf4j-api")
     implementation("org.springframework.boot:spring-boot-autoconfigure")
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker;
+
+import com.bytechef.message.Retryable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends messages after their retry delay from a single scheduler thread, so the sending thread returns immediately.
+ * Used by brokers that can not delay a single message natively. Scheduled messages are held in memory and are lost if
+ * the instance stops before they are sent.
+ *
+ * @author agent
+ */
+public class DelayedMessageScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DelayedMessageScheduler.class);
+
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    public DelayedMessageScheduler() {
+        ThreadFactory threadFactory = Thread.ofPlatform()
+            .daemon()
+            .name("delayed-message-scheduler")
+            .factory();
+
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Returns the delay in milliseconds before the given message should be delivered, 0 if it can be delivered
+     * immediately.
+     */
+    public static long getDelayMillis(Object message) {
+        if (message instanceof Retryable retryable) {
+            return Math.max(retryable.getRetryDelayMillis(), 0);
+        }
+
+        return 0;
+    }
+
+    public void schedule(long delayMillis, Runnable sendRunnable) {
+        scheduledExecutorService.schedule(
+            () -> {
+                try {
+                    sendRunnable.run();
+                } catch (RuntimeException runtimeException) {
+                    logger.error(runtimeException.getMessage(), runtimeException);
+                }
+            },
+            delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduledExecutorService.shutdownNow();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Copies messages delivered inside a single JVM through their public {@code clone()} method. The method handle is
+ * resolved once per message class.
+ *
+ * @author agent
+ */
+public final class MessageCloneUtils {
+
+    private static final MethodType CLONE_METHOD_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Optional<MethodHandle>> CLONE_METHOD_HANDLES = new ClassValue<>() {
+
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            if (!Cloneable.class.isAssignableFrom(type)) {
+                return Optional.empty();
+            }
+
+            try {
+                Method method = type.getMethod("clone");
+
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+                return Optional.of(
+                    lookup.unreflect(method)
+                        .asType(CLONE_METHOD_TYPE));
+            } catch (IllegalAccessException | NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private MessageCloneUtils() {
+    }
+
+    /**
+     * Returns a copy of the message created by its public {@code clone()} method, or an empty optional if the message
+     * class is not {@link Cloneable} or does not make {@code clone()} public.
+     */
+    public static Optional<Object> clone(Object message) {
+        Optional<MethodHandle> cloneMethodHandle = CLONE_METHOD_HANDLES.get(message.getClass());
+
+        if (cloneMethodHandle.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(
+                (Object) cloneMethodHandle.get()
+                    .invokeExact(message));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to clone message " + message, throwable);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class DelayedMessageSchedulerTest {
+
+    @Test
+    public void testScheduleRunsInDueTimeOrder() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+
+        CountDownLatch countDownLatch = new CountDownLatch(3);
+        List<String> values = new CopyOnWriteArrayList<>();
+
+        for (String value : List.of("third:300", "first:100", "second:200")) {
+            String[] items = value.split(":");
+
+            delayedMessageScheduler.schedule(
+                Long.parseLong(items[1]), () -> {
+                    values.add(items[0]);
+
+                    countDownLatch.countDown();
+                });
+        }
+
+        Assertions.assertThat(countDownLatch.await(5, TimeUnit.SECONDS))
+            .isTrue();
+        Assertions.assertThat(values)
+            .containsExactly("first", "second", "third");
+
+        delayedMessageScheduler.shutdown();
+    }
+
+    @Test
+    public void testScheduleDoesNotRunBeforeDueTime() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+
+        delayedMessageScheduler.schedule(200, countDownLatch::countDown);
+
+        Assertions.assertThat(countDownLatch.await(5, TimeUnit.SECONDS))
+            .isTrue();
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+            .isGreaterThanOrEqualTo(200);
+
+        delayedMessageScheduler.shutdown();
+    }
+
+    @Test
+    public void testScheduleKeepsRunningAfterFailure() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        delayedMessageScheduler.schedule(
+            10, () -> {
+                throw new IllegalStateException("failure");
+            });
+        delayedMessageScheduler.schedule(50, countDownLatch::countDown);
+
+        Assertions.assertThat(countDownLatch.await(5, TimeUnit.SECONDS))
+            .isTrue();
+
+        delayedMessageScheduler.shutdown();
+    }
+}
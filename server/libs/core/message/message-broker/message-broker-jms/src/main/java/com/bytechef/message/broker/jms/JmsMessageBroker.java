@@ -18,23 +18,22 @@
 
 package com.bytechef.message.broker.jms;
 
-import com.bytechef.message.Retryable;
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.MessageBroker;
 import com.bytechef.message.route.MessageRoute;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.concurrent.TimeUnit;
+import jakarta.jms.Destination;
+import jakarta.jms.MessageProducer;
 import org.apache.commons.lang3.Validate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.destination.DestinationResolver;
 
 /**
  * @author Arik Cohen
  */
 public class JmsMessageBroker implements MessageBroker {
 
-    private static final Logger logger = LoggerFactory.getLogger(JmsMessageBroker.class);
-
     private final JmsTemplate jmsTemplate;
 
     @SuppressFBWarnings("EI")
@@ -46,20 +45,33 @@ public class JmsMessageBroker implements MessageBroker {
     public void send(MessageRoute messageRoute, Object message) {
         Validate.notNull(messageRoute, "'queueName' must not be null");
 
-        if (message instanceof Retryable retryable) {
-            delay(retryable.getRetryDelayMillis());
-        }
+        long delayMillis = DelayedMessageScheduler.getDelayMillis(message);
 
-        jmsTemplate.convertAndSend(messageRoute.getName(), message);
+        if (delayMillis > 0) {
+            sendWithDeliveryDelay(messageRoute.getName(), message, delayMillis);
+        } else {
+            jmsTemplate.convertAndSend(messageRoute.getName(), message);
+        }
     }
 
-    private void delay(long value) {
-        try {
-            TimeUnit.MILLISECONDS.sleep(value);
-        } catch (InterruptedException e) {
-            if (logger.isTraceEnabled()) {
-                logger.trace(e.getMessage(), e);
+    /**
+     * Sends the message with the JMS 2.0 delivery delay of its own producer, the broker holds it until it is due.
+     */
+    private void sendWithDeliveryDelay(String destinationName, Object message, long delayMillis) {
+        jmsTemplate.execute(session -> {
+            DestinationResolver destinationResolver = jmsTemplate.getDestinationResolver();
+            MessageConverter messageConverter = jmsTemplate.getMessageConverter();
+
+            Destination destination = destinationResolver.resolveDestinationName(
+                session, destinationName, jmsTemplate.isPubSubDomain());
+
+            try (MessageProducer messageProducer = session.createProducer(destination)) {
+                messageProducer.setDeliveryDelay(delayMillis);
+
+                messageProducer.send(messageConverter.toMessage(message, session));
             }
-        }
+
+            return null;
+        }, true);
     }
 }
@@ -18,14 +18,11 @@
 
 package com.bytechef.message.broker.kafka;
 
-import com.bytechef.message.Retryable;
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.MessageBroker;
 import com.bytechef.message.route.MessageRoute;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.Validate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.support.MessageBuilder;
@@ -35,18 +32,23 @@ import org.springframework.messaging.support.MessageBuilder;
  */
 public class KafkaMessageBroker implements MessageBroker {
 
-    private static final Logger logger = LoggerFactory.getLogger(KafkaMessageBroker.class);
-
+    private DelayedMessageScheduler delayedMessageScheduler;
     private KafkaTemplate<Integer, Object> kafkaTemplate;
 
     @Override
     public void send(MessageRoute messageRoute, Object message) {
         Validate.notNull(messageRoute, "'queueName' key must not be null");
 
-        if (message instanceof Retryable retryable) {
-            delay(retryable.getRetryDelayMillis());
+        long delayMillis = DelayedMessageScheduler.getDelayMillis(message);
+
+        if (delayMillis > 0) {
+            delayedMessageScheduler.schedule(delayMillis, () -> doSend(messageRoute, message));
+        } else {
+            doSend(messageRoute, message);
         }
+    }
 
+    private void doSend(MessageRoute messageRoute, Object message) {
         Class<?> messageClass = message.getClass();
 
         kafkaTemplate.send(MessageBuilder.withPayload(message)
@@ -55,14 +57,9 @@ public class KafkaMessageBroker implements MessageBroker {
             .build());
     }
 
-    private void delay(long aValue) {
-        try {
-            TimeUnit.MILLISECONDS.sleep(aValue);
-        } catch (InterruptedException e) {
-            if (logger.isTraceEnabled()) {
-                logger.trace(e.getMessage(), e);
-            }
-        }
+    @SuppressFBWarnings("EI")
+    public void setDelayedMessageScheduler(DelayedMessageScheduler delayedMessageScheduler) {
+        this.delayedMessageScheduler = delayedMessageScheduler;
     }
 
     @SuppressFBWarnings("EI")
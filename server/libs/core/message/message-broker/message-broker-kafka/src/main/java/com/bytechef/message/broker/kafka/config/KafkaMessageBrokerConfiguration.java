@@ -18,6 +18,7 @@
 
 package com.bytechef.message.broker.kafka.config;
 
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.MessageBroker;
 import com.bytechef.message.broker.annotation.ConditionalOnMessageBrokerKafka;
 import com.bytechef.message.broker.kafka.KafkaMessageBroker;
@@ -60,9 +61,15 @@ public class KafkaMessageBrokerConfiguration {
     }
 
     @Bean
-    MessageBroker kafkaMessageBroker(KafkaTemplate kafkaTemplate) {
+    DelayedMessageScheduler delayedMessageScheduler() {
+        return new DelayedMessageScheduler();
+    }
+
+    @Bean
+    MessageBroker kafkaMessageBroker(DelayedMessageScheduler delayedMessageScheduler, KafkaTemplate kafkaTemplate) {
         KafkaMessageBroker kafkaMessageBroker = new KafkaMessageBroker();
 
+        kafkaMessageBroker.setDelayedMessageScheduler(delayedMessageScheduler);
         kafkaMessageBroker.setKafkaTemplate(kafkaTemplate);
 
         return kafkaMessageBroker;
@@ -0,0 +1,9 @@
+dependencies {
+    implementation("org.apache.commons:commons-lang3")
+    implementation("io.micrometer:micrometer-core")
+    implementation("org.slf4j:slf4j-api")
+    implementation("org.springframework.boot:spring-boot-autoconfigure")
+    implementation(project(":server:libs:config:app-config"))
+    implementation(project(":server:libs:core:commons:commons-util"))
+    implementation(project(":server:libs:core:message:message-broker:message-broker-api"))
+}
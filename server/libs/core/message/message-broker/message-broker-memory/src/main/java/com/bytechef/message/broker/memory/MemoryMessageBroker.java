@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.memory;
+
+import com.bytechef.commons.util.ConvertUtils;
+import com.bytechef.commons.util.JsonUtils;
+import com.bytechef.config.ApplicationProperties.MessageBroker.Memory.BackPressure;
+import com.bytechef.message.broker.DelayedMessageScheduler;
+import com.bytechef.message.broker.MessageBroker;
+import com.bytechef.message.broker.MessageCloneUtils;
+import com.bytechef.message.route.MessageRoute;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@link MessageBroker} for single instance deployments that runs the coordinator and the workers in the same JVM.
+ * Every message route has its own bounded {@link MemoryMessageQueue} consumed by its listeners on separate threads, so
+ * the sender returns as soon as the message is queued. A message is copied when it is sent, so the sender and the
+ * listener never share mutable state. A delayed message is offered from the shared scheduler thread, which never waits
+ * for free space, if the queue is full the offer is retried shortly after.
+ *
+ * @author agent
+ */
+public class MemoryMessageBroker implements MessageBroker {
+
+    private static final long FULL_QUEUE_RETRY_DELAY = 100;
+
+    private final BackPressure backPressure;
+    private final long blockTimeout;
+    private final int capacity;
+    private final DelayedMessageScheduler delayedMessageScheduler;
+    private final Map<String, MemoryMessageQueue> messageQueues = new ConcurrentHashMap<>();
+
+    @SuppressFBWarnings("EI2")
+    public MemoryMessageBroker(
+        int capacity, BackPressure backPressure, long blockTimeout, DelayedMessageScheduler delayedMessageScheduler) {
+
+        this.backPressure = backPressure;
+        this.blockTimeout = blockTimeout;
+        this.capacity = capacity;
+        this.delayedMessageScheduler = delayedMessageScheduler;
+    }
+
+    /**
+     * Returns the queue of the given route, creating it on first use. Messages sent before a listener is registered
+     * wait in the queue.
+     */
+    public MemoryMessageQueue getMessageQueue(String routeName) {
+        return messageQueues.computeIfAbsent(
+            routeName, name -> new MemoryMessageQueue(name, capacity, backPressure, blockTimeout));
+    }
+
+    @Override
+    public void send(MessageRoute messageRoute, Object message) {
+        Validate.notNull(messageRoute, "'messageRoute' must not be null");
+        Validate.notNull(message, "'message' must not be null");
+
+        MemoryMessageQueue messageQueue = getMessageQueue(messageRoute.getName());
+        Object copy = copy(message);
+
+        long delayMillis = DelayedMessageScheduler.getDelayMillis(message);
+
+        if (delayMillis > 0) {
+            offerDelayed(messageQueue, copy, delayMillis);
+        } else {
+            messageQueue.offer(copy);
+        }
+    }
+
+    private void offerDelayed(MemoryMessageQueue messageQueue, Object message, long delayMillis) {
+        delayedMessageScheduler.schedule(delayMillis, () -> {
+            if (!messageQueue.tryOffer(message)) {
+                offerDelayed(messageQueue, message, FULL_QUEUE_RETRY_DELAY);
+            }
+        });
+    }
+
+    private static Object copy(Object message) {
+        return MessageCloneUtils.clone(message)
+            .orElseGet(() -> ConvertUtils.convertValue(
+                JsonUtils.read(JsonUtils.write(message, true)), message.getClass(), true));
+    }
+}
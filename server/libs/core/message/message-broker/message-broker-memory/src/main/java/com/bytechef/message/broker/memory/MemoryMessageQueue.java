@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.memory;
+
+import com.bytechef.config.ApplicationProperties.MessageBroker.Memory.BackPressure;
+import com.bytechef.message.Prioritizable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of a single message route. Messages with a higher {@link Prioritizable} priority are taken first,
+ * messages with the same priority in the order they were offered. When the queue is full, {@link #offer(Object)} waits
+ * up to the block timeout for free space and then adds the message over the capacity, so a message is never dropped.
+ * The wait is bounded, so listeners of routes that send to each other can not deadlock. Only with the opt-in
+ * {@link BackPressure#REJECT} back pressure does a send to a full queue throw {@link RejectedExecutionException}.
+ *
+ * @author agent
+ */
+public class MemoryMessageQueue {
+
+    private final BackPressure backPressure;
+    private final long blockTimeout;
+    private final Semaphore freeSlots;
+    private final String name;
+    private final Counter overflowCounter;
+    private final PriorityBlockingQueue<Entry> queue = new PriorityBlockingQueue<>();
+    private final Counter rejectedCounter;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public MemoryMessageQueue(String name, int capacity, BackPressure backPressure, long blockTimeout) {
+        this.backPressure = backPressure;
+        this.blockTimeout = blockTimeout;
+        this.freeSlots = new Semaphore(Math.max(capacity, 1));
+        this.name = name;
+        this.overflowCounter = Metrics.counter(
+            "bytechef.message.broker.memory.messages", "route", name, "state", "overflow");
+        this.rejectedCounter = Metrics.counter(
+            "bytechef.message.broker.memory.messages", "route", name, "state", "rejected");
+
+        Metrics.gauge("bytechef.message.broker.memory.queue.size", Tags.of("route", name), queue,
+            PriorityBlockingQueue::size);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void offer(Object message) {
+        boolean acquired;
+
+        if (backPressure == BackPressure.REJECT) {
+            acquired = freeSlots.tryAcquire();
+        } else {
+            try {
+                acquired = freeSlots.tryAcquire(blockTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread()
+                    .interrupt();
+
+                throw new IllegalStateException(
+                    "Interrupted while waiting for free space in message route queue " + name, interruptedException);
+            }
+        }
+
+        if (!acquired) {
+            if (backPressure == BackPressure.REJECT) {
+                rejectedCounter.increment();
+
+                throw new RejectedExecutionException("Message route queue %s is full".formatted(name));
+            }
+
+            overflowCounter.increment();
+        }
+
+        add(message, acquired);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Retrieves and removes the message with the highest priority, waiting until one is available.
+     */
+    public Object take() throws InterruptedException {
+        Entry entry = queue.take();
+
+        if (entry.permit()) {
+            freeSlots.release();
+        }
+
+        return entry.message();
+    }
+
+    /**
+     * Adds the message if the queue has free space, without waiting whatever the configured back pressure.
+     *
+     * @return {@code true} if the message was added, {@code false} if the queue is full
+     */
+    public boolean tryOffer(Object message) {
+        if (!freeSlots.tryAcquire()) {
+            return false;
+        }
+
+        add(message, true);
+
+        return true;
+    }
+
+    /**
+     * @param permit whether the message holds one of the free slots, a message added over the capacity does not
+     */
+    private void add(Object message, boolean permit) {
+        int priority = message instanceof Prioritizable prioritizable
+            ? prioritizable.getPriority() : Prioritizable.DEFAULT_PRIORITY;
+
+        queue.add(new Entry(message, priority, sequence.getAndIncrement(), permit));
+    }
+
+    private record Entry(Object message, int priority, long sequence, boolean permit) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry entry) {
+            int result = Integer.compare(entry.priority, priority);
+
+            return result == 0 ? Long.compare(sequence, entry.sequence) : result;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.memory.config;
+
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.message.broker.annotation.ConditionalOnMessageBrokerMemory;
+import com.bytechef.message.broker.config.MessageBrokerConfigurer;
+import com.bytechef.message.broker.config.MessageBrokerListenerRegistrar;
+import com.bytechef.message.broker.memory.MemoryMessageBroker;
+import com.bytechef.message.broker.memory.listener.MemoryListenerEndpointRegistrar;
+import com.bytechef.message.route.MessageRoute;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author agent
+ */
+@Configuration
+@ConditionalOnMessageBrokerMemory
+public class MemoryMessageBrokerListenerRegistrarConfiguration implements SmartInitializingSingleton, DisposableBean,
+    MessageBrokerListenerRegistrar<MemoryListenerEndpointRegistrar> {
+
+    private final ApplicationProperties.MessageBroker.Memory memory;
+    private final List<MessageBrokerConfigurer<MemoryListenerEndpointRegistrar>> messageBrokerConfigurers;
+    private MemoryListenerEndpointRegistrar memoryListenerEndpointRegistrar;
+    private final MemoryMessageBroker memoryMessageBroker;
+
+    @SuppressFBWarnings("EI2")
+    public MemoryMessageBrokerListenerRegistrarConfiguration(
+        ApplicationProperties applicationProperties, @Autowired(
+            required = false) List<MessageBrokerConfigurer<MemoryListenerEndpointRegistrar>> messageBrokerConfigurers,
+        MemoryMessageBroker memoryMessageBroker) {
+
+        this.memory = applicationProperties.getMessageBroker()
+            .getMemory();
+        this.messageBrokerConfigurers = messageBrokerConfigurers == null
+            ? Collections.emptyList()
+            : messageBrokerConfigurers;
+        this.memoryMessageBroker = memoryMessageBroker;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        memoryListenerEndpointRegistrar = new MemoryListenerEndpointRegistrar(
+            memoryMessageBroker, memory.isVirtualThreads());
+
+        for (MessageBrokerConfigurer<MemoryListenerEndpointRegistrar> messageBrokerConfigurer : messageBrokerConfigurers) {
+
+            messageBrokerConfigurer.configure(memoryListenerEndpointRegistrar, this);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        memoryListenerEndpointRegistrar.stop();
+    }
+
+    @Override
+    public void registerListenerEndpoint(
+        MemoryListenerEndpointRegistrar listenerEndpointRegistrar, MessageRoute messageRoute, int concurrency,
+        Object delegate, String methodName) {
+
+        listenerEndpointRegistrar.registerListenerEndpoint(messageRoute, concurrency, delegate, methodName);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.memory.listener;
+
+import com.bytechef.message.broker.memory.MemoryMessageBroker;
+import com.bytechef.message.broker.memory.MemoryMessageQueue;
+import com.bytechef.message.route.MessageRoute;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Starts the consumer threads of the {@link MemoryMessageBroker} route queues. Every registered listener gets as many
+ * consumers as its configured concurrency, each taking messages from the route queue and invoking the listener
+ * method.
+ *
+ * @author agent
+ */
+public class MemoryListenerEndpointRegistrar {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryListenerEndpointRegistrar.class);
+
+    private final List<Thread> consumerThreads = new CopyOnWriteArrayList<>();
+    private final MemoryMessageBroker memoryMessageBroker;
+    private volatile boolean stopped;
+    private final boolean virtualThreads;
+
+    @SuppressFBWarnings("EI2")
+    public MemoryListenerEndpointRegistrar(MemoryMessageBroker memoryMessageBroker, boolean virtualThreads) {
+        this.memoryMessageBroker = memoryMessageBroker;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public void registerListenerEndpoint(
+        MessageRoute messageRoute, int concurrency, Object delegate, String methodName) {
+
+        String routeName = messageRoute.getName();
+
+        logger.info(
+            "Registering memory listener: {} -> {}:{}", routeName, delegate.getClass()
+                .getName(),
+            methodName);
+
+        MemoryMessageQueue messageQueue = memoryMessageBroker.getMessageQueue(routeName);
+        ListenerEndpoint listenerEndpoint = new ListenerEndpoint(routeName, delegate, methodName);
+
+        Thread.Builder threadBuilder = virtualThreads
+            ? Thread.ofVirtual()
+                .name("memory-broker-" + routeName + "-", 0)
+            : Thread.ofPlatform()
+                .daemon()
+                .name("memory-broker-" + routeName + "-", 0);
+
+        for (int i = 0; i < Math.max(concurrency, 1); i++) {
+            consumerThreads.add(threadBuilder.start(() -> consume(messageQueue, listenerEndpoint)));
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+
+        for (Thread consumerThread : consumerThreads) {
+            consumerThread.interrupt();
+        }
+    }
+
+    private void consume(MemoryMessageQueue messageQueue, ListenerEndpoint listenerEndpoint) {
+        while (!stopped) {
+            Object message;
+
+            try {
+                message = messageQueue.take();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread()
+                    .interrupt();
+
+                return;
+            }
+
+            try {
+                listenerEndpoint.invoke(message);
+
+                listenerEndpoint.processedCounter.increment();
+            } catch (Throwable throwable) {
+                listenerEndpoint.failedCounter.increment();
+
+                if (!stopped) {
+                    logger.error(throwable.getMessage(), throwable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Listener method bound to its delegate once per message type, so a message is dispatched through a method handle
+     * instead of a reflective lookup.
+     */
+    private static final class ListenerEndpoint {
+
+        private static final MethodType LISTENER_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+        private final Object delegate;
+        private final Counter failedCounter;
+        private final Map<Class<?>, MethodHandle> methodHandles = new ConcurrentHashMap<>();
+        private final String methodName;
+        private final Counter processedCounter;
+
+        private ListenerEndpoint(String routeName, Object delegate, String methodName) {
+            this.delegate = delegate;
+            this.failedCounter = Metrics.counter(
+                "bytechef.message.broker.memory.messages", "route", routeName, "state", "failed");
+            this.methodName = methodName;
+            this.processedCounter = Metrics.counter(
+                "bytechef.message.broker.memory.messages", "route", routeName, "state", "processed");
+        }
+
+        private void invoke(Object message) throws Throwable {
+            MethodHandle methodHandle = methodHandles.computeIfAbsent(message.getClass(), this::bind);
+
+            methodHandle.invokeExact(message);
+        }
+
+        private MethodHandle bind(Class<?> messageClass) {
+            Class<?> delegateClass = delegate.getClass();
+
+            for (Method method : delegateClass.getMethods()) {
+                if (method.getName()
+                    .equals(methodName) && (method.getParameterCount() == 1) &&
+                    method.getParameterTypes()[0].isAssignableFrom(messageClass)) {
+
+                    ReflectionUtils.makeAccessible(method);
+
+                    try {
+                        return MethodHandles.lookup()
+                            .unreflect(method)
+                            .bindTo(delegate)
+                            .asType(LISTENER_METHOD_TYPE);
+                    } catch (IllegalAccessException illegalAccessException) {
+                        throw new IllegalStateException(illegalAccessException);
+                    }
+                }
+            }
+
+            throw new IllegalArgumentException(
+                "No method %s(%s) found on %s".formatted(methodName, messageClass.getName(), delegateClass.getName()));
+        }
+    }
+}
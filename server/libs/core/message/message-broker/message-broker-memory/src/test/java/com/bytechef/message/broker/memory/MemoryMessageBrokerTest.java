@@ -0,0 +1,347 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.memory;
+
+import com.bytechef.config.ApplicationProperties.MessageBroker.Memory.BackPressure;
+import com.bytechef.message.Prioritizable;
+import com.bytechef.message.Retryable;
+import com.bytechef.message.broker.DelayedMessageScheduler;
+import com.bytechef.message.broker.memory.listener.MemoryListenerEndpointRegistrar;
+import com.bytechef.message.route.MessageRoute;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * @author agent
+ */
+public class MemoryMessageBrokerTest {
+
+    @Test
+    public void testOfferRejectsWhenFull() {
+        MemoryMessageQueue memoryMessageQueue = new MemoryMessageQueue("test-reject", 1, BackPressure.REJECT, 0);
+
+        memoryMessageQueue.offer(new TestMessage("first", 0, 0));
+
+        Assertions.assertThatThrownBy(() -> memoryMessageQueue.offer(new TestMessage("second", 0, 0)))
+            .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void testOfferBlockQueuesOverCapacityAfterTimeout() throws InterruptedException {
+        MemoryMessageQueue memoryMessageQueue = new MemoryMessageQueue("test-block", 1, BackPressure.BLOCK, 100);
+
+        memoryMessageQueue.offer(new TestMessage("first", 0, 0));
+
+        long start = System.nanoTime();
+
+        memoryMessageQueue.offer(new TestMessage("second", 0, 0));
+
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+            .isGreaterThanOrEqualTo(100);
+        Assertions.assertThat(memoryMessageQueue.size())
+            .isEqualTo(2);
+
+        memoryMessageQueue.take();
+        memoryMessageQueue.take();
+
+        // the message queued over the capacity does not free a slot it never held
+
+        Assertions.assertThat(memoryMessageQueue.tryOffer(new TestMessage("third", 0, 0)))
+            .isTrue();
+        Assertions.assertThat(memoryMessageQueue.tryOffer(new TestMessage("fourth", 0, 0)))
+            .isFalse();
+    }
+
+    @Test
+    public void testSendFanOutLargerThanCapacity() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+        MemoryMessageBroker memoryMessageBroker = new MemoryMessageBroker(
+            10, BackPressure.BLOCK, 10, delayedMessageScheduler);
+        MemoryListenerEndpointRegistrar memoryListenerEndpointRegistrar = new MemoryListenerEndpointRegistrar(
+            memoryMessageBroker, true);
+        TestListener testListener = new TestListener();
+
+        // as an each task dispatcher does, the sender fans out more messages than the queue holds before any is taken
+
+        for (int i = 0; i < 25; i++) {
+            memoryMessageBroker.send(TestMessageRoute.TEST, new TestMessage("item" + i, 0, 0));
+        }
+
+        memoryListenerEndpointRegistrar.registerListenerEndpoint(TestMessageRoute.TEST, 1, testListener, "onMessage");
+
+        for (int i = 0; i < 25; i++) {
+            Assertions.assertThat(testListener.messages.poll(5, TimeUnit.SECONDS))
+                .extracting(TestMessage::value)
+                .isEqualTo("item" + i);
+        }
+
+        memoryListenerEndpointRegistrar.stop();
+        delayedMessageScheduler.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BackPressure.class)
+    public void testMutuallySendingRoutesDoNotDeadlock(BackPressure backPressure) throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+        MemoryMessageBroker memoryMessageBroker = new MemoryMessageBroker(
+            1, backPressure, 100, delayedMessageScheduler);
+        MemoryListenerEndpointRegistrar memoryListenerEndpointRegistrar = new MemoryListenerEndpointRegistrar(
+            memoryMessageBroker, true);
+
+        CountDownLatch receivedLatch = new CountDownLatch(2);
+        CountDownLatch sentLatch = new CountDownLatch(2);
+
+        ReplyingTestListener pingTestListener = new ReplyingTestListener(
+            memoryMessageBroker, TestMessageRoute.PONG, receivedLatch, sentLatch);
+        ReplyingTestListener pongTestListener = new ReplyingTestListener(
+            memoryMessageBroker, TestMessageRoute.PING, receivedLatch, sentLatch);
+
+        memoryListenerEndpointRegistrar.registerListenerEndpoint(
+            TestMessageRoute.PING, 1, pingTestListener, "onMessage");
+        memoryListenerEndpointRegistrar.registerListenerEndpoint(
+            TestMessageRoute.PONG, 1, pongTestListener, "onMessage");
+
+        // both listeners fill the queue of the other route while neither consumes its own
+
+        memoryMessageBroker.send(TestMessageRoute.PING, new TestMessage("seed", 0, 0));
+        memoryMessageBroker.send(TestMessageRoute.PONG, new TestMessage("seed", 0, 0));
+
+        Assertions.assertThat(sentLatch.await(5, TimeUnit.SECONDS))
+            .isTrue();
+
+        // only the opt-in reject back pressure drops messages, block queues them over the capacity
+
+        if (backPressure == BackPressure.REJECT) {
+            Assertions.assertThat(pingTestListener.rejected.get() + pongTestListener.rejected.get())
+                .isPositive();
+        } else {
+            Assertions.assertThat(pingTestListener.rejected.get() + pongTestListener.rejected.get())
+                .isZero();
+        }
+
+        memoryListenerEndpointRegistrar.stop();
+        delayedMessageScheduler.shutdown();
+    }
+
+    @Test
+    public void testSendDelayedToFullQueueDoesNotBlockScheduler() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+        MemoryMessageBroker memoryMessageBroker = new MemoryMessageBroker(
+            1, BackPressure.BLOCK, 60_000, delayedMessageScheduler);
+
+        MemoryMessageQueue memoryMessageQueue = memoryMessageBroker.getMessageQueue(TestMessageRoute.TEST.getName());
+
+        memoryMessageBroker.send(TestMessageRoute.TEST, new TestMessage("first", 0, 0));
+        memoryMessageBroker.send(TestMessageRoute.TEST, new TestMessage("delayed", 0, 10));
+
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        delayedMessageScheduler.schedule(200, countDownLatch::countDown);
+
+        Assertions.assertThat(countDownLatch.await(5, TimeUnit.SECONDS))
+            .isTrue();
+
+        Assertions.assertThat(memoryMessageQueue.take())
+            .extracting(message -> ((TestMessage) message).value())
+            .isEqualTo("first");
+        Assertions.assertThat(memoryMessageQueue.take())
+            .extracting(message -> ((TestMessage) message).value())
+            .isEqualTo("delayed");
+
+        delayedMessageScheduler.shutdown();
+    }
+
+    @Test
+    public void testTakeOrdersByPriority() throws InterruptedException {
+        MemoryMessageQueue memoryMessageQueue = new MemoryMessageQueue("test-priority", 10, BackPressure.BLOCK, 1000);
+
+        memoryMessageQueue.offer(new TestMessage("low1", 0, 0));
+        memoryMessageQueue.offer(new TestMessage("high", 5, 0));
+        memoryMessageQueue.offer(new TestMessage("low2", 0, 0));
+
+        Assertions.assertThat(
+            List.of(memoryMessageQueue.take(), memoryMessageQueue.take(), memoryMessageQueue.take()))
+            .extracting(message -> ((TestMessage) message).value())
+            .containsExactly("high", "low1", "low2");
+    }
+
+    @Test
+    public void testSend() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+        MemoryMessageBroker memoryMessageBroker = new MemoryMessageBroker(
+            10, BackPressure.BLOCK, 1000, delayedMessageScheduler);
+        MemoryListenerEndpointRegistrar memoryListenerEndpointRegistrar = new MemoryListenerEndpointRegistrar(
+            memoryMessageBroker, true);
+        TestListener testListener = new TestListener();
+
+        memoryListenerEndpointRegistrar.registerListenerEndpoint(TestMessageRoute.TEST, 2, testListener, "onMessage");
+
+        TestMessage testMessage = new TestMessage("value", 0, 0);
+
+        memoryMessageBroker.send(TestMessageRoute.TEST, testMessage);
+
+        Assertions.assertThat(testListener.messages.poll(5, TimeUnit.SECONDS))
+            .isEqualTo(testMessage);
+
+        memoryListenerEndpointRegistrar.stop();
+        delayedMessageScheduler.shutdown();
+    }
+
+    @Test
+    public void testSendDelayed() throws InterruptedException {
+        DelayedMessageScheduler delayedMessageScheduler = new DelayedMessageScheduler();
+        MemoryMessageBroker memoryMessageBroker = new MemoryMessageBroker(
+            10, BackPressure.BLOCK, 1000, delayedMessageScheduler);
+        MemoryListenerEndpointRegistrar memoryListenerEndpointRegistrar = new MemoryListenerEndpointRegistrar(
+            memoryMessageBroker, true);
+        TestListener testListener = new TestListener();
+
+        memoryListenerEndpointRegistrar.registerListenerEndpoint(TestMessageRoute.TEST, 2, testListener, "onMessage");
+
+        long start = System.nanoTime();
+
+        memoryMessageBroker.send(TestMessageRoute.TEST, new TestMessage("later", 0, 300));
+        memoryMessageBroker.send(TestMessageRoute.TEST, new TestMessage("sooner", 0, 100));
+        memoryMessageBroker.send(TestMessageRoute.TEST, new TestMessage("now", 0, 0));
+
+        Assertions.assertThat(testListener.messages.poll(5, TimeUnit.SECONDS))
+            .extracting(TestMessage::value)
+            .isEqualTo("now");
+        Assertions.assertThat(testListener.messages.poll(5, TimeUnit.SECONDS))
+            .extracting(TestMessage::value)
+            .isEqualTo("sooner");
+        Assertions.assertThat(testListener.messages.poll(5, TimeUnit.SECONDS))
+            .extracting(TestMessage::value)
+            .isEqualTo("later");
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+            .isGreaterThanOrEqualTo(300);
+
+        memoryListenerEndpointRegistrar.stop();
+        delayedMessageScheduler.shutdown();
+    }
+
+    public record TestMessage(String value, int priority, long retryDelayMillis) implements Prioritizable, Retryable {
+
+        @Override
+        public int getMaxRetries() {
+            return 0;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public int getRetryAttempts() {
+            return 0;
+        }
+
+        @Override
+        public String getRetryDelay() {
+            return retryDelayMillis + "ms";
+        }
+
+        @Override
+        public int getRetryDelayFactor() {
+            return 1;
+        }
+
+        @Override
+        public long getRetryDelayMillis() {
+            return retryDelayMillis;
+        }
+    }
+
+    public static class TestListener {
+
+        private final BlockingQueue<TestMessage> messages = new LinkedBlockingQueue<>();
+
+        public void onMessage(TestMessage testMessage) {
+            messages.add(testMessage);
+        }
+    }
+
+    public static class ReplyingTestListener {
+
+        private final MemoryMessageBroker memoryMessageBroker;
+        private final CountDownLatch receivedLatch;
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final MessageRoute replyMessageRoute;
+        private final CountDownLatch sentLatch;
+
+        private ReplyingTestListener(
+            MemoryMessageBroker memoryMessageBroker, MessageRoute replyMessageRoute, CountDownLatch receivedLatch,
+            CountDownLatch sentLatch) {
+
+            this.memoryMessageBroker = memoryMessageBroker;
+            this.receivedLatch = receivedLatch;
+            this.replyMessageRoute = replyMessageRoute;
+            this.sentLatch = sentLatch;
+        }
+
+        public void onMessage(TestMessage testMessage) throws InterruptedException {
+            if (!Objects.equals(testMessage.value(), "seed")) {
+                return;
+            }
+
+            receivedLatch.countDown();
+            receivedLatch.await();
+
+            for (int i = 0; i < 3; i++) {
+                try {
+                    memoryMessageBroker.send(replyMessageRoute, new TestMessage("reply", 0, 0));
+                } catch (RejectedExecutionException rejectedExecutionException) {
+                    rejected.incrementAndGet();
+                }
+            }
+
+            sentLatch.countDown();
+        }
+    }
+
+    private enum TestMessageRoute implements MessageRoute {
+
+        PING("ping"), PONG("pong"), TEST("test");
+
+        private final String name;
+
+        TestMessageRoute(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Exchange getExchange() {
+            return Exchange.MESSAGE;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
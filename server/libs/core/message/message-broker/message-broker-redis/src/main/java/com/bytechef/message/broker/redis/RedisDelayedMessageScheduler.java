@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.redis;
+
+import com.bytechef.message.broker.redis.listener.RedisListenerEndpointRegistrar;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Keeps the delayed messages of every queue in a Redis sorted set scored by their due time and moves the due ones to
+ * the queue stream. The move runs as a single script, so any number of instances can poll the same set without
+ * delivering a message twice. The set key carries the queue name as its hash tag, so in Redis Cluster it lives in the
+ * same slot as the stream and both keys can be declared to the script.
+ *
+ * @author agent
+ */
+public class RedisDelayedMessageScheduler implements SmartInitializingSingleton, DisposableBean {
+
+    private static final String DELAYED_MESSAGES_KEY_PREFIX = "bytechef:message-broker:delayed:";
+    private static final String DELAYED_QUEUES_KEY = "bytechef:message-broker:delayed-queues";
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisDelayedMessageScheduler.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final RedisScript<Long> FORWARD_SCRIPT = RedisScript.of(
+        """
+            local members = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, member in ipairs(members) do
+                if redis.call('ZREM', KEYS[1], member) == 1 then
+                    local delayedMessage = cjson.decode(member)
+                    redis.call('XADD', KEYS[2], '*', ARGV[3], delayedMessage['message'])
+                end
+            end
+            return #members
+            """,
+        Long.class);
+
+    private final ObjectMapper objectMapper;
+    private final long pollInterval;
+    private ScheduledExecutorService scheduledExecutorService;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @SuppressFBWarnings("EI2")
+    public RedisDelayedMessageScheduler(
+        ObjectMapper objectMapper, long pollInterval, StringRedisTemplate stringRedisTemplate) {
+
+        this.objectMapper = objectMapper;
+        this.pollInterval = pollInterval;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform()
+                .daemon()
+                .name("redis-delayed-message-scheduler")
+                .factory());
+
+        scheduledExecutorService.scheduleWithFixedDelay(
+            this::forwardDueMessages, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    public void schedule(String queueName, String message, long delayMillis) {
+        try {
+            String member = objectMapper.writeValueAsString(Map.of("id", UUID.randomUUID(), "message", message));
+
+            stringRedisTemplate.opsForSet()
+                .add(DELAYED_QUEUES_KEY, queueName);
+            stringRedisTemplate.opsForZSet()
+                .add(getDelayedMessagesKey(queueName), member, System.currentTimeMillis() + delayMillis);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new SerializationException(jsonProcessingException.getMessage());
+        }
+    }
+
+    private void forwardDueMessages() {
+        try {
+            Set<String> queueNames = stringRedisTemplate.opsForSet()
+                .members(DELAYED_QUEUES_KEY);
+
+            if (queueNames == null) {
+                return;
+            }
+
+            for (String queueName : queueNames) {
+                forwardDueMessages(queueName);
+            }
+        } catch (RuntimeException runtimeException) {
+            logger.error(runtimeException.getMessage(), runtimeException);
+        }
+    }
+
+    private void forwardDueMessages(String queueName) {
+        Long count;
+
+        do {
+            count = stringRedisTemplate.execute(
+                FORWARD_SCRIPT, List.of(getDelayedMessagesKey(queueName), queueName),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(BATCH_SIZE),
+                RedisListenerEndpointRegistrar.MESSAGE_FIELD);
+        } while (count != null && count == BATCH_SIZE);
+    }
+
+    private static String getDelayedMessagesKey(String queueName) {
+        return DELAYED_MESSAGES_KEY_PREFIX + "{" + queueName + "}";
+    }
+}
@@ -16,16 +16,16 @@
 
 package com.bytechef.message.broker.redis;
 
-import com.bytechef.message.Retryable;
+import com.bytechef.message.broker.DelayedMessageScheduler;
 import com.bytechef.message.broker.MessageBroker;
+import com.bytechef.message.broker.redis.listener.RedisListenerEndpointRegistrar;
 import com.bytechef.message.broker.redis.serializer.RedisMessageSerializer;
 import com.bytechef.message.route.MessageRoute;
-import com.oblac.jrsmq.RedisSMQ;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 import org.apache.commons.lang3.Validate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
@@ -33,18 +33,19 @@ import org.springframework.data.redis.core.StringRedisTemplate;
  */
 public class RedisMessageBroker implements MessageBroker {
 
-    private static final Logger logger = LoggerFactory.getLogger(RedisMessageBroker.class);
-
+    private final RedisDelayedMessageScheduler redisDelayedMessageScheduler;
     private final RedisMessageSerializer redisMessageSerializer;
-    private final RedisSMQ redisSMQ;
+    private final StreamOperations<String, String, String> streamOperations;
     private final StringRedisTemplate stringRedisTemplate;
 
     @SuppressFBWarnings("EI2")
     public RedisMessageBroker(
-        RedisMessageSerializer redisMessageSerializer, RedisSMQ redisSMQ, StringRedisTemplate stringRedisTemplate) {
+        RedisDelayedMessageScheduler redisDelayedMessageScheduler, RedisMessageSerializer redisMessageSerializer,
+        StringRedisTemplate stringRedisTemplate) {
 
+        this.redisDelayedMessageScheduler = redisDelayedMessageScheduler;
         this.redisMessageSerializer = redisMessageSerializer;
-        this.redisSMQ = redisSMQ;
+        this.streamOperations = stringRedisTemplate.opsForStream();
         this.stringRedisTemplate = stringRedisTemplate;
     }
 
@@ -52,35 +53,28 @@ public class RedisMessageBroker implements MessageBroker {
     public void send(MessageRoute messageRoute, Object message) {
         Validate.notNull(messageRoute, "'messageRoute' must not be null");
 
-        if (message instanceof Retryable retryable) {
-            delay(retryable.getRetryDelayMillis());
-        }
-
         if (messageRoute.isControlExchange()) {
             sendMessageToTopic(messageRoute.getName(), message);
         } else {
-            sendMessageToQueue(messageRoute.getName(), message);
+            long delayMillis = DelayedMessageScheduler.getDelayMillis(message);
+
+            if (delayMillis > 0) {
+                redisDelayedMessageScheduler.schedule(
+                    messageRoute.getName(), redisMessageSerializer.serialize(message), delayMillis);
+            } else {
+                sendMessageToQueue(messageRoute.getName(), message);
+            }
         }
     }
 
     private void sendMessageToQueue(String queueName, Object message) {
-        redisSMQ.sendMessage()
-            .qname(queueName)
-            .message(redisMessageSerializer.serialize(message))
-            .exec();
+        streamOperations.add(
+            StreamRecords.string(
+                Map.of(RedisListenerEndpointRegistrar.MESSAGE_FIELD, redisMessageSerializer.serialize(message)))
+                .withStreamKey(queueName));
     }
 
     private void sendMessageToTopic(String queueName, Object message) {
         stringRedisTemplate.convertAndSend(queueName, redisMessageSerializer.serialize(message));
     }
-
-    private void delay(long value) {
-        try {
-            TimeUnit.MILLISECONDS.sleep(value);
-        } catch (InterruptedException e) {
-            if (logger.isTraceEnabled()) {
-                logger.trace(e.getMessage(), e);
-            }
-        }
-    }
 }
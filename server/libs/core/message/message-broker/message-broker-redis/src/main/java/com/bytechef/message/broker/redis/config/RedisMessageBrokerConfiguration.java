@@ -16,18 +16,16 @@
 
 package com.bytechef.message.broker.redis.config;
 
+import com.bytechef.config.ApplicationProperties;
 import com.bytechef.message.broker.MessageBroker;
 import com.bytechef.message.broker.annotation.ConditionalOnMessageBrokerRedis;
+import com.bytechef.message.broker.redis.RedisDelayedMessageScheduler;
 import com.bytechef.message.broker.redis.RedisMessageBroker;
 import com.bytechef.message.broker.redis.serializer.RedisMessageDeserializer;
 import com.bytechef.message.broker.redis.serializer.RedisMessageSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.oblac.jrsmq.RedisSMQ;
-import com.oblac.jrsmq.RedisSMQConfig;
-import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -50,9 +48,23 @@ public class RedisMessageBrokerConfiguration {
 
     @Bean
     MessageBroker redisMessageBroker(
-        RedisMessageSerializer redisMessageSerializer, RedisSMQ redisSMQ, StringRedisTemplate stringRedisTemplate) {
+        RedisDelayedMessageScheduler redisDelayedMessageScheduler, RedisMessageSerializer redisMessageSerializer,
+        StringRedisTemplate stringRedisTemplate) {
 
-        return new RedisMessageBroker(redisMessageSerializer, redisSMQ, stringRedisTemplate);
+        return new RedisMessageBroker(redisDelayedMessageScheduler, redisMessageSerializer, stringRedisTemplate);
+    }
+
+    @Bean
+    RedisDelayedMessageScheduler redisDelayedMessageScheduler(
+        ApplicationProperties applicationProperties, ObjectMapper objectMapper,
+        StringRedisTemplate stringRedisTemplate) {
+
+        ApplicationProperties.MessageBroker messageBroker = applicationProperties.getMessageBroker();
+
+        return new RedisDelayedMessageScheduler(
+            objectMapper, messageBroker.getRedis()
+                .getDelayPollInterval(),
+            stringRedisTemplate);
     }
 
     @Bean
@@ -69,20 +81,4 @@ public class RedisMessageBrokerConfiguration {
     StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
         return new StringRedisTemplate(redisConnectionFactory);
     }
-
-    @Bean
-    RedisSMQ redisSMQ(RedisProperties redisProperties) {
-        return new RedisSMQ(
-            RedisSMQConfig.createDefaultConfig()
-                .database(redisProperties.getDatabase())
-                .host(redisProperties.getHost())
-                .password(redisProperties.getPassword())
-                .port(redisProperties.getPort())
-//                .ssl(redisProperties.isSsl())
-                .timeout(getTimeout(redisProperties.getTimeout())));
-    }
-
-    private static int getTimeout(Duration timeout) {
-        return timeout == null ? 5000 : (int) timeout.toMillis();
-    }
 }
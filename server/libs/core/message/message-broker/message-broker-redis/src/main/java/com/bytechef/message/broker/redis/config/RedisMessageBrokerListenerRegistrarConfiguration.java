@@ -16,14 +16,15 @@
 
 package com.bytechef.message.broker.redis.config;
 
+import com.bytechef.config.ApplicationProperties;
 import com.bytechef.message.broker.annotation.ConditionalOnMessageBrokerRedis;
 import com.bytechef.message.broker.config.MessageBrokerConfigurer;
 import com.bytechef.message.broker.config.MessageBrokerListenerRegistrar;
 import com.bytechef.message.broker.redis.listener.RedisListenerEndpointRegistrar;
 import com.bytechef.message.broker.redis.serializer.RedisMessageDeserializer;
 import com.bytechef.message.route.MessageRoute;
-import com.oblac.jrsmq.RedisSMQ;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import org.springframework.beans.factory.DisposableBean;
@@ -32,9 +33,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
 
 /**
  * @author Ivica Cardic
@@ -44,35 +49,48 @@ import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 public class RedisMessageBrokerListenerRegistrarConfiguration implements SmartInitializingSingleton, DisposableBean,
     MessageBrokerListenerRegistrar<RedisListenerEndpointRegistrar> {
 
+    private final ApplicationProperties.MessageBroker.Redis redis;
     private final List<MessageBrokerConfigurer<RedisListenerEndpointRegistrar>> messageBrokerConfigurers;
     private MessageListenerAdapter messageListenerAdapter;
     private final RedisConnectionFactory redisConnectionFactory;
     private RedisListenerEndpointRegistrar redisListenerEndpointRegistrar;
     private RedisMessageListenerContainer redisMessageListenerContainer;
     private final RedisMessageDeserializer redisMessageDeserializer;
-    private final RedisSMQ redisSMQ;
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer;
+    private final StringRedisTemplate stringRedisTemplate;
     private final TaskExecutor taskExecutor;
 
     @SuppressFBWarnings("EI2")
     public RedisMessageBrokerListenerRegistrarConfiguration(
-        @Autowired(
+        ApplicationProperties applicationProperties, @Autowired(
             required = false) List<MessageBrokerConfigurer<RedisListenerEndpointRegistrar>> messageBrokerConfigurers,
         RedisConnectionFactory redisConnectionFactory, RedisMessageDeserializer redisMessageDeserializer,
-        RedisSMQ redisSMQ, TaskExecutor taskExecutor) {
+        StringRedisTemplate stringRedisTemplate, TaskExecutor taskExecutor) {
 
+        this.redis = applicationProperties.getMessageBroker()
+            .getRedis();
         this.messageBrokerConfigurers = messageBrokerConfigurers == null
             ? Collections.emptyList()
             : messageBrokerConfigurers;
         this.redisConnectionFactory = redisConnectionFactory;
         this.redisMessageDeserializer = redisMessageDeserializer;
-        this.redisSMQ = redisSMQ;
+        this.stringRedisTemplate = stringRedisTemplate;
         this.taskExecutor = taskExecutor;
     }
 
     @Override
     public void afterSingletonsInstantiated() {
+        streamMessageListenerContainer = StreamMessageListenerContainer.create(
+            redisConnectionFactory,
+            StreamMessageListenerContainerOptions.builder()
+                .batchSize(redis.getBatchSize())
+                .executor(taskExecutor)
+                .pollTimeout(Duration.ofMillis(redis.getPollTimeout()))
+                .build());
+
         redisListenerEndpointRegistrar = new RedisListenerEndpointRegistrar(
-            redisMessageDeserializer, redisSMQ, taskExecutor);
+            redis.getBatchSize(), redis.getClaimIdleTimeout(), redisMessageDeserializer, streamMessageListenerContainer,
+            stringRedisTemplate, taskExecutor);
 
         redisMessageListenerContainer = new RedisMessageListenerContainer();
         messageListenerAdapter = new MessageListenerAdapter(redisListenerEndpointRegistrar);
@@ -88,6 +106,8 @@ public class RedisMessageBrokerListenerRegistrarConfiguration implements SmartIn
 
         redisMessageListenerContainer.afterPropertiesSet();
         redisMessageListenerContainer.start();
+
+        streamMessageListenerContainer.start();
     }
 
     @Override
@@ -101,7 +121,7 @@ public class RedisMessageBrokerListenerRegistrarConfiguration implements SmartIn
         RedisListenerEndpointRegistrar listenerEndpointRegistrar, MessageRoute messageRoute, int concurrency,
         Object delegate, String methodName) {
 
-        listenerEndpointRegistrar.registerListenerEndpoint(messageRoute, delegate, methodName);
+        listenerEndpointRegistrar.registerListenerEndpoint(messageRoute, concurrency, delegate, methodName);
 
         redisMessageListenerContainer.addMessageListener(
             messageListenerAdapter, new ChannelTopic(messageRoute.getName()));
@@ -18,133 +18,420 @@ package com.bytechef.message.broker.redis.listener;
 
 import com.bytechef.message.broker.redis.serializer.RedisMessageDeserializer;
 import com.bytechef.message.route.MessageRoute;
-import com.oblac.jrsmq.QueueMessage;
-import com.oblac.jrsmq.RedisSMQ;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.util.MethodInvoker;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.util.ReflectionUtils;
 
 /**
+ * Dispatches control exchange messages received over pub/sub and consumes message exchange routes from Redis Streams.
+ * Every message exchange route is a stream read by the {@link #CONSUMER_GROUP} consumer group with blocking
+ * {@code XREADGROUP} calls that fetch up to the configured batch size. A message is acknowledged and removed from the
+ * stream once the listener method returns successfully, so the stream length is the number of messages not yet
+ * handled. A message whose listener failed, or which was read by an instance that crashed, stays pending and is
+ * claimed with {@code XCLAIM} by the next claim pass of any instance once it has been idle for the claim idle timeout.
+ * While a listener is still handling a message, its owner refreshes the message with {@code XCLAIM ... JUSTID} several
+ * times per claim idle timeout, so a long running listener never has its message claimed and delivered a second time.
+ *
  * @author Ivica Cardic
  */
 public class RedisListenerEndpointRegistrar implements MessageListener {
 
+    public static final String CONSUMER_GROUP = "bytechef";
+    public static final String MESSAGE_FIELD = "message";
+
     private static final Logger logger = LoggerFactory.getLogger(RedisListenerEndpointRegistrar.class);
 
-    private final TaskExecutor taskExecutor;
-    private final Map<String, Consumer<String>> invokerMap = new HashMap<>();
+    private static final int MAX_DELIVERIES = 10;
+
+    private final int batchSize;
+    private final long claimIdleTimeout;
+    private final Consumer consumer = Consumer.from(CONSUMER_GROUP, getConsumerName());
+    private final Map<String, ListenerEndpoint> listenerEndpointMap = new ConcurrentHashMap<>();
     private final RedisMessageDeserializer redisMessageDeserializer;
-    private final RedisSMQ redisSMQ;
-    private boolean stopped;
+    private final ScheduledExecutorService refreshScheduledExecutorService =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform()
+                .daemon()
+                .name("redis-pending-message-refresher")
+                .factory());
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform()
+            .daemon()
+            .name("redis-pending-message-claimer")
+            .factory());
+    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer;
+    private final StreamOperations<String, String, String> streamOperations;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TaskExecutor taskExecutor;
+    private volatile boolean stopped;
 
     @SuppressFBWarnings("EI2")
     public RedisListenerEndpointRegistrar(
-        RedisMessageDeserializer redisMessageDeserializer, RedisSMQ redisSMQ, TaskExecutor taskExecutor) {
+        int batchSize, long claimIdleTimeout, RedisMessageDeserializer redisMessageDeserializer,
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer,
+        StringRedisTemplate stringRedisTemplate, TaskExecutor taskExecutor) {
 
-        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.claimIdleTimeout = claimIdleTimeout;
         this.redisMessageDeserializer = redisMessageDeserializer;
-        this.redisSMQ = redisSMQ;
+        this.streamMessageListenerContainer = streamMessageListenerContainer;
+        this.streamOperations = stringRedisTemplate.opsForStream();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.taskExecutor = taskExecutor;
     }
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
         String queueName = new String(message.getChannel(), StandardCharsets.UTF_8);
 
-        Consumer<String> invokerConsumer = invokerMap.get(queueName);
+        ListenerEndpoint listenerEndpoint = listenerEndpointMap.get(queueName);
 
-        if (invokerConsumer == null) {
+        if (listenerEndpoint == null) {
             logger.warn("No message listeners registered for queue='{}'", queueName);
 
             return;
         }
 
-        invokerConsumer.accept(message.toString());
+        invoke(listenerEndpoint, message.toString());
     }
 
-    public void registerListenerEndpoint(MessageRoute messageRoute, Object delegate, String methodName) {
+    public void registerListenerEndpoint(
+        MessageRoute messageRoute, int concurrency, Object delegate, String methodName) {
+
         String queueName = messageRoute.getName();
 
-        invokerMap.put(queueName, (String message) -> invoke(delegate, methodName, message));
+        ListenerEndpoint listenerEndpoint = new ListenerEndpoint(queueName, concurrency, delegate, methodName);
 
-        checkQueueExists(queueName);
+        listenerEndpointMap.put(queueName, listenerEndpoint);
 
         if (messageRoute.isMessageExchange()) {
-            taskExecutor.execute(() -> periodicallyCheckQueueForMessage(queueName));
+            createConsumerGroup(queueName);
+
+            Metrics.gauge(
+                "bytechef.message.broker.redis.lag", Tags.of("queue", queueName), streamOperations,
+                curStreamOperations -> getLag(curStreamOperations, queueName));
+
+            scheduledExecutorService.scheduleWithFixedDelay(
+                () -> claimPendingMessages(listenerEndpoint), 0, claimIdleTimeout, TimeUnit.MILLISECONDS);
+
+            // refreshed on its own thread, the claim pass may block while dispatching to a busy listener
+
+            long refreshInterval = Math.max(claimIdleTimeout / 3, 1);
+
+            refreshScheduledExecutorService.scheduleWithFixedDelay(
+                () -> refreshInFlightMessages(listenerEndpoint), refreshInterval, refreshInterval,
+                TimeUnit.MILLISECONDS);
+
+            streamMessageListenerContainer.register(
+                StreamMessageListenerContainer.StreamReadRequest.builder(
+                    StreamOffset.create(queueName, ReadOffset.lastConsumed()))
+                    .consumer(consumer)
+                    .autoAcknowledge(false)
+                    .cancelOnError(throwable -> stopped)
+                    .errorHandler(throwable -> logger.error(throwable.getMessage(), throwable))
+                    .build(),
+                mapRecord -> dispatch(listenerEndpoint, mapRecord));
         }
     }
 
     public void stop() {
         this.stopped = true;
+
+        refreshScheduledExecutorService.shutdownNow();
+        scheduledExecutorService.shutdownNow();
+        streamMessageListenerContainer.stop();
     }
 
-    private void periodicallyCheckQueueForMessage(String queueName) {
-        while (!stopped) {
-            try {
-                QueueMessage queueMessage = redisSMQ.popMessage()
-                    .qname(queueName)
-                    .exec();
+    /**
+     * Hands the messages of any consumer that have stayed pending for longer than the claim idle timeout, because
+     * their listener failed or the instance that read them crashed, to the listener again. A message delivered
+     * {@link #MAX_DELIVERIES} times is dropped. Messages this instance is still handling are skipped, and since
+     * {@code XCLAIM} rechecks the idle time, a message refreshed by another live instance is not claimed either.
+     * Consumers of stopped instances are removed once they have nothing pending.
+     */
+    private void claimPendingMessages(ListenerEndpoint listenerEndpoint) {
+        String queueName = listenerEndpoint.queueName;
+        Duration minIdleTime = Duration.ofMillis(claimIdleTimeout);
+
+        try {
+            PendingMessages pendingMessages = streamOperations.pending(
+                queueName, CONSUMER_GROUP, Range.unbounded(), batchSize);
+
+            List<RecordId> recordIds = new ArrayList<>();
+
+            for (PendingMessage pendingMessage : pendingMessages) {
+                Duration elapsedTime = pendingMessage.getElapsedTimeSinceLastDelivery();
+
+                if ((elapsedTime.compareTo(minIdleTime) < 0) ||
+                    listenerEndpoint.inFlightRecordIds.contains(pendingMessage.getId())) {
+
+                    continue;
+                }
+
+                if (pendingMessage.getTotalDeliveryCount() >= MAX_DELIVERIES) {
+                    logger.error(
+                        "Dropping message id={} from queue='{}' after {} deliveries", pendingMessage.getIdAsString(),
+                        queueName, pendingMessage.getTotalDeliveryCount());
 
-                if (queueMessage == null) {
-                    sleep();
+                    acknowledge(queueName, pendingMessage.getId());
                 } else {
-                    Consumer<String> invokerConsumer = invokerMap.get(queueName);
+                    recordIds.add(pendingMessage.getId());
+                }
+            }
+
+            if (!recordIds.isEmpty()) {
+                List<MapRecord<String, String, String>> mapRecords = streamOperations.claim(
+                    queueName, CONSUMER_GROUP, consumer.getName(), minIdleTime, recordIds.toArray(RecordId[]::new));
 
-                    taskExecutor.execute(() -> invokerConsumer.accept(queueMessage.message()));
+                for (MapRecord<String, String, String> mapRecord : mapRecords) {
+                    dispatch(listenerEndpoint, mapRecord);
                 }
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
             }
+
+            for (StreamInfo.XInfoConsumer xInfoConsumer : streamOperations.consumers(queueName, CONSUMER_GROUP)) {
+                if (!Objects.equals(xInfoConsumer.consumerName(), consumer.getName()) &&
+                    (xInfoConsumer.pendingCount() == 0) && (xInfoConsumer.idleTimeMs() > claimIdleTimeout)) {
+
+                    streamOperations.deleteConsumer(
+                        queueName, Consumer.from(CONSUMER_GROUP, xInfoConsumer.consumerName()));
+                }
+            }
+        } catch (RuntimeException runtimeException) {
+            if (!stopped) {
+                logger.error(runtimeException.getMessage(), runtimeException);
+            }
+        }
+    }
+
+    /**
+     * Resets the idle time of the messages this instance is still handling with {@code XCLAIM ... JUSTID}, which keeps
+     * their ownership and delivery count, so the claim pass of no instance treats them as abandoned.
+     */
+    private void refreshInFlightMessages(ListenerEndpoint listenerEndpoint) {
+        if (listenerEndpoint.inFlightRecordIds.isEmpty()) {
+            return;
+        }
+
+        byte[] key = listenerEndpoint.queueName.getBytes(StandardCharsets.UTF_8);
+        XClaimOptions xClaimOptions = XClaimOptions.minIdle(Duration.ZERO)
+            .ids(listenerEndpoint.inFlightRecordIds.toArray(RecordId[]::new));
+
+        try {
+            stringRedisTemplate.execute(
+                (RedisCallback<List<RecordId>>) connection -> connection.streamCommands()
+                    .xClaimJustId(key, CONSUMER_GROUP, consumer.getName(), xClaimOptions));
+        } catch (RuntimeException runtimeException) {
+            if (!stopped) {
+                logger.error(runtimeException.getMessage(), runtimeException);
+            }
+        }
+    }
+
+    private void createConsumerGroup(String queueName) {
+        try {
+            streamOperations.createGroup(queueName, ReadOffset.from("0"), CONSUMER_GROUP);
+        } catch (RedisSystemException redisSystemException) {
+            Throwable cause = redisSystemException.getCause();
+
+            if ((cause == null) || (cause.getMessage() == null) || !cause.getMessage()
+                .contains("BUSYGROUP")) {
+
+                throw redisSystemException;
+            }
+
+            logger.debug("Consumer group {} already exists for queue='{}'", CONSUMER_GROUP, queueName);
         }
     }
 
-    private void checkQueueExists(String queueName) {
-        Set<String> queueNames = redisSMQ.listQueues()
-            .exec();
+    private void dispatch(ListenerEndpoint listenerEndpoint, MapRecord<String, String, String> mapRecord) {
+        try {
+            listenerEndpoint.semaphore.acquire();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread()
+                .interrupt();
 
-        if (!queueNames.contains(queueName)) {
-            redisSMQ.createQueue()
-                .qname(queueName)
-                .exec();
+            return;
+        }
+
+        RecordId recordId = mapRecord.getId();
+
+        listenerEndpoint.inFlightRecordIds.add(recordId);
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    Map<String, String> value = mapRecord.getValue();
+
+                    // a failed message is left pending, the claim pass delivers it again
+
+                    if (invoke(listenerEndpoint, value.get(MESSAGE_FIELD))) {
+                        acknowledge(listenerEndpoint.queueName, recordId);
+                    }
+                } finally {
+                    listenerEndpoint.inFlightRecordIds.remove(recordId);
+                    listenerEndpoint.semaphore.release();
+                }
+            });
+        } catch (RuntimeException runtimeException) {
+            listenerEndpoint.inFlightRecordIds.remove(recordId);
+            listenerEndpoint.semaphore.release();
+
+            throw runtimeException;
         }
     }
 
-    private void invoke(Object delegate, String methodName, String messageString) {
+    private void acknowledge(String queueName, RecordId recordId) {
         try {
-            Object message = redisMessageDeserializer.deserialize(messageString);
+            streamOperations.acknowledge(queueName, CONSUMER_GROUP, recordId);
+            streamOperations.delete(queueName, recordId);
+        } catch (RuntimeException runtimeException) {
+            if (!stopped) {
+                logger.error(runtimeException.getMessage(), runtimeException);
+            }
+        }
+    }
 
-            MethodInvoker methodInvoker = new MethodInvoker();
+    private boolean invoke(ListenerEndpoint listenerEndpoint, String messageString) {
+        try {
+            listenerEndpoint.invoke(redisMessageDeserializer.deserialize(messageString));
 
-            methodInvoker.setTargetObject(delegate);
-            methodInvoker.setTargetMethod(methodName);
-            methodInvoker.setArguments(message);
+            listenerEndpoint.processedCounter.increment();
 
-            methodInvoker.prepare();
+            return true;
+        } catch (Throwable throwable) {
+            listenerEndpoint.failedCounter.increment();
 
-            methodInvoker.invoke();
-        } catch (Exception e) {
             if (!stopped) {
-                logger.error(e.getMessage(), e);
+                logger.error(throwable.getMessage(), throwable);
             }
+
+            return false;
         }
     }
 
-    private void sleep() {
+    private static double getLag(StreamOperations<String, String, String> streamOperations, String queueName) {
+        Long size = streamOperations.size(queueName);
+
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * Returns a consumer name unique to this instance, several instances may run on the same host.
+     */
+    private static String getConsumerName() {
+        String hostName;
+
         try {
-            TimeUnit.MILLISECONDS.sleep(100);
-        } catch (InterruptedException e) {
-            if (logger.isTraceEnabled()) {
-                logger.trace(e.getMessage(), e);
+            InetAddress localHost = InetAddress.getLocalHost();
+
+            hostName = localHost.getHostName();
+        } catch (UnknownHostException unknownHostException) {
+            hostName = "unknown";
+        }
+
+        ProcessHandle processHandle = ProcessHandle.current();
+
+        return hostName + "-" + processHandle.pid() + "-" + UUID.randomUUID();
+    }
+
+    /**
+     * Listener method bound to its delegate once per message type, so a message is dispatched through a method handle
+     * instead of a reflective lookup.
+     */
+    private static final class ListenerEndpoint {
+
+        private static final MethodType LISTENER_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+        private final Object delegate;
+        private final Counter failedCounter;
+        private final Set<RecordId> inFlightRecordIds = ConcurrentHashMap.newKeySet();
+        private final Map<Class<?>, MethodHandle> methodHandles = new ConcurrentHashMap<>();
+        private final String methodName;
+        private final Counter processedCounter;
+        private final String queueName;
+        private final Semaphore semaphore;
+
+        private ListenerEndpoint(String queueName, int concurrency, Object delegate, String methodName) {
+            this.delegate = delegate;
+            this.failedCounter = Metrics.counter(
+                "bytechef.message.broker.redis.messages", "queue", queueName, "state", "failed");
+            this.methodName = methodName;
+            this.processedCounter = Metrics.counter(
+                "bytechef.message.broker.redis.messages", "queue", queueName, "state", "processed");
+            this.queueName = queueName;
+            this.semaphore = new Semaphore(Math.max(concurrency, 1));
+        }
+
+        private void invoke(Object message) throws Throwable {
+            MethodHandle methodHandle = methodHandles.computeIfAbsent(message.getClass(), this::bind);
+
+            methodHandle.invokeExact(message);
+        }
+
+        private MethodHandle bind(Class<?> messageClass) {
+            Class<?> delegateClass = delegate.getClass();
+
+            for (Method method : delegateClass.getMethods()) {
+                if (method.getName()
+                    .equals(methodName) && (method.getParameterCount() == 1) &&
+                    method.getParameterTypes()[0].isAssignableFrom(messageClass)) {
+
+                    ReflectionUtils.makeAccessible(method);
+
+                    try {
+                        return MethodHandles.lookup()
+                            .unreflect(method)
+                            .bindTo(delegate)
+                            .asType(LISTENER_METHOD_TYPE);
+                    } catch (IllegalAccessException illegalAccessException) {
+                        throw new IllegalStateException(illegalAccessException);
+                    }
+                }
             }
+
+            throw new IllegalArgumentException(
+                "No method %s(%s) found on %s".formatted(methodName, messageClass.getName(), delegateClass.getName()));
         }
     }
 }
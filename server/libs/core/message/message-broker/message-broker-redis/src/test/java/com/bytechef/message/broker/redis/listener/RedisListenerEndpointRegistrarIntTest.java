@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.redis.listener;
+
+import com.bytechef.message.broker.redis.serializer.RedisMessageDeserializer;
+import com.bytechef.message.broker.redis.serializer.RedisMessageSerializer;
+import com.bytechef.message.route.MessageRoute;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * @author agent
+ */
+public class RedisListenerEndpointRegistrarIntTest {
+
+    private static final long CLAIM_IDLE_TIMEOUT = 500;
+
+    private static final GenericContainer<?> redisContainer = new GenericContainer<>("redis:7.2-alpine")
+        .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory lettuceConnectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RedisListenerEndpointRegistrar> redisListenerEndpointRegistrars = new ArrayList<>();
+
+    @BeforeAll
+    public static void beforeAll() {
+        redisContainer.start();
+
+        lettuceConnectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getMappedPort(6379)));
+
+        lettuceConnectionFactory.afterPropertiesSet();
+        lettuceConnectionFactory.start();
+
+        stringRedisTemplate = new StringRedisTemplate(lettuceConnectionFactory);
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        lettuceConnectionFactory.destroy();
+
+        redisContainer.stop();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        redisListenerEndpointRegistrars.forEach(RedisListenerEndpointRegistrar::stop);
+    }
+
+    @Test
+    public void testLongRunningListenerIsNotClaimedByAnotherConsumer() throws InterruptedException {
+        String queueName = "test.long-running";
+        CountDownLatch finishedLatch = new CountDownLatch(1);
+        SlowTestListener slowTestListener = new SlowTestListener(CLAIM_IDLE_TIMEOUT * 4, finishedLatch);
+
+        // two consumers of the same group, as two instances would be
+
+        createRegistrar(queueName, slowTestListener);
+        createRegistrar(queueName, slowTestListener);
+
+        RedisMessageSerializer redisMessageSerializer = new RedisMessageSerializer(objectMapper);
+
+        stringRedisTemplate.opsForStream()
+            .add(
+                StreamRecords.string(
+                    Map.of(RedisListenerEndpointRegistrar.MESSAGE_FIELD, redisMessageSerializer.serialize("message")))
+                    .withStreamKey(queueName));
+
+        Assertions.assertThat(finishedLatch.await(10, TimeUnit.SECONDS))
+            .isTrue();
+
+        // give the claim passes of both consumers the chance to deliver the message again
+
+        Thread.sleep(CLAIM_IDLE_TIMEOUT * 3);
+
+        Assertions.assertThat(slowTestListener.getInvocationCount())
+            .isEqualTo(1);
+        Assertions.assertThat(stringRedisTemplate.opsForStream()
+            .size(queueName))
+            .isZero();
+    }
+
+    private void createRegistrar(String queueName, Object delegate) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer =
+            StreamMessageListenerContainer.create(
+                lettuceConnectionFactory,
+                StreamMessageListenerContainerOptions.builder()
+                    .batchSize(10)
+                    .executor(taskExecutor)
+                    .pollTimeout(Duration.ofMillis(100))
+                    .build());
+
+        RedisListenerEndpointRegistrar redisListenerEndpointRegistrar = new RedisListenerEndpointRegistrar(
+            10, CLAIM_IDLE_TIMEOUT, new RedisMessageDeserializer(objectMapper), streamMessageListenerContainer,
+            stringRedisTemplate, taskExecutor);
+
+        redisListenerEndpointRegistrar.registerListenerEndpoint(
+            new TestMessageRoute(queueName), 1, delegate, "onMessage");
+
+        streamMessageListenerContainer.start();
+
+        redisListenerEndpointRegistrars.add(redisListenerEndpointRegistrar);
+    }
+
+    public static class SlowTestListener {
+
+        private final long duration;
+        private final CountDownLatch finishedLatch;
+        private final AtomicInteger invocationCount = new AtomicInteger();
+
+        private SlowTestListener(long duration, CountDownLatch finishedLatch) {
+            this.duration = duration;
+            this.finishedLatch = finishedLatch;
+        }
+
+        public void onMessage(String message) throws InterruptedException {
+            invocationCount.incrementAndGet();
+
+            Thread.sleep(duration);
+
+            finishedLatch.countDown();
+        }
+
+        private int getInvocationCount() {
+            return invocationCount.get();
+        }
+    }
+
+    private record TestMessageRoute(String name) implements MessageRoute {
+
+        @Override
+        public Exchange getExchange() {
+            return Exchange.MESSAGE;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
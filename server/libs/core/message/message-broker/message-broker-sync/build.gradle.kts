@@ -1,7 +1,13 @@
+plugins {
+    alias(libs.plugins.me.champeau.jmh)
+}
+
 dependencies {
     api(project(":server:libs:core:message:message-broker:message-broker-api"))
 
     implementation("org.apache.commons:commons-lang3")
     implementation("org.springframework.boot:spring-boot-autoconfigure")
     implementation(project(":server:libs:core:commons:commons-util"))
+
+    testImplementation(project(":server:libs:atlas:atlas-execution:atlas-execution-api"))
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.message.broker.sync;
+
+import com.bytechef.message.route.MessageRoute;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the clone based hand-off of {@link SyncMessageBroker} with the JSON round-trip validation mode. Run with
+ * {@code ./gradlew :server:libs:core:message:message-broker:message-broker-sync:jmh}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class SyncMessageBrokerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean validate;
+
+    private Blackhole blackhole;
+    private BenchmarkEvent event;
+    private SyncMessageBroker syncMessageBroker;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+
+        event = new BenchmarkEvent();
+
+        for (int i = 0; i < 20; i++) {
+            event.getParameters()
+                .put("parameter" + i, List.of("value" + i, i, Map.of("nested" + i, "value" + i)));
+        }
+
+        event.putMetadata("tenantId", "public");
+
+        syncMessageBroker = new SyncMessageBroker(validate);
+
+        syncMessageBroker.receive(BenchmarkMessageRoute.BENCHMARK, message -> this.blackhole.consume(message));
+    }
+
+    @Benchmark
+    public void send() {
+        syncMessageBroker.send(BenchmarkMessageRoute.BENCHMARK, event);
+    }
+
+    private enum BenchmarkMessageRoute implements MessageRoute {
+
+        BENCHMARK;
+
+        @Override
+        public Exchange getExchange() {
+            return Exchange.MESSAGE;
+        }
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+    }
+
+    /**
+     * Approximates the shape of a task execution event: a few scalar fields, metadata and evaluated parameters.
+     */
+    public static class BenchmarkEvent implements Cloneable {
+
+        private long id = 1;
+        private Map<String, Object> metadata = new HashMap<>();
+        private Map<String, Object> parameters = new HashMap<>();
+        private List<String> tags = new ArrayList<>(List.of("a", "b", "c"));
+        private String type = "benchmark/v1/action";
+
+        @Override
+        public BenchmarkEvent clone() throws CloneNotSupportedException {
+            BenchmarkEvent benchmarkEvent = (BenchmarkEvent) super.clone();
+
+            benchmarkEvent.metadata = new HashMap<>(metadata);
+
+            return benchmarkEvent;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        @SuppressFBWarnings("EI")
+        public Map<String, Object> getMetadata() {
+            return metadata;
+        }
+
+        @SuppressFBWarnings("EI")
+        public Map<String, Object> getParameters() {
+            return parameters;
+        }
+
+        @SuppressFBWarnings("EI")
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void putMetadata(String name, Object value) {
+            metadata.put(name, value);
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        @SuppressFBWarnings("EI2")
+        public void setMetadata(Map<String, Object> metadata) {
+            this.metadata = metadata;
+        }
+
+        @SuppressFBWarnings("EI2")
+        public void setParameters(Map<String, Object> parameters) {
+            this.parameters = parameters;
+        }
+
+        @SuppressFBWarnings("EI2")
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+    }
+}
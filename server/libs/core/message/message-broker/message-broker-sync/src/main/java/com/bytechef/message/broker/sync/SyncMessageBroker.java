@@ -21,22 +21,43 @@ package com.bytechef.message.broker.sync;
 import com.bytechef.commons.util.ConvertUtils;
 import com.bytechef.commons.util.JsonUtils;
 import com.bytechef.message.broker.MessageBroker;
+import com.bytechef.message.broker.MessageCloneUtils;
 import com.bytechef.message.route.MessageRoute;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.commons.lang3.Validate;
 
 /**
  * a simple, non-thread-safe implementation of the {@link MessageBroker} interface. Useful for testing.
  *
+ * <p>
+ * By default, every receiver gets its own copy of the message created through {@link MessageCloneUtils}, so no object
+ * graph walk is needed on the hot path. Messages that are not {@link Cloneable} fall back to a JSON round-trip copy.
+ * The validation mode forces the JSON round-trip for every message, which verifies that messages
+ * survive the serialization done by the distributed brokers.
+ *
  * @author Arik Cohen
  * @since Jul 10, 2016
  */
 public class SyncMessageBroker implements MessageBroker {
 
     private final Map<MessageRoute, List<Receiver>> receiverMap = new HashMap<>();
+    private final boolean validate;
+
+    public SyncMessageBroker() {
+        this(false);
+    }
+
+    /**
+     * @param validate if {@code true}, messages are always copied through a JSON round-trip instead of
+     *                 {@code clone()}
+     */
+    public SyncMessageBroker(boolean validate) {
+        this.validate = validate;
+    }
 
     @Override
     public void send(MessageRoute messageRoute, Object message) {
@@ -47,8 +68,7 @@ public class SyncMessageBroker implements MessageBroker {
         Validate.isTrue(receivers != null && !receivers.isEmpty(), "no listeners subscribed for: " + messageRoute);
 
         for (Receiver receiver : Validate.notNull(receivers, "receivers")) {
-            receiver.receive(
-                ConvertUtils.convertValue(JsonUtils.read(JsonUtils.write(message, true)), message.getClass(), true));
+            receiver.receive(copy(message));
         }
     }
 
@@ -58,6 +78,18 @@ public class SyncMessageBroker implements MessageBroker {
         receivers.add(receiver);
     }
 
+    private Object copy(Object message) {
+        if (!validate) {
+            Optional<Object> clone = MessageCloneUtils.clone(message);
+
+            if (clone.isPresent()) {
+                return clone.get();
+            }
+        }
+
+        return ConvertUtils.convertValue(JsonUtils.read(JsonUtils.write(message, true)), message.getClass(), true);
+    }
+
     public interface Receiver {
         void receive(Object message);
     }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Modifications copyright (C) 2023 ByteChef Inc.
+
+package com.bytechef.message.broker.sync;
+
+import com.bytechef.atlas.configuration.domain.WorkflowTask;
+import com.bytechef.atlas.execution.domain.TaskExecution;
+import com.bytechef.message.route.MessageRoute;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+@SuppressWarnings("unchecked")
+public class SyncMessageBrokerTest {
+
+    private static final MessageRoute MESSAGE_ROUTE = new TestMessageRoute("test.task-execution");
+
+    @Test
+    public void testReceiverMutatingNestedStateDoesNotChangeSender() {
+        SyncMessageBroker syncMessageBroker = new SyncMessageBroker();
+
+        List<TaskExecution> receivedTaskExecutions = new ArrayList<>();
+
+        syncMessageBroker.receive(MESSAGE_ROUTE, message -> {
+            TaskExecution taskExecution = (TaskExecution) message;
+
+            mutate(taskExecution);
+
+            receivedTaskExecutions.add(taskExecution);
+        });
+
+        TaskExecution taskExecution = createTaskExecution();
+
+        syncMessageBroker.send(MESSAGE_ROUTE, taskExecution);
+
+        Assertions.assertThat(receivedTaskExecutions)
+            .hasSize(1);
+        Assertions.assertThat(receivedTaskExecutions.getFirst())
+            .isNotSameAs(taskExecution);
+
+        assertUnchanged(taskExecution);
+    }
+
+    @Test
+    public void testValidationModeCopiesThroughJson() {
+        SyncMessageBroker syncMessageBroker = new SyncMessageBroker(true);
+
+        List<TaskExecution> receivedTaskExecutions = new ArrayList<>();
+
+        syncMessageBroker.receive(MESSAGE_ROUTE, message -> {
+            receivedTaskExecutions.add((TaskExecution) message);
+
+            mutate((TaskExecution) message);
+        });
+
+        TaskExecution taskExecution = createTaskExecution();
+
+        syncMessageBroker.send(MESSAGE_ROUTE, taskExecution);
+
+        TaskExecution receivedTaskExecution = receivedTaskExecutions.getFirst();
+
+        Assertions.assertThat(receivedTaskExecution)
+            .isNotSameAs(taskExecution)
+            .isEqualTo(taskExecution);
+        Assertions.assertThat(receivedTaskExecution.getName())
+            .isEqualTo("task1");
+
+        assertUnchanged(taskExecution);
+    }
+
+    private static void assertUnchanged(TaskExecution taskExecution) {
+        Map<String, ?> metadata = taskExecution.getMetadata();
+
+        Assertions.assertThat(metadata)
+            .doesNotContainKey("added");
+        Assertions.assertThat((Map<String, Object>) metadata.get("nested"))
+            .containsExactly(Map.entry("key", "value"));
+        Assertions.assertThat((List<Object>) metadata.get("items"))
+            .containsExactly("item1");
+    }
+
+    private static TaskExecution createTaskExecution() {
+        Map<String, Object> metadata = new HashMap<>();
+
+        metadata.put("items", new ArrayList<>(List.of("item1")));
+        metadata.put("nested", new HashMap<>(Map.of("key", "value")));
+
+        return TaskExecution.builder()
+            .id(1L)
+            .jobId(2L)
+            .metadata(metadata)
+            .workflowTask(new WorkflowTask(Map.of("name", "task1", "type", "type/v1/action")))
+            .build();
+    }
+
+    private static void mutate(TaskExecution taskExecution) {
+        Map<String, ?> metadata = taskExecution.getMetadata();
+
+        ((Map<String, Object>) metadata.get("nested")).put("key", "changed");
+        ((List<Object>) metadata.get("items")).add("item2");
+
+        taskExecution.putMetadata("added", true);
+    }
+
+    private record TestMessageRoute(String name) implements MessageRoute {
+
+        @Override
+        public Exchange getExchange() {
+            return Exchange.MESSAGE;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
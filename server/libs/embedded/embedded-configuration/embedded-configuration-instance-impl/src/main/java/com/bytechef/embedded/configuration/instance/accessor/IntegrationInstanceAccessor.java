@@ -16,11 +16,13 @@
 
 package com.bytechef.embedded.configuration.instance.accessor;
 
+import com.bytechef.embedded.configuration.domain.IntegrationInstanceConfiguration;
 import com.bytechef.embedded.configuration.domain.IntegrationInstanceConfigurationWorkflow;
 import com.bytechef.embedded.configuration.service.IntegrationInstanceConfigurationService;
 import com.bytechef.embedded.configuration.service.IntegrationInstanceConfigurationWorkflowService;
 import com.bytechef.embedded.configuration.service.IntegrationWorkflowService;
 import com.bytechef.platform.configuration.instance.accessor.InstanceAccessor;
+import com.bytechef.platform.constant.Environment;
 import com.bytechef.platform.constant.ModeType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Map;
@@ -66,6 +68,14 @@ public class IntegrationInstanceAccessor implements InstanceAccessor {
         return workflowEnabled;
     }
 
+    @Override
+    public Environment getEnvironment(long instanceId) {
+        IntegrationInstanceConfiguration integrationInstanceConfiguration =
+            integrationInstanceConfigurationService.getIntegrationInstanceConfiguration(instanceId);
+
+        return integrationInstanceConfiguration.getEnvironment();
+    }
+
     @Override
     public Map<String, ?> getInputMap(long instanceId, String workflowReferenceCode) {
         IntegrationInstanceConfigurationWorkflow integrationInstanceConfigurationWorkflow =
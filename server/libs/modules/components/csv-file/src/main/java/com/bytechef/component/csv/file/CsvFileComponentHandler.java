@@ -20,6 +20,7 @@ import static com.bytechef.component.definition.ComponentDsl.component;
 
 import com.bytechef.component.ComponentHandler;
 import com.bytechef.component.csv.file.action.CsvFileReadAction;
+import com.bytechef.component.csv.file.action.CsvFileReadInBatchesAction;
 import com.bytechef.component.csv.file.action.CsvFileWriteAction;
 import com.bytechef.component.csv.file.datastream.CsvFileDataStream;
 import com.bytechef.component.definition.ComponentCategory;
@@ -37,7 +38,9 @@ public class CsvFileComponentHandler implements ComponentHandler {
         .description("Reads and writes data from a csv file.")
         .icon("path:assets/csv-file.svg")
         .categories(ComponentCategory.HELPERS)
-        .actions(CsvFileReadAction.ACTION_DEFINITION, CsvFileWriteAction.ACTION_DEFINITION)
+        .actions(
+            CsvFileReadAction.ACTION_DEFINITION, CsvFileReadInBatchesAction.ACTION_DEFINITION,
+            CsvFileWriteAction.ACTION_DEFINITION)
         .dataStream(CsvFileDataStream.DATA_STREAM_DEFINITION);
 
     @Override
@@ -39,12 +39,8 @@ import com.bytechef.component.definition.ActionContext;
 import com.bytechef.component.definition.ComponentDsl.ModifiableActionDefinition;
 import com.bytechef.component.definition.Context;
 import com.bytechef.component.definition.Parameters;
-import com.fasterxml.jackson.databind.MappingIterator;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -123,55 +119,8 @@ public class CsvFileReadAction {
         throws IOException {
 
         List<Map<String, Object>> rows = new ArrayList<>();
-        int count = 0;
 
-        try (BufferedReader bufferedReader = new BufferedReader(
-            new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-
-            char enclosingCharacter = CsvFileReadUtils.getEnclosingCharacter(configuration);
-
-            MappingIterator<Object> iterator = CsvFileReadUtils.getIterator(bufferedReader, configuration);
-
-            if (configuration.headerRow()) {
-                while (iterator.hasNext()) {
-                    Map<String, String> row = (Map<String, String>) iterator.nextValue();
-
-                    context.logger(logger -> logger.trace("row: {}", row));
-
-                    if (count >= configuration.rangeStartRow() && count < configuration.rangeEndRow()) {
-                        Map<String, Object> map = CsvFileReadUtils.getHeaderRow(
-                            configuration, context, row, enclosingCharacter);
-
-                        rows.add(map);
-                    } else {
-                        if (count >= configuration.rangeEndRow()) {
-                            break;
-                        }
-                    }
-
-                    count++;
-                }
-            } else {
-                while (iterator.hasNext()) {
-                    List<String> row = (List<String>) iterator.nextValue();
-
-                    context.logger(logger -> logger.trace("row: {}", row));
-
-                    if (count >= configuration.rangeStartRow() && count < configuration.rangeEndRow()) {
-                        Map<String, Object> map = CsvFileReadUtils.getColumnRow(
-                            configuration, context, row, enclosingCharacter);
-
-                        rows.add(map);
-                    } else {
-                        if (count >= configuration.rangeEndRow()) {
-                            break;
-                        }
-                    }
-
-                    count++;
-                }
-            }
-        }
+        CsvFileReadUtils.read(inputStream, configuration, context, rows::add);
 
         return rows;
     }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.csv.file.action;
+
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.BATCHES;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.BATCH_SIZE;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.DELIMITER;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.ENCLOSING_CHARACTER;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.FILE_ENTRY;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.HEADER_ROW;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.INCLUDE_EMPTY_CELLS;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.READ_AS_STRING;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.ROW_COUNT;
+import static com.bytechef.component.definition.ComponentDsl.action;
+import static com.bytechef.component.definition.ComponentDsl.array;
+import static com.bytechef.component.definition.ComponentDsl.bool;
+import static com.bytechef.component.definition.ComponentDsl.fileEntry;
+import static com.bytechef.component.definition.ComponentDsl.integer;
+import static com.bytechef.component.definition.ComponentDsl.object;
+import static com.bytechef.component.definition.ComponentDsl.outputSchema;
+import static com.bytechef.component.definition.ComponentDsl.string;
+
+import com.bytechef.component.csv.file.util.CsvFileReadUtils;
+import com.bytechef.component.csv.file.util.ReadConfiguration;
+import com.bytechef.component.definition.ActionContext;
+import com.bytechef.component.definition.ComponentDsl.ModifiableActionDefinition;
+import com.bytechef.component.definition.Context;
+import com.bytechef.component.definition.FileEntry;
+import com.bytechef.component.definition.Parameters;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams rows of a csv file into NDJSON batch files, so the task output holds only file references and memory use
+ * stays bounded by the batch size regardless of the csv file size. Each batch file can be iterated by the each or
+ * loop task dispatchers and read with the JSON file component using the JSON Line file type.
+ *
+ * @author agent
+ */
+public class CsvFileReadInBatchesAction {
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    public static final ModifiableActionDefinition ACTION_DEFINITION = action("readInBatches")
+        .title("Read from File in Batches")
+        .description(
+            "Reads data from a csv file and stores it as a list of JSON Line files, each containing up to batch " +
+                "size rows.")
+        .properties(
+            fileEntry(FILE_ENTRY)
+                .label("File")
+                .description("The object property which contains a reference to the csv file to read from.")
+                .required(true),
+            integer(BATCH_SIZE)
+                .label("Batch Size")
+                .description("The maximum number of rows stored in a single batch file.")
+                .defaultValue(DEFAULT_BATCH_SIZE)
+                .minValue(1),
+            string(DELIMITER)
+                .label("Delimiter")
+                .description("Character used to separate values within the line red from the CSV file.")
+                .defaultValue(",")
+                .advancedOption(true),
+            string(ENCLOSING_CHARACTER)
+                .label("Enclosing Character")
+                .description(
+                    """
+                            Character used to wrap/enclose values. It is usually applied to complex CSV files where
+                            values may include delimiter characters.
+                        """)
+                .placeholder("\" ' / ")
+                .advancedOption(true),
+            bool(HEADER_ROW)
+                .label("Header Row")
+                .description("The first row of the file contains the header names.")
+                .defaultValue(true)
+                .advancedOption(true),
+            bool(INCLUDE_EMPTY_CELLS)
+                .label("Include Empty Cells")
+                .description("When reading from file the empty cells will be filled with an empty string.")
+                .defaultValue(false)
+                .advancedOption(true),
+            bool(READ_AS_STRING)
+                .label("Read as String")
+                .description(
+                    "In some cases and file formats, it is necessary to read data specifically as string, " +
+                        "otherwise some special characters are interpreted the wrong way.")
+                .defaultValue(false)
+                .advancedOption(true))
+        .output(
+            outputSchema(
+                object()
+                    .properties(
+                        array(BATCHES)
+                            .items(fileEntry()),
+                        integer(ROW_COUNT))))
+        .perform(CsvFileReadInBatchesAction::perform);
+
+    protected static Map<String, Object> perform(
+        Parameters inputParameters, Parameters connectionParameters, ActionContext context) throws IOException {
+
+        ReadConfiguration readConfiguration = CsvFileReadUtils.getReadConfiguration(inputParameters);
+
+        try (
+            InputStream inputStream = context.file(
+                file -> file.getStream(inputParameters.getRequiredFileEntry(FILE_ENTRY)))) {
+
+            return readInBatches(
+                inputStream, readConfiguration, inputParameters.getInteger(BATCH_SIZE, DEFAULT_BATCH_SIZE), context);
+        }
+    }
+
+    protected static Map<String, Object> readInBatches(
+        InputStream inputStream, ReadConfiguration configuration, int batchSize, Context context)
+        throws IOException {
+
+        BatchWriter batchWriter = new BatchWriter(Math.max(batchSize, 1), context);
+
+        CsvFileReadUtils.read(inputStream, configuration, context, batchWriter::write);
+
+        batchWriter.flush();
+
+        return Map.of(BATCHES, batchWriter.batches, ROW_COUNT, batchWriter.rowCount);
+    }
+
+    private static class BatchWriter {
+
+        private final List<FileEntry> batches = new ArrayList<>();
+        private final int batchSize;
+        private final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        private final Context context;
+        private int batchRowCount;
+        private int rowCount;
+
+        private BatchWriter(int batchSize, Context context) {
+            this.batchSize = batchSize;
+            this.context = context;
+        }
+
+        private void write(Map<String, Object> row) throws IOException {
+            String line = context.json(json -> json.write(row));
+
+            byteArrayOutputStream.write(line.getBytes(StandardCharsets.UTF_8));
+            byteArrayOutputStream.write('\n');
+
+            batchRowCount++;
+            rowCount++;
+
+            if (batchRowCount == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (batchRowCount == 0) {
+                return;
+            }
+
+            String filename = "batch_" + (batches.size() + 1) + ".jsonl";
+
+            try (InputStream inputStream = new ByteArrayInputStream(byteArrayOutputStream.toByteArray())) {
+                batches.add(context.file(file -> file.storeContent(filename, inputStream)));
+            }
+
+            byteArrayOutputStream.reset();
+
+            batchRowCount = 0;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import com.fasterxml.jackson.dataformat.csv.CsvMapper;
  */
 public class CsvFileConstants {
 
+    public static final String BATCH_SIZE = "batchSize";
+    public static final String BATCHES = "batches";
     public static final String DELIMITER = "delimiter";
     public static final String ENCLOSING_CHARACTER = "enclosingCharacter";
     public static final String FILE_ENTRY = "fileEntry";
@@ -33,6 +35,7 @@ public class CsvFileConstants {
     public static final String PAGE_NUMBER = "pageNumber";
     public static final String PAGE_SIZE = "pageSize";
     public static final String READ_AS_STRING = "readAsString";
+    public static final String ROW_COUNT = "rowCount";
     public static final String ROWS = "rows";
 
     public static final CsvMapper CSV_MAPPER = new CsvMapper();
@@ -27,11 +27,16 @@ import static com.bytechef.component.csv.file.constant.CsvFileConstants.READ_AS_
 
 import com.bytechef.component.definition.Context;
 import com.bytechef.component.definition.Parameters;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.dataformat.csv.CsvParser;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +47,7 @@ import org.apache.commons.lang3.StringUtils;
  * @author Ivica Cardic
  */
 public class CsvFileReadUtils {
+
     public static Map<String, Object> getColumnRow(
         ReadConfiguration configuration, Context context, List<String> row, char enclosingCharacter) {
 
@@ -138,6 +144,41 @@ public class CsvFileReadUtils {
             rangeEndRow == null ? Integer.MAX_VALUE : rangeEndRow, readAsString);
     }
 
+    /**
+     * Reads rows in the configured range one at a time and hands each of them to the consumer, so callers decide
+     * whether rows are kept in memory or written out as they arrive.
+     */
+    @SuppressWarnings("unchecked")
+    public static void read(
+        InputStream inputStream, ReadConfiguration configuration, Context context, RowConsumer rowConsumer)
+        throws IOException {
+
+        try (BufferedReader bufferedReader = new BufferedReader(
+            new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+
+            char enclosingCharacter = getEnclosingCharacter(configuration);
+
+            MappingIterator<Object> iterator = getIterator(bufferedReader, configuration);
+
+            long count = skipRows(iterator, configuration.rangeStartRow());
+
+            while (count < configuration.rangeEndRow() && iterator.hasNext()) {
+                Object row = iterator.nextValue();
+
+                context.logger(logger -> logger.trace("row: {}", row));
+
+                if (configuration.headerRow()) {
+                    rowConsumer.accept(
+                        getHeaderRow(configuration, context, (Map<String, String>) row, enclosingCharacter));
+                } else {
+                    rowConsumer.accept(getColumnRow(configuration, context, (List<String>) row, enclosingCharacter));
+                }
+
+                count++;
+            }
+        }
+    }
+
     public static Object processValue(
         String valueString, char enclosingCharacter, boolean includeEmptyCells, boolean readAsString, Context context) {
 
@@ -162,6 +203,36 @@ public class CsvFileReadUtils {
         return value;
     }
 
+    /**
+     * Advances the underlying parser past the given number of rows without binding them to maps or lists.
+     *
+     * @return the number of rows actually skipped
+     */
+    public static long skipRows(MappingIterator<Object> iterator, long rowCount) throws IOException {
+        JsonParser parser = iterator.getParser();
+
+        long count = 0;
+
+        while (count < rowCount) {
+            JsonToken jsonToken = parser.currentToken();
+
+            if (jsonToken == null) {
+                jsonToken = parser.nextToken();
+            }
+
+            if (jsonToken == null || jsonToken == JsonToken.END_ARRAY) {
+                break;
+            }
+
+            parser.skipChildren();
+            parser.clearCurrentToken();
+
+            count++;
+        }
+
+        return count;
+    }
+
     public static String strip(String valueString, char enclosingCharacter) {
         valueString = valueString.strip();
         valueString = StringUtils.removeStart(valueString, enclosingCharacter);
@@ -203,4 +274,10 @@ public class CsvFileReadUtils {
 
         return value;
     }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+
+        void accept(Map<String, Object> row) throws IOException;
+    }
 }
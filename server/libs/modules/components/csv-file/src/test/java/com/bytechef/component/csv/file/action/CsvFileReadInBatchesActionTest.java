@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.csv.file.action;
+
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.BATCHES;
+import static com.bytechef.component.csv.file.constant.CsvFileConstants.ROW_COUNT;
+
+import com.bytechef.component.csv.file.CsvFileComponentHandlerTest;
+import com.bytechef.component.csv.file.util.ReadConfiguration;
+import com.bytechef.component.definition.Context;
+import com.bytechef.component.definition.FileEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author agent
+ */
+@SuppressWarnings("unchecked")
+class CsvFileReadInBatchesActionTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Context context = Mockito.mock(Context.class);
+    private final Context.File file = Mockito.mock(Context.File.class);
+    private final Context.Json json = Mockito.mock(Context.Json.class);
+    private final List<String> storedContents = new ArrayList<>();
+    private final List<String> storedFilenames = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        Mockito.when(context.file(Mockito.any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, Context.ContextFunction.class)
+                .apply(file));
+        Mockito.when(context.json(Mockito.any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, Context.ContextFunction.class)
+                .apply(json));
+        Mockito.when(json.write(Mockito.any()))
+            .thenAnswer(invocation -> OBJECT_MAPPER.writeValueAsString(invocation.getArgument(0)));
+        Mockito.when(file.storeContent(Mockito.anyString(), Mockito.any(InputStream.class)))
+            .thenAnswer(invocation -> {
+                storedFilenames.add(invocation.getArgument(0));
+                storedContents.add(
+                    new String(
+                        invocation.getArgument(1, InputStream.class)
+                            .readAllBytes(),
+                        StandardCharsets.UTF_8));
+
+                return Mockito.mock(FileEntry.class);
+            });
+    }
+
+    @Test
+    void testReadInBatches() throws IOException {
+        Map<String, Object> result = readInBatches(
+            new ReadConfiguration(",", null, true, false, 0, Integer.MAX_VALUE, false), 3);
+
+        Assertions.assertThat((List<FileEntry>) result.get(BATCHES))
+            .hasSize(2);
+        Assertions.assertThat(result.get(ROW_COUNT))
+            .isEqualTo(4);
+        Assertions.assertThat(storedFilenames)
+            .containsExactly("batch_1.jsonl", "batch_2.jsonl");
+        Assertions.assertThat(storedContents.get(0)
+            .lines())
+            .hasSize(3);
+        Assertions.assertThat(readJsonLines(storedContents.get(1)))
+            .containsExactly(
+                Map.of(
+                    "id", 5678, "name", "ABCD", "city", "city3", "description", "EFGH", "active", false,
+                    "date", "2021-12-10", "sum", 13.23));
+    }
+
+    @Test
+    void testReadInBatchesRange() throws IOException {
+        Map<String, Object> result = readInBatches(
+            new ReadConfiguration(",", null, true, false, 1, 3, false), 10);
+
+        Assertions.assertThat(result.get(ROW_COUNT))
+            .isEqualTo(2);
+        Assertions.assertThat(readJsonLines(storedContents.get(0)))
+            .extracting(row -> row.get("id"))
+            .containsExactly(4, 2);
+    }
+
+    @Test
+    void testReadInBatchesRangeWithoutHeader() throws IOException {
+        Map<String, Object> result = readInBatches(
+            new ReadConfiguration(",", null, false, false, 2, Integer.MAX_VALUE, false), 10);
+
+        Assertions.assertThat(result.get(ROW_COUNT))
+            .isEqualTo(3);
+        Assertions.assertThat(readJsonLines(storedContents.get(0)))
+            .extracting(row -> row.get("column_1"))
+            .containsExactly(4, 2, 5678);
+    }
+
+    private Map<String, Object> readInBatches(ReadConfiguration configuration, int batchSize) throws IOException {
+        try (InputStream inputStream = new FileInputStream(getFile())) {
+            return CsvFileReadInBatchesAction.readInBatches(inputStream, configuration, batchSize, context);
+        }
+    }
+
+    private static java.io.File getFile() {
+        return new java.io.File(CsvFileComponentHandlerTest.class
+            .getClassLoader()
+            .getResource("dependencies/csv-file/sample_header.csv")
+            .getFile());
+    }
+
+    private static List<Map<String, Object>> readJsonLines(String content) {
+        return content.lines()
+            .map(line -> {
+                try {
+                    return (Map<String, Object>) OBJECT_MAPPER.readValue(line, Map.class);
+                } catch (IOException ioException) {
+                    throw new RuntimeException(ioException);
+                }
+            })
+            .toList();
+    }
+}
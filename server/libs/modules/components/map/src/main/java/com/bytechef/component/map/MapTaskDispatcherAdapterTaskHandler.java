@@ -21,6 +21,7 @@ package com.bytechef.component.map;
 import com.bytechef.atlas.coordinator.event.TaskExecutionCompleteEvent;
 import com.bytechef.atlas.coordinator.event.TaskExecutionErrorEvent;
 import com.bytechef.atlas.coordinator.message.route.TaskCoordinatorMessageRoute;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
 import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.atlas.execution.domain.TaskExecution;
 import com.bytechef.atlas.execution.repository.memory.InMemoryContextRepository;
@@ -44,6 +45,7 @@ import com.bytechef.message.broker.sync.SyncMessageBroker;
 import com.bytechef.message.event.MessageEvent;
 import com.bytechef.task.dispatcher.map.MapTaskDispatcher;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -111,7 +113,7 @@ public class MapTaskDispatcherAdapterTaskHandler implements TaskHandler<List<?>>
             event -> syncMessageBroker.send(((MessageEvent<?>) event).getRoute(), event),
             contextService, new CounterServiceImpl(new InMemoryCounterRepository()),
             curTaskExecution -> taskWorker.onTaskExecutionEvent(new TaskExecutionEvent(curTaskExecution)),
-            taskExecutionService, taskFileStorage);
+            taskExecutionService, taskFileStorage, new TaskDispatcherWindowMetrics("map", new SimpleMeterRegistry()));
 
         mapTaskDispatcher.dispatch(taskExecution);
 
@@ -1,6 +1,8 @@
 version="1.0"
 
 dependencies {
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
     implementation(rootProject.libs.org.graalvm.polyglot.polyglot)
     implementation(rootProject.libs.org.graalvm.polyglot.java)
     implementation(rootProject.libs.org.graalvm.polyglot.js)
@@ -10,6 +12,7 @@ dependencies {
     implementation(project(":server:libs:atlas:atlas-worker:atlas-worker-api"))
     implementation(project(":server:libs:core:commons:commons-util"))
     implementation(project(":server:libs:platform:platform-component:platform-component-api"))
+    implementation(project(":server:libs:platform:platform-tenant:platform-tenant-api"))
 
     testImplementation(project(":server:libs:atlas:atlas-execution:atlas-execution-api"))
     testImplementation(project(":server:libs:atlas:atlas-worker:atlas-worker-api"))
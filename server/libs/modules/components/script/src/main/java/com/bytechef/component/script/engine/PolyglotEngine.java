@@ -27,12 +27,22 @@ import com.bytechef.platform.component.domain.ComponentConnection;
 import com.bytechef.platform.component.domain.ComponentDefinition;
 import com.bytechef.platform.component.facade.ActionDefinitionFacade;
 import com.bytechef.platform.component.service.ComponentDefinitionService;
+import com.bytechef.platform.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +50,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyArray;
 import org.graalvm.polyglot.proxy.ProxyDate;
@@ -51,18 +62,46 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
 /**
+ * Executes scripts in contexts of a shared {@link Engine}. Parsed {@link Source} objects are cached by language and
+ * script, so the engine reuses their compiled code, and contexts that already evaluated a script are kept in a bounded
+ * pool per tenant and script. A context is only returned to the pool if the execution succeeded and left the global
+ * bindings of the script as the evaluation created them, otherwise it is closed. A pooled context is therefore never
+ * shared between tenants, and a script that assigns a global variable always runs in a fresh context.
+ *
  * @author Matija Petanjek
  * @author Ivica Cardic
  */
 @Component
 public class PolyglotEngine {
 
-    private final ApplicationContext applicationContext;
+    private static final Counter POOL_HITS = Metrics.counter(
+        "bytechef.component.script.context.pool", "result", "hit");
+    private static final Counter POOL_MISSES = Metrics.counter(
+        "bytechef.component.script.context.pool", "result", "miss");
+
+    private static final int MAX_CONTEXTS_PER_SCRIPT = 4;
+    private static final int MAX_SCRIPTS = 256;
 
     private static final Engine engine = Engine
         .newBuilder()
         .build();
 
+    private final ApplicationContext applicationContext;
+    private final Cache<ContextPoolKey, ContextPool> contextPools = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .maximumSize(MAX_SCRIPTS)
+        .removalListener((ContextPoolKey contextPoolKey, ContextPool contextPool, RemovalCause removalCause) -> {
+            if (contextPool != null) {
+                contextPool.close();
+            }
+        })
+        .build();
+    private final Cache<SourceKey, Source> sources = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .maximumSize(MAX_SCRIPTS)
+        .build();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
     public PolyglotEngine(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
     }
@@ -71,25 +110,47 @@ public class PolyglotEngine {
         String languageId, Parameters inputParameters, Map<String, ? extends ParameterConnection> parameterConnections,
         ActionContext actionContext) {
 
-        try (Context polyglotContext = getContext()) {
-            polyglotContext.eval(languageId, inputParameters.getString(SCRIPT, switch (languageId) {
-                case "java" ->
-                    "public static Object perform(Map<String, ?> input, Context context) {\n\treturn null;\n}";
-                case "js" -> "function perform(input, context) {\n\treturn null;\n}";
-                case "python" -> "def perform(input, context):\n\treturn null";
-                case "R" -> "perform <- function(input, context) {\n\treturn null\n}";
-                case "ruby" -> "def perform(input, context)\n\treturn null;\nend";
-                default -> throw new IllegalArgumentException("languageId: %s does not exist".formatted(languageId));
-            }));
-
-            Value value = polyglotContext.getBindings(languageId)
-                .getMember("perform")
-                .execute(
-                    copyToGuestValue(inputParameters.getMap(INPUT, Object.class), languageId),
-                    new ContextProxyObject(actionContext, applicationContext, languageId, parameterConnections));
-
-            return copyFromPolyglotContext(copyToJavaValue(value));
-        }
+        String script = inputParameters.getString(SCRIPT, switch (languageId) {
+            case "java" ->
+                "public static Object perform(Map<String, ?> input, Context context) {\n\treturn null;\n}";
+            case "js" -> "function perform(input, context) {\n\treturn null;\n}";
+            case "python" -> "def perform(input, context):\n\treturn null";
+            case "R" -> "perform <- function(input, context) {\n\treturn null\n}";
+            case "ruby" -> "def perform(input, context)\n\treturn null;\nend";
+            default -> throw new IllegalArgumentException("languageId: %s does not exist".formatted(languageId));
+        });
+
+        SourceKey sourceKey = new SourceKey(languageId, script);
+
+        ContextPool contextPool = contextPools.get(
+            new ContextPoolKey(TenantContext.getCurrentTenantId(), sourceKey),
+            contextPoolKey -> new ContextPool(languageId, sources.get(sourceKey, SourceKey::toSource)));
+
+        Timer timer = timers.computeIfAbsent(
+            languageId, key -> Metrics.timer("bytechef.component.script.execution", "language", key));
+
+        return timer.record(() -> {
+            PooledContext pooledContext = contextPool.borrow();
+            boolean completed = false;
+
+            try {
+                Value value = pooledContext.bindings()
+                    .getMember("perform")
+                    .execute(
+                        copyToGuestValue(inputParameters.getMap(INPUT, Object.class), languageId),
+                        new ContextProxyObject(actionContext, applicationContext, languageId, parameterConnections));
+
+                // the result is copied out before the context can be handed to another execution
+
+                Object result = copyFromPolyglotContext(copyToJavaValue(value));
+
+                completed = true;
+
+                return result;
+            } finally {
+                contextPool.release(pooledContext, completed);
+            }
+        });
     }
 
     /**
@@ -160,6 +221,9 @@ public class PolyglotEngine {
         throw new IllegalArgumentException("Cannot copy value %s to java type.".formatted(value));
     }
 
+    /**
+     * Maps and collections are wrapped instead of copied, their elements are converted when the script reads them.
+     */
     private static Object copyToGuestValue(Object value, String languageId) {
         if (value == null) {
             return null;
@@ -172,13 +236,7 @@ public class PolyglotEngine {
         } else if (value instanceof Boolean bool) {
             return bool;
         } else if (value instanceof Collection<?> collection) {
-            List<Object> proxyList = new ArrayList<>();
-
-            for (Object item : collection) {
-                proxyList.add(copyToGuestValue(item, languageId));
-            }
-
-            return ProxyArray.fromList(proxyList);
+            return new GuestProxyArray(collection.toArray(), languageId);
         } else if (value instanceof Date date) {
             return ProxyInstant.from(date.toInstant());
         } else if (value instanceof Instant instant) {
@@ -188,13 +246,7 @@ public class PolyglotEngine {
         } else if (value instanceof LocalTime localTime) {
             return ProxyTime.from(localTime);
         } else if (value instanceof Map<?, ?> map) {
-            Map<String, Object> proxyMap = new HashMap<>();
-
-            for (Map.Entry<?, ?> entry : map.entrySet()) {
-                proxyMap.put((String) entry.getKey(), copyToGuestValue(entry.getValue(), languageId));
-            }
-
-            return ProxyObject.fromMap(proxyMap);
+            return new GuestProxyObject(map, languageId);
         } else if (value instanceof Number number) {
             return number;
         } else if (value instanceof String string) {
@@ -214,10 +266,32 @@ public class PolyglotEngine {
         }
     }
 
-    private static Context getContext() {
-        return Context.newBuilder()
+    private static PooledContext createContext(String languageId, Source source) {
+        Context polyglotContext = Context.newBuilder()
             .engine(engine)
             .build();
+
+        try {
+            polyglotContext.eval(source);
+
+            Value bindings = polyglotContext.getBindings(languageId);
+
+            return new PooledContext(polyglotContext, bindings, getMembers(bindings));
+        } catch (RuntimeException runtimeException) {
+            polyglotContext.close();
+
+            throw runtimeException;
+        }
+    }
+
+    private static Map<String, Value> getMembers(Value bindings) {
+        Map<String, Value> members = new HashMap<>();
+
+        for (String key : bindings.getMemberKeys()) {
+            members.put(key, bindings.getMember(key));
+        }
+
+        return members;
     }
 
     private record ActionProxyObject(
@@ -363,6 +437,84 @@ public class PolyglotEngine {
         }
     }
 
+    private record ContextPoolKey(String tenantId, SourceKey sourceKey) {
+    }
+
+    /**
+     * The contexts of a tenant that evaluated a script, at most {@link #MAX_CONTEXTS_PER_SCRIPT} idle ones are kept.
+     */
+    private static final class ContextPool {
+
+        private boolean closed;
+        private final Deque<PooledContext> pooledContexts = new ArrayDeque<>();
+        private final String languageId;
+        private final Source source;
+
+        private ContextPool(String languageId, Source source) {
+            this.languageId = languageId;
+            this.source = source;
+        }
+
+        private PooledContext borrow() {
+            synchronized (this) {
+                PooledContext pooledContext = pooledContexts.pollFirst();
+
+                if (pooledContext != null) {
+                    POOL_HITS.increment();
+
+                    return pooledContext;
+                }
+            }
+
+            POOL_MISSES.increment();
+
+            return createContext(languageId, source);
+        }
+
+        private void close() {
+            List<PooledContext> idlePooledContexts;
+
+            synchronized (this) {
+                closed = true;
+
+                idlePooledContexts = new ArrayList<>(pooledContexts);
+
+                pooledContexts.clear();
+            }
+
+            idlePooledContexts.forEach(PooledContext::close);
+        }
+
+        private void release(PooledContext pooledContext, boolean completed) {
+            if (completed && pooledContext.isUnchanged()) {
+                synchronized (this) {
+                    if (!closed && pooledContexts.size() < MAX_CONTEXTS_PER_SCRIPT) {
+                        pooledContexts.addFirst(pooledContext);
+
+                        return;
+                    }
+                }
+            }
+
+            pooledContext.close();
+        }
+    }
+
+    /**
+     * A context with the global bindings its script evaluation created. Members are compared by identity, so a
+     * reassigned global variable is detected, while state kept inside a global object is not.
+     */
+    private record PooledContext(Context context, Value bindings, Map<String, Value> members) {
+
+        private void close() {
+            context.close();
+        }
+
+        private boolean isUnchanged() {
+            return members.equals(getMembers(bindings));
+        }
+    }
+
     private record ContextProxyObject(
         ActionContext actionContext, ApplicationContext applicationContext, String languageId,
         Map<String, ? extends ParameterConnection> parameterConnections) implements ProxyObject {
@@ -391,4 +543,117 @@ public class PolyglotEngine {
             throw new UnsupportedOperationException();
         }
     }
+
+    private static final class GuestProxyArray implements ProxyArray {
+
+        private final boolean[] converted;
+        private final String languageId;
+        private final Object[] values;
+
+        private GuestProxyArray(Object[] values, String languageId) {
+            this.converted = new boolean[values.length];
+            this.languageId = languageId;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(long index) {
+            int curIndex = checkIndex(index);
+
+            if (!converted[curIndex]) {
+                values[curIndex] = copyToGuestValue(values[curIndex], languageId);
+                converted[curIndex] = true;
+            }
+
+            return values[curIndex];
+        }
+
+        @Override
+        public long getSize() {
+            return values.length;
+        }
+
+        @Override
+        public void set(long index, Value value) {
+            int curIndex = checkIndex(index);
+
+            values[curIndex] = value;
+            converted[curIndex] = true;
+        }
+
+        private int checkIndex(long index) {
+            if (index < 0 || index >= values.length) {
+                throw new ArrayIndexOutOfBoundsException("Invalid index %d".formatted(index));
+            }
+
+            return (int) index;
+        }
+    }
+
+    private static final class GuestProxyObject implements ProxyObject {
+
+        private final String languageId;
+        private final Map<String, Object> guestValues = new HashMap<>();
+        private final Map<String, Object> values = new HashMap<>();
+
+        private GuestProxyObject(Map<?, ?> map, String languageId) {
+            this.languageId = languageId;
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                values.put((String) entry.getKey(), entry.getValue());
+            }
+        }
+
+        @Override
+        public Object getMember(String key) {
+            if (guestValues.containsKey(key)) {
+                return guestValues.get(key);
+            }
+
+            Object guestValue = copyToGuestValue(values.get(key), languageId);
+
+            guestValues.put(key, guestValue);
+
+            return guestValue;
+        }
+
+        @Override
+        public Object getMemberKeys() {
+            return ProxyArray.fromArray(
+                values.keySet()
+                    .toArray());
+        }
+
+        @Override
+        public boolean hasMember(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public void putMember(String key, Value value) {
+            guestValues.put(key, value);
+            values.put(key, value);
+        }
+
+        @Override
+        public boolean removeMember(String key) {
+            if (!values.containsKey(key)) {
+                return false;
+            }
+
+            guestValues.remove(key);
+            values.remove(key);
+
+            return true;
+        }
+    }
+
+    private record SourceKey(String languageId, String script) {
+
+        private Source toSource() {
+            return Source.newBuilder(languageId, script, "script-" + Integer.toHexString(script.hashCode()))
+                .cached(true)
+                .buildLiteral();
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.script.engine;
+
+import static com.bytechef.component.script.constant.ScriptConstants.INPUT;
+import static com.bytechef.platform.component.definition.ScriptComponentDefinition.SCRIPT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.bytechef.component.definition.ActionContext;
+import com.bytechef.platform.component.definition.ParametersFactory;
+import com.bytechef.platform.tenant.TenantContext;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * @author agent
+ */
+public class PolyglotEngineTest {
+
+    private static final String SCRIPT_VALUE = """
+        function perform(input, context) {
+            return {items: input.items.map(item => item * input.factor), name: input.nested.name};
+        }
+        """;
+
+    private final ActionContext actionContext = Mockito.mock(ActionContext.class);
+    private final PolyglotEngine polyglotEngine = new PolyglotEngine(Mockito.mock(ApplicationContext.class));
+
+    @Test
+    public void testExecute() {
+        for (int factor = 1; factor <= 3; factor++) {
+            Object result = polyglotEngine.execute(
+                "js",
+                ParametersFactory.createParameters(
+                    Map.of(
+                        INPUT, Map.of("factor", factor, "items", List.of(1, 2), "nested", Map.of("name", "name")),
+                        SCRIPT, SCRIPT_VALUE)),
+                Map.of(), actionContext);
+
+            assertEquals(Map.of("items", List.of(factor, 2 * factor), "name", "name"), result);
+        }
+    }
+
+    @Test
+    public void testExecuteDoesNotShareGlobalState() {
+        String script = "var calls = 0;\nfunction perform(input, context) {\n  calls++;\n  return calls;\n}";
+
+        for (int i = 0; i < 3; i++) {
+            Object result = polyglotEngine.execute(
+                "js", ParametersFactory.createParameters(Map.of(INPUT, Map.of(), SCRIPT, script)), Map.of(),
+                actionContext);
+
+            assertEquals(1, result);
+        }
+    }
+
+    @Test
+    public void testExecuteReusesContextPerTenant() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        Metrics.addRegistry(meterRegistry);
+
+        try {
+            String script = "function perform(input, context) {\n  return input.value;\n}";
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(i, execute(script, i));
+            }
+
+            TenantContext.setCurrentTenantId("tenant1");
+
+            assertEquals(3, execute(script, 3));
+
+            assertEquals(2, getPoolCount(meterRegistry, "hit"));
+            assertEquals(2, getPoolCount(meterRegistry, "miss"));
+        } finally {
+            TenantContext.resetCurrentTenantId();
+
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
+    @Test
+    public void testExecuteWithError() {
+        String script = "function perform(input, context) {\n  throw new Error('failed ' + input.value);\n}";
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(
+                PolyglotException.class,
+                () -> polyglotEngine.execute(
+                    "js", ParametersFactory.createParameters(Map.of(INPUT, Map.of("value", 1), SCRIPT, script)),
+                    Map.of(), actionContext));
+        }
+    }
+
+    private Object execute(String script, int value) {
+        return polyglotEngine.execute(
+            "js", ParametersFactory.createParameters(Map.of(INPUT, Map.of("value", value), SCRIPT, script)), Map.of(),
+            actionContext);
+    }
+
+    private static double getPoolCount(SimpleMeterRegistry meterRegistry, String result) {
+        return meterRegistry.get("bytechef.component.script.context.pool")
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+}
@@ -1,3 +1,7 @@
+plugins {
+    alias(libs.plugins.me.champeau.jmh)
+}
+
 version="1.0"
 
 dependencies {
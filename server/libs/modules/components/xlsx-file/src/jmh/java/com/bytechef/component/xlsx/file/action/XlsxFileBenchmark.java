@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.xlsx.file.action;
+
+import com.bytechef.component.xlsx.file.action.XlsxFileWriteAction.WriteConfiguration;
+import com.bytechef.component.xlsx.file.util.XlsxSheetReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the SAX based {@link XlsxSheetReader} and the {@code SXSSFWorkbook} based writer with the POI user model on
+ * generated workbooks. Run with {@code ./gradlew :server:libs:modules:components:xlsx-file:jmh}; add
+ * {@code -prof gc} to the JMH arguments to compare allocation rates.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+public class XlsxFileBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rowCount;
+
+    private byte[] bytes;
+    private List<Map<String, ?>> rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        rows = new ArrayList<>();
+
+        for (int i = 0; i < rowCount; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+
+            row.put("id", i);
+            row.put("name", "name" + i);
+            row.put("city", "city" + (i % 100));
+            row.put("active", i % 2 == 0);
+            row.put("sum", i * 1.5);
+
+            rows.add(row);
+        }
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        XlsxFileWriteAction.write(rows, new WriteConfiguration("file.xlsx", "Sheet"), byteArrayOutputStream);
+
+        bytes = byteArrayOutputStream.toByteArray();
+    }
+
+    @Benchmark
+    public void readStreaming(Blackhole blackhole) throws IOException {
+        XlsxSheetReader.read(new ByteArrayInputStream(bytes), null, values -> {
+            blackhole.consume(values);
+
+            return true;
+        });
+    }
+
+    @Benchmark
+    public void readUserModel(Blackhole blackhole) throws IOException {
+        try (InputStream inputStream = new ByteArrayInputStream(bytes);
+            XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+
+            for (Row row : workbook.getSheetAt(0)) {
+                for (Cell cell : row) {
+                    blackhole.consume(cell.toString());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeStreaming() throws IOException {
+        XlsxFileWriteAction.write(rows, new WriteConfiguration("file.xlsx", "Sheet"), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void writeUserModel() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet");
+
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = sheet.createRow(i);
+                int columnCount = 0;
+
+                for (Object value : rows.get(i)
+                    .values()) {
+
+                    row.createCell(columnCount++)
+                        .setCellValue(String.valueOf(value));
+                }
+            }
+
+            workbook.write(OutputStream.nullOutputStream());
+        }
+    }
+}
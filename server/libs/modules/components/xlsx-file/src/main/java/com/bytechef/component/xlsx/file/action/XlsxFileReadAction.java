@@ -35,12 +35,13 @@ import com.bytechef.component.definition.Context;
 import com.bytechef.component.definition.FileEntry;
 import com.bytechef.component.definition.Parameters;
 import com.bytechef.component.xlsx.file.constant.XlsxFileConstants.FileFormat;
+import com.bytechef.component.xlsx.file.util.XlsxSheetReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.BooleanUtils;
@@ -51,7 +52,6 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.NumberToTextConverter;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 /**
  * @author Ivica Cardic
@@ -137,91 +137,33 @@ public class XlsxFileReadAction {
     protected static List<Map<String, ?>> read(
         FileFormat fileFormat, InputStream inputStream, ReadConfiguration configuration, Context context)
         throws IOException {
-        List<Map<String, ?>> rows = new ArrayList<>();
 
-        Workbook workbook = getWorkbook(fileFormat, inputStream);
+        List<Map<String, ?>> rows = new ArrayList<>();
 
-        Sheet sheet;
+        RowCollector rowCollector = new RowCollector(configuration, context, rows);
 
-        if (configuration.sheetName() == null) {
-            sheet = workbook.getSheetAt(0);
+        if (fileFormat == FileFormat.XLSX) {
+            XlsxSheetReader.read(inputStream, configuration.sheetName(), rowCollector);
         } else {
-            sheet = workbook.getSheet(configuration.sheetName());
-        }
-
-        if (sheet.getLastRowNum() == 0) {
-            return rows;
-        }
-
-        int count = 0;
-        List<String> headers = null;
-        long lastColumn = 0;
-        boolean firstRow = false;
-
-        for (Row row : sheet) {
-            if (!firstRow) {
-                firstRow = true;
-                lastColumn = row.getLastCellNum();
-
-                if (configuration.headerRow()) {
-                    headers = new ArrayList<>();
-
-                    Iterator<Cell> cellIterator = row.cellIterator();
-
-                    while (cellIterator.hasNext()) {
-                        Cell cell = cellIterator.next();
-
-                        headers.add(cell.getStringCellValue());
-                    }
-
-                    continue;
-                }
-            }
-
-            if (count >= configuration.rangeStartRow() && count < configuration.rangeEndRow()) {
-                if (headers != null && configuration.headerRow()) {
-                    Map<String, Object> map = new HashMap<>();
-
-                    for (int i = 0; i < lastColumn; i++) {
-                        Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-
-                        map.computeIfAbsent(
-                            headers.get(i),
-                            key -> processValue(
-                                cell, configuration.includeEmptyCells(), configuration.readAsString(), context));
-                    }
-
-                    rows.add(map);
-                } else {
-                    Map<String, Object> map = new HashMap<>();
-
-                    for (int i = 0; i < lastColumn; i++) {
-                        Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-
-                        map.put(
-                            "column_" + (i + 1),
-                            processValue(
-                                cell, configuration.includeEmptyCells(), configuration.readAsString(), context));
-                    }
-
-                    rows.add(map);
-                }
-            } else {
-                if (count >= configuration.rangeEndRow()) {
-                    break;
-                }
-            }
-
-            count++;
+            readWorkbook(inputStream, configuration.sheetName(), rowCollector);
         }
 
         return rows;
     }
 
-    private static Workbook getWorkbook(FileFormat fileFormat, InputStream inputStream)
-        throws IOException {
-        return fileFormat == FileFormat.XLS ? new HSSFWorkbook(inputStream)
-            : new XSSFWorkbook(inputStream);
+    private static Object getCellValue(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+
+        return switch (cell.getCellType()) {
+            case BLANK -> null;
+            case BOOLEAN -> cell.getBooleanCellValue();
+            case FORMULA -> cell.getCellFormula();
+            case NUMERIC -> DateUtil.isCellDateFormatted(cell) ? cell.getDateCellValue() : cell.getNumericCellValue();
+            case STRING -> cell.getStringCellValue();
+            default -> throw new IllegalArgumentException("Unexpected value: %s".formatted(cell.getCellType()));
+        };
     }
 
     private static boolean isEmpty(final Object object) {
@@ -236,30 +178,15 @@ public class XlsxFileReadAction {
         return false;
     }
 
-    @SuppressWarnings("checkstyle:whitespaceafter")
-    private static Object processValue(Cell cell, boolean includeEmptyCells, boolean readAsString, Context context) {
-        Object value = null;
-
-        if (cell != null) {
-            value = switch (cell.getCellType()) {
-                case BOOLEAN -> cell.getBooleanCellValue();
-                case FORMULA -> cell.getCellFormula();
-                case NUMERIC -> {
-                    Object numericValue;
+    private static Object processValue(
+        Object value, boolean includeEmptyCells, boolean readAsString, Context context) {
 
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
+        if (value instanceof Date date) {
+            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
 
-                        numericValue = formatter.format(cell.getDateCellValue());
-                    } else {
-                        numericValue = valueOf(NumberToTextConverter.toText(cell.getNumericCellValue()), context);
-                    }
-
-                    yield numericValue;
-                }
-                case STRING -> cell.getStringCellValue();
-                default -> throw new IllegalArgumentException("Unexpected value: %s".formatted(cell.getCellType()));
-            };
+            value = formatter.format(date);
+        } else if (value instanceof Double numericValue) {
+            value = valueOf(NumberToTextConverter.toText(numericValue), context);
         }
 
         if (isEmpty(value)) {
@@ -311,6 +238,29 @@ public class XlsxFileReadAction {
         return value;
     }
 
+    /**
+     * Reads XLS files, for which there is no streaming reader, through the user model.
+     */
+    private static void readWorkbook(InputStream inputStream, String sheetName, RowCollector rowCollector)
+        throws IOException {
+
+        try (Workbook workbook = new HSSFWorkbook(inputStream)) {
+            Sheet sheet = sheetName == null ? workbook.getSheetAt(0) : workbook.getSheet(sheetName);
+
+            for (Row row : sheet) {
+                List<Object> values = new ArrayList<>();
+
+                for (int i = 0; i < row.getLastCellNum(); i++) {
+                    values.add(getCellValue(row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL)));
+                }
+
+                if (!rowCollector.handle(values)) {
+                    break;
+                }
+            }
+        }
+    }
+
     protected record ReadConfiguration(
         boolean headerRow,
         boolean includeEmptyCells,
@@ -319,4 +269,72 @@ public class XlsxFileReadAction {
         boolean readAsString,
         String sheetName) {
     }
+
+    private static class RowCollector implements XlsxSheetReader.RowHandler {
+
+        private final ReadConfiguration configuration;
+        private final Context context;
+        private final List<Map<String, ?>> rows;
+
+        private int count;
+        private boolean firstRow;
+        private List<String> headers;
+        private int lastColumn;
+
+        private RowCollector(ReadConfiguration configuration, Context context, List<Map<String, ?>> rows) {
+            this.configuration = configuration;
+            this.context = context;
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean handle(List<Object> values) {
+            if (!firstRow) {
+                firstRow = true;
+                lastColumn = values.size();
+
+                if (configuration.headerRow()) {
+                    headers = new ArrayList<>();
+
+                    for (Object value : values) {
+                        if (value != null) {
+                            headers.add(String.valueOf(value));
+                        }
+                    }
+
+                    return true;
+                }
+            }
+
+            if (count >= configuration.rangeEndRow()) {
+                return false;
+            }
+
+            if (count >= configuration.rangeStartRow()) {
+                Map<String, Object> map = new HashMap<>();
+
+                for (int i = 0; i < lastColumn; i++) {
+                    Object value = i < values.size() ? values.get(i) : null;
+
+                    if (headers == null) {
+                        map.put(
+                            "column_" + (i + 1),
+                            processValue(
+                                value, configuration.includeEmptyCells(), configuration.readAsString(), context));
+                    } else if (i < headers.size()) {
+                        map.computeIfAbsent(
+                            headers.get(i),
+                            key -> processValue(
+                                value, configuration.includeEmptyCells(), configuration.readAsString(), context));
+                    }
+                }
+
+                rows.add(map);
+            }
+
+            count++;
+
+            return count < configuration.rangeEndRow();
+        }
+    }
 }
@@ -38,23 +38,26 @@ import com.bytechef.component.definition.ComponentDsl.ModifiableActionDefinition
 import com.bytechef.component.definition.FileEntry;
 import com.bytechef.component.definition.Parameters;
 import com.bytechef.component.xlsx.file.constant.XlsxFileConstants;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 /**
  * @author Ivica Cardic
  */
 public class XlsxFileWriteAction {
 
+    private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+
     public static final ModifiableActionDefinition ACTION_DEFINITION = action("write")
         .title("Write to File")
         .description("Writes the data to a XLS/XLSX file.")
@@ -91,8 +94,21 @@ public class XlsxFileWriteAction {
         List<Map<String, ?>> rows = (List) inputParameters.getList(ROWS, List.of());
         String sheetName = inputParameters.getString(SHEET_NAME, "Sheet");
 
-        return context.file(file -> file.storeContent(
-            fileName, new ByteArrayInputStream(write(rows, new WriteConfiguration(fileName, sheetName)))));
+        return context.file(file -> {
+            Path path = Files.createTempFile("xlsx_file", ".xlsx");
+
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(path)) {
+                    write(rows, new WriteConfiguration(fileName, sheetName), outputStream);
+                }
+
+                try (InputStream inputStream = Files.newInputStream(path)) {
+                    return file.storeContent(fileName, inputStream);
+                }
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        });
     }
 
     private static String getaDefaultFileName() {
@@ -101,63 +117,68 @@ public class XlsxFileWriteAction {
         return "file." + xlsxName.toLowerCase();
     }
 
-    private static Workbook getWorkbook() {
-        return new XSSFWorkbook();
+    /**
+     * Creates a streaming workbook which keeps only the last {@link #ROW_ACCESS_WINDOW_SIZE} rows in memory and flushes
+     * older rows to a compressed temporary file.
+     */
+    private static SXSSFWorkbook getWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+
+        workbook.setCompressTempFiles(true);
+
+        return workbook;
     }
 
-    private static byte[] write(List<Map<String, ?>> rows, WriteConfiguration configuration) throws IOException {
+    protected static void write(
+        List<Map<String, ?>> rows, WriteConfiguration configuration, OutputStream outputStream) throws IOException {
+
         boolean headerRow = false;
-        Workbook workbook = getWorkbook();
 
-        Sheet sheet = workbook.createSheet(configuration.sheetName());
+        try (SXSSFWorkbook workbook = getWorkbook()) {
+            Sheet sheet = workbook.createSheet(configuration.sheetName());
+
+            for (int i = 0; i < rows.size(); i++) {
+                Map<String, ?> item = rows.get(i);
 
-        for (int i = 0; i < rows.size(); i++) {
-            Map<String, ?> item = rows.get(i);
+                if (!headerRow) {
+                    headerRow = true;
 
-            if (!headerRow) {
-                headerRow = true;
+                    int columnCount = 0;
+                    Row row = sheet.createRow(0);
+
+                    for (String fieldName : item.keySet()) {
+                        Cell cell = row.createCell(columnCount++);
+
+                        cell.setCellValue(fieldName);
+                    }
+                }
 
                 int columnCount = 0;
-                Row row = sheet.createRow(0);
+                Row row = sheet.createRow(i + 1);
 
-                for (String fieldName : item.keySet()) {
+                for (Object value : item.values()) {
                     Cell cell = row.createCell(columnCount++);
 
-                    cell.setCellValue(fieldName);
+                    if (value instanceof Boolean) {
+                        cell.setCellValue((Boolean) value);
+                    } else if (value instanceof Integer) {
+                        cell.setCellValue((Integer) value);
+                    } else if (value instanceof Long) {
+                        cell.setCellValue((Long) value);
+                    } else if (value instanceof Double) {
+                        cell.setCellValue((Double) value);
+                    } else if (value instanceof BigDecimal) {
+                        cell.setCellValue(((BigDecimal) value).doubleValue());
+                    } else {
+                        cell.setCellValue((String) value);
+                    }
                 }
             }
 
-            int columnCount = 0;
-            Row row = sheet.createRow(i + 1);
-
-            for (Object value : item.values()) {
-                Cell cell = row.createCell(columnCount++);
-
-                if (value instanceof Boolean) {
-                    cell.setCellValue((Boolean) value);
-                } else if (value instanceof Integer) {
-                    cell.setCellValue((Integer) value);
-                } else if (value instanceof Long) {
-                    cell.setCellValue((Long) value);
-                } else if (value instanceof Double) {
-                    cell.setCellValue((Double) value);
-                } else if (value instanceof BigDecimal) {
-                    cell.setCellValue(((BigDecimal) value).doubleValue());
-                } else {
-                    cell.setCellValue((String) value);
-                }
-            }
+            workbook.write(outputStream);
         }
-
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-
-        workbook.write(byteArrayOutputStream);
-
-        workbook.close();
-
-        return byteArrayOutputStream.toByteArray();
     }
 
-    private record WriteConfiguration(String fileName, String sheetName) {
+    protected record WriteConfiguration(String fileName, String sheetName) {
     }
 }
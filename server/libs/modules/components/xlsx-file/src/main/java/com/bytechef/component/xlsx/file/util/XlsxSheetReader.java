@@ -0,0 +1,274 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.xlsx.file.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads rows of a XLSX sheet with the POI event API. The sheet XML is parsed with SAX and every row is handed to a
+ * {@link RowHandler} as soon as it is parsed, so only the current row, shared strings and styles are held in memory,
+ * instead of the whole workbook object graph the user model builds.
+ *
+ * <p>
+ * Cell values are passed as {@link Boolean}, {@link Double}, {@link java.util.Date} for date formatted numeric cells,
+ * and {@link String} for text cells and the formula of formula cells. Missing and blank cells are {@code null}.
+ *
+ * @author agent
+ */
+public class XlsxSheetReader {
+
+    private XlsxSheetReader() {
+    }
+
+    /**
+     * Reads the sheet with the given name, or the first sheet if {@code sheetName} is {@code null}. The workbook is
+     * spooled to a temporary file first, since opening the package from a stream would inflate every part in memory.
+     */
+    public static void read(InputStream inputStream, String sheetName, RowHandler rowHandler) throws IOException {
+        Path path = Files.createTempFile("xlsx_file", ".xlsx");
+
+        try {
+            Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+
+            OPCPackage opcPackage = OPCPackage.open(path.toFile(), PackageAccess.READ);
+
+            try {
+                read(opcPackage, sheetName, rowHandler);
+            } finally {
+                opcPackage.revert();
+            }
+        } catch (OpenXML4JException | ParserConfigurationException | SAXException exception) {
+            throw new IOException(exception);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static void read(OPCPackage opcPackage, String sheetName, RowHandler rowHandler)
+        throws IOException, OpenXML4JException, ParserConfigurationException, SAXException {
+
+        XSSFReader xssfReader = new XSSFReader(opcPackage);
+
+        ReadOnlySharedStringsTable sharedStringsTable = new ReadOnlySharedStringsTable(opcPackage, false);
+        StylesTable stylesTable = xssfReader.getStylesTable();
+
+        XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+
+        while (sheetIterator.hasNext()) {
+            try (InputStream sheetInputStream = sheetIterator.next()) {
+                if (sheetName == null || sheetName.equals(sheetIterator.getSheetName())) {
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+
+                    xmlReader.setContentHandler(new SheetHandler(rowHandler, sharedStringsTable, stylesTable));
+
+                    try {
+                        xmlReader.parse(new InputSource(sheetInputStream));
+                    } catch (StopReadingException stopReadingException) {
+                        // the row handler does not need any more rows
+
+                        return;
+                    }
+
+                    return;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("Sheet %s does not exist".formatted(sheetName));
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * @param values the cell values of a row indexed by column, {@code null} for missing or blank cells
+         * @return {@code false} to stop reading the remaining rows
+         */
+        boolean handle(List<Object> values);
+    }
+
+    private static class SheetHandler extends DefaultHandler {
+
+        private final RowHandler rowHandler;
+        private final ReadOnlySharedStringsTable sharedStringsTable;
+        private final StylesTable stylesTable;
+        private final StringBuilder text = new StringBuilder();
+
+        private int column;
+        private String cellType;
+        private String formula;
+        private boolean inlineString;
+        private String inlineText;
+        private int styleIndex;
+        private boolean textCapture;
+        private String value;
+        private List<Object> values;
+
+        private SheetHandler(
+            RowHandler rowHandler, ReadOnlySharedStringsTable sharedStringsTable, StylesTable stylesTable) {
+
+            this.rowHandler = rowHandler;
+            this.sharedStringsTable = sharedStringsTable;
+            this.stylesTable = stylesTable;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> values = new ArrayList<>();
+                case "c" -> {
+                    String reference = attributes.getValue("r");
+                    String style = attributes.getValue("s");
+
+                    column = reference == null ? values.size() : new CellReference(reference).getCol();
+                    cellType = attributes.getValue("t");
+                    formula = null;
+                    inlineString = false;
+                    inlineText = null;
+                    styleIndex = style == null ? 0 : Integer.parseInt(style);
+                    value = null;
+                }
+                case "f", "v" -> startTextCapture();
+                case "is" -> {
+                    inlineString = true;
+                    inlineText = "";
+                }
+                case "t" -> {
+                    if (inlineString) {
+                        startTextCapture();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "row" -> {
+                    if (!rowHandler.handle(values)) {
+                        throw new StopReadingException();
+                    }
+                }
+                case "c" -> {
+                    while (values.size() <= column) {
+                        values.add(null);
+                    }
+
+                    values.set(column, getCellValue());
+                }
+                case "f" -> formula = endTextCapture();
+                case "v" -> value = endTextCapture();
+                case "is" -> inlineString = false;
+                case "t" -> {
+                    if (inlineString) {
+                        inlineText += endTextCapture();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (textCapture) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private String endTextCapture() {
+            textCapture = false;
+
+            return text.toString();
+        }
+
+        private Object getCellValue() {
+            if (formula != null && !formula.isEmpty()) {
+                return formula;
+            }
+
+            if ("inlineStr".equals(cellType)) {
+                return inlineText;
+            }
+
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+
+            return switch (cellType == null ? "n" : cellType) {
+                case "b" -> "1".equals(value) || "true".equalsIgnoreCase(value);
+                case "e" -> throw new IllegalArgumentException("Unexpected value: %s".formatted(CellType.ERROR));
+                case "s" -> {
+                    RichTextString richTextString = sharedStringsTable.getItemAt(
+                        Integer.parseInt(value));
+
+                    yield richTextString.getString();
+                }
+                case "str" -> value;
+                default -> getNumericValue(Double.parseDouble(value));
+            };
+        }
+
+        private Object getNumericValue(double numericValue) {
+            XSSFCellStyle cellStyle = stylesTable == null || styleIndex >= stylesTable.getNumCellStyles()
+                ? null : stylesTable.getStyleAt(styleIndex);
+
+            if (cellStyle != null && DateUtil.isValidExcelDate(numericValue) &&
+                DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString())) {
+
+                return DateUtil.getJavaDate(numericValue);
+            }
+
+            return numericValue;
+        }
+
+        private void startTextCapture() {
+            text.setLength(0);
+
+            textCapture = true;
+        }
+    }
+
+    private static class StopReadingException extends SAXException {
+    }
+}
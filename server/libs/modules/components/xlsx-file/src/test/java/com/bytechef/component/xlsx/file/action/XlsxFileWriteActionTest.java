@@ -27,7 +27,6 @@ import com.bytechef.component.definition.TypeReference;
 import com.bytechef.component.xlsx.file.XlsxFileComponentHandlerTest;
 import com.bytechef.component.xlsx.file.action.XlsxFileReadAction.ReadConfiguration;
 import com.bytechef.component.xlsx.file.constant.XlsxFileConstants;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -61,8 +60,8 @@ public class XlsxFileWriteActionTest {
 
         XlsxFileWriteAction.perform(inputParameters, inputParameters, context);
 
-        ArgumentCaptor<ByteArrayInputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(
-            ByteArrayInputStream.class);
+        ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(
+            InputStream.class);
         ArgumentCaptor<String> filenameArgumentCaptor = ArgumentCaptor.forClass(String.class);
 
         Mockito.verify(context)
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.component.xlsx.file.util;
+
+import com.bytechef.component.xlsx.file.XlsxFileComponentHandlerTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class XlsxSheetReaderTest {
+
+    @Test
+    public void testRead() throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+
+        try (InputStream inputStream = new FileInputStream(getFile("sample_header.xlsx"))) {
+            XlsxSheetReader.read(inputStream, null, rows::add);
+        }
+
+        Assertions.assertThat(rows)
+            .hasSize(5);
+
+        List<Object> firstRow = rows.get(1);
+
+        Assertions.assertThat(firstRow)
+            .hasSize(7);
+        Assertions.assertThat(firstRow.get(3))
+            .isEqualTo(77.0);
+        Assertions.assertThat(firstRow.get(4))
+            .isEqualTo(true);
+        Assertions.assertThat(firstRow.get(5))
+            .isInstanceOf(Date.class);
+        Assertions.assertThat(rows.get(2)
+            .get(5))
+            .isNull();
+    }
+
+    @Test
+    public void testReadStops() throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+
+        try (InputStream inputStream = new FileInputStream(getFile("sample_header.xlsx"))) {
+            XlsxSheetReader.read(inputStream, null, values -> rows.add(values) && rows.size() < 2);
+        }
+
+        Assertions.assertThat(rows)
+            .hasSize(2);
+    }
+
+    @Test
+    public void testReadSheetName() throws IOException {
+        byte[] bytes = getStreamingWorkbook(10);
+
+        List<List<Object>> rows = new ArrayList<>();
+
+        XlsxSheetReader.read(new ByteArrayInputStream(bytes), "Second", rows::add);
+
+        Assertions.assertThat(rows)
+            .containsExactly(List.of("second"));
+        Assertions.assertThatThrownBy(
+            () -> XlsxSheetReader.read(new ByteArrayInputStream(bytes), "Missing", values -> true))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testReadStreamingWorkbook() throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+
+        XlsxSheetReader.read(new ByteArrayInputStream(getStreamingWorkbook(1000)), null, rows::add);
+
+        Assertions.assertThat(rows)
+            .hasSize(1000);
+        Assertions.assertThat(rows.get(999))
+            .containsExactly("name999", 999.0, false);
+    }
+
+    private static java.io.File getFile(String filename) {
+        return new java.io.File(XlsxFileComponentHandlerTest.class
+            .getClassLoader()
+            .getResource("dependencies/xlsx-file/" + filename)
+            .getFile());
+    }
+
+    private static byte[] getStreamingWorkbook(int rowCount) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            Sheet sheet = workbook.createSheet("First");
+
+            for (int i = 0; i < rowCount; i++) {
+                Row row = sheet.createRow(i);
+
+                row.createCell(0)
+                    .setCellValue("name" + i);
+                row.createCell(1)
+                    .setCellValue(i);
+                row.createCell(2)
+                    .setCellValue(i % 2 == 0);
+            }
+
+            Sheet secondSheet = workbook.createSheet("Second");
+
+            secondSheet.createRow(0)
+                .createCell(0)
+                .setCellValue("second");
+
+            workbook.write(byteArrayOutputStream);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+}
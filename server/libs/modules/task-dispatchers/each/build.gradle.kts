@@ -1 +1,5 @@
 version="1.0"
+
+dependencies {
+    implementation("io.micrometer:micrometer-core")
+}
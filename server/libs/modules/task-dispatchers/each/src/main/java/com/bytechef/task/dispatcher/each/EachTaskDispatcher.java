@@ -22,12 +22,17 @@ import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConst
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.ITEM;
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.ITERATEE;
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST_FILE_ENTRY;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST_SIZE;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.MAX_CONCURRENCY;
 
+import com.bytechef.atlas.configuration.constant.WorkflowConstants;
 import com.bytechef.atlas.configuration.domain.Task;
 import com.bytechef.atlas.configuration.domain.WorkflowTask;
 import com.bytechef.atlas.coordinator.event.TaskExecutionCompleteEvent;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcher;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherResolver;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
 import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.atlas.execution.domain.TaskExecution;
 import com.bytechef.atlas.execution.service.ContextService;
@@ -35,10 +40,13 @@ import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
 import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.commons.util.MapUtils;
+import com.bytechef.file.storage.domain.FileEntry;
 import com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,10 +62,13 @@ import org.springframework.context.ApplicationEventPublisher;
  */
 public class EachTaskDispatcher implements TaskDispatcher<TaskExecution>, TaskDispatcherResolver {
 
+    private static final int BATCH_SIZE = 1000;
+
     private final ApplicationEventPublisher eventPublisher;
     private final ContextService contextService;
     private final CounterService counterService;
     private final TaskDispatcher<? super Task> taskDispatcher;
+    private final TaskDispatcherWindowMetrics taskDispatcherWindowMetrics;
     private final TaskExecutionService taskExecutionService;
     private final TaskFileStorage taskFileStorage;
 
@@ -65,7 +76,8 @@ public class EachTaskDispatcher implements TaskDispatcher<TaskExecution>, TaskDi
     public EachTaskDispatcher(
         ApplicationEventPublisher eventPublisher, ContextService contextService,
         CounterService counterService, TaskDispatcher<? super Task> taskDispatcher,
-        TaskExecutionService taskExecutionService, TaskFileStorage taskFileStorage) {
+        TaskExecutionService taskExecutionService, TaskFileStorage taskFileStorage,
+        TaskDispatcherWindowMetrics taskDispatcherWindowMetrics) {
 
         this.eventPublisher = eventPublisher;
         this.taskDispatcher = taskDispatcher;
@@ -73,16 +85,21 @@ public class EachTaskDispatcher implements TaskDispatcher<TaskExecution>, TaskDi
         this.contextService = contextService;
         this.counterService = counterService;
         this.taskFileStorage = taskFileStorage;
+        this.taskDispatcherWindowMetrics = taskDispatcherWindowMetrics;
     }
 
     @Override
     public void dispatch(TaskExecution taskExecution) {
         WorkflowTask iteratee = MapUtils.getRequired(taskExecution.getParameters(), ITERATEE, WorkflowTask.class);
-        List<Object> list = MapUtils.getRequiredList(taskExecution.getParameters(), LIST, Object.class);
+        List<?> list = getList(taskExecution.getParameters());
 
         taskExecution.setStartDate(LocalDateTime.now());
         taskExecution.setStatus(TaskExecution.Status.STARTED);
 
+        if (!list.isEmpty()) {
+            storeList(taskExecution, list);
+        }
+
         taskExecution = taskExecutionService.update(taskExecution);
 
         if (list.isEmpty()) {
@@ -92,36 +109,29 @@ public class EachTaskDispatcher implements TaskDispatcher<TaskExecution>, TaskDi
 
             eventPublisher.publishEvent(new TaskExecutionCompleteEvent(taskExecution));
         } else {
-            counterService.set(Validate.notNull(taskExecution.getId(), "id"), list.size());
+            long id = Validate.notNull(taskExecution.getId(), "id");
 
-            for (int i = 0; i < list.size(); i++) {
-                Object item = list.get(i);
-                TaskExecution iterateeTaskExecution = TaskExecution.builder()
-                    .jobId(taskExecution.getJobId())
-                    .parentId(taskExecution.getId())
-                    .priority(taskExecution.getPriority())
-                    .taskNumber(i + 1)
-                    .workflowTask(iteratee)
-                    .build();
+            counterService.set(id, list.size());
 
-                Map<String, Object> newContext = new HashMap<>(
-                    taskFileStorage.readContextValue(
-                        contextService.peek(
-                            Validate.notNull(taskExecution.getId(), "id"), Context.Classname.TASK_EXECUTION)));
+            FileEntry contextFileEntry = contextService.peek(id, Context.Classname.TASK_EXECUTION);
 
-                WorkflowTask workflowTask = taskExecution.getWorkflowTask();
+            Map<String, ?> context = taskFileStorage.readContextValue(contextFileEntry);
 
-                newContext.put(workflowTask.getName(), Map.of(ITEM, item, INDEX, i));
+            int maxConcurrency = MapUtils.getInteger(taskExecution.getParameters(), MAX_CONCURRENCY, 0);
 
-                iterateeTaskExecution = taskExecutionService.create(iterateeTaskExecution.evaluate(newContext));
+            // with a window only the first items are started, EachTaskCompletionHandler starts the rest one by one
 
-                contextService.push(
-                    Validate.notNull(iterateeTaskExecution.getId(), "id"), Context.Classname.TASK_EXECUTION,
-                    taskFileStorage.storeContextValue(
-                        Validate.notNull(iterateeTaskExecution.getId(), "id"), Context.Classname.TASK_EXECUTION,
-                        newContext));
+            int size = maxConcurrency > 0 ? Math.min(maxConcurrency, list.size()) : list.size();
+
+            for (int i = 0; i < size; i += BATCH_SIZE) {
+                dispatchBatch(
+                    taskExecution, iteratee, list.subList(i, Math.min(i + BATCH_SIZE, size)), i, contextFileEntry,
+                    context);
+            }
 
-                taskDispatcher.dispatch(iterateeTaskExecution);
+            if (size < list.size()) {
+                taskDispatcherWindowMetrics.update(
+                    Validate.notNull(taskExecution.getJobId(), "jobId"), id, maxConcurrency, list.size());
             }
         }
     }
@@ -134,4 +144,98 @@ public class EachTaskDispatcher implements TaskDispatcher<TaskExecution>, TaskDi
 
         return null;
     }
+
+    /**
+     * Returns the list of a task execution dispatched for the first time, or the stored list a retried task execution
+     * references.
+     */
+    private List<?> getList(Map<String, ?> parameters) {
+        if (parameters.containsKey(LIST_FILE_ENTRY)) {
+            return taskFileStorage.readTaskExecutionList(
+                new FileEntry(MapUtils.getRequiredMap(parameters, LIST_FILE_ENTRY)));
+        }
+
+        return MapUtils.getRequiredList(parameters, LIST, Object.class);
+    }
+
+    /**
+     * Stores the evaluated list once and replaces it in the parameters by its file entry and size, so the task
+     * execution row loaded on every iteratee completion no longer carries the whole list.
+     */
+    private void storeList(TaskExecution taskExecution, List<?> list) {
+        Map<String, Object> parameters = new HashMap<>(taskExecution.getParameters());
+
+        if (parameters.containsKey(LIST_FILE_ENTRY)) {
+            return;
+        }
+
+        FileEntry listFileEntry = taskFileStorage.storeTaskExecutionList(
+            Validate.notNull(taskExecution.getId(), "id"), list);
+
+        parameters.remove(LIST);
+        parameters.put(LIST_FILE_ENTRY, Map.of("name", listFileEntry.getName(), "url", listFileEntry.getUrl()));
+        parameters.put(LIST_SIZE, list.size());
+
+        WorkflowTask workflowTask = taskExecution.getWorkflowTask();
+
+        Map<String, Object> workflowTaskMap = new HashMap<>(workflowTask.toMap());
+
+        workflowTaskMap.put(WorkflowConstants.PARAMETERS, parameters);
+
+        taskExecution.setWorkflowTask(new WorkflowTask(workflowTaskMap));
+    }
+
+    /**
+     * Creates the iteratee task executions of a batch of items and their context rows with one batch insert each,
+     * storing every iteratee context as an overlay of the item and index on the parent's context.
+     */
+    private void dispatchBatch(
+        TaskExecution taskExecution, WorkflowTask iteratee, List<?> items, int offset,
+        FileEntry contextFileEntry, Map<String, ?> context) {
+
+        WorkflowTask workflowTask = taskExecution.getWorkflowTask();
+
+        Map<String, Object> iterateeContext = new HashMap<>(context);
+        List<Map<String, ?>> overlays = new ArrayList<>();
+        List<TaskExecution> iterateeTaskExecutions = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            Map<String, ?> overlay = Map.of(workflowTask.getName(), Map.of(ITEM, items.get(i), INDEX, offset + i));
+
+            iterateeContext.putAll(overlay);
+
+            TaskExecution iterateeTaskExecution = TaskExecution.builder()
+                .jobId(taskExecution.getJobId())
+                .parentId(taskExecution.getId())
+                .priority(taskExecution.getPriority())
+                .taskNumber(offset + i + 1)
+                .workflowTask(iteratee)
+                .build();
+
+            iterateeTaskExecutions.add(iterateeTaskExecution.evaluate(iterateeContext));
+            overlays.add(overlay);
+        }
+
+        iterateeTaskExecutions = taskExecutionService.create(iterateeTaskExecutions);
+
+        Map<Long, FileEntry> iterateeContextFileEntries = new LinkedHashMap<>();
+
+        for (int i = 0; i < iterateeTaskExecutions.size(); i++) {
+            TaskExecution iterateeTaskExecution = iterateeTaskExecutions.get(i);
+
+            long iterateeTaskExecutionId = Validate.notNull(iterateeTaskExecution.getId(), "id");
+
+            iterateeContextFileEntries.put(
+                iterateeTaskExecutionId,
+                taskFileStorage.storeContextOverlay(
+                    iterateeTaskExecutionId, Context.Classname.TASK_EXECUTION, contextFileEntry, context,
+                    overlays.get(i)));
+        }
+
+        contextService.push(Context.Classname.TASK_EXECUTION, iterateeContextFileEntries);
+
+        for (TaskExecution iterateeTaskExecution : iterateeTaskExecutions) {
+            taskDispatcher.dispatch(iterateeTaskExecution);
+        }
+    }
 }
@@ -26,6 +26,7 @@ import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConst
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.ITEM;
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.ITERATEE;
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.MAX_CONCURRENCY;
 
 import com.bytechef.commons.util.MapUtils;
 import com.bytechef.platform.registry.util.SchemaUtils;
@@ -52,7 +53,12 @@ public class EachTaskDispatcherDefinitionFactory implements TaskDispatcherDefini
         .properties(
             array(LIST)
                 .label("List of items")
-                .description("List of items to iterate over."))
+                .description("List of items to iterate over."),
+            integer(MAX_CONCURRENCY)
+                .label("Max concurrency")
+                .description(
+                    "Maximum number of items processed at the same time. The next item is started when one completes. Leave empty to start all items at once.")
+                .minValue(1))
         .taskProperties(task(ITERATEE))
         .variableProperties(EachTaskDispatcherDefinitionFactory::getVariableProperties);
 
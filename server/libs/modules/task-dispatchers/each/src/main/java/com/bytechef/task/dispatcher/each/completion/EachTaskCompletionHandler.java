@@ -19,13 +19,32 @@
 package com.bytechef.task.dispatcher.each.completion;
 
 import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.EACH;
-
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.INDEX;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.ITEM;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.ITERATEE;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST_FILE_ENTRY;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.LIST_SIZE;
+import static com.bytechef.task.dispatcher.each.constant.EachTaskDispatcherConstants.MAX_CONCURRENCY;
+
+import com.bytechef.atlas.configuration.domain.Task;
+import com.bytechef.atlas.configuration.domain.WorkflowTask;
 import com.bytechef.atlas.coordinator.task.completion.TaskCompletionHandler;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcher;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
+import com.bytechef.atlas.execution.domain.Context;
 import com.bytechef.atlas.execution.domain.TaskExecution;
+import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
+import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.commons.util.MapUtils;
+import com.bytechef.file.storage.domain.FileEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -34,18 +53,27 @@ import org.apache.commons.lang3.Validate;
  */
 public class EachTaskCompletionHandler implements TaskCompletionHandler {
 
-    private final TaskExecutionService taskExecutionService;
-    private final TaskCompletionHandler taskCompletionHandler;
+    private final ContextService contextService;
     private final CounterService counterService;
+    private final TaskCompletionHandler taskCompletionHandler;
+    private final TaskDispatcher<? super Task> taskDispatcher;
+    private final TaskDispatcherWindowMetrics taskDispatcherWindowMetrics;
+    private final TaskExecutionService taskExecutionService;
+    private final TaskFileStorage taskFileStorage;
 
     @SuppressFBWarnings("EI")
     public EachTaskCompletionHandler(
-        CounterService counterService, TaskCompletionHandler taskCompletionHandler,
-        TaskExecutionService taskExecutionService) {
+        ContextService contextService, CounterService counterService, TaskCompletionHandler taskCompletionHandler,
+        TaskDispatcher<? super Task> taskDispatcher, TaskExecutionService taskExecutionService,
+        TaskFileStorage taskFileStorage, TaskDispatcherWindowMetrics taskDispatcherWindowMetrics) {
 
-        this.taskExecutionService = taskExecutionService;
-        this.taskCompletionHandler = taskCompletionHandler;
+        this.contextService = contextService;
         this.counterService = counterService;
+        this.taskCompletionHandler = taskCompletionHandler;
+        this.taskDispatcher = taskDispatcher;
+        this.taskExecutionService = taskExecutionService;
+        this.taskFileStorage = taskFileStorage;
+        this.taskDispatcherWindowMetrics = taskDispatcherWindowMetrics;
     }
 
     @Override
@@ -71,8 +99,16 @@ public class EachTaskCompletionHandler implements TaskCompletionHandler {
 
         long subTasksLeft = counterService.decrement(Validate.notNull(taskExecution.getParentId(), "parentId"));
 
+        TaskExecution eachTaskExecution = taskExecutionService.getTaskExecution(taskExecution.getParentId());
+
+        int maxConcurrency = MapUtils.getInteger(eachTaskExecution.getParameters(), MAX_CONCURRENCY, 0);
+
+        if (maxConcurrency > 0) {
+            dispatchNextIteratee(eachTaskExecution, maxConcurrency, subTasksLeft);
+        }
+
         if (subTasksLeft == 0) {
-            TaskExecution eachTaskExecution = taskExecutionService.getTaskExecution(taskExecution.getParentId());
+            deleteList(eachTaskExecution.getParameters());
 
             eachTaskExecution.setEndDate(LocalDateTime.now());
 
@@ -80,4 +116,83 @@ public class EachTaskCompletionHandler implements TaskCompletionHandler {
             counterService.delete(taskExecution.getParentId());
         }
     }
+
+    private void deleteList(Map<String, ?> parameters) {
+        if (parameters.containsKey(LIST_FILE_ENTRY)) {
+            taskFileStorage.deleteTaskExecutionList(
+                new FileEntry(MapUtils.getRequiredMap(parameters, LIST_FILE_ENTRY)));
+        }
+    }
+
+    /**
+     * Returns the list stored by the dispatcher, or the list itself for a task execution dispatched before lists were
+     * stored separately. Served from the context cache when it is enabled, so the list is not read back per
+     * completion.
+     */
+    private List<?> getList(Map<String, ?> parameters) {
+        if (parameters.containsKey(LIST_FILE_ENTRY)) {
+            return taskFileStorage.readTaskExecutionList(
+                new FileEntry(MapUtils.getRequiredMap(parameters, LIST_FILE_ENTRY)));
+        }
+
+        return MapUtils.getRequiredList(parameters, LIST, Object.class);
+    }
+
+    /**
+     * Starts the item released by a completed iteratee of a windowed each task execution. Every completion decrements
+     * the counter to a distinct value, so the number of completed iteratees gives the index of the item to start next.
+     */
+    private void dispatchNextIteratee(TaskExecution eachTaskExecution, int maxConcurrency, long subTasksLeft) {
+        long id = Validate.notNull(eachTaskExecution.getId(), "id");
+        Map<String, ?> parameters = eachTaskExecution.getParameters();
+
+        int size = parameters.containsKey(LIST_SIZE)
+            ? MapUtils.getInteger(parameters, LIST_SIZE) : getList(parameters).size();
+
+        if (maxConcurrency >= size) {
+            return;
+        }
+
+        taskDispatcherWindowMetrics.update(
+            Validate.notNull(eachTaskExecution.getJobId(), "jobId"), id, maxConcurrency, subTasksLeft);
+
+        int index = Math.toIntExact(maxConcurrency + size - subTasksLeft - 1);
+
+        if (index >= size) {
+            return;
+        }
+
+        List<?> list = getList(parameters);
+
+        FileEntry contextFileEntry = contextService.peek(id, Context.Classname.TASK_EXECUTION);
+
+        Map<String, ?> context = taskFileStorage.readContextValue(contextFileEntry);
+
+        WorkflowTask workflowTask = eachTaskExecution.getWorkflowTask();
+
+        Map<String, ?> overlay = Map.of(workflowTask.getName(), Map.of(ITEM, list.get(index), INDEX, index));
+
+        Map<String, Object> iterateeContext = new HashMap<>(context);
+
+        iterateeContext.putAll(overlay);
+
+        TaskExecution iterateeTaskExecution = TaskExecution.builder()
+            .jobId(eachTaskExecution.getJobId())
+            .parentId(id)
+            .priority(eachTaskExecution.getPriority())
+            .taskNumber(index + 1)
+            .workflowTask(MapUtils.getRequired(eachTaskExecution.getParameters(), ITERATEE, WorkflowTask.class))
+            .build();
+
+        iterateeTaskExecution = taskExecutionService.create(iterateeTaskExecution.evaluate(iterateeContext));
+
+        long iterateeTaskExecutionId = Validate.notNull(iterateeTaskExecution.getId(), "id");
+
+        contextService.push(
+            iterateeTaskExecutionId, Context.Classname.TASK_EXECUTION,
+            taskFileStorage.storeContextOverlay(
+                iterateeTaskExecutionId, Context.Classname.TASK_EXECUTION, contextFileEntry, context, overlay));
+
+        taskDispatcher.dispatch(iterateeTaskExecution);
+    }
 }
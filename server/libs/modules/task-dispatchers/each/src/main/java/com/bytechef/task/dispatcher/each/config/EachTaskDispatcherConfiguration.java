@@ -18,12 +18,14 @@ package com.bytechef.task.dispatcher.each.config;
 
 import com.bytechef.atlas.coordinator.task.completion.TaskCompletionHandlerFactory;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherResolverFactory;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
 import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
 import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.task.dispatcher.each.EachTaskDispatcher;
 import com.bytechef.task.dispatcher.each.completion.EachTaskCompletionHandler;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -53,13 +55,19 @@ public class EachTaskDispatcherConfiguration {
     @Bean("eachTaskCompletionHandlerFactory_v1")
     TaskCompletionHandlerFactory eachTaskCompletionHandlerFactory() {
         return (taskCompletionHandler, taskDispatcher) -> new EachTaskCompletionHandler(
-            counterService, taskCompletionHandler, taskExecutionService);
+            contextService, counterService, taskCompletionHandler, taskDispatcher, taskExecutionService,
+            taskFileStorage, eachTaskDispatcherWindowMetrics());
     }
 
     @Bean("eachTaskDispatcherResolverFactory_v1")
     TaskDispatcherResolverFactory eachTaskDispatcherResolverFactory() {
         return (taskDispatcher) -> new EachTaskDispatcher(
             eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-            taskFileStorage);
+            taskFileStorage, eachTaskDispatcherWindowMetrics());
+    }
+
+    @Bean
+    TaskDispatcherWindowMetrics eachTaskDispatcherWindowMetrics() {
+        return new TaskDispatcherWindowMetrics("each", Metrics.globalRegistry);
     }
 }
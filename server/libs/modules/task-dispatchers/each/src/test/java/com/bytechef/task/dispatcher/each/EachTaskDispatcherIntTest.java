@@ -16,12 +16,15 @@
 
 package com.bytechef.task.dispatcher.each;
 
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
+import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.commons.util.EncodingUtils;
 import com.bytechef.platform.workflow.task.dispatcher.test.annotation.TaskDispatcherIntTest;
 import com.bytechef.platform.workflow.task.dispatcher.test.task.handler.TestVarTaskHandler;
 import com.bytechef.platform.workflow.task.dispatcher.test.workflow.TaskDispatcherJobTestExecutor;
 import com.bytechef.task.dispatcher.each.completion.EachTaskCompletionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -40,12 +43,18 @@ public class EachTaskDispatcherIntTest {
 
     private TestVarTaskHandler<List<String>, String> testVarTaskHandler;
 
+    @Autowired
+    private ContextService contextService;
+
     @Autowired
     private TaskDispatcherJobTestExecutor taskDispatcherJobTestExecutor;
 
     @Autowired
     private TaskFileStorage taskFileStorage;
 
+    private final TaskDispatcherWindowMetrics taskDispatcherWindowMetrics = new TaskDispatcherWindowMetrics(
+        "each", new SimpleMeterRegistry());
+
     @BeforeEach
     void beforeEach() {
         testVarTaskHandler = new TestVarTaskHandler<>(
@@ -59,12 +68,13 @@ public class EachTaskDispatcherIntTest {
             EncodingUtils.base64EncodeToString("each_v1"),
             (counterService, taskExecutionService) -> List.of(
                 (taskCompletionHandler, taskDispatcher) -> new EachTaskCompletionHandler(
-                    counterService, taskCompletionHandler, taskExecutionService)),
+                    contextService, counterService, taskCompletionHandler, taskDispatcher, taskExecutionService,
+                    taskFileStorage, taskDispatcherWindowMetrics)),
             (
                 messageBroker, contextService, counterService, taskExecutionService) -> List.of(
                     (taskDispatcher) -> new EachTaskDispatcher(
                         messageBroker, contextService, counterService, taskDispatcher, taskExecutionService,
-                        taskFileStorage)),
+                        taskFileStorage, taskDispatcherWindowMetrics)),
             () -> Map.of("var", testVarTaskHandler));
 
         Assertions.assertEquals(
@@ -19,7 +19,9 @@
 package com.bytechef.task.dispatcher.each;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -28,16 +30,23 @@ import static org.mockito.Mockito.when;
 import com.bytechef.atlas.configuration.constant.WorkflowConstants;
 import com.bytechef.atlas.configuration.domain.Task;
 import com.bytechef.atlas.configuration.domain.WorkflowTask;
+import com.bytechef.atlas.coordinator.event.JobStatusApplicationEvent;
 import com.bytechef.atlas.coordinator.event.TaskExecutionCompleteEvent;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcher;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
 import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.execution.domain.Job;
 import com.bytechef.atlas.execution.domain.TaskExecution;
 import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
 import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.atlas.file.storage.TaskFileStorageImpl;
+import com.bytechef.commons.util.MapUtils;
 import com.bytechef.file.storage.base64.service.Base64FileStorageService;
+import com.bytechef.file.storage.domain.FileEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +64,9 @@ public class EachTaskDispatcherTest {
     private final CounterService counterService = mock(CounterService.class);
     @SuppressWarnings("unchecked")
     private final TaskDispatcher<? super Task> taskDispatcher = mock(TaskDispatcher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskDispatcherWindowMetrics taskDispatcherWindowMetrics = new TaskDispatcherWindowMetrics(
+        "each", meterRegistry);
     private final TaskExecutionService taskExecutionService = mock(TaskExecutionService.class);
     private final TaskFileStorage taskFileStorage = new TaskFileStorageImpl(new Base64FileStorageService());
 
@@ -63,7 +75,7 @@ public class EachTaskDispatcherTest {
         Assertions.assertThrows(NullPointerException.class, () -> {
             EachTaskDispatcher dispatcher = new EachTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage);
+                taskFileStorage, taskDispatcherWindowMetrics);
 
             dispatcher.dispatch(TaskExecution.builder()
                 .workflowTask(new WorkflowTask(Map.of(WorkflowConstants.NAME, "name", WorkflowConstants.TYPE, "type")))
@@ -75,14 +87,21 @@ public class EachTaskDispatcherTest {
     public void testDispatch2() {
         when(contextService.peek(anyLong(), any()))
             .thenReturn(taskFileStorage.storeContextValue(1, Context.Classname.TASK_EXECUTION, Map.of()));
-        when(taskExecutionService.create(any()))
-            .thenReturn(TaskExecution.builder()
-                .id(1L)
-                .build());
+        when(taskExecutionService.create(anyList()))
+            .thenAnswer(invocation -> {
+                List<TaskExecution> taskExecutions = invocation.getArgument(0);
+
+                for (int i = 0; i < taskExecutions.size(); i++) {
+                    taskExecutions.get(i)
+                        .setId(i + 2L);
+                }
+
+                return taskExecutions;
+            });
 
         EachTaskDispatcher dispatcher = new EachTaskDispatcher(
             eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-            taskFileStorage);
+            taskFileStorage, taskDispatcherWindowMetrics);
         TaskExecution taskExecution = TaskExecution.builder()
             .workflowTask(
                 new WorkflowTask(
@@ -103,15 +122,124 @@ public class EachTaskDispatcherTest {
 
         dispatcher.dispatch(taskExecution);
 
+        verify(taskExecutionService, times(1)).create(anyList());
+        verify(contextService, times(1)).push(any(Context.Classname.class), anyMap());
         verify(taskDispatcher, times(3)).dispatch(any());
         verify(eventPublisher, times(0)).publishEvent(any());
+
+        Map<String, ?> parameters = taskExecution.getParameters();
+
+        Assertions.assertFalse(parameters.containsKey("list"));
+        Assertions.assertEquals(3, MapUtils.getInteger(parameters, "listSize"));
+        Assertions.assertEquals(
+            List.of(1, 2, 3),
+            taskFileStorage.readTaskExecutionList(new FileEntry(MapUtils.getRequiredMap(parameters, "listFileEntry"))));
+    }
+
+    @Test
+    public void testDispatchRetry() {
+        when(contextService.peek(anyLong(), any()))
+            .thenReturn(taskFileStorage.storeContextValue(1, Context.Classname.TASK_EXECUTION, Map.of()));
+        when(taskExecutionService.create(anyList()))
+            .thenAnswer(invocation -> {
+                List<TaskExecution> taskExecutions = invocation.getArgument(0);
+
+                for (int i = 0; i < taskExecutions.size(); i++) {
+                    taskExecutions.get(i)
+                        .setId(i + 3L);
+                }
+
+                return taskExecutions;
+            });
+
+        FileEntry listFileEntry = taskFileStorage.storeTaskExecutionList(1, List.of(1, 2));
+
+        EachTaskDispatcher dispatcher = new EachTaskDispatcher(
+            eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
+            taskFileStorage, taskDispatcherWindowMetrics);
+        TaskExecution taskExecution = TaskExecution.builder()
+            .workflowTask(
+                new WorkflowTask(
+                    Map.of(
+                        WorkflowConstants.NAME, "name",
+                        WorkflowConstants.TYPE, "type",
+                        WorkflowConstants.PARAMETERS,
+                        Map.of(
+                            "listFileEntry", Map.of("name", listFileEntry.getName(), "url", listFileEntry.getUrl()),
+                            "listSize", 2,
+                            "iteratee", new WorkflowTask(Map.of(WorkflowConstants.NAME, "name", "type", "print"))))))
+            .build();
+
+        taskExecution.setId(2L);
+        taskExecution.setJobId(1L);
+
+        when(taskExecutionService.update(any()))
+            .thenReturn(taskExecution);
+
+        dispatcher.dispatch(taskExecution);
+
+        verify(counterService, times(1)).set(2L, 2);
+        verify(taskDispatcher, times(2)).dispatch(any());
+    }
+
+    @Test
+    public void testDispatchWithMaxConcurrency() {
+        when(contextService.peek(anyLong(), any()))
+            .thenReturn(taskFileStorage.storeContextValue(1, Context.Classname.TASK_EXECUTION, Map.of()));
+        when(taskExecutionService.create(anyList()))
+            .thenAnswer(invocation -> {
+                List<TaskExecution> taskExecutions = invocation.getArgument(0);
+
+                for (int i = 0; i < taskExecutions.size(); i++) {
+                    taskExecutions.get(i)
+                        .setId(i + 2L);
+                }
+
+                return taskExecutions;
+            });
+
+        EachTaskDispatcher dispatcher = new EachTaskDispatcher(
+            eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
+            taskFileStorage, taskDispatcherWindowMetrics);
+        TaskExecution taskExecution = TaskExecution.builder()
+            .workflowTask(
+                new WorkflowTask(
+                    Map.of(
+                        WorkflowConstants.NAME, "name",
+                        WorkflowConstants.TYPE, "type",
+                        WorkflowConstants.PARAMETERS,
+                        Map.of(
+                            "list", Arrays.asList(1, 2, 3, 4, 5),
+                            "iteratee", new WorkflowTask(Map.of(WorkflowConstants.NAME, "name", "type", "print")),
+                            "maxConcurrency", 2))))
+            .build();
+
+        taskExecution.setId(1L);
+        taskExecution.setJobId(1L);
+
+        when(taskExecutionService.update(any()))
+            .thenReturn(taskExecution);
+
+        dispatcher.dispatch(taskExecution);
+
+        verify(counterService, times(1)).set(1L, 5);
+        verify(taskDispatcher, times(2)).dispatch(any());
+        verify(eventPublisher, times(0)).publishEvent(any());
+
+        Assertions.assertEquals(2, getIteratees("in-flight"));
+        Assertions.assertEquals(3, getIteratees("queued"));
+
+        taskDispatcherWindowMetrics.onApplicationEvent(new JobStatusApplicationEvent(1L, Job.Status.FAILED));
+
+        Assertions.assertEquals(0, getIteratees("in-flight"));
+        Assertions.assertEquals(0, getIteratees("queued"));
     }
 
     @Test
     public void testDispatch3() {
         EachTaskDispatcher dispatcher = new EachTaskDispatcher(
             eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-            taskFileStorage);
+            taskFileStorage, taskDispatcherWindowMetrics);
         TaskExecution taskExecution = TaskExecution.builder()
             .id(
                 1L)
@@ -134,4 +262,12 @@ public class EachTaskDispatcherTest {
         verify(taskDispatcher, times(0)).dispatch(any());
         verify(eventPublisher, times(1)).publishEvent(any(TaskExecutionCompleteEvent.class));
     }
+
+    private double getIteratees(String state) {
+        Gauge gauge = meterRegistry.get("bytechef.task.dispatcher.each.iteratees")
+            .tag("state", state)
+            .gauge();
+
+        return gauge.value();
+    }
 }
@@ -3,5 +3,6 @@ version="1.0"
 dependencies {
     api(project(":server:libs:atlas:atlas-coordinator:atlas-coordinator-api"))
 
+    implementation("io.micrometer:micrometer-core")
     implementation("org.springframework.boot:spring-boot-autoconfigure")
 }
@@ -25,6 +25,7 @@ import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstan
 import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.ITEM;
 import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.ITERATEE;
 import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.LIST;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.MAX_CONCURRENCY;
 import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.MAP;
 
 import com.bytechef.commons.util.MapUtils;
@@ -53,7 +54,12 @@ public class MapTaskDispatcherDefinitionFactory implements TaskDispatcherDefinit
         .properties(
             array(LIST)
                 .label("List of items")
-                .description("List of items to iterate over."))
+                .description("List of items to iterate over."),
+            integer(MAX_CONCURRENCY)
+                .label("Max concurrency")
+                .description(
+                    "Maximum number of items processed at the same time. The next item is started when one completes. Leave empty to start all items at once.")
+                .minValue(1))
         .output(getOutputFunction())
         .taskProperties(task(ITERATEE))
         .variableProperties(MapTaskDispatcherDefinitionFactory::getVariableProperties);
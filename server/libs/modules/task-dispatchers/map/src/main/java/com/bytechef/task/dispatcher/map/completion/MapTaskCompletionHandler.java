@@ -18,16 +18,34 @@
 
 package com.bytechef.task.dispatcher.map.completion;
 
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.INDEX;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.ITEM;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.ITERATEE;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.LIST;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.LIST_FILE_ENTRY;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.LIST_SIZE;
 import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.MAP;
+import static com.bytechef.task.dispatcher.map.constant.MapTaskDispatcherConstants.MAX_CONCURRENCY;
 
+import com.bytechef.atlas.configuration.domain.Task;
+import com.bytechef.atlas.configuration.domain.WorkflowTask;
 import com.bytechef.atlas.coordinator.task.completion.TaskCompletionHandler;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcher;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
+import com.bytechef.atlas.execution.domain.Context.Classname;
 import com.bytechef.atlas.execution.domain.TaskExecution;
+import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
 import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.commons.util.MapUtils;
+import com.bytechef.file.storage.domain.FileEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.Validate;
 
@@ -37,20 +55,28 @@ import org.apache.commons.lang3.Validate;
  */
 public class MapTaskCompletionHandler implements TaskCompletionHandler {
 
+    private final ContextService contextService;
     private final TaskExecutionService taskExecutionService;
     private final TaskCompletionHandler taskCompletionHandler;
     private final CounterService counterService;
+    private final TaskDispatcher<? super Task> taskDispatcher;
+    private final TaskDispatcherWindowMetrics taskDispatcherWindowMetrics;
     private final TaskFileStorage taskFileStorage;
 
     @SuppressFBWarnings("EI")
     public MapTaskCompletionHandler(
-        TaskExecutionService taskExecutionService, TaskCompletionHandler taskCompletionHandler,
-        CounterService counterService, TaskFileStorage taskFileStorage) {
+        ContextService contextService, TaskExecutionService taskExecutionService,
+        TaskCompletionHandler taskCompletionHandler, CounterService counterService,
+        TaskDispatcher<? super Task> taskDispatcher, TaskFileStorage taskFileStorage,
+        TaskDispatcherWindowMetrics taskDispatcherWindowMetrics) {
 
+        this.contextService = contextService;
         this.taskExecutionService = taskExecutionService;
         this.taskCompletionHandler = taskCompletionHandler;
         this.counterService = counterService;
+        this.taskDispatcher = taskDispatcher;
         this.taskFileStorage = taskFileStorage;
+        this.taskDispatcherWindowMetrics = taskDispatcherWindowMetrics;
     }
 
     @Override
@@ -75,17 +101,29 @@ public class MapTaskCompletionHandler implements TaskCompletionHandler {
 
         long subtasksLeft = counterService.decrement(Validate.notNull(taskExecution.getParentId(), "parentId"));
 
+        TaskExecution mapTaskExecution = taskExecutionService.getTaskExecution(taskExecution.getParentId());
+
+        int maxConcurrency = MapUtils.getInteger(mapTaskExecution.getParameters(), MAX_CONCURRENCY, 0);
+
+        if (maxConcurrency > 0) {
+            dispatchNextIteratee(mapTaskExecution, maxConcurrency, subtasksLeft);
+        }
+
         if (subtasksLeft == 0) {
+            deleteList(mapTaskExecution.getParameters());
+
             List<TaskExecution> childTaskExecutions = taskExecutionService
                 .getParentTaskExecutions(taskExecution.getParentId());
-            TaskExecution mapTaskExecution = taskExecutionService.getTaskExecution(taskExecution.getParentId());
 
             mapTaskExecution.setEndDate(LocalDateTime.now());
 
+            // windowed iteratees are not created in item order, so the outputs are ordered by the task number
+
             mapTaskExecution.setOutput(
                 taskFileStorage.storeTaskExecutionOutput(
                     Validate.notNull(mapTaskExecution.getId(), "id"),
                     childTaskExecutions.stream()
+                        .sorted(Comparator.comparingInt(TaskExecution::getTaskNumber))
                         .map(output -> taskFileStorage.readTaskExecutionOutput(output.getOutput()))
                         .collect(Collectors.toList())));
 
@@ -93,4 +131,83 @@ public class MapTaskCompletionHandler implements TaskCompletionHandler {
             counterService.delete(taskExecution.getParentId());
         }
     }
+
+    private void deleteList(Map<String, ?> parameters) {
+        if (parameters.containsKey(LIST_FILE_ENTRY)) {
+            taskFileStorage.deleteTaskExecutionList(
+                new FileEntry(MapUtils.getRequiredMap(parameters, LIST_FILE_ENTRY)));
+        }
+    }
+
+    /**
+     * Returns the list stored by the dispatcher, or the list itself for a task execution dispatched before lists were
+     * stored separately. Served from the context cache when it is enabled, so the list is not read back per
+     * completion.
+     */
+    private List<?> getList(Map<String, ?> parameters) {
+        if (parameters.containsKey(LIST_FILE_ENTRY)) {
+            return taskFileStorage.readTaskExecutionList(
+                new FileEntry(MapUtils.getRequiredMap(parameters, LIST_FILE_ENTRY)));
+        }
+
+        return MapUtils.getRequiredList(parameters, LIST, Object.class);
+    }
+
+    /**
+     * Starts the item released by a completed iteratee of a windowed map task execution. Every completion decrements
+     * the counter to a distinct value, so the number of completed iteratees gives the index of the item to start next.
+     */
+    private void dispatchNextIteratee(TaskExecution mapTaskExecution, int maxConcurrency, long subtasksLeft) {
+        long id = Validate.notNull(mapTaskExecution.getId(), "id");
+        Map<String, ?> parameters = mapTaskExecution.getParameters();
+
+        int size = parameters.containsKey(LIST_SIZE)
+            ? MapUtils.getInteger(parameters, LIST_SIZE) : getList(parameters).size();
+
+        if (maxConcurrency >= size) {
+            return;
+        }
+
+        taskDispatcherWindowMetrics.update(
+            Validate.notNull(mapTaskExecution.getJobId(), "jobId"), id, maxConcurrency, subtasksLeft);
+
+        int index = Math.toIntExact(maxConcurrency + size - subtasksLeft - 1);
+
+        if (index >= size) {
+            return;
+        }
+
+        List<?> list = getList(parameters);
+
+        FileEntry contextFileEntry = contextService.peek(id, Classname.TASK_EXECUTION);
+
+        Map<String, ?> context = taskFileStorage.readContextValue(contextFileEntry);
+
+        WorkflowTask workflowTask = mapTaskExecution.getWorkflowTask();
+
+        Map<String, ?> overlay = Map.of(workflowTask.getName(), Map.of(ITEM, list.get(index), INDEX, index));
+
+        Map<String, Object> iterateeContext = new HashMap<>(context);
+
+        iterateeContext.putAll(overlay);
+
+        TaskExecution iterateeTaskExecution = TaskExecution.builder()
+            .jobId(mapTaskExecution.getJobId())
+            .parentId(id)
+            .priority(mapTaskExecution.getPriority())
+            .taskNumber(index + 1)
+            .workflowTask(new WorkflowTask(MapUtils.getRequiredMap(mapTaskExecution.getParameters(), ITERATEE)))
+            .build();
+
+        iterateeTaskExecution = taskExecutionService.create(iterateeTaskExecution.evaluate(iterateeContext));
+
+        long iterateeTaskExecutionId = Validate.notNull(iterateeTaskExecution.getId(), "id");
+
+        contextService.push(
+            iterateeTaskExecutionId, Classname.TASK_EXECUTION,
+            taskFileStorage.storeContextOverlay(
+                iterateeTaskExecutionId, Classname.TASK_EXECUTION, contextFileEntry, context, overlay));
+
+        taskDispatcher.dispatch(iterateeTaskExecution);
+    }
 }
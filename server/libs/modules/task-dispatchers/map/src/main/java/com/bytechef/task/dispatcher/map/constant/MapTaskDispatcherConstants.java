@@ -23,7 +23,10 @@ public class MapTaskDispatcherConstants {
 
     public static final String MAP = "map";
     public static final String LIST = "list";
+    public static final String LIST_FILE_ENTRY = "listFileEntry";
+    public static final String LIST_SIZE = "listSize";
     public static final String INDEX = "index";
     public static final String ITERATEE = "iteratee";
     public static final String ITEM = "item";
+    public static final String MAX_CONCURRENCY = "maxConcurrency";
 }
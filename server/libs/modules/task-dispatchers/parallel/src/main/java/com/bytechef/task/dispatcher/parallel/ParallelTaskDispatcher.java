@@ -31,11 +31,13 @@ import com.bytechef.atlas.execution.domain.TaskExecution;
 import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
-import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.commons.util.MapUtils;
+import com.bytechef.file.storage.domain.FileEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,20 +59,18 @@ public class ParallelTaskDispatcher implements TaskDispatcher<TaskExecution>, Ta
     private final CounterService counterService;
     private final TaskDispatcher<? super Task> taskDispatcher;
     private final TaskExecutionService taskExecutionService;
-    private final TaskFileStorage taskFileStorage;
 
     @SuppressFBWarnings("EI")
     public ParallelTaskDispatcher(
         ApplicationEventPublisher eventPublisher, ContextService contextService,
         CounterService counterService, TaskDispatcher<? super Task> taskDispatcher,
-        TaskExecutionService taskExecutionService, TaskFileStorage taskFileStorage) {
+        TaskExecutionService taskExecutionService) {
 
         this.eventPublisher = eventPublisher;
         this.contextService = contextService;
         this.counterService = counterService;
         this.taskDispatcher = taskDispatcher;
         this.taskExecutionService = taskExecutionService;
-        this.taskFileStorage = taskFileStorage;
     }
 
     @Override
@@ -86,27 +86,36 @@ public class ParallelTaskDispatcher implements TaskDispatcher<TaskExecution>, Ta
 
             eventPublisher.publishEvent(new TaskExecutionCompleteEvent(taskExecution));
         } else {
-            counterService.set(Validate.notNull(taskExecution.getId(), "id"), workflowTasks.size());
+            long id = Validate.notNull(taskExecution.getId(), "id");
+
+            counterService.set(id, workflowTasks.size());
+
+            List<TaskExecution> parallelTaskExecutions = new ArrayList<>();
 
             for (WorkflowTask workflowTask : workflowTasks) {
-                TaskExecution parallelTaskExecution = TaskExecution.builder()
-                    .jobId(taskExecution.getJobId())
-                    .parentId(taskExecution.getId())
-                    .priority(taskExecution.getPriority())
-                    .workflowTask(workflowTask)
-                    .build();
-
-                parallelTaskExecution = taskExecutionService.create(parallelTaskExecution);
-
-                Map<String, ?> context = taskFileStorage.readContextValue(
-                    contextService.peek(
-                        Validate.notNull(taskExecution.getId(), "id"), Context.Classname.TASK_EXECUTION));
-
-                contextService.push(
-                    Validate.notNull(parallelTaskExecution.getId(), "id"), Context.Classname.TASK_EXECUTION,
-                    taskFileStorage.storeContextValue(
-                        Validate.notNull(parallelTaskExecution.getId(), "id"), Context.Classname.TASK_EXECUTION,
-                        context));
+                parallelTaskExecutions.add(
+                    TaskExecution.builder()
+                        .jobId(taskExecution.getJobId())
+                        .parentId(taskExecution.getId())
+                        .priority(taskExecution.getPriority())
+                        .workflowTask(workflowTask)
+                        .build());
+            }
+
+            parallelTaskExecutions = taskExecutionService.create(parallelTaskExecutions);
+
+            // every branch starts from the parent's context, so its file entry is shared rather than copied
+
+            FileEntry contextFileEntry = contextService.peek(id, Context.Classname.TASK_EXECUTION);
+            Map<Long, FileEntry> contextFileEntries = new LinkedHashMap<>();
+
+            for (TaskExecution parallelTaskExecution : parallelTaskExecutions) {
+                contextFileEntries.put(Validate.notNull(parallelTaskExecution.getId(), "id"), contextFileEntry);
+            }
+
+            contextService.push(Context.Classname.TASK_EXECUTION, contextFileEntries);
+
+            for (TaskExecution parallelTaskExecution : parallelTaskExecutions) {
                 taskDispatcher.dispatch(parallelTaskExecution);
             }
         }
@@ -21,7 +21,6 @@ import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherResolverFact
 import com.bytechef.atlas.execution.service.ContextService;
 import com.bytechef.atlas.execution.service.CounterService;
 import com.bytechef.atlas.execution.service.TaskExecutionService;
-import com.bytechef.atlas.file.storage.TaskFileStorage;
 import com.bytechef.task.dispatcher.parallel.ParallelTaskDispatcher;
 import com.bytechef.task.dispatcher.parallel.completion.ParallelTaskCompletionHandler;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,9 +46,6 @@ public class ParallelTaskDispatcherConfiguration {
     @Autowired
     private TaskExecutionService taskExecutionService;
 
-    @Autowired
-    private TaskFileStorage taskFileStorage;
-
     @Bean("parallelTaskCompletionHandlerFactory_v1")
     TaskCompletionHandlerFactory parallelTaskCompletionHandlerFactory() {
         return (taskCompletionHandler, taskDispatcher) -> new ParallelTaskCompletionHandler(counterService,
@@ -59,7 +55,6 @@ public class ParallelTaskDispatcherConfiguration {
     @Bean("parallelTaskDispatcherResolverFactory_v1")
     TaskDispatcherResolverFactory parallelTaskDispatcherResolverFactory() {
         return (taskDispatcher) -> new ParallelTaskDispatcher(
-            eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-            taskFileStorage);
+            eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService);
     }
 }
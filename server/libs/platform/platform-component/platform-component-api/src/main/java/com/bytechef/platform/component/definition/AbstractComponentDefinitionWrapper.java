@@ -23,6 +23,7 @@ import com.bytechef.component.definition.ComponentDefinition;
 import com.bytechef.component.definition.ConnectionDefinition;
 import com.bytechef.component.definition.DataStreamDefinition;
 import com.bytechef.component.definition.Help;
+import com.bytechef.component.definition.RateLimit;
 import com.bytechef.component.definition.Resources;
 import com.bytechef.component.definition.TriggerDefinition;
 import com.bytechef.component.definition.UnifiedApiDefinition;
@@ -50,6 +51,7 @@ public abstract class AbstractComponentDefinitionWrapper implements ComponentDef
     protected final List<String> tags;
     protected final Map<String, Object> metadata;
     protected final String name;
+    protected final RateLimit rateLimit;
     protected final Resources resources;
     protected final String title;
     protected final List<? extends TriggerDefinition> triggers;
@@ -68,6 +70,7 @@ public abstract class AbstractComponentDefinitionWrapper implements ComponentDef
         this.tags = OptionalUtils.orElse(componentDefinition.getTags(), null);
         this.metadata = OptionalUtils.orElse(componentDefinition.getMetadata(), null);
         this.name = componentDefinition.getName();
+        this.rateLimit = OptionalUtils.orElse(componentDefinition.getRateLimit(), null);
         this.resources = OptionalUtils.orElse(componentDefinition.getResources(), null);
         this.title = OptionalUtils.orElse(componentDefinition.getTitle(), null);
         this.triggers = OptionalUtils.orElse(componentDefinition.getTriggers(), null);
@@ -125,6 +128,11 @@ public abstract class AbstractComponentDefinitionWrapper implements ComponentDef
         return name;
     }
 
+    @Override
+    public Optional<RateLimit> getRateLimit() {
+        return Optional.ofNullable(rateLimit);
+    }
+
     @Override
     @SuppressFBWarnings("EI")
     public Optional<Resources> getResources() {
@@ -65,6 +65,7 @@ public class ComponentDefinitionWrapper extends AbstractComponentDefinitionWrapp
             ", customActionHelp=" + customActionHelp +
             ", actions=" + actions +
             ", triggers=" + triggers +
+            ", rateLimit=" + rateLimit +
             ", resources=" + resources +
             ", tags=" + tags +
             ", dataStreamDefinition=" + dataStreamDefinition +
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token buckets that limit the rate of component HTTP requests, keyed by connection or by component and host. Callers
+ * pass keys that are already scoped by tenant.
+ *
+ * @author agent
+ */
+public interface RateLimiter {
+
+    /**
+     * Stops handing out tokens of the given bucket for the given duration, e.g. when the remote service answered with a
+     * {@code Retry-After} header.
+     */
+    void pause(String key, Duration duration);
+
+    /**
+     * Takes a token from the given bucket, which holds at most {@code limit} tokens and refills them evenly over the
+     * period. A limit of 0 takes no token and only honours a pause.
+     *
+     * @return 0 if a token was taken, otherwise the time in milliseconds after which one is available
+     */
+    long tryAcquire(String key, int limit, Duration period);
+}
@@ -0,0 +1,5 @@
+dependencies {
+    implementation("org.springframework.boot:spring-boot-autoconfigure")
+    implementation("org.springframework.data:spring-data-redis")
+    implementation(project(":server:libs:platform:platform-component:platform-component-api"))
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.ratelimit.redis;
+
+import com.bytechef.platform.component.ratelimit.RateLimiter;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Keeps the token buckets in Redis hashes, so all workers of a cluster share the limits of a connection. Tokens are
+ * taken and refilled by a Lua script using the Redis server clock, so the result does not depend on worker clocks.
+ *
+ * @author agent
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "bytechef:rate-limit:";
+
+    private static final RedisScript<Long> PAUSE_SCRIPT = RedisScript.of(
+        """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local duration = tonumber(ARGV[1])
+            local pausedUntil = tonumber(redis.call('HGET', KEYS[1], 'pausedUntil')) or 0
+
+            if now + duration > pausedUntil then
+                redis.call('HSET', KEYS[1], 'pausedUntil', now + duration)
+            end
+
+            if redis.call('PTTL', KEYS[1]) < duration then
+                redis.call('PEXPIRE', KEYS[1], duration)
+            end
+
+            return 0
+            """,
+        Long.class);
+
+    private static final RedisScript<Long> TRY_ACQUIRE_SCRIPT = RedisScript.of(
+        """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local limit = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'timestamp', 'pausedUntil')
+            local pausedUntil = tonumber(bucket[3]) or 0
+
+            if pausedUntil > now then
+                return pausedUntil - now
+            end
+
+            if limit <= 0 then
+                return 0
+            end
+
+            local tokens = tonumber(bucket[1])
+            local timestamp = tonumber(bucket[2])
+
+            if tokens == nil or timestamp == nil or period <= 0 then
+                tokens = limit
+            else
+                tokens = math.min(limit, tokens + (now - timestamp) * limit / period)
+            end
+
+            local waitTime = 0
+
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                waitTime = math.ceil((1 - tokens) * period / limit)
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'timestamp', now)
+            redis.call('PEXPIRE', KEYS[1], math.max(period, 1000))
+
+            return waitTime
+            """,
+        Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @SuppressFBWarnings("EI")
+    public RedisRateLimiter(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    public void pause(String key, Duration duration) {
+        stringRedisTemplate.execute(PAUSE_SCRIPT, List.of(getKey(key)), String.valueOf(duration.toMillis()));
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, Duration period) {
+        Long waitTime = stringRedisTemplate.execute(
+            TRY_ACQUIRE_SCRIPT, List.of(getKey(key)), String.valueOf(limit), String.valueOf(period.toMillis()));
+
+        return waitTime == null ? 0 : waitTime;
+    }
+
+    private static String getKey(String key) {
+        return KEY_PREFIX + key;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.ratelimit.redis.config;
+
+import com.bytechef.platform.component.ratelimit.RateLimiter;
+import com.bytechef.platform.component.ratelimit.redis.RedisRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * @author agent
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bytechef", name = "component.rate-limiter.provider", havingValue = "redis")
+public class RedisRateLimiterConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiterConfiguration.class);
+
+    public RedisRateLimiterConfiguration() {
+        if (logger.isInfoEnabled()) {
+            logger.info("Component rate limiter provider type enabled: redis");
+        }
+    }
+
+    @Bean
+    @Primary
+    RateLimiter redisRateLimiter(RedisConnectionFactory redisConnectionFactory) {
+        return new RedisRateLimiter(new StringRedisTemplate(redisConnectionFactory));
+    }
+}
@@ -19,6 +19,7 @@ package com.bytechef.platform.component.definition;
 import com.bytechef.component.definition.ActionContext;
 import com.bytechef.component.definition.Context;
 import com.bytechef.component.definition.TriggerContext;
+import com.bytechef.config.ApplicationProperties;
 import com.bytechef.platform.component.domain.ComponentConnection;
 import com.bytechef.platform.component.service.ConnectionDefinitionService;
 import com.bytechef.platform.constant.ModeType;
@@ -41,17 +42,27 @@ class ContextFactoryImpl implements ContextFactory {
     private final DataStorage dataStorage;
     private final ApplicationEventPublisher eventPublisher;
     private final FilesFileStorage filesFileStorage;
+    private final HttpClientPool httpClientPool;
+    private final HttpClientRateLimiter httpClientRateLimiter;
+    private final long maxResponseSize;
 
     @SuppressFBWarnings("EI")
     public ContextFactoryImpl(
-        ApplicationContext applicationContext, ConnectionDefinitionService connectionDefinitionService,
-        DataStorage dataStorage, ApplicationEventPublisher eventPublisher, FilesFileStorage filesFileStorage) {
+        ApplicationContext applicationContext, ApplicationProperties applicationProperties,
+        ConnectionDefinitionService connectionDefinitionService, DataStorage dataStorage,
+        ApplicationEventPublisher eventPublisher, FilesFileStorage filesFileStorage, HttpClientPool httpClientPool,
+        HttpClientRateLimiter httpClientRateLimiter) {
 
         this.applicationContext = applicationContext;
         this.connectionDefinitionService = connectionDefinitionService;
         this.dataStorage = dataStorage;
         this.eventPublisher = eventPublisher;
         this.filesFileStorage = filesFileStorage;
+        this.httpClientPool = httpClientPool;
+        this.httpClientRateLimiter = httpClientRateLimiter;
+        this.maxResponseSize = applicationProperties.getComponent()
+            .getHttpClient()
+            .getMaxResponseSize();
     }
 
     @Override
@@ -101,6 +112,7 @@ class ContextFactoryImpl implements ContextFactory {
 
     private HttpClientExecutor getHttpClientExecutor(boolean devEnvironment) {
         return new HttpClientExecutor(
-            applicationContext, connectionDefinitionService, getFilesFileStorage(devEnvironment));
+            applicationContext, connectionDefinitionService, getFilesFileStorage(devEnvironment), httpClientPool,
+            httpClientRateLimiter, maxResponseSize);
     }
 }
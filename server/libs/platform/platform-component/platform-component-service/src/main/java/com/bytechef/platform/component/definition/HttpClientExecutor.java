@@ -46,12 +46,16 @@ import com.github.mizosoft.methanol.Methanol;
 import com.github.mizosoft.methanol.MoreBodyPublishers;
 import com.github.mizosoft.methanol.MultipartBodyPublisher;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
-import java.net.InetSocketAddress;
-import java.net.ProxySelector;
-import java.net.Socket;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
@@ -59,8 +63,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
-import java.security.cert.X509Certificate;
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -68,10 +71,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLEngine;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509ExtendedTrustManager;
+import java.util.stream.Stream;
+import javax.net.ssl.SSLSession;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -86,18 +87,28 @@ class HttpClientExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpClientExecutor.class);
 
+    private static final Counter STORED_RESPONSES = Metrics.counter(
+        "bytechef.component.http.client.responses.stored");
+
     private final ApplicationContext applicationContext;
     private final ConnectionDefinitionService connectionDefinitionService;
     private final FilesFileStorage filesFileStorage;
+    private final HttpClientPool httpClientPool;
+    private final HttpClientRateLimiter httpClientRateLimiter;
+    private final long maxResponseSize;
 
     @SuppressFBWarnings("EI")
     public HttpClientExecutor(
         ApplicationContext applicationContext, ConnectionDefinitionService connectionDefinitionService,
-        FilesFileStorage filesFileStorage) {
+        FilesFileStorage filesFileStorage, HttpClientPool httpClientPool, HttpClientRateLimiter httpClientRateLimiter,
+        long maxResponseSize) {
 
         this.applicationContext = applicationContext;
         this.connectionDefinitionService = connectionDefinitionService;
         this.filesFileStorage = filesFileStorage;
+        this.httpClientPool = httpClientPool;
+        this.httpClientRateLimiter = httpClientRateLimiter;
+        this.maxResponseSize = maxResponseSize;
     }
 
     public Response execute(
@@ -106,11 +117,15 @@ class HttpClientExecutor {
         String componentOperationName, ComponentConnection componentConnection, Context context)
         throws Exception {
 
-        HttpResponse<?> httpResponse;
+        // the lease keeps the shared client from being closed while it is in use
+
+        HttpClientPool.Lease lease = httpClientPool.lease(configuration);
+        boolean bodyPending = false;
 
-        try (HttpClient httpClient = createHttpClient(
-            headers, queryParameters, configuration, componentName, componentVersion, componentOperationName,
-            componentConnection, context)) {
+        try {
+            HttpClient httpClient = createHttpClient(
+                lease.httpClient(), headers, queryParameters, configuration, componentName, componentVersion,
+                componentOperationName, componentConnection, context);
 
             HttpRequest httpRequest = createHTTPRequest(
                 urlString, requestMethod, headers, queryParameters, body, componentName, componentConnection, context);
@@ -121,10 +136,42 @@ class HttpClientExecutor {
                     httpRequest.uri(), requestMethod, headers, queryParameters, requestMethod);
             }
 
-            httpResponse = httpClient.send(httpRequest, createBodyHandler(configuration));
-        }
+            // wait for the rate limit before taking a connection permit, so a throttled request does not hold one
+
+            httpClientRateLimiter.acquire(componentName, componentVersion, componentConnection, httpRequest.uri());
+
+            HttpClientPool.Permit permit = httpClientPool.acquire(httpRequest.uri());
+
+            try {
+                HttpResponse<?> httpResponse = httpClient.send(httpRequest, createBodyHandler(configuration));
+
+                httpClientPool.recordResponse(httpResponse);
+                httpClientRateLimiter.recordResponse(
+                    componentName, componentVersion, componentConnection, httpResponse);
+
+                Response response = handleResponse(httpResponse, configuration);
+
+                // for the NDJSON response type the body is read when the caller consumes it, so the permit and the
+                // lease are released once its stream is closed
 
-        return handleResponse(httpResponse, configuration);
+                if (response instanceof ResponseImpl responseImpl) {
+                    bodyPending = responseImpl.releaseOnBodyClose(() -> {
+                        permit.release();
+                        lease.release();
+                    });
+                }
+
+                return response;
+            } finally {
+                if (!bodyPending) {
+                    permit.release();
+                }
+            }
+        } finally {
+            if (!bodyPending) {
+                lease.release();
+            }
+        }
     }
 
     HttpResponse.BodyHandler<?> createBodyHandler(Configuration configuration) {
@@ -134,10 +181,10 @@ class HttpClientExecutor {
         if (responseType == null) {
             bodyHandler = HttpResponse.BodyHandlers.discarding();
         } else {
-            if (responseType == Http.ResponseType.BINARY) {
-                bodyHandler = HttpResponse.BodyHandlers.ofInputStream();
-            } else {
+            if (responseType == Http.ResponseType.TEXT) {
                 bodyHandler = HttpResponse.BodyHandlers.ofString();
+            } else {
+                bodyHandler = HttpResponse.BodyHandlers.ofInputStream();
             }
         }
 
@@ -171,28 +218,14 @@ class HttpClientExecutor {
     }
 
     HttpClient createHttpClient(
-        Map<String, List<String>> headers, Map<String, List<String>> queryParameters, Configuration configuration,
-        String componentName, int componentVersion, String componentOperationName,
+        HttpClient httpClient, Map<String, List<String>> headers, Map<String, List<String>> queryParameters,
+        Configuration configuration, String componentName, int componentVersion, String componentOperationName,
         ComponentConnection componentConnection, Context context) {
 
-        Methanol.Builder builder = Methanol.newBuilder()
-            .version(HttpClient.Version.HTTP_1_1);
-
-        if (configuration.isAllowUnauthorizedCerts()) {
-            try {
-                SSLContext sslContext = SSLContext.getInstance("TLS");
-
-                sslContext.init(
-                    null, new TrustManager[] {
-                        new UnauthorizedCertsX509ExtendedTrustManager()
-                    },
-                    null);
+        // the shared client is wrapped per request, which adds the Accept-Encoding header and decompresses responses,
+        // and binds the interceptor to the component and connection
 
-                builder.sslContext(sslContext);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }
+        Methanol.Builder methanolBuilder = Methanol.newBuilder(httpClient);
 
         if (!configuration.isDisableAuthorization() && (componentConnection != null) &&
             componentConnection.authorizationName() != null) {
@@ -201,37 +234,11 @@ class HttpClientExecutor {
 
             boolean isAction = !(context instanceof TriggerContext);
 
-            builder.interceptor(
-                getInterceptor(
-                    componentName, componentVersion, componentOperationName, componentConnection.version(),
-                    componentConnection.authorizationName(), componentConnection.canCredentialsBeRefreshed(),
-                    isAction));
+            methanolBuilder.interceptor(
+                getInterceptor(componentName, componentVersion, componentOperationName, componentConnection, isAction));
         }
 
-        if (configuration.isFollowRedirect()) {
-            builder.followRedirects(HttpClient.Redirect.NORMAL);
-        }
-
-        if (configuration.isFollowAllRedirects()) {
-            builder.followRedirects(HttpClient.Redirect.ALWAYS);
-        }
-
-        String proxy = configuration.getProxy();
-
-        if (StringUtils.isNoneEmpty(proxy)) {
-            String[] hostPortArray = proxy.split(":");
-
-            builder.proxy(
-                ProxySelector.of(new InetSocketAddress(hostPortArray[0], Integer.parseInt(hostPortArray[1]))));
-        }
-
-        if (configuration.getTimeout() == null) {
-            builder.connectTimeout(Duration.ofMillis(4000));
-        } else {
-            builder.connectTimeout(configuration.getTimeout());
-        }
-
-        return builder.build();
+        return methanolBuilder.build();
     }
 
     HttpRequest createHTTPRequest(
@@ -268,6 +275,10 @@ class HttpClientExecutor {
                 "Unexpected response body content-type type: {} can not be converted to {}",
                 httpHeaders.firstValue("content-type"), responseType);
 
+            // the unread body stream must be closed, otherwise its connection is never returned to the pool
+
+            closeBody(httpResponse.body());
+
             return new ResponseImpl(httpHeaders.map(), null, statusCode);
         }
 
@@ -281,8 +292,11 @@ class HttpClientExecutor {
             case BINARY -> new ResponseImpl(
                 httpHeaders.map(),
                 storeBinaryResponseBody(configuration, httpHeaders.map(), (InputStream) httpResponseBody), statusCode);
-            case JSON -> new ResponseImpl(httpHeaders.map(), JsonUtils.read(httpResponseBody.toString()), statusCode);
-            case XML -> new ResponseImpl(httpHeaders.map(), XmlUtils.read(httpResponseBody.toString()), statusCode);
+            case JSON, XML -> new ResponseImpl(
+                httpHeaders.map(),
+                readResponseBody(responseType, configuration, httpHeaders, toInputStream(httpResponseBody)),
+                statusCode);
+            case NDJSON -> new ResponseImpl(httpHeaders.map(), toInputStream(httpResponseBody), statusCode);
             default -> new ResponseImpl(httpHeaders.map(), httpResponseBody.toString(), statusCode);
         };
     }
@@ -402,8 +416,12 @@ class HttpClientExecutor {
     }
 
     private Methanol.Interceptor getInterceptor(
-        String componentName, int componentVersion, String componentOperationName, int connectionVersion,
-        String authorizationName, boolean credentialsBeRefreshed, boolean isAction) {
+        String componentName, int componentVersion, String componentOperationName,
+        ComponentConnection componentConnection, boolean isAction) {
+
+        String authorizationName = componentConnection.authorizationName();
+        int connectionVersion = componentConnection.version();
+        boolean credentialsBeRefreshed = componentConnection.canCredentialsBeRefreshed();
 
         return new Methanol.Interceptor() {
             @Override
@@ -421,9 +439,11 @@ class HttpClientExecutor {
                         componentName, connectionVersion, authorizationName);
 
                     if (credentialsBeRefreshed && !detectOn.isEmpty()) {
-                        Object body = httpResponse.body();
+                        httpResponse = BufferedHttpResponse.of(httpResponse);
 
-                        if (body != null && RefreshCredentialsUtils.matches(body.toString(), detectOn)) {
+                        String body = readString(httpResponse.body());
+
+                        if (body != null && RefreshCredentialsUtils.matches(body, detectOn)) {
                             throw operationDefinitionFacade.executeProcessErrorResponse(
                                 componentName, componentVersion, componentOperationName, httpResponse.statusCode(),
                                 body);
@@ -433,7 +453,10 @@ class HttpClientExecutor {
                     return httpResponse;
                 }
 
-                Object body = httpResponse.body();
+                httpClientRateLimiter.recordResponse(
+                    componentName, componentVersion, componentConnection, httpResponse);
+
+                Object body = readString(httpResponse.body());
 
                 throw operationDefinitionFacade.executeProcessErrorResponse(
                     componentName, componentVersion, componentOperationName, httpResponse.statusCode(), body);
@@ -490,8 +513,62 @@ class HttpClientExecutor {
     }
 
     private boolean matches(ResponseType responseType, Optional<String> contentTypeValueOptional) {
-        return contentTypeValueOptional.isPresent() &&
-            StringUtils.containsIgnoreCase(contentTypeValueOptional.get(), responseType.name());
+        if (contentTypeValueOptional.isEmpty()) {
+            return false;
+        }
+
+        // a paginated JSON array is streamed the same way as newline delimited JSON
+
+        if (responseType == ResponseType.NDJSON) {
+            return StringUtils.containsIgnoreCase(contentTypeValueOptional.get(), ResponseType.JSON.name());
+        }
+
+        return StringUtils.containsIgnoreCase(contentTypeValueOptional.get(), responseType.name());
+    }
+
+    private Object readResponseBody(
+        ResponseType responseType, Configuration configuration, HttpHeaders httpHeaders, InputStream inputStream) {
+
+        try (inputStream) {
+            InputStream bodyInputStream = inputStream;
+
+            if (maxResponseSize > 0) {
+                long contentLength = httpHeaders.firstValueAsLong("content-length")
+                    .orElse(-1);
+
+                if (contentLength > maxResponseSize) {
+                    return storeResponseBody(configuration, httpHeaders, inputStream);
+                }
+
+                byte[] bytes = inputStream.readNBytes((int) Math.min(maxResponseSize + 1, Integer.MAX_VALUE - 8));
+
+                if (bytes.length > maxResponseSize) {
+                    return storeResponseBody(
+                        configuration, httpHeaders,
+                        new SequenceInputStream(new ByteArrayInputStream(bytes), inputStream));
+                }
+
+                bodyInputStream = new ByteArrayInputStream(bytes);
+            }
+
+            PushbackInputStream pushbackInputStream = new PushbackInputStream(bodyInputStream);
+
+            int firstByte = pushbackInputStream.read();
+
+            if (firstByte == -1) {
+                return null;
+            }
+
+            pushbackInputStream.unread(firstByte);
+
+            if (responseType == ResponseType.XML) {
+                return XmlUtils.read(pushbackInputStream);
+            }
+
+            return JsonUtils.read(pushbackInputStream);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
     }
 
     private FileEntry storeBinaryResponseBody(
@@ -512,10 +589,108 @@ class HttpClientExecutor {
         return new FileEntryImpl(filesFileStorage.storeFileContent(filename, httpResponseBody));
     }
 
+    private FileEntry storeResponseBody(
+        Configuration configuration, HttpHeaders httpHeaders, InputStream httpResponseBody) {
+
+        STORED_RESPONSES.increment();
+
+        logger.debug("Response body exceeds {} bytes, storing it as a file", maxResponseSize);
+
+        return storeBinaryResponseBody(configuration, httpHeaders.map(), httpResponseBody);
+    }
+
+    private static void closeBody(Object httpResponseBody) {
+        if (httpResponseBody instanceof InputStream inputStream) {
+            try {
+                inputStream.close();
+            } catch (IOException ioException) {
+                logger.warn("Unable to close the response body", ioException);
+            }
+        }
+    }
+
+    private static InputStream toInputStream(Object httpResponseBody) {
+        if (httpResponseBody instanceof InputStream inputStream) {
+            return inputStream;
+        }
+
+        return new ByteArrayInputStream(httpResponseBody.toString()
+            .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(Object body) throws IOException {
+        if (body instanceof InputStream inputStream) {
+            try (inputStream) {
+                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+        return Objects.toString(body, null);
+    }
+
+    /**
+     * Response whose streamed body is read into memory, so it can be inspected before it is handed to the caller. Each
+     * call of {@link #body()} returns a new stream over the buffered bytes.
+     */
+    private record BufferedHttpResponse<T>(HttpResponse<T> httpResponse, byte[] bytes) implements HttpResponse<T> {
+
+        static <T> HttpResponse<T> of(HttpResponse<T> httpResponse) throws IOException {
+            if (!(httpResponse.body() instanceof InputStream inputStream)) {
+                return httpResponse;
+            }
+
+            try (inputStream) {
+                return new BufferedHttpResponse<>(httpResponse, inputStream.readAllBytes());
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T body() {
+            return (T) new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int statusCode() {
+            return httpResponse.statusCode();
+        }
+
+        @Override
+        public HttpRequest request() {
+            return httpResponse.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return httpResponse.previousResponse();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return httpResponse.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return httpResponse.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return httpResponse.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return httpResponse.version();
+        }
+    }
+
     private static class ResponseImpl implements Response {
 
         private final Map<String, List<String>> headers;
-        private final Object body;
+        private Object body;
+        private InputStream bodyInputStream;
         private final int statusCode;
 
         private ResponseImpl(Map<String, List<String>> headers, Object body, int statusCode) {
@@ -524,6 +699,15 @@ class HttpClientExecutor {
             this.statusCode = statusCode;
         }
 
+        /**
+         * Creates a response whose body is a sequence of JSON values read lazily from the given stream.
+         */
+        private ResponseImpl(Map<String, List<String>> headers, InputStream bodyInputStream, int statusCode) {
+            this.headers = headers;
+            this.bodyInputStream = bodyInputStream;
+            this.statusCode = statusCode;
+        }
+
         @Override
         public Map<String, List<String>> getHeaders() {
             return headers;
@@ -531,17 +715,39 @@ class HttpClientExecutor {
 
         @Override
         public Object getBody() {
-            return ConvertUtils.convertValue(body, new TypeReference<>() {});
+            return ConvertUtils.convertValue(readBody(), new TypeReference<>() {});
         }
 
         @Override
         public <T> T getBody(Class<T> valueType) {
-            return ConvertUtils.convertValue(body, valueType);
+            return ConvertUtils.convertValue(readBody(), valueType);
+        }
+
+        @Override
+        public <T> Stream<T> getBodyStream(Class<T> elementType) {
+            if (bodyInputStream != null) {
+                InputStream inputStream = bodyInputStream;
+
+                bodyInputStream = null;
+
+                return JsonUtils.stream(inputStream, elementType);
+            }
+
+            if (body == null) {
+                return Stream.empty();
+            }
+
+            if (body instanceof List<?> list) {
+                return list.stream()
+                    .map(element -> ConvertUtils.convertValue(element, elementType));
+            }
+
+            return Stream.of(ConvertUtils.convertValue(body, elementType));
         }
 
         @Override
         public <T> T getBody(com.bytechef.component.definition.TypeReference<T> valueTypeRef) {
-            return ConvertUtils.convertValue(body, new TypeReference<>() {
+            return ConvertUtils.convertValue(readBody(), new TypeReference<>() {
 
                 @Override
                 public Type getType() {
@@ -566,34 +772,38 @@ class HttpClientExecutor {
         public int getStatusCode() {
             return statusCode;
         }
-    }
-
-    private static class UnauthorizedCertsX509ExtendedTrustManager extends X509ExtendedTrustManager {
 
-        public X509Certificate[] getAcceptedIssuers() {
-            return null;
-        }
-
-        public void checkClientTrusted(final X509Certificate[] x509Certificates, final String authType) {
-        }
+        /**
+         * Runs the given action once the lazily read body stream is closed, returns false if there is no such stream.
+         */
+        private boolean releaseOnBodyClose(Runnable action) {
+            if (bodyInputStream == null) {
+                return false;
+            }
 
-        public void checkServerTrusted(final X509Certificate[] x509Certificates, final String authType) {
-        }
+            bodyInputStream = new FilterInputStream(bodyInputStream) {
 
-        public void checkClientTrusted(
-            final X509Certificate[] x509Certificates, final String certificates, final Socket socket) {
-        }
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        action.run();
+                    }
+                }
+            };
 
-        public void checkServerTrusted(
-            final X509Certificate[] x509Certificates, final String authType, final Socket socket) {
+            return true;
         }
 
-        public void checkClientTrusted(
-            final X509Certificate[] x509Certificates, final String authType, final SSLEngine engine) {
-        }
+        private Object readBody() {
+            if (bodyInputStream != null) {
+                try (Stream<Object> stream = getBodyStream(Object.class)) {
+                    body = stream.toList();
+                }
+            }
 
-        public void checkServerTrusted(
-            final X509Certificate[] x509Certificates, final String authType, final SSLEngine engine) {
+            return body;
         }
     }
 }
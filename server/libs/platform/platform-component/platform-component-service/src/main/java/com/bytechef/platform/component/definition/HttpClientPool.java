@@ -0,0 +1,334 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.definition;
+
+import com.bytechef.component.definition.Context.Http.Configuration;
+import com.bytechef.config.ApplicationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one long-lived {@link HttpClient} per effective client configuration, so component HTTP calls with the same
+ * proxy, redirect policy, certificate trust mode, connect timeout and HTTP version share the client's connection pool
+ * instead of opening new connections for every request. A client is leased for the duration of a request and closed
+ * once it has been unused for the configured idle timeout or evicted because of the size limit and its last lease has
+ * been released, so a caller never sends a request through a closed client. The per host connection limit is kept in a
+ * map that drops a host only once none of its permits is held or waited for.
+ *
+ * @author agent
+ */
+@Component
+class HttpClientPool {
+
+    private static final Counter CREATED_REQUESTS = Metrics.counter(
+        "bytechef.component.http.client.requests", "client", "created");
+    private static final Counter REUSED_REQUESTS = Metrics.counter(
+        "bytechef.component.http.client.requests", "client", "reused");
+    private static final int MAX_SSL_SESSIONS = 10_000;
+    private static final Counter TLS_HANDSHAKES = Metrics.counter("bytechef.component.http.client.tls.handshakes");
+
+    private final Cache<Key, PooledHttpClient> httpClients;
+    private final Map<String, HostPermits> hostPermitsMap = new ConcurrentHashMap<>();
+    private final int maxConnectionsPerHost;
+    private final Cache<String, Boolean> sslSessionIds;
+    private final HttpClient.Version version;
+
+    HttpClientPool(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Component.HttpClient httpClient = applicationProperties.getComponent()
+            .getHttpClient();
+
+        this.httpClients = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofSeconds(httpClient.getIdleTimeout()))
+            .maximumSize(httpClient.getMaxSize())
+            .removalListener((Key key, PooledHttpClient value, RemovalCause removalCause) -> {
+                if (value != null) {
+                    value.evict();
+                }
+            })
+            .build();
+        this.maxConnectionsPerHost = httpClient.getMaxConnectionsPerHost();
+        this.sslSessionIds = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofSeconds(httpClient.getIdleTimeout()))
+            .maximumSize(MAX_SSL_SESSIONS)
+            .build();
+        this.version = httpClient.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+
+        Metrics.gauge("bytechef.component.http.client.pool.size", httpClients, Cache::estimatedSize);
+    }
+
+    /**
+     * Blocks until a request to the host of the given URI is allowed by the per host connection limit. The returned
+     * permit must be released once the response body has been consumed, releasing it again has no effect.
+     */
+    Permit acquire(URI uri) throws InterruptedException {
+        if (maxConnectionsPerHost <= 0) {
+            return () -> {};
+        }
+
+        String host = uri.getHost() + ":" + uri.getPort();
+
+        // the users of a host are counted inside compute, so its permits are never dropped while one is held
+
+        HostPermits hostPermits = hostPermitsMap.compute(host, (key, curHostPermits) -> {
+            HostPermits newHostPermits = curHostPermits == null
+                ? new HostPermits(maxConnectionsPerHost) : curHostPermits;
+
+            newHostPermits.users++;
+
+            return newHostPermits;
+        });
+
+        try {
+            hostPermits.semaphore.acquire();
+        } catch (InterruptedException interruptedException) {
+            removeUser(host);
+
+            throw interruptedException;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                hostPermits.semaphore.release();
+
+                removeUser(host);
+            }
+        };
+    }
+
+    /**
+     * Leases the shared client for the given configuration. The lease must be released once the response body has been
+     * consumed, releasing it again has no effect.
+     */
+    Lease lease(Configuration configuration) {
+        HttpClient.Redirect redirect = HttpClient.Redirect.NEVER;
+
+        if (configuration.isFollowAllRedirects()) {
+            redirect = HttpClient.Redirect.ALWAYS;
+        } else if (configuration.isFollowRedirect()) {
+            redirect = HttpClient.Redirect.NORMAL;
+        }
+
+        Key key = new Key(
+            configuration.isAllowUnauthorizedCerts(), redirect, configuration.getProxy(),
+            configuration.getTimeout() == null ? Duration.ofMillis(4000) : configuration.getTimeout(), version);
+
+        while (true) {
+            PooledHttpClient pooledHttpClient = httpClients.getIfPresent(key);
+
+            if (pooledHttpClient == null) {
+                pooledHttpClient = httpClients.get(key, curKey -> new PooledHttpClient(createHttpClient(curKey)));
+
+                CREATED_REQUESTS.increment();
+            } else {
+                REUSED_REQUESTS.increment();
+            }
+
+            // an evicted client is no longer in the cache, the next lookup creates a new one
+
+            if (pooledHttpClient.lease()) {
+                AtomicBoolean released = new AtomicBoolean();
+                PooledHttpClient leasedHttpClient = pooledHttpClient;
+
+                return new Lease(pooledHttpClient.httpClient, () -> {
+                    if (released.compareAndSet(false, true)) {
+                        leasedHttpClient.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Counts the TLS handshakes, a response over a connection not seen before carries a new SSL session id. The id is
+     * compared by value since the client may return a different session object for the same session.
+     */
+    void recordResponse(HttpResponse<?> httpResponse) {
+        httpResponse.sslSession()
+            .map(SSLSession::getId)
+            .filter(id -> id.length > 0)
+            .ifPresent(id -> {
+                if (sslSessionIds.asMap()
+                    .putIfAbsent(HexFormat.of()
+                        .formatHex(id), Boolean.TRUE) == null) {
+
+                    TLS_HANDSHAKES.increment();
+                }
+            });
+    }
+
+    private void removeUser(String host) {
+        hostPermitsMap.computeIfPresent(host, (key, hostPermits) -> --hostPermits.users == 0 ? null : hostPermits);
+    }
+
+    private static HttpClient createHttpClient(Key key) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .connectTimeout(key.connectTimeout())
+            .followRedirects(key.redirect())
+            .version(key.version());
+
+        if (key.allowUnauthorizedCerts()) {
+            try {
+                SSLContext sslContext = SSLContext.getInstance("TLS");
+
+                sslContext.init(
+                    null, new TrustManager[] {
+                        new UnauthorizedCertsX509ExtendedTrustManager()
+                    },
+                    null);
+
+                builder.sslContext(sslContext);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        if (StringUtils.isNoneEmpty(key.proxy())) {
+            String[] hostPortArray = key.proxy()
+                .split(":");
+
+            builder.proxy(
+                ProxySelector.of(new InetSocketAddress(hostPortArray[0], Integer.parseInt(hostPortArray[1]))));
+        }
+
+        return builder.build();
+    }
+
+    interface Permit {
+
+        void release();
+    }
+
+    record Lease(HttpClient httpClient, Permit permit) {
+
+        void release() {
+            permit.release();
+        }
+    }
+
+    private static final class HostPermits {
+
+        private final Semaphore semaphore;
+        private int users;
+
+        private HostPermits(int permits) {
+            this.semaphore = new Semaphore(permits);
+        }
+    }
+
+    /**
+     * Shared client counting its leases, closed once it has been evicted and its last lease has been released.
+     */
+    private static final class PooledHttpClient {
+
+        private boolean evicted;
+        private final HttpClient httpClient;
+        private int leases;
+
+        private PooledHttpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+        }
+
+        private synchronized void evict() {
+            evicted = true;
+
+            close();
+        }
+
+        private synchronized boolean lease() {
+            if (evicted) {
+                return false;
+            }
+
+            leases++;
+
+            return true;
+        }
+
+        private synchronized void release() {
+            leases--;
+
+            close();
+        }
+
+        private void close() {
+            // close() waits for the requests in flight, so it must not block the cache maintenance thread
+
+            if (evicted && (leases == 0)) {
+                Thread.startVirtualThread(httpClient::close);
+            }
+        }
+    }
+
+    private record Key(
+        boolean allowUnauthorizedCerts, HttpClient.Redirect redirect, String proxy, Duration connectTimeout,
+        HttpClient.Version version) {
+    }
+
+    private static class UnauthorizedCertsX509ExtendedTrustManager extends X509ExtendedTrustManager {
+
+        public X509Certificate[] getAcceptedIssuers() {
+            return null;
+        }
+
+        public void checkClientTrusted(final X509Certificate[] x509Certificates, final String authType) {
+        }
+
+        public void checkServerTrusted(final X509Certificate[] x509Certificates, final String authType) {
+        }
+
+        public void checkClientTrusted(
+            final X509Certificate[] x509Certificates, final String certificates, final Socket socket) {
+        }
+
+        public void checkServerTrusted(
+            final X509Certificate[] x509Certificates, final String authType, final Socket socket) {
+        }
+
+        public void checkClientTrusted(
+            final X509Certificate[] x509Certificates, final String authType, final SSLEngine engine) {
+        }
+
+        public void checkServerTrusted(
+            final X509Certificate[] x509Certificates, final String authType, final SSLEngine engine) {
+        }
+    }
+}
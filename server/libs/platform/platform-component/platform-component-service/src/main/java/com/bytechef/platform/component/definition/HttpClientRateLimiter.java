@@ -0,0 +1,217 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.definition;
+
+import com.bytechef.component.definition.ComponentDefinition;
+import com.bytechef.component.definition.RateLimit;
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.platform.component.ComponentDefinitionRegistry;
+import com.bytechef.platform.component.domain.ComponentConnection;
+import com.bytechef.platform.component.ratelimit.RateLimiter;
+import com.bytechef.platform.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the rate limit a component declares in its definition to the component's HTTP requests, and pauses the
+ * requests of a connection, or of a component and host, for as long as a {@code Retry-After} response header asks, at
+ * most for the configured maximum. Bucket keys are scoped by the current tenant. Requests of a component without a
+ * declared limit only go through the rate limiter while a pause this worker recorded is in effect.
+ *
+ * @author agent
+ */
+@Component
+class HttpClientRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientRateLimiter.class);
+
+    private static final int MAX_PAUSED_KEYS = 10_000;
+
+    private static final Counter RETRY_AFTER_RESPONSES = Metrics.counter(
+        "bytechef.component.http.client.rate.limit.retry.after");
+    private static final Timer THROTTLED_TIME = Metrics.timer("bytechef.component.http.client.rate.limit.throttled");
+
+    private final ComponentDefinitionRegistry componentDefinitionRegistry;
+    private final Duration maxRetryAfter;
+    private final Cache<String, Long> pausedUntilCache;
+    private final RateLimiter rateLimiter;
+    private final Map<String, Optional<RateLimit>> rateLimits = new ConcurrentHashMap<>();
+
+    HttpClientRateLimiter(
+        ApplicationProperties applicationProperties, ComponentDefinitionRegistry componentDefinitionRegistry,
+        RateLimiter rateLimiter) {
+
+        ApplicationProperties.Component.RateLimiter rateLimiterProperties = applicationProperties.getComponent()
+            .getRateLimiter();
+
+        this.componentDefinitionRegistry = componentDefinitionRegistry;
+        this.maxRetryAfter = Duration.ofMillis(rateLimiterProperties.getMaxRetryAfter());
+        this.pausedUntilCache = Caffeine.newBuilder()
+            .expireAfterWrite(maxRetryAfter)
+            .maximumSize(MAX_PAUSED_KEYS)
+            .build();
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Blocks until the rate limit of the component, and a pause requested by the remote service, allow the request.
+     */
+    void acquire(String componentName, int componentVersion, ComponentConnection componentConnection, URI uri)
+        throws InterruptedException {
+
+        RateLimit rateLimit = getRateLimit(componentName, componentVersion);
+
+        String key = getKey(componentName, componentConnection, uri, rateLimit);
+
+        if (rateLimit == null && !isPaused(key)) {
+            return;
+        }
+
+        int limit = rateLimit == null ? 0 : rateLimit.getLimit();
+        Duration period = rateLimit == null ? Duration.ZERO : rateLimit.getPeriod();
+
+        long waitTime = rateLimiter.tryAcquire(key, limit, period);
+
+        if (waitTime == 0) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+
+        try {
+            do {
+                logger.debug("Throttling request to {} for {} ms", key, waitTime);
+
+                TimeUnit.MILLISECONDS.sleep(waitTime);
+
+                waitTime = rateLimiter.tryAcquire(key, limit, period);
+            } while (waitTime > 0);
+        } finally {
+            THROTTLED_TIME.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Pauses further requests if the response is 429 Too Many Requests or 503 Service Unavailable with a
+     * {@code Retry-After} header.
+     */
+    void recordResponse(
+        String componentName, int componentVersion, ComponentConnection componentConnection,
+        HttpResponse<?> httpResponse) {
+
+        int statusCode = httpResponse.statusCode();
+
+        if (statusCode != 429 && statusCode != 503) {
+            return;
+        }
+
+        httpResponse.headers()
+            .firstValue("retry-after")
+            .flatMap(HttpClientRateLimiter::parseRetryAfter)
+            .ifPresent(duration -> {
+                RETRY_AFTER_RESPONSES.increment();
+
+                Duration pauseDuration = duration.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : duration;
+
+                String key = getKey(
+                    componentName, componentConnection, httpResponse.uri(),
+                    getRateLimit(componentName, componentVersion));
+
+                Map<String, Long> pausedUntilMap = pausedUntilCache.asMap();
+
+                pausedUntilMap.merge(key, System.currentTimeMillis() + pauseDuration.toMillis(), Math::max);
+
+                rateLimiter.pause(key, pauseDuration);
+            });
+    }
+
+    static Optional<Duration> parseRetryAfter(String retryAfter) {
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(Long.parseLong(retryAfter.trim()), 0)));
+        } catch (NumberFormatException numberFormatException) {
+            try {
+                ZonedDateTime zonedDateTime = ZonedDateTime.parse(
+                    retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+
+                Duration duration = Duration.between(ZonedDateTime.now(zonedDateTime.getZone()), zonedDateTime);
+
+                return Optional.of(duration.isNegative() ? Duration.ZERO : duration);
+            } catch (DateTimeParseException dateTimeParseException) {
+                logger.debug("Unable to parse Retry-After header: {}", retryAfter);
+
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static String getKey(
+        String componentName, ComponentConnection componentConnection, URI uri, RateLimit rateLimit) {
+
+        if ((componentConnection != null) &&
+            ((rateLimit == null) || (rateLimit.getScope() == RateLimit.Scope.CONNECTION))) {
+
+            return TenantContext.getCurrentTenantId() + ":connection:" + componentConnection.connectionId();
+        }
+
+        return TenantContext.getCurrentTenantId() + ":component:" + componentName + ":" + uri.getHost();
+    }
+
+    private boolean isPaused(String key) {
+        Long pausedUntil = pausedUntilCache.getIfPresent(key);
+
+        return pausedUntil != null && pausedUntil > System.currentTimeMillis();
+    }
+
+    private RateLimit getRateLimit(String componentName, int componentVersion) {
+        if (componentName == null) {
+            return null;
+        }
+
+        return rateLimits
+            .computeIfAbsent(
+                componentName + ":" + componentVersion,
+                key -> {
+                    Integer version = componentVersion > 0 ? componentVersion : null;
+
+                    if (!componentDefinitionRegistry.hasComponentDefinition(componentName, version)) {
+                        return Optional.empty();
+                    }
+
+                    ComponentDefinition componentDefinition = componentDefinitionRegistry.getComponentDefinition(
+                        componentName, version);
+
+                    return componentDefinition.getRateLimit();
+                })
+            .orElse(null);
+    }
+}
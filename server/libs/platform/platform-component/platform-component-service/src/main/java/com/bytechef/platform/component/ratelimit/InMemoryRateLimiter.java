@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the token buckets in memory, so the limits apply per instance. Buckets unused for an hour are dropped.
+ *
+ * @author agent
+ */
+@Component
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofHours(1))
+        .build();
+
+    @Override
+    public void pause(String key, Duration duration) {
+        Bucket bucket = buckets.get(key, curKey -> new Bucket());
+
+        bucket.pause(System.currentTimeMillis() + duration.toMillis());
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, Duration period) {
+        Bucket bucket = limit > 0 ? buckets.get(key, curKey -> new Bucket()) : buckets.getIfPresent(key);
+
+        if (bucket == null) {
+            return 0;
+        }
+
+        return bucket.tryAcquire(limit, period.toMillis(), System.currentTimeMillis());
+    }
+
+    private static final class Bucket {
+
+        private long pausedUntil;
+        private long timestamp = -1;
+        private double tokens;
+
+        private synchronized void pause(long pausedUntil) {
+            this.pausedUntil = Math.max(this.pausedUntil, pausedUntil);
+        }
+
+        private synchronized long tryAcquire(int limit, long period, long now) {
+            if (pausedUntil > now) {
+                return pausedUntil - now;
+            }
+
+            if (limit <= 0) {
+                return 0;
+            }
+
+            if (timestamp < 0) {
+                tokens = limit;
+            } else {
+                tokens = Math.min(limit, tokens + (double) (now - timestamp) * limit / period);
+            }
+
+            timestamp = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+
+                return 0;
+            }
+
+            return (long) Math.ceil((1 - tokens) * period / limit);
+        }
+    }
+}
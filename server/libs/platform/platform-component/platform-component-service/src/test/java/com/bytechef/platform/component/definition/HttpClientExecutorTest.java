@@ -17,6 +17,7 @@
 package com.bytechef.platform.component.definition;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -26,19 +27,28 @@ import com.bytechef.component.definition.Authorization;
 import com.bytechef.component.definition.Context;
 import com.bytechef.component.definition.Context.Http;
 import com.bytechef.component.definition.FileEntry;
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.platform.component.ComponentDefinitionRegistry;
 import com.bytechef.platform.component.domain.ComponentConnection;
+import com.bytechef.platform.component.ratelimit.InMemoryRateLimiter;
 import com.bytechef.platform.component.service.ConnectionDefinitionService;
 import com.bytechef.platform.file.storage.FilesFileStorage;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mizosoft.methanol.FormBodyPublisher;
 import com.github.mizosoft.methanol.MediaType;
+import com.github.mizosoft.methanol.Methanol;
 import com.github.mizosoft.methanol.MultipartBodyPublisher;
 import com.github.mizosoft.methanol.internal.extensions.MimeBodyPublisherAdapter;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -52,6 +62,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import javax.net.ssl.SSLSession;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -69,10 +83,15 @@ public class HttpClientExecutorTest {
     private final Http.Configuration configuration = Http.Configuration.newConfiguration()
         .build();
     private final Base64.Encoder encoder = Base64.getEncoder();
+    private final HttpClientPool httpClientPool = new HttpClientPool(new ApplicationProperties());
     private final HttpClientExecutor httpClientExecutor =
         new HttpClientExecutor(
             Mockito.mock(ApplicationContext.class), Mockito.mock(ConnectionDefinitionService.class),
-            Mockito.mock(FilesFileStorage.class));
+            Mockito.mock(FilesFileStorage.class), httpClientPool,
+            new HttpClientRateLimiter(
+                new ApplicationProperties(), Mockito.mock(ComponentDefinitionRegistry.class),
+                new InMemoryRateLimiter()),
+            0);
 
     @Test
     public void testCreateBodyHandler() {
@@ -95,6 +114,14 @@ public class HttpClientExecutorTest {
             Http.responseType(Http.ResponseType.XML)
                 .build());
 
+        assertEquals(bodyHandler, HttpResponse.BodyHandlers.ofInputStream());
+
+        //
+
+        bodyHandler = httpClientExecutor.createBodyHandler(
+            Http.responseType(Http.ResponseType.TEXT)
+                .build());
+
         assertEquals(bodyHandler, HttpResponse.BodyHandlers.ofString());
     }
 
@@ -201,12 +228,22 @@ public class HttpClientExecutorTest {
         assertEquals(0, bodyPublisher.contentLength());
     }
 
+    @Test
+    public void testCreateHTTPClientWithoutAuthorization() {
+        HttpClient httpClient = createHttpClient(
+            new HashMap<>(), new HashMap<>(), Http.responseType(Http.ResponseType.JSON)
+                .build(),
+            "componentName", 1, "componentOperationName", null, Mockito.mock(Context.class));
+
+        assertTrue(httpClient instanceof Methanol methanol && methanol.autoAcceptEncoding());
+    }
+
     @Disabled
     @Test
     @SuppressFBWarnings("RV")
     @SuppressWarnings("checkstyle:methodlengthcheck")
     public void testCreateHTTPClient() {
-        HttpClient httpClient = httpClientExecutor.createHttpClient(
+        HttpClient httpClient = createHttpClient(
             new HashMap<>(), new HashMap<>(), Http.allowUnauthorizedCerts(true)
                 .build(),
             "componentName", 1, "componentOperationName",
@@ -233,7 +270,7 @@ public class HttpClientExecutorTest {
 
         Map<String, List<String>> headers = new HashMap<>();
 
-        httpClientExecutor.createHttpClient(
+        createHttpClient(
             headers, new HashMap<>(), configuration, "componentName", 1, "componentOperationName",
             new ComponentConnection("componentName", 1, -1, Map.of(), Authorization.AuthorizationType.NONE.name()),
             Mockito.mock(Context.class));
@@ -254,7 +291,7 @@ public class HttpClientExecutorTest {
 
         Map<String, List<String>> queryParameters = new HashMap<>();
 
-        httpClientExecutor.createHttpClient(
+        createHttpClient(
             new HashMap<>(), queryParameters, configuration, "componentName", 1, "componentOperationName",
             new ComponentConnection("componentName", 1, -1, Map.of(), Authorization.AuthorizationType.NONE.name()),
             Mockito.mock(Context.class));
@@ -272,7 +309,7 @@ public class HttpClientExecutorTest {
 
         headers = new HashMap<>();
 
-        httpClientExecutor.createHttpClient(
+        createHttpClient(
             headers, new HashMap<>(), configuration, "componentName", 1, "componentOperationName",
             new ComponentConnection("componentName", 1, -1, Map.of(), Authorization.AuthorizationType.NONE.name()),
             Mockito.mock(Context.class));
@@ -295,7 +332,7 @@ public class HttpClientExecutorTest {
 
         headers = new HashMap<>();
 
-        httpClientExecutor.createHttpClient(
+        createHttpClient(
             headers, new HashMap<>(), configuration, "componentName", 1, "componentOperationName",
             new ComponentConnection("componentName", 1, -1, Map.of(), Authorization.AuthorizationType.NONE.name()),
             Mockito.mock(Context.class));
@@ -315,7 +352,7 @@ public class HttpClientExecutorTest {
 
         headers = new HashMap<>();
 
-        httpClientExecutor.createHttpClient(
+        createHttpClient(
             headers, new HashMap<>(), configuration, "componentName", 1, "componentOperationName",
             new ComponentConnection("componentName", 1, -1, Map.of(), Authorization.AuthorizationType.NONE.name()),
             Mockito.mock(Context.class));
@@ -337,7 +374,7 @@ public class HttpClientExecutorTest {
 
         headers = new HashMap<>();
 
-        httpClientExecutor.createHttpClient(
+        createHttpClient(
             headers, new HashMap<>(), configuration, "componentName", 1, "componentOperationName",
             new ComponentConnection("componentName", 1, -1, Map.of(), Authorization.AuthorizationType.NONE.name()),
             Mockito.mock(Context.class));
@@ -346,7 +383,7 @@ public class HttpClientExecutorTest {
 
         //
 
-        httpClient = httpClientExecutor.createHttpClient(
+        httpClient = createHttpClient(
             new HashMap<>(), new HashMap<>(), Http.followRedirect(true)
                 .build(),
             "componentName", 1, "componentOperationName",
@@ -357,7 +394,7 @@ public class HttpClientExecutorTest {
 
         //
 
-        httpClient = httpClientExecutor.createHttpClient(
+        httpClient = createHttpClient(
             new HashMap<>(), new HashMap<>(), Http.followAllRedirects(true)
                 .build(),
             "componentName", 1, "componentOperationName",
@@ -368,7 +405,7 @@ public class HttpClientExecutorTest {
 
         //
 
-        httpClient = httpClientExecutor.createHttpClient(
+        httpClient = createHttpClient(
             new HashMap<>(), new HashMap<>(), Http.proxy("10.11.12.13:30")
                 .build(),
             "componentName", 1, "componentOperationName",
@@ -380,7 +417,7 @@ public class HttpClientExecutorTest {
 
         //
 
-        httpClient = httpClientExecutor.createHttpClient(
+        httpClient = createHttpClient(
             new HashMap<>(), new HashMap<>(), Http
                 .timeout(Duration.ofMillis(2000))
                 .build(),
@@ -536,6 +573,178 @@ public class HttpClientExecutorTest {
         assertEquals(Map.of("key1", "value1", "key2", "value2"), response.getBody());
     }
 
+    @Test
+    public void testHandleResponseWithIncompatibleResponseTypeClosesBody() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        InputStream inputStream = new ByteArrayInputStream("<html></html>".getBytes(StandardCharsets.UTF_8)) {
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        Http.Response response = httpClientExecutor.handleResponse(
+            new TestHttpResponse(
+                inputStream, HttpHeaders.of(Map.of("content-type", List.of("text/html")), (s, s2) -> true), 200),
+            Http.Configuration.newConfiguration()
+                .responseType(Http.ResponseType.JSON)
+                .build());
+
+        assertNull(response.getBody());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testHandleResponseWithMaxResponseSize() {
+        FilesFileStorage filesFileStorage = Mockito.mock(FilesFileStorage.class);
+
+        Mockito.when(filesFileStorage.storeFileContent(Mockito.anyString(), Mockito.any(InputStream.class)))
+            .thenReturn(new com.bytechef.file.storage.domain.FileEntry("file.json", "base:///file.json"));
+
+        HttpClientExecutor httpClientExecutor = new HttpClientExecutor(
+            Mockito.mock(ApplicationContext.class), Mockito.mock(ConnectionDefinitionService.class), filesFileStorage,
+            new HttpClientPool(new ApplicationProperties()),
+            new HttpClientRateLimiter(
+                new ApplicationProperties(), Mockito.mock(ComponentDefinitionRegistry.class),
+                new InMemoryRateLimiter()),
+            20);
+        HttpHeaders httpHeaders = HttpHeaders.of(
+            Map.of("Content-Type", List.of("application/json")), (n, v) -> true);
+        Http.Configuration configuration = Http.responseType(Http.ResponseType.JSON)
+            .build();
+
+        Http.Response response = httpClientExecutor.handleResponse(
+            new TestHttpResponse(toInputStream("{\"key1\":\"value1\"}"), httpHeaders, 200), configuration);
+
+        assertEquals(Map.of("key1", "value1"), response.getBody());
+
+        Mockito.verifyNoInteractions(filesFileStorage);
+
+        response = httpClientExecutor.handleResponse(
+            new TestHttpResponse(toInputStream("{\"key1\":\"value1\",\"key2\":\"value2\"}"), httpHeaders, 200),
+            configuration);
+
+        Map<?, ?> body = response.getBody(Map.class);
+
+        assertEquals("base:///file.json", body.get("url"));
+
+        Mockito.verify(filesFileStorage)
+            .storeFileContent(Mockito.eq("file.json"), Mockito.any(InputStream.class));
+    }
+
+    @Test
+    public void testHandleResponseWithNdjsonResponseType() {
+        Http.Configuration configuration = Http.responseType(Http.ResponseType.NDJSON)
+            .build();
+
+        Http.Response response = httpClientExecutor.handleResponse(
+            new TestHttpResponse(
+                toInputStream("{\"id\":1}\n{\"id\":2}\n"),
+                HttpHeaders.of(Map.of("content-type", List.of("application/x-ndjson")), (n, v) -> true), 200),
+            configuration);
+
+        try (Stream<Map> stream = response.getBodyStream(Map.class)) {
+            assertEquals(List.of(Map.of("id", 1), Map.of("id", 2)), stream.toList());
+        }
+
+        response = httpClientExecutor.handleResponse(
+            new TestHttpResponse(
+                toInputStream("[{\"id\":1},{\"id\":2}]"),
+                HttpHeaders.of(Map.of("content-type", List.of("application/json")), (n, v) -> true), 200),
+            configuration);
+
+        assertEquals(List.of(Map.of("id", 1), Map.of("id", 2)), response.getBody());
+    }
+
+    @Test
+    public void testExecuteWithNdjsonResponseTypeHoldsPermitUntilBodyStreamIsClosed() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Component component = applicationProperties.getComponent();
+
+        component.getHttpClient()
+            .setMaxConnectionsPerHost(1);
+
+        HttpClientPool httpClientPool = new HttpClientPool(applicationProperties);
+
+        HttpClientExecutor httpClientExecutor = new HttpClientExecutor(
+            Mockito.mock(ApplicationContext.class), Mockito.mock(ConnectionDefinitionService.class),
+            Mockito.mock(FilesFileStorage.class), httpClientPool,
+            new HttpClientRateLimiter(
+                applicationProperties, Mockito.mock(ComponentDefinitionRegistry.class), new InMemoryRateLimiter()),
+            0);
+
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        httpServer.createContext("/", httpExchange -> {
+            byte[] bytes = "{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8);
+
+            Headers responseHeaders = httpExchange.getResponseHeaders();
+
+            responseHeaders.add("content-type", "application/x-ndjson");
+
+            httpExchange.sendResponseHeaders(200, bytes.length);
+
+            try (OutputStream outputStream = httpExchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+
+        httpServer.start();
+
+        try {
+            InetSocketAddress address = httpServer.getAddress();
+
+            String url = "http://localhost:" + address.getPort() + "/items";
+
+            Http.Response response = httpClientExecutor.execute(
+                url, new HashMap<>(), Map.of(), null, Http.responseType(Http.ResponseType.NDJSON)
+                    .build(),
+                Http.RequestMethod.GET, null, 1, null, null, context);
+
+            CompletableFuture<HttpClientPool.Permit> permitFuture = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return httpClientPool.acquire(URI.create(url));
+                } catch (InterruptedException interruptedException) {
+                    throw new IllegalStateException(interruptedException);
+                }
+            });
+
+            Thread.sleep(200);
+
+            // the body has not been read yet, so the only connection permit of the host is still held
+
+            assertFalse(permitFuture.isDone());
+
+            try (Stream<Map> stream = response.getBodyStream(Map.class)) {
+                assertEquals(List.of(Map.of("id", 1), Map.of("id", 2)), stream.toList());
+            }
+
+            permitFuture.get(5, TimeUnit.SECONDS)
+                .release();
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    private HttpClient createHttpClient(
+        Map<String, List<String>> headers, Map<String, List<String>> queryParameters, Http.Configuration configuration,
+        String componentName, int componentVersion, String componentOperationName,
+        ComponentConnection componentConnection, Context context) {
+
+        HttpClientPool.Lease lease = httpClientPool.lease(configuration);
+
+        return httpClientExecutor.createHttpClient(
+            lease.httpClient(), headers, queryParameters, configuration, componentName, componentVersion,
+            componentOperationName, componentConnection, context);
+    }
+
+    private static InputStream toInputStream(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
     private static class TestResponseImpl implements Http.Response {
 
         private final Map<String, List<String>> headers;
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.definition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bytechef.component.definition.Context.Http;
+import com.bytechef.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLSession;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author agent
+ */
+public class HttpClientPoolTest {
+
+    @Test
+    public void testGetHttpClient() {
+        HttpClientPool httpClientPool = new HttpClientPool(new ApplicationProperties());
+
+        HttpClient httpClient = httpClientPool.lease(
+            Http.timeout(Duration.ofMillis(2000))
+                .build())
+            .httpClient();
+
+        assertSame(
+            httpClient, httpClientPool.lease(
+                Http.timeout(Duration.ofMillis(2000))
+                    .build())
+                .httpClient());
+        assertEquals(HttpClient.Version.HTTP_1_1, httpClient.version());
+        assertEquals(
+            Duration.ofMillis(2000), httpClient.connectTimeout()
+                .orElseThrow());
+
+        HttpClient redirectHttpClient = httpClientPool.lease(
+            Http.timeout(Duration.ofMillis(2000))
+                .followAllRedirects(true)
+                .build())
+            .httpClient();
+
+        assertNotSame(httpClient, redirectHttpClient);
+        assertEquals(HttpClient.Redirect.ALWAYS, redirectHttpClient.followRedirects());
+    }
+
+    @Test
+    public void testGetHttpClientHttp2() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Component component = applicationProperties.getComponent();
+
+        component.getHttpClient()
+            .setHttp2(true);
+
+        HttpClientPool httpClientPool = new HttpClientPool(applicationProperties);
+
+        HttpClient httpClient = httpClientPool.lease(
+            Http.Configuration.newConfiguration()
+                .build())
+            .httpClient();
+
+        assertEquals(HttpClient.Version.HTTP_2, httpClient.version());
+    }
+
+    @Test
+    public void testGetHttpClientClosesEvictedHttpClient() throws InterruptedException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Component component = applicationProperties.getComponent();
+
+        component.getHttpClient()
+            .setMaxSize(1);
+
+        HttpClientPool httpClientPool = new HttpClientPool(applicationProperties);
+
+        HttpClientPool.Lease lease = httpClientPool.lease(
+            Http.timeout(Duration.ofMillis(2000))
+                .build());
+
+        HttpClient httpClient = lease.httpClient();
+
+        lease.release();
+
+        for (int i = 0; i < 50 && !httpClient.isTerminated(); i++) {
+            httpClientPool.lease(
+                Http.timeout(Duration.ofMillis(3000 + i))
+                    .build())
+                .release();
+
+            Thread.sleep(100);
+        }
+
+        assertTrue(httpClient.isTerminated());
+    }
+
+    @Test
+    public void testLeaseKeepsEvictedHttpClientOpen() throws InterruptedException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Component component = applicationProperties.getComponent();
+
+        component.getHttpClient()
+            .setMaxSize(1);
+
+        HttpClientPool httpClientPool = new HttpClientPool(applicationProperties);
+
+        HttpClientPool.Lease lease = httpClientPool.lease(
+            Http.timeout(Duration.ofMillis(2000))
+                .build());
+
+        HttpClient httpClient = lease.httpClient();
+
+        for (int i = 0; i < 10; i++) {
+            httpClientPool.lease(
+                Http.timeout(Duration.ofMillis(3000 + i))
+                    .build())
+                .release();
+
+            Thread.sleep(100);
+        }
+
+        // evicted meanwhile, but still leased
+
+        assertFalse(httpClient.isTerminated());
+
+        lease.release();
+        lease.release();
+
+        for (int i = 0; i < 50 && !httpClient.isTerminated(); i++) {
+            Thread.sleep(100);
+        }
+
+        assertTrue(httpClient.isTerminated());
+    }
+
+    @Test
+    public void testAcquire() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Component component = applicationProperties.getComponent();
+
+        component.getHttpClient()
+            .setMaxConnectionsPerHost(1);
+
+        HttpClientPool httpClientPool = new HttpClientPool(applicationProperties);
+
+        URI uri = URI.create("https://example.com/path");
+
+        HttpClientPool.Permit permit = httpClientPool.acquire(uri);
+
+        CompletableFuture<HttpClientPool.Permit> permitFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return httpClientPool.acquire(uri);
+            } catch (InterruptedException interruptedException) {
+                throw new IllegalStateException(interruptedException);
+            }
+        });
+
+        Thread.sleep(200);
+
+        assertFalse(permitFuture.isDone());
+
+        // releasing a permit twice frees a single connection
+
+        permit.release();
+        permit.release();
+
+        HttpClientPool.Permit secondPermit = permitFuture.get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<HttpClientPool.Permit> thirdPermitFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return httpClientPool.acquire(uri);
+            } catch (InterruptedException interruptedException) {
+                throw new IllegalStateException(interruptedException);
+            }
+        });
+
+        Thread.sleep(200);
+
+        assertFalse(thirdPermitFuture.isDone());
+
+        secondPermit.release();
+
+        thirdPermitFuture.get(5, TimeUnit.SECONDS)
+            .release();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecordResponse() {
+        HttpClientPool httpClientPool = new HttpClientPool(new ApplicationProperties());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        Metrics.addRegistry(meterRegistry);
+
+        for (String id : new String[] {
+            "session1", "session1", "session2"
+        }) {
+            SSLSession sslSession = Mockito.mock(SSLSession.class);
+
+            Mockito.when(sslSession.getId())
+                .thenReturn(id.getBytes(StandardCharsets.UTF_8));
+
+            HttpResponse<Object> httpResponse = Mockito.mock(HttpResponse.class);
+
+            Mockito.when(httpResponse.sslSession())
+                .thenReturn(Optional.of(sslSession));
+
+            httpClientPool.recordResponse(httpResponse);
+        }
+
+        Counter counter = meterRegistry.get("bytechef.component.http.client.tls.handshakes")
+            .counter();
+
+        assertEquals(2, counter.count());
+
+        Metrics.removeRegistry(meterRegistry);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.definition;
+
+import static com.bytechef.component.definition.ComponentDsl.component;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bytechef.component.definition.RateLimit;
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.platform.component.ComponentDefinitionRegistry;
+import com.bytechef.platform.component.domain.ComponentConnection;
+import com.bytechef.platform.component.ratelimit.InMemoryRateLimiter;
+import com.bytechef.platform.component.ratelimit.RateLimiter;
+import com.bytechef.platform.tenant.TenantContext;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author agent
+ */
+public class HttpClientRateLimiterTest {
+
+    private static final ComponentConnection COMPONENT_CONNECTION = new ComponentConnection(
+        "test", 1, 1L, Map.of(), null);
+    private static final URI API_URI = URI.create("https://localhost/api");
+
+    private final ComponentDefinitionRegistry componentDefinitionRegistry = Mockito.mock(
+        ComponentDefinitionRegistry.class);
+
+    @Test
+    public void testAcquire() throws InterruptedException {
+        Mockito.when(componentDefinitionRegistry.hasComponentDefinition("test", 1))
+            .thenReturn(true);
+        Mockito.when(componentDefinitionRegistry.getComponentDefinition("test", 1))
+            .thenReturn(
+                component("test").rateLimit(2, Duration.ofMillis(500), RateLimit.Scope.CONNECTION));
+
+        HttpClientRateLimiter httpClientRateLimiter = new HttpClientRateLimiter(
+            new ApplicationProperties(), componentDefinitionRegistry, new InMemoryRateLimiter());
+
+        long startTime = System.currentTimeMillis();
+
+        for (int i = 0; i < 3; i++) {
+            httpClientRateLimiter.acquire("test", 1, COMPONENT_CONNECTION, API_URI);
+        }
+
+        assertTrue(System.currentTimeMillis() - startTime >= 200);
+    }
+
+    @Test
+    public void testAcquireWithoutRateLimit() throws InterruptedException {
+        RateLimiter rateLimiter = Mockito.mock(RateLimiter.class);
+
+        HttpClientRateLimiter httpClientRateLimiter = new HttpClientRateLimiter(
+            new ApplicationProperties(), componentDefinitionRegistry, rateLimiter);
+
+        httpClientRateLimiter.acquire("test", 1, COMPONENT_CONNECTION, API_URI);
+
+        Mockito.verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(Optional.of(Duration.ofSeconds(120)), HttpClientRateLimiter.parseRetryAfter("120"));
+        assertEquals(Optional.empty(), HttpClientRateLimiter.parseRetryAfter("soon"));
+
+        Duration duration = HttpClientRateLimiter.parseRetryAfter(
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()
+                .plusMinutes(1)))
+            .orElseThrow();
+
+        assertTrue(duration.compareTo(Duration.ofSeconds(50)) > 0);
+    }
+
+    @Test
+    public void testRecordResponse() throws InterruptedException {
+        InMemoryRateLimiter inMemoryRateLimiter = new InMemoryRateLimiter();
+
+        HttpClientRateLimiter httpClientRateLimiter = new HttpClientRateLimiter(
+            new ApplicationProperties(), componentDefinitionRegistry, inMemoryRateLimiter);
+
+        HttpResponse<?> httpResponse = Mockito.mock(HttpResponse.class);
+
+        Mockito.when(httpResponse.headers())
+            .thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("1")), (name, value) -> true));
+        Mockito.when(httpResponse.statusCode())
+            .thenReturn(429);
+        Mockito.when(httpResponse.uri())
+            .thenReturn(API_URI);
+
+        httpClientRateLimiter.recordResponse("test", 1, COMPONENT_CONNECTION, httpResponse);
+
+        assertTrue(inMemoryRateLimiter.tryAcquire("public:connection:1", 0, Duration.ZERO) > 0);
+
+        long startTime = System.currentTimeMillis();
+
+        httpClientRateLimiter.acquire("test", 1, COMPONENT_CONNECTION, API_URI);
+
+        assertTrue(System.currentTimeMillis() - startTime >= 500);
+    }
+
+    @Test
+    public void testRecordResponseClampsRetryAfter() throws InterruptedException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        applicationProperties.getComponent()
+            .getRateLimiter()
+            .setMaxRetryAfter(200);
+
+        HttpClientRateLimiter httpClientRateLimiter = new HttpClientRateLimiter(
+            applicationProperties, componentDefinitionRegistry, new InMemoryRateLimiter());
+
+        httpClientRateLimiter.recordResponse("test", 1, COMPONENT_CONNECTION, mockRetryAfterResponse("120"));
+
+        long startTime = System.currentTimeMillis();
+
+        httpClientRateLimiter.acquire("test", 1, COMPONENT_CONNECTION, API_URI);
+
+        long waitTime = System.currentTimeMillis() - startTime;
+
+        assertTrue(waitTime >= 100);
+        assertTrue(waitTime < 5000);
+    }
+
+    @Test
+    public void testRecordResponseScopesPauseByTenant() {
+        InMemoryRateLimiter inMemoryRateLimiter = new InMemoryRateLimiter();
+
+        HttpClientRateLimiter httpClientRateLimiter = new HttpClientRateLimiter(
+            new ApplicationProperties(), componentDefinitionRegistry, inMemoryRateLimiter);
+
+        TenantContext.setCurrentTenantId("tenant1");
+
+        try {
+            httpClientRateLimiter.recordResponse("test", 1, COMPONENT_CONNECTION, mockRetryAfterResponse("60"));
+        } finally {
+            TenantContext.resetCurrentTenantId();
+        }
+
+        assertTrue(inMemoryRateLimiter.tryAcquire("tenant1:connection:1", 0, Duration.ZERO) > 0);
+        assertEquals(0, inMemoryRateLimiter.tryAcquire("public:connection:1", 0, Duration.ZERO));
+    }
+
+    private static HttpResponse<?> mockRetryAfterResponse(String retryAfter) {
+        HttpResponse<?> httpResponse = Mockito.mock(HttpResponse.class);
+
+        Mockito.when(httpResponse.headers())
+            .thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of(retryAfter)), (name, value) -> true));
+        Mockito.when(httpResponse.statusCode())
+            .thenReturn(429);
+        Mockito.when(httpResponse.uri())
+            .thenReturn(API_URI);
+
+        return httpResponse;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.component.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class InMemoryRateLimiterTest {
+
+    @Test
+    public void testPause() {
+        InMemoryRateLimiter inMemoryRateLimiter = new InMemoryRateLimiter();
+
+        assertEquals(0, inMemoryRateLimiter.tryAcquire("key", 0, Duration.ZERO));
+
+        inMemoryRateLimiter.pause("key", Duration.ofSeconds(10));
+
+        assertTrue(inMemoryRateLimiter.tryAcquire("key", 0, Duration.ZERO) > 9000);
+        assertTrue(inMemoryRateLimiter.tryAcquire("key", 10, Duration.ofSeconds(1)) > 9000);
+        assertEquals(0, inMemoryRateLimiter.tryAcquire("otherKey", 10, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    public void testTryAcquire() throws InterruptedException {
+        InMemoryRateLimiter inMemoryRateLimiter = new InMemoryRateLimiter();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, inMemoryRateLimiter.tryAcquire("key", 5, Duration.ofSeconds(1)));
+        }
+
+        long waitTime = inMemoryRateLimiter.tryAcquire("key", 5, Duration.ofSeconds(1));
+
+        assertTrue(waitTime > 0 && waitTime <= 200, "waitTime: " + waitTime);
+
+        Thread.sleep(waitTime + 10);
+
+        assertEquals(0, inMemoryRateLimiter.tryAcquire("key", 5, Duration.ofSeconds(1)));
+    }
+}
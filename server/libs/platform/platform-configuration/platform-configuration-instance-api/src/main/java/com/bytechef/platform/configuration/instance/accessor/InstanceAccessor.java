@@ -16,6 +16,7 @@
 
 package com.bytechef.platform.configuration.instance.accessor;
 
+import com.bytechef.platform.constant.Environment;
 import com.bytechef.platform.constant.ModeType;
 import java.util.Map;
 
@@ -28,6 +29,8 @@ public interface InstanceAccessor {
 
     boolean isWorkflowEnabled(long instanceId, String workflowReferenceCode);
 
+    Environment getEnvironment(long instanceId);
+
     Map<String, ?> getInputMap(long instanceId, String workflowReferenceCode);
 
     ModeType getType();
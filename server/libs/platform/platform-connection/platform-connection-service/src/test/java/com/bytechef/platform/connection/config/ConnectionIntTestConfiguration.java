@@ -25,6 +25,7 @@ import com.bytechef.component.definition.ComponentDefinition;
 import com.bytechef.component.definition.ConnectionDefinition;
 import com.bytechef.component.definition.DataStreamDefinition;
 import com.bytechef.component.definition.Help;
+import com.bytechef.component.definition.RateLimit;
 import com.bytechef.component.definition.Resources;
 import com.bytechef.component.definition.TriggerDefinition;
 import com.bytechef.component.definition.UnifiedApiDefinition;
@@ -109,6 +110,11 @@ public class ConnectionIntTestConfiguration {
                 return "componentName";
             }
 
+            @Override
+            public Optional<RateLimit> getRateLimit() {
+                return Optional.empty();
+            }
+
             @Override
             public Optional<Resources> getResources() {
                 return Optional.empty();
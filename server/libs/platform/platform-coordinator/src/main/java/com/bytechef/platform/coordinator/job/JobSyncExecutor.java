@@ -58,6 +58,7 @@ import com.bytechef.message.broker.sync.SyncMessageBroker;
 import com.bytechef.message.event.MessageEvent;
 import com.bytechef.platform.tenant.TenantContext;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Executor;
@@ -236,6 +237,11 @@ public class JobSyncExecutor {
     private record JobServiceWrapper(JobFactoryFunction jobFactoryFunction)
         implements JobService {
 
+        @Override
+        public List<Long> getFinishedJobIds(LocalDateTime endDate, long lastJobId, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public Job getJob(long id) {
             throw new UnsupportedOperationException();
@@ -246,6 +252,11 @@ public class JobSyncExecutor {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public List<Long> getSubflowJobIds(long jobId) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public Job getTaskExecutionJob(long taskExecutionId) {
             throw new UnsupportedOperationException();
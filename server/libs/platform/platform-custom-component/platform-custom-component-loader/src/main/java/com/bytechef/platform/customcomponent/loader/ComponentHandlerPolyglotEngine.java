@@ -28,6 +28,7 @@ import com.bytechef.component.definition.Help;
 import com.bytechef.component.definition.OutputDefinition;
 import com.bytechef.component.definition.Parameters;
 import com.bytechef.component.definition.Property;
+import com.bytechef.component.definition.RateLimit;
 import com.bytechef.component.definition.Resources;
 import com.bytechef.component.definition.TriggerDefinition;
 import com.bytechef.component.definition.UnifiedApiDefinition;
@@ -241,6 +242,11 @@ class ComponentHandlerPolyglotEngine {
             return name;
         }
 
+        @Override
+        public Optional<RateLimit> getRateLimit() {
+            return Optional.empty();
+        }
+
         @Override
         public Optional<Resources> getResources() {
             return Optional.empty();
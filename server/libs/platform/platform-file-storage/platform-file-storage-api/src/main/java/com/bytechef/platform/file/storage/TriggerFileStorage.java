@@ -24,6 +24,8 @@ import org.springframework.lang.NonNull;
  */
 public interface TriggerFileStorage {
 
+    long deleteTriggerExecutionOutput(@NonNull FileEntry fileEntry);
+
     Object readTriggerExecutionOutput(@NonNull FileEntry fileEntry);
 
     FileEntry storeTriggerExecutionOutput(long triggerExecutionId, @NonNull Object output);
@@ -37,6 +37,15 @@ public class TriggerFileStorageImpl implements TriggerFileStorage {
         this.fileStorageService = fileStorageService;
     }
 
+    @Override
+    public long deleteTriggerExecutionOutput(@NonNull FileEntry fileEntry) {
+        long size = fileStorageService.getFileSize(TRIGGER_EXECUTION_FILES_DIR, fileEntry);
+
+        fileStorageService.deleteFile(TRIGGER_EXECUTION_FILES_DIR, fileEntry);
+
+        return size;
+    }
+
     @Override
     public Object readTriggerExecutionOutput(@NonNull FileEntry fileEntry) {
         return JsonUtils.read(
@@ -21,6 +21,7 @@ import com.bytechef.config.ApplicationProperties.FileStorage;
 import com.bytechef.config.ApplicationProperties.Workflow.OutputStorage;
 import com.bytechef.ee.file.storage.aws.AwsFileStorageService;
 import com.bytechef.file.storage.base64.service.Base64FileStorageService;
+import com.bytechef.file.storage.dedup.service.DedupFileStorageService;
 import com.bytechef.file.storage.filesystem.service.FilesystemFileStorageService;
 import com.bytechef.file.storage.service.FileStorageService;
 import com.bytechef.platform.file.storage.FilesFileStorage;
@@ -85,19 +86,31 @@ public class FileStorageConfiguration {
     }
 
     private FileStorageService getFilesFileStorageService(FileStorage.Provider provider) {
-        return switch (provider) {
+        FileStorageService fileStorageService = switch (provider) {
             case FileStorage.Provider.AWS -> awsFileStorageService;
             case FileStorage.Provider.FILESYSTEM -> new FilesystemFileStorageService(getBasedir());
             case FileStorage.Provider.JDBC -> new Base64FileStorageService();
         };
+
+        if (provider != FileStorage.Provider.JDBC && isDedupEnabled()) {
+            return new DedupFileStorageService(fileStorageService, getDedupGracePeriod());
+        }
+
+        return fileStorageService;
     }
 
     private FileStorageService getTriggerFileStorageService(OutputStorage.Provider provider) {
-        return switch (provider) {
+        FileStorageService fileStorageService = switch (provider) {
             case OutputStorage.Provider.AWS -> awsFileStorageService;
             case OutputStorage.Provider.FILESYSTEM -> new FilesystemFileStorageService(getBasedir());
             case OutputStorage.Provider.JDBC -> new Base64FileStorageService();
         };
+
+        if (provider != OutputStorage.Provider.JDBC && isDedupEnabled()) {
+            return new DedupFileStorageService(fileStorageService, getDedupGracePeriod());
+        }
+
+        return fileStorageService;
     }
 
     private String getBasedir() {
@@ -105,4 +118,16 @@ public class FileStorageConfiguration {
             .getFilesystem()
             .getBasedir();
     }
+
+    private long getDedupGracePeriod() {
+        return applicationProperties.getFileStorage()
+            .getDedup()
+            .getGracePeriod();
+    }
+
+    private boolean isDedupEnabled() {
+        return applicationProperties.getFileStorage()
+            .getDedup()
+            .isEnabled();
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.tenant.concurrent;
+
+import com.bytechef.platform.tenant.TenantContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs every task on a new virtual thread with the tenant of the submitting thread.
+ *
+ * @author agent
+ */
+public class TenantVirtualThreadTaskExecutor extends VirtualThreadTaskExecutor {
+
+    public TenantVirtualThreadTaskExecutor(String threadNamePrefix) {
+        super(threadNamePrefix);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        String tenantId = TenantContext.getCurrentTenantId();
+
+        super.execute(() -> {
+            TenantContext.setCurrentTenantId(tenantId);
+
+            task.run();
+        });
+    }
+}
@@ -41,6 +41,15 @@ public class TriggerExecutionCompleteEvent extends AbstractEvent implements Prio
         this.triggerExecution = triggerExecution;
     }
 
+    @Override
+    public TriggerExecutionCompleteEvent clone() throws CloneNotSupportedException {
+        TriggerExecutionCompleteEvent event = (TriggerExecutionCompleteEvent) super.clone();
+
+        event.triggerExecution = triggerExecution.clone();
+
+        return event;
+    }
+
     @SuppressFBWarnings("EI")
     public TriggerExecution getTriggerExecution() {
         return triggerExecution;
@@ -41,6 +41,15 @@ public class TriggerExecutionErrorEvent extends AbstractEvent implements ErrorEv
         this.triggerExecution = triggerExecution;
     }
 
+    @Override
+    public TriggerExecutionErrorEvent clone() throws CloneNotSupportedException {
+        TriggerExecutionErrorEvent event = (TriggerExecutionErrorEvent) super.clone();
+
+        event.triggerExecution = triggerExecution.clone();
+
+        return event;
+    }
+
     @Override
     public ExecutionError getError() {
         return triggerExecution.getError();
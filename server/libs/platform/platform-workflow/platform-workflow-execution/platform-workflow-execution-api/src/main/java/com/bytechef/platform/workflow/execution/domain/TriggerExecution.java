@@ -19,6 +19,7 @@ package com.bytechef.platform.workflow.execution.domain;
 import com.bytechef.atlas.execution.domain.Job;
 import com.bytechef.commons.util.CollectionUtils;
 import com.bytechef.commons.util.LocalDateTimeUtils;
+import com.bytechef.commons.util.MapUtils;
 import com.bytechef.error.Errorable;
 import com.bytechef.error.ExecutionError;
 import com.bytechef.evaluator.Evaluator;
@@ -179,7 +180,17 @@ public class TriggerExecution implements Cloneable, Errorable, Prioritizable, Re
 
     @Override
     public TriggerExecution clone() throws CloneNotSupportedException {
-        return (TriggerExecution) super.clone();
+        TriggerExecution triggerExecution = (TriggerExecution) super.clone();
+
+        triggerExecution.metadata = MapUtils.copy(metadata);
+
+        if (state instanceof Map<?, ?> stateMap) {
+            triggerExecution.state = MapUtils.copy(stateMap);
+        }
+
+        triggerExecution.triggerExecutionJobs = new HashSet<>(triggerExecutionJobs);
+
+        return triggerExecution;
     }
 
     @Override
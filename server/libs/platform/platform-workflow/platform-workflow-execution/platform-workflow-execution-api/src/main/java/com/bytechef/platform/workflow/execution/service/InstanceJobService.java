@@ -23,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 /**
  * @author Ivica Cardic
@@ -33,6 +34,8 @@ public interface InstanceJobService {
 
     void deleteInstanceJobs(long jobId, ModeType type);
 
+    Optional<InstanceJob> fetchJobInstanceJob(long jobId);
+
     Optional<Long> fetchLastJobId(long instanceId, ModeType type);
 
     Optional<Long> fetchJobInstanceId(long jobId, ModeType type);
@@ -44,4 +47,21 @@ public interface InstanceJobService {
     Page<Long> getJobIds(
         Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds,
         ModeType type, List<String> workflowIds, int pageNumber);
+
+    /**
+     * Returns a page of job ids like {@link #getJobIds(Status, LocalDateTime, LocalDateTime, List, ModeType, List,
+     * int)}, but with an approximate total which is capped and cached, so it stays cheap on large job tables.
+     */
+    Page<Long> getJobIdsWithApproximateCount(
+        Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds,
+        ModeType type, List<String> workflowIds, int pageNumber);
+
+    /**
+     * Returns the next slice of job ids in descending order, starting after {@code lastJobId}, the last job id of the
+     * previous slice, or with the latest job if it is {@code null}. Unlike {@link #getJobIds(Status, LocalDateTime,
+     * LocalDateTime, List, ModeType, List, int)} it neither counts matching jobs nor skips over previous pages.
+     */
+    Slice<Long> getJobIdsSlice(
+        Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds,
+        ModeType type, List<String> workflowIds, Long lastJobId);
 }
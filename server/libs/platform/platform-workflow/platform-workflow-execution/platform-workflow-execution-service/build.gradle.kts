@@ -1,9 +1,17 @@
 dependencies {
     api (project(":server:libs:platform:platform-workflow:platform-workflow-execution:platform-workflow-execution-api"))
 
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
     implementation("org.apache.commons:commons-lang3")
     implementation("org.springframework:spring-context")
+    implementation("org.springframework.boot:spring-boot-autoconfigure")
     implementation("org.springframework.data:spring-data-jdbc")
+    implementation(project(":server:libs:atlas:atlas-file-storage:atlas-file-storage-api"))
+    implementation(project(":server:libs:config:app-config"))
     implementation(project(":server:libs:core:commons:commons-util"))
+    implementation(project(":server:libs:platform:platform-configuration:platform-configuration-instance-api"))
+    implementation(project(":server:libs:platform:platform-file-storage:platform-file-storage-api"))
     implementation(project(":server:libs:platform:platform-scheduler:platform-scheduler-api"))
+    implementation(project(":server:libs:platform:platform-tenant:platform-tenant-api"))
 }
@@ -30,4 +30,21 @@ public interface CustomInstanceJobRepository {
     Page<Long> findAllJobIds(
         Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
         @NonNull List<String> workflowIds, Pageable pageable);
+
+    /**
+     * Returns a page of job ids like {@link #findAllJobIds(Integer, LocalDateTime, LocalDateTime, List, int, List,
+     * Pageable)}, but with a total counted only up to a fixed limit and cached for a short time, so the page count is
+     * approximate.
+     */
+    Page<Long> findAllJobIdsWithApproximateCount(
+        Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
+        @NonNull List<String> workflowIds, Pageable pageable);
+
+    /**
+     * Returns up to {@code limit} job ids lower than {@code lastJobId}, or the latest ones if {@code lastJobId} is
+     * {@code null}, in descending order.
+     */
+    List<Long> findAllJobIds(
+        Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
+        @NonNull List<String> workflowIds, Long lastJobId, int limit);
 }
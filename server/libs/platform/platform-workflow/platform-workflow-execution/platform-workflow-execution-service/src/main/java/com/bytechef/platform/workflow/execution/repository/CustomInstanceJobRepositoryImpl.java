@@ -17,9 +17,14 @@
 package com.bytechef.platform.workflow.execution.repository;
 
 import com.bytechef.commons.util.CollectionUtils;
+import com.bytechef.platform.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.springframework.data.domain.Page;
@@ -29,10 +34,22 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.lang.NonNull;
 
 /**
+ * Job id listings of instances. Offset pages report the exact total, unless the approximate count is asked for, which
+ * is counted up to {@link #COUNT_LIMIT} rows and cached per tenant and filter for {@link #COUNT_CACHE_TTL}. Keyset
+ * listings seek by the last job id of the previous slice and don't count at all, so they stay cheap on large
+ * {@code job} tables.
+ *
  * @author Ivica Cardic
  */
 public class CustomInstanceJobRepositoryImpl implements CustomInstanceJobRepository {
 
+    static final int COUNT_LIMIT = 10_000;
+    static final Duration COUNT_CACHE_TTL = Duration.ofSeconds(30);
+
+    private final Cache<CountKey, Long> countCache = Caffeine.newBuilder()
+        .expireAfterWrite(COUNT_CACHE_TTL)
+        .maximumSize(1000)
+        .build();
     private final JdbcTemplate jdbcTemplate;
 
     @SuppressFBWarnings("EI")
@@ -45,37 +62,70 @@ public class CustomInstanceJobRepositoryImpl implements CustomInstanceJobReposit
         Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
         @NonNull List<String> workflowIds, Pageable pageable) {
 
-        Page<Long> page;
-        Query query = buildQuery(status, startDate, endDate, instanceIds, type, workflowIds, pageable, true);
+        Query query = buildWhereQuery(status, startDate, endDate, instanceIds, type, workflowIds, null);
 
-        Long total = jdbcTemplate.queryForObject(query.query, Long.class, query.arguments);
+        Long total = jdbcTemplate.queryForObject(
+            "SELECT COUNT(instance_job.id) " + query.query, Long.class, query.arguments);
 
-        if (total == null || total == 0) {
-            page = Page.empty();
-        } else {
-            query = buildQuery(status, startDate, endDate, instanceIds, type, workflowIds, pageable, false);
+        return findPage(query, total == null ? 0 : total, pageable);
+    }
 
-            List<Long> jobs = jdbcTemplate.query(query.query, (rs, rowNum) -> rs.getLong("job_id"), query.arguments);
+    @Override
+    public Page<Long> findAllJobIdsWithApproximateCount(
+        Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
+        @NonNull List<String> workflowIds, Pageable pageable) {
 
-            page = new PageImpl<>(jobs, pageable, total);
-        }
+        Query query = buildWhereQuery(status, startDate, endDate, instanceIds, type, workflowIds, null);
 
-        return page;
+        return findPage(query, countApproximately(query), pageable);
     }
 
-    private Query buildQuery(
+    @Override
+    public List<Long> findAllJobIds(
         Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
-        List<String> workflowIds, Pageable pageable, boolean countQuery) {
+        @NonNull List<String> workflowIds, Long lastJobId, int limit) {
+
+        Query query = buildWhereQuery(status, startDate, endDate, instanceIds, type, workflowIds, lastJobId);
 
-        String query;
+        return jdbcTemplate.query(
+            "SELECT instance_job.job_id " + query.query + "ORDER BY instance_job.job_id DESC LIMIT %s".formatted(limit),
+            (rs, rowNum) -> rs.getLong("job_id"), query.arguments);
+    }
 
-        if (countQuery) {
-            query = "SELECT COUNT(instance_job.id) FROM instance_job ";
-        } else {
-            query = "SELECT instance_job.job_id FROM instance_job ";
+    private Page<Long> findPage(Query query, long total, Pageable pageable) {
+        if (total == 0) {
+            return Page.empty();
         }
 
-        query += "JOIN job ON instance_job.job_id = job.id WHERE type = ? ";
+        String selectQuery = "SELECT instance_job.job_id " + query.query + "ORDER BY instance_job.job_id DESC ";
+
+        if (pageable != null) {
+            selectQuery += "LIMIT %s OFFSET %s".formatted(pageable.getPageSize(), pageable.getOffset());
+        }
+
+        List<Long> jobs = jdbcTemplate.query(selectQuery, (rs, rowNum) -> rs.getLong("job_id"), query.arguments);
+
+        return new PageImpl<>(jobs, pageable == null ? Pageable.unpaged() : pageable, total);
+    }
+
+    private long countApproximately(Query query) {
+        return countCache.get(
+            new CountKey(TenantContext.getCurrentTenantId(), query.query, Arrays.asList(query.arguments)),
+            countKey -> {
+                Long count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM (SELECT instance_job.job_id %sLIMIT %s) limited_job".formatted(
+                        query.query, COUNT_LIMIT),
+                    Long.class, query.arguments);
+
+                return count == null ? Long.valueOf(0) : count;
+            });
+    }
+
+    private Query buildWhereQuery(
+        Integer status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, int type,
+        List<String> workflowIds, Long lastJobId) {
+
+        String query = "FROM instance_job JOIN job ON instance_job.job_id = job.id WHERE type = ? ";
 
         List<Object> arguments = new ArrayList<>();
 
@@ -111,17 +161,18 @@ public class CustomInstanceJobRepositoryImpl implements CustomInstanceJobReposit
             arguments.addAll(workflowIds);
         }
 
-        if (!countQuery) {
-            query += "ORDER BY job_id DESC ";
-        }
+        if (lastJobId != null) {
+            query += "AND instance_job.job_id < ? ";
 
-        if (!countQuery && pageable != null) {
-            query += "LIMIT %s OFFSET %s".formatted(pageable.getPageSize(), pageable.getOffset());
+            arguments.add(lastJobId);
         }
 
         return new Query(query, arguments.toArray());
     }
 
+    private record CountKey(String tenantId, String query, List<Object> arguments) {
+    }
+
     record Query(String query, Object[] arguments) {
     }
 }
@@ -34,6 +34,8 @@ public interface InstanceJobRepository extends ListCrudRepository<InstanceJob, L
 
     Optional<InstanceJob> findByJobIdAndType(Long jobId, int type);
 
+    Optional<InstanceJob> findTop1ByJobId(Long jobId);
+
     Optional<InstanceJob> findTop1ByInstanceIdAndTypeOrderByJobIdDesc(long instanceId, int type);
 
     @Query("SELECT job_id FROM instance_job where instance_id = :instanceId and type = :type")
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.workflow.execution.retention;
+
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.execution.domain.Job;
+import com.bytechef.atlas.execution.domain.TaskExecution;
+import com.bytechef.atlas.execution.facade.JobFacade;
+import com.bytechef.atlas.execution.service.ContextService;
+import com.bytechef.atlas.execution.service.CounterService;
+import com.bytechef.atlas.execution.service.JobService;
+import com.bytechef.atlas.execution.service.TaskExecutionService;
+import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.exception.FileStorageException;
+import com.bytechef.platform.configuration.instance.accessor.InstanceAccessor;
+import com.bytechef.platform.configuration.instance.accessor.InstanceAccessorRegistry;
+import com.bytechef.platform.constant.Environment;
+import com.bytechef.platform.constant.ModeType;
+import com.bytechef.platform.file.storage.TriggerFileStorage;
+import com.bytechef.platform.tenant.service.TenantService;
+import com.bytechef.platform.tenant.util.TenantUtils;
+import com.bytechef.platform.workflow.execution.domain.InstanceJob;
+import com.bytechef.platform.workflow.execution.domain.TriggerExecution;
+import com.bytechef.platform.workflow.execution.service.InstanceJobService;
+import com.bytechef.platform.workflow.execution.service.TriggerExecutionService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Metrics;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background purge of finished jobs older than their retention window. Jobs are selected oldest first in batches and
+ * each one is deleted in its own transaction together with its subflow jobs, task executions, contexts, counters,
+ * trigger execution and instance job, in the same order used when an instance is deleted. The stored outputs and
+ * context values are deleted once the transaction commits, so a failed delete never leaves rows pointing to missing
+ * files. A context value shared by several task executions, e.g. by parallel branches, is deleted only once.
+ *
+ * <p>
+ * The retention window of a job is the number of days configured for the environment of its instance, or the default
+ * number of days if the job has no instance or its environment has no override.
+ *
+ * @author agent
+ */
+@Component
+@ConditionalOnProperty(prefix = "bytechef", name = "workflow.retention.enabled", havingValue = "true")
+public class JobRetentionPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRetentionPurger.class);
+
+    private static final String BYTES_METRIC = "bytechef.workflow.retention.reclaimed.bytes";
+    private static final String ROWS_METRIC = "bytechef.workflow.retention.reclaimed.rows";
+
+    private final int batchSize;
+    private final ContextService contextService;
+    private final CounterService counterService;
+    private final int days;
+    private final Map<Environment, Integer> environmentDays;
+    private final InstanceAccessorRegistry instanceAccessorRegistry;
+    private final InstanceJobService instanceJobService;
+    private final JobFacade jobFacade;
+    private final JobService jobService;
+    private final TaskExecutionService taskExecutionService;
+    private final TaskFileStorage taskFileStorage;
+    private final TenantService tenantService;
+    private final TransactionTemplate transactionTemplate;
+    private final TriggerExecutionService triggerExecutionService;
+    private final TriggerFileStorage triggerFileStorage;
+
+    @SuppressFBWarnings("EI")
+    public JobRetentionPurger(
+        ApplicationProperties applicationProperties, ContextService contextService, CounterService counterService,
+        InstanceAccessorRegistry instanceAccessorRegistry, InstanceJobService instanceJobService, JobFacade jobFacade,
+        JobService jobService, TaskExecutionService taskExecutionService, TaskFileStorage taskFileStorage,
+        TenantService tenantService, PlatformTransactionManager transactionManager,
+        TriggerExecutionService triggerExecutionService, TriggerFileStorage triggerFileStorage) {
+
+        ApplicationProperties.Workflow workflow = applicationProperties.getWorkflow();
+
+        ApplicationProperties.Workflow.Retention retention = workflow.getRetention();
+
+        Validate.isTrue(retention.getBatchSize() > 0, "'batchSize' must be positive");
+        Validate.isTrue(retention.getDays() > 0, "'days' must be positive");
+
+        this.batchSize = retention.getBatchSize();
+        this.contextService = contextService;
+        this.counterService = counterService;
+        this.days = retention.getDays();
+        this.environmentDays = getEnvironmentDays(retention.getEnvironments());
+        this.instanceAccessorRegistry = instanceAccessorRegistry;
+        this.instanceJobService = instanceJobService;
+        this.jobFacade = jobFacade;
+        this.jobService = jobService;
+        this.taskExecutionService = taskExecutionService;
+        this.taskFileStorage = taskFileStorage;
+        this.tenantService = tenantService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.triggerExecutionService = triggerExecutionService;
+        this.triggerFileStorage = triggerFileStorage;
+    }
+
+    @Scheduled(cron = "${bytechef.workflow.retention.cron:0 0 3 * * *}")
+    public void purge() {
+        for (String tenantId : tenantService.getTenantIds()) {
+            TenantUtils.runWithTenantId(tenantId, () -> {
+                int count = purge(LocalDateTime.now());
+
+                if (count > 0 && logger.isInfoEnabled()) {
+                    logger.info("Purged {} jobs of tenant {}", count, tenantId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Purges the jobs of the current tenant that are expired at the given time and returns their number.
+     */
+    int purge(LocalDateTime now) {
+        int minDays = environmentDays.values()
+            .stream()
+            .reduce(days, Math::min);
+
+        LocalDateTime endDate = now.minusDays(minDays);
+        Map<String, Environment> instanceEnvironments = new HashMap<>();
+        long lastJobId = Long.MIN_VALUE;
+        int count = 0;
+        List<Long> jobIds;
+
+        do {
+            jobIds = jobService.getFinishedJobIds(endDate, lastJobId, batchSize);
+
+            for (long jobId : jobIds) {
+                try {
+                    if (isExpired(jobId, now, minDays, instanceEnvironments)) {
+                        purgeJob(jobId);
+
+                        count++;
+                    }
+                } catch (RuntimeException exception) {
+                    logger.warn("Unable to purge job id={}", jobId, exception);
+                }
+            }
+
+            if (!jobIds.isEmpty()) {
+                lastJobId = jobIds.getLast();
+            }
+        } while (jobIds.size() == batchSize);
+
+        return count;
+    }
+
+    private void deleteJobRows(long jobId, List<LongSupplier> fileDeletions, Set<FileEntry> contextFileEntries) {
+        for (long subflowJobId : jobService.getSubflowJobIds(jobId)) {
+            deleteJobRows(subflowJobId, fileDeletions, contextFileEntries);
+        }
+
+        Job job = jobService.getJob(jobId);
+
+        if (job.getOutputs() != null) {
+            FileEntry outputs = job.getOutputs();
+
+            fileDeletions.add(() -> taskFileStorage.deleteJobOutputs(outputs));
+        }
+
+        Optional<TriggerExecution> triggerExecutionOptional = triggerExecutionService.fetchJobTriggerExecution(jobId);
+
+        if (triggerExecutionOptional.isPresent()) {
+            TriggerExecution triggerExecution = triggerExecutionOptional.get();
+
+            if (triggerExecution.getOutput() != null) {
+                FileEntry output = triggerExecution.getOutput();
+
+                fileDeletions.add(() -> triggerFileStorage.deleteTriggerExecutionOutput(output));
+            }
+
+            triggerExecutionService.deleteJobTriggerExecution(jobId);
+
+            incrementRows("trigger_execution", 1);
+        }
+
+        Optional<InstanceJob> instanceJobOptional = instanceJobService.fetchJobInstanceJob(jobId);
+
+        if (instanceJobOptional.isPresent()) {
+            InstanceJob instanceJob = instanceJobOptional.get();
+
+            instanceJobService.deleteInstanceJobs(jobId, instanceJob.getType());
+
+            incrementRows("instance_job", 1);
+        }
+
+        List<TaskExecution> taskExecutions = taskExecutionService.getJobTaskExecutions(jobId);
+
+        for (TaskExecution taskExecution : taskExecutions) {
+            long taskExecutionId = Validate.notNull(taskExecution.getId(), "id");
+
+            if (taskExecution.getOutput() != null) {
+                FileEntry output = taskExecution.getOutput();
+
+                fileDeletions.add(() -> taskFileStorage.deleteTaskExecutionOutput(output));
+            }
+
+            deleteContexts(taskExecutionId, Context.Classname.TASK_EXECUTION, contextFileEntries);
+
+            counterService.delete(taskExecutionId);
+        }
+
+        deleteContexts(jobId, Context.Classname.JOB, contextFileEntries);
+
+        jobFacade.deleteJob(jobId);
+
+        incrementRows("task_execution", taskExecutions.size());
+        incrementRows("job", 1);
+    }
+
+    private void deleteContexts(long stackId, Context.Classname classname, Set<FileEntry> contextFileEntries) {
+        List<FileEntry> fileEntries = contextService.delete(stackId, classname);
+
+        contextFileEntries.addAll(fileEntries);
+
+        incrementRows("context", fileEntries.size());
+    }
+
+    private Environment getEnvironment(InstanceJob instanceJob, Map<String, Environment> instanceEnvironments) {
+        ModeType type = instanceJob.getType();
+
+        return instanceEnvironments.computeIfAbsent(
+            type + ":" + instanceJob.getInstanceId(), key -> {
+                InstanceAccessor instanceAccessor = instanceAccessorRegistry.getInstanceAccessor(type);
+
+                return instanceAccessor.getEnvironment(Validate.notNull(instanceJob.getInstanceId(), "instanceId"));
+            });
+    }
+
+    private boolean isExpired(
+        long jobId, LocalDateTime now, int minDays, Map<String, Environment> instanceEnvironments) {
+
+        if (environmentDays.isEmpty()) {
+            return true;
+        }
+
+        int jobDays = instanceJobService.fetchJobInstanceJob(jobId)
+            .map(instanceJob -> getEnvironment(instanceJob, instanceEnvironments))
+            .map(environment -> environmentDays.getOrDefault(environment, days))
+            .orElse(days);
+
+        if (jobDays == minDays) {
+            return true;
+        }
+
+        Job job = jobService.getJob(jobId);
+
+        LocalDateTime endDate = job.getEndDate() == null ? job.getCreatedDate() : job.getEndDate();
+
+        return endDate.isBefore(now.minusDays(jobDays));
+    }
+
+    private void purgeJob(long jobId) {
+        Set<FileEntry> contextFileEntries = new LinkedHashSet<>();
+        List<LongSupplier> fileDeletions = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(
+            status -> deleteJobRows(jobId, fileDeletions, contextFileEntries));
+
+        for (FileEntry contextFileEntry : contextFileEntries) {
+            fileDeletions.add(() -> taskFileStorage.deleteContextValue(contextFileEntry));
+        }
+
+        long bytes = 0;
+
+        for (LongSupplier fileDeletion : fileDeletions) {
+            try {
+                bytes += fileDeletion.getAsLong();
+            } catch (FileStorageException exception) {
+                logger.warn("Unable to delete a stored value of job id={}", jobId, exception);
+            }
+        }
+
+        Metrics.counter(BYTES_METRIC)
+            .increment(bytes);
+    }
+
+    private static Map<Environment, Integer> getEnvironmentDays(Map<String, Integer> environments) {
+        Map<Environment, Integer> environmentDays = new EnumMap<>(Environment.class);
+
+        for (Map.Entry<String, Integer> entry : environments.entrySet()) {
+            String environmentName = entry.getKey();
+
+            Validate.isTrue(entry.getValue() > 0, "'days' of environment %s must be positive", environmentName);
+
+            environmentDays.put(Environment.valueOf(environmentName.toUpperCase(Locale.ROOT)), entry.getValue());
+        }
+
+        return environmentDays;
+    }
+
+    private static void incrementRows(String table, int count) {
+        if (count > 0) {
+            Metrics.counter(ROWS_METRIC, "table", table)
+                .increment(count);
+        }
+    }
+}
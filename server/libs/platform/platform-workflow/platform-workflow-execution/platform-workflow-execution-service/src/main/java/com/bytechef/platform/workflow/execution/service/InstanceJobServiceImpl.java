@@ -27,6 +27,8 @@ import java.util.Optional;
 import org.apache.commons.lang3.Validate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -55,6 +57,11 @@ public class InstanceJobServiceImpl implements InstanceJobService {
             .ifPresent(instanceJob -> instanceJobRepository.deleteById(Validate.notNull(instanceJob.getId(), "id")));
     }
 
+    @Override
+    public Optional<InstanceJob> fetchJobInstanceJob(long jobId) {
+        return instanceJobRepository.findTop1ByJobId(jobId);
+    }
+
     @Override
     public Optional<Long> fetchLastJobId(long instanceId, ModeType type) {
         return instanceJobRepository
@@ -91,4 +98,32 @@ public class InstanceJobServiceImpl implements InstanceJobService {
             status == null ? null : status.ordinal(), startDate, endDate, instanceIds, type.ordinal(), workflowIds,
             pageRequest);
     }
+
+    @Override
+    public Page<Long> getJobIdsWithApproximateCount(
+        Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, ModeType type,
+        List<String> workflowIds, int pageNumber) {
+
+        PageRequest pageRequest = PageRequest.of(pageNumber, InstanceJobRepository.DEFAULT_PAGE_SIZE);
+
+        return instanceJobRepository.findAllJobIdsWithApproximateCount(
+            status == null ? null : status.ordinal(), startDate, endDate, instanceIds, type.ordinal(), workflowIds,
+            pageRequest);
+    }
+
+    @Override
+    public Slice<Long> getJobIdsSlice(
+        Status status, LocalDateTime startDate, LocalDateTime endDate, List<Long> instanceIds, ModeType type,
+        List<String> workflowIds, Long lastJobId) {
+
+        List<Long> jobIds = instanceJobRepository.findAllJobIds(
+            status == null ? null : status.ordinal(), startDate, endDate, instanceIds, type.ordinal(), workflowIds,
+            lastJobId, InstanceJobRepository.DEFAULT_PAGE_SIZE + 1);
+
+        boolean hasNext = jobIds.size() > InstanceJobRepository.DEFAULT_PAGE_SIZE;
+
+        return new SliceImpl<>(
+            hasNext ? jobIds.subList(0, InstanceJobRepository.DEFAULT_PAGE_SIZE) : jobIds,
+            PageRequest.ofSize(InstanceJobRepository.DEFAULT_PAGE_SIZE), hasNext);
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.workflow.execution.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bytechef.platform.tenant.TenantContext;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * @author agent
+ */
+@SuppressWarnings("unchecked")
+public class CustomInstanceJobRepositoryImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CustomInstanceJobRepositoryImpl customInstanceJobRepository = new CustomInstanceJobRepositoryImpl(
+        jdbcTemplate);
+
+    @AfterEach
+    public void afterEach() {
+        TenantContext.resetCurrentTenantId();
+    }
+
+    @Test
+    public void testFindAllJobIdsCountsExactly() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class)))
+            .thenReturn(42L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(3L, 2L, 1L));
+
+        Page<Long> page = customInstanceJobRepository.findAllJobIds(
+            1, null, null, List.of(1L), 0, List.of("workflow"), PageRequest.of(0, 3));
+
+        customInstanceJobRepository.findAllJobIds(
+            1, null, null, List.of(1L), 0, List.of("workflow"), PageRequest.of(1, 3));
+
+        Assertions.assertThat(page.getContent())
+            .containsExactly(3L, 2L, 1L);
+        Assertions.assertThat(page.getTotalElements())
+            .isEqualTo(42);
+
+        ArgumentCaptor<String> queryArgumentCaptor = ArgumentCaptor.forClass(String.class);
+
+        verify(jdbcTemplate, times(2))
+            .queryForObject(queryArgumentCaptor.capture(), eq(Long.class), any(Object[].class));
+
+        Assertions.assertThat(queryArgumentCaptor.getValue())
+            .startsWith("SELECT COUNT(instance_job.id) FROM instance_job ")
+            .doesNotContain("LIMIT");
+    }
+
+    @Test
+    public void testFindAllJobIdsWithApproximateCountCachesCount() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class)))
+            .thenReturn(42L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(3L, 2L, 1L));
+
+        Page<Long> page = customInstanceJobRepository.findAllJobIdsWithApproximateCount(
+            1, null, null, List.of(1L), 0, List.of("workflow"), PageRequest.of(0, 3));
+
+        customInstanceJobRepository.findAllJobIdsWithApproximateCount(
+            1, null, null, List.of(1L), 0, List.of("workflow"), PageRequest.of(1, 3));
+
+        Assertions.assertThat(page.getContent())
+            .containsExactly(3L, 2L, 1L);
+        Assertions.assertThat(page.getTotalElements())
+            .isEqualTo(42);
+
+        ArgumentCaptor<String> queryArgumentCaptor = ArgumentCaptor.forClass(String.class);
+
+        verify(jdbcTemplate, times(1))
+            .queryForObject(queryArgumentCaptor.capture(), eq(Long.class), any(Object[].class));
+
+        Assertions.assertThat(queryArgumentCaptor.getValue())
+            .contains("LIMIT " + CustomInstanceJobRepositoryImpl.COUNT_LIMIT);
+
+        // the count is cached per tenant
+
+        TenantContext.setCurrentTenantId("tenant");
+
+        customInstanceJobRepository.findAllJobIdsWithApproximateCount(
+            1, null, null, List.of(1L), 0, List.of("workflow"), PageRequest.of(0, 3));
+
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    public void testFindAllJobIdsAfterLastJobId() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(9L, 8L));
+
+        List<Long> jobIds = customInstanceJobRepository.findAllJobIds(
+            null, null, null, List.of(1L), 0, List.of(), 10L, 21);
+
+        Assertions.assertThat(jobIds)
+            .containsExactly(9L, 8L);
+
+        ArgumentCaptor<String> queryArgumentCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> argumentsArgumentCaptor = ArgumentCaptor.forClass(Object[].class);
+
+        verify(jdbcTemplate).query(
+            queryArgumentCaptor.capture(), any(RowMapper.class), argumentsArgumentCaptor.capture());
+
+        Assertions.assertThat(queryArgumentCaptor.getValue())
+            .contains("AND instance_job.job_id < ? ")
+            .endsWith("ORDER BY instance_job.job_id DESC LIMIT 21")
+            .doesNotContain("OFFSET");
+        Assertions.assertThat(argumentsArgumentCaptor.getValue())
+            .containsExactly(0, 10L);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023-present ByteChef Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bytechef.platform.workflow.execution.retention;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bytechef.atlas.execution.domain.Context;
+import com.bytechef.atlas.execution.domain.Job;
+import com.bytechef.atlas.execution.domain.TaskExecution;
+import com.bytechef.atlas.execution.facade.JobFacade;
+import com.bytechef.atlas.execution.service.ContextService;
+import com.bytechef.atlas.execution.service.CounterService;
+import com.bytechef.atlas.execution.service.JobService;
+import com.bytechef.atlas.execution.service.TaskExecutionService;
+import com.bytechef.atlas.file.storage.TaskFileStorage;
+import com.bytechef.config.ApplicationProperties;
+import com.bytechef.file.storage.domain.FileEntry;
+import com.bytechef.file.storage.exception.FileStorageException;
+import com.bytechef.platform.configuration.instance.accessor.InstanceAccessor;
+import com.bytechef.platform.configuration.instance.accessor.InstanceAccessorRegistry;
+import com.bytechef.platform.constant.Environment;
+import com.bytechef.platform.constant.ModeType;
+import com.bytechef.platform.file.storage.TriggerFileStorage;
+import com.bytechef.platform.tenant.service.TenantService;
+import com.bytechef.platform.workflow.execution.domain.InstanceJob;
+import com.bytechef.platform.workflow.execution.service.InstanceJobService;
+import com.bytechef.platform.workflow.execution.service.TriggerExecutionService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * @author agent
+ */
+public class JobRetentionPurgerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 11, 20, 3, 0);
+
+    private final ContextService contextService = mock(ContextService.class);
+    private final CounterService counterService = mock(CounterService.class);
+    private final InstanceAccessor instanceAccessor = mock(InstanceAccessor.class);
+    private final InstanceJobService instanceJobService = mock(InstanceJobService.class);
+    private final JobFacade jobFacade = mock(JobFacade.class);
+    private final JobService jobService = mock(JobService.class);
+    private final TaskExecutionService taskExecutionService = mock(TaskExecutionService.class);
+    private final TaskFileStorage taskFileStorage = mock(TaskFileStorage.class);
+    private final TriggerExecutionService triggerExecutionService = mock(TriggerExecutionService.class);
+
+    @Test
+    public void testPurge() {
+        FileEntry contextFileEntry = new FileEntry("context.json", "file:context.json");
+        FileEntry jobOutputsFileEntry = new FileEntry("job.json", "file:job.json");
+        FileEntry taskExecutionOutputFileEntry = new FileEntry("task_execution.json", "file:task_execution.json");
+
+        when(jobService.getFinishedJobIds(eq(NOW.minusDays(30)), eq(Long.MIN_VALUE), eq(2)))
+            .thenReturn(List.of(1L));
+        when(jobService.getSubflowJobIds(1L))
+            .thenReturn(List.of(2L));
+        when(jobService.getJob(1L))
+            .thenReturn(getJob(1L, jobOutputsFileEntry));
+        when(jobService.getJob(2L))
+            .thenReturn(getJob(2L, null));
+        when(taskExecutionService.getJobTaskExecutions(1L))
+            .thenReturn(List.of(getTaskExecution(10L, taskExecutionOutputFileEntry)));
+        when(contextService.delete(10L, Context.Classname.TASK_EXECUTION))
+            .thenReturn(List.of(contextFileEntry));
+        when(contextService.delete(1L, Context.Classname.JOB))
+            .thenReturn(List.of());
+        when(contextService.delete(2L, Context.Classname.JOB))
+            .thenReturn(List.of());
+        when(instanceJobService.fetchJobInstanceJob(anyLong()))
+            .thenReturn(Optional.empty());
+        when(triggerExecutionService.fetchJobTriggerExecution(anyLong()))
+            .thenReturn(Optional.empty());
+        when(taskFileStorage.deleteContextValue(contextFileEntry))
+            .thenThrow(new FileStorageException("File context.json cannot be deleted"));
+
+        JobRetentionPurger jobRetentionPurger = getJobRetentionPurger(Map.of());
+
+        Assertions.assertThat(jobRetentionPurger.purge(NOW))
+            .isEqualTo(1);
+
+        InOrder inOrder = inOrder(jobFacade, taskFileStorage);
+
+        inOrder.verify(jobFacade)
+            .deleteJob(2L);
+        inOrder.verify(jobFacade)
+            .deleteJob(1L);
+        inOrder.verify(taskFileStorage)
+            .deleteJobOutputs(jobOutputsFileEntry);
+
+        verify(counterService).delete(10L);
+        verify(taskFileStorage).deleteContextValue(contextFileEntry);
+        verify(taskFileStorage).deleteTaskExecutionOutput(taskExecutionOutputFileEntry);
+    }
+
+    @Test
+    public void testPurgeDeletesSharedContextValueOnce() {
+        FileEntry contextFileEntry = new FileEntry("context.json", "file:context.json");
+
+        when(jobService.getFinishedJobIds(eq(NOW.minusDays(30)), eq(Long.MIN_VALUE), eq(2)))
+            .thenReturn(List.of(1L));
+        when(jobService.getJob(1L))
+            .thenReturn(getJob(1L, null));
+        when(taskExecutionService.getJobTaskExecutions(1L))
+            .thenReturn(List.of(getTaskExecution(10L, null), getTaskExecution(11L, null)));
+        when(contextService.delete(anyLong(), any()))
+            .thenReturn(List.of(contextFileEntry));
+        when(instanceJobService.fetchJobInstanceJob(anyLong()))
+            .thenReturn(Optional.empty());
+        when(triggerExecutionService.fetchJobTriggerExecution(anyLong()))
+            .thenReturn(Optional.empty());
+
+        JobRetentionPurger jobRetentionPurger = getJobRetentionPurger(Map.of());
+
+        Assertions.assertThat(jobRetentionPurger.purge(NOW))
+            .isEqualTo(1);
+
+        verify(contextService).delete(10L, Context.Classname.TASK_EXECUTION);
+        verify(contextService).delete(11L, Context.Classname.TASK_EXECUTION);
+        verify(contextService).delete(1L, Context.Classname.JOB);
+        verify(taskFileStorage, times(1)).deleteContextValue(contextFileEntry);
+    }
+
+    @Test
+    public void testPurgeKeepsJobsWithinEnvironmentRetention() {
+        when(jobService.getFinishedJobIds(eq(NOW.minusDays(7)), eq(Long.MIN_VALUE), eq(2)))
+            .thenReturn(List.of(1L, 2L));
+        when(jobService.getFinishedJobIds(eq(NOW.minusDays(7)), eq(2L), eq(2)))
+            .thenReturn(List.of(3L));
+        when(jobService.getJob(anyLong()))
+            .thenAnswer(invocation -> getJob(invocation.getArgument(0), null));
+        when(instanceJobService.fetchJobInstanceJob(1L))
+            .thenReturn(Optional.of(new InstanceJob(100L, 1L, ModeType.AUTOMATION)));
+        when(instanceJobService.fetchJobInstanceJob(2L))
+            .thenReturn(Optional.of(new InstanceJob(200L, 2L, ModeType.AUTOMATION)));
+        when(instanceJobService.fetchJobInstanceJob(3L))
+            .thenReturn(Optional.empty());
+        when(instanceAccessor.getEnvironment(100L))
+            .thenReturn(Environment.PRODUCTION);
+        when(instanceAccessor.getEnvironment(200L))
+            .thenReturn(Environment.TEST);
+        when(contextService.delete(anyLong(), any()))
+            .thenReturn(List.of());
+        when(triggerExecutionService.fetchJobTriggerExecution(anyLong()))
+            .thenReturn(Optional.empty());
+
+        JobRetentionPurger jobRetentionPurger = getJobRetentionPurger(Map.of("production", 90, "test", 7));
+
+        Assertions.assertThat(jobRetentionPurger.purge(NOW))
+            .isEqualTo(2);
+
+        verify(jobFacade, never()).deleteJob(1L);
+        verify(jobFacade).deleteJob(2L);
+        verify(jobFacade).deleteJob(3L);
+        verify(instanceJobService).deleteInstanceJobs(2L, ModeType.AUTOMATION);
+        verify(instanceJobService, never()).deleteInstanceJobs(eq(1L), any());
+        verify(jobService).getFinishedJobIds(any(), eq(2L), anyInt());
+    }
+
+    private JobRetentionPurger getJobRetentionPurger(Map<String, Integer> environments) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        ApplicationProperties.Workflow workflow = applicationProperties.getWorkflow();
+
+        ApplicationProperties.Workflow.Retention retention = workflow.getRetention();
+
+        retention.setBatchSize(2);
+        retention.setEnvironments(environments);
+
+        when(instanceAccessor.getType())
+            .thenReturn(ModeType.AUTOMATION);
+
+        return new JobRetentionPurger(
+            applicationProperties, contextService, counterService,
+            new InstanceAccessorRegistry(List.of(instanceAccessor)), instanceJobService, jobFacade, jobService,
+            taskExecutionService, taskFileStorage, mock(TenantService.class), mock(PlatformTransactionManager.class),
+            triggerExecutionService, mock(TriggerFileStorage.class));
+    }
+
+    private static Job getJob(long id, FileEntry outputs) {
+        Job job = new Job();
+
+        job.setEndDate(NOW.minusDays(40));
+        job.setId(id);
+        job.setOutputs(outputs);
+
+        return job;
+    }
+
+    private static TaskExecution getTaskExecution(long id, FileEntry output) {
+        TaskExecution taskExecution = new TaskExecution();
+
+        taskExecution.setId(id);
+        taskExecution.setOutput(output);
+
+        return taskExecution;
+    }
+}
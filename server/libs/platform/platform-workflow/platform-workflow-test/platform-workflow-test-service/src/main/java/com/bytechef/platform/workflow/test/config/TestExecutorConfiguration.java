@@ -19,6 +19,7 @@ package com.bytechef.platform.workflow.test.config;
 import com.bytechef.atlas.configuration.service.WorkflowService;
 import com.bytechef.atlas.coordinator.task.completion.TaskCompletionHandlerFactory;
 import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherResolverFactory;
+import com.bytechef.atlas.coordinator.task.dispatcher.TaskDispatcherWindowMetrics;
 import com.bytechef.atlas.execution.repository.memory.InMemoryContextRepository;
 import com.bytechef.atlas.execution.repository.memory.InMemoryCounterRepository;
 import com.bytechef.atlas.execution.repository.memory.InMemoryJobRepository;
@@ -62,6 +63,7 @@ import com.bytechef.task.dispatcher.map.completion.MapTaskCompletionHandler;
 import com.bytechef.task.dispatcher.parallel.ParallelTaskDispatcher;
 import com.bytechef.task.dispatcher.parallel.completion.ParallelTaskCompletionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -73,6 +75,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class TestExecutorConfiguration {
 
+    // job runs of the synchronous executor are short-lived, their windows are not exported as gauges
+    private final TaskDispatcherWindowMetrics eachTaskDispatcherWindowMetrics = new TaskDispatcherWindowMetrics(
+        "each", new SimpleMeterRegistry());
+    private final TaskDispatcherWindowMetrics mapTaskDispatcherWindowMetrics = new TaskDispatcherWindowMetrics(
+        "map", new SimpleMeterRegistry());
+
     @Bean
     JobTestExecutor jobTestExecutor(
         ComponentDefinitionService componentDefinitionService, ObjectMapper objectMapper,
@@ -116,14 +124,16 @@ public class TestExecutorConfiguration {
             (taskCompletionHandler, taskDispatcher) -> new ConditionTaskCompletionHandler(
                 contextService, taskCompletionHandler, taskDispatcher, taskExecutionService, taskFileStorage),
             (taskCompletionHandler, taskDispatcher) -> new EachTaskCompletionHandler(
-                counterService, taskCompletionHandler, taskExecutionService),
+                contextService, counterService, taskCompletionHandler, taskDispatcher, taskExecutionService,
+                taskFileStorage, eachTaskDispatcherWindowMetrics),
             (taskCompletionHandler, taskDispatcher) -> new ForkJoinTaskCompletionHandler(
                 taskExecutionService, taskCompletionHandler, counterService, taskDispatcher, contextService,
                 taskFileStorage),
             (taskCompletionHandler, taskDispatcher) -> new LoopTaskCompletionHandler(
                 contextService, taskCompletionHandler, taskDispatcher, taskExecutionService, taskFileStorage),
-            (taskCompletionHandler, taskDispatcher) -> new MapTaskCompletionHandler(taskExecutionService,
-                taskCompletionHandler, counterService, taskFileStorage),
+            (taskCompletionHandler, taskDispatcher) -> new MapTaskCompletionHandler(
+                contextService, taskExecutionService, taskCompletionHandler, counterService, taskDispatcher,
+                taskFileStorage, mapTaskDispatcherWindowMetrics),
             (taskCompletionHandler, taskDispatcher) -> new ParallelTaskCompletionHandler(counterService,
                 taskCompletionHandler, taskExecutionService));
     }
@@ -157,7 +167,7 @@ public class TestExecutorConfiguration {
                 eventPublisher, contextService, taskDispatcher, taskExecutionService, taskFileStorage),
             (taskDispatcher) -> new EachTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage),
+                taskFileStorage, eachTaskDispatcherWindowMetrics),
             (taskDispatcher) -> new ForkJoinTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
                 taskFileStorage),
@@ -166,9 +176,8 @@ public class TestExecutorConfiguration {
                 eventPublisher, contextService, taskDispatcher, taskExecutionService, taskFileStorage),
             (taskDispatcher) -> new MapTaskDispatcher(
                 eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage),
+                taskFileStorage, mapTaskDispatcherWindowMetrics),
             (taskDispatcher) -> new ParallelTaskDispatcher(
-                eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService,
-                taskFileStorage));
+                eventPublisher, contextService, counterService, taskDispatcher, taskExecutionService));
     }
 }
@@ -26,7 +26,7 @@ import java.util.Map;
 /**
  * @author Ivica Cardic
  */
-public abstract class AbstractEvent implements MessageEvent<TriggerWorkerMessageRoute> {
+public abstract class AbstractEvent implements Cloneable, MessageEvent<TriggerWorkerMessageRoute> {
 
     protected LocalDateTime createDate;
     protected Map<String, Object> metadata = new HashMap<>();
@@ -35,6 +35,15 @@ public abstract class AbstractEvent implements MessageEvent<TriggerWorkerMessage
         this.createDate = LocalDateTime.now();
     }
 
+    @Override
+    public AbstractEvent clone() throws CloneNotSupportedException {
+        AbstractEvent event = (AbstractEvent) super.clone();
+
+        event.metadata = new HashMap<>(metadata);
+
+        return event;
+    }
+
     @Override
     public LocalDateTime getCreateDate() {
         return createDate;
@@ -43,6 +43,15 @@ public class TriggerExecutionEvent extends AbstractEvent
         this.triggerExecution = triggerExecution;
     }
 
+    @Override
+    public TriggerExecutionEvent clone() throws CloneNotSupportedException {
+        TriggerExecutionEvent event = (TriggerExecutionEvent) super.clone();
+
+        event.triggerExecution = triggerExecution.clone();
+
+        return event;
+    }
+
     @SuppressFBWarnings("EI")
     public TriggerExecution getTriggerExecution() {
         return triggerExecution;
@@ -51,6 +51,7 @@ include("server:libs:atlas:atlas-execution:atlas-execution-config")
 include("server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-api")
 include("server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-jdbc")
 include("server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-memory")
+include("server:libs:atlas:atlas-execution:atlas-execution-repository:atlas-execution-repository-redis")
 include("server:libs:atlas:atlas-execution:atlas-execution-service")
 include("server:libs:atlas:atlas-file-storage:atlas-file-storage-api")
 include("server:libs:atlas:atlas-file-storage:atlas-file-storage-impl")
@@ -102,6 +103,7 @@ include("server:libs:core:encryption:encryption-property")
 include("server:libs:core:evaluator")
 include("server:libs:core:file-storage:file-storage-api")
 include("server:libs:core:file-storage:file-storage-base64-service")
+include("server:libs:core:file-storage:file-storage-dedup-service")
 include("server:libs:core:file-storage:file-storage-filesystem-service")
 include("server:libs:core:class-loader:class-loader-api")
 include("server:libs:core:message:message-api")
@@ -109,6 +111,7 @@ include("server:libs:core:message:message-broker:message-broker-amqp")
 include("server:libs:core:message:message-broker:message-broker-api")
 include("server:libs:core:message:message-broker:message-broker-jms")
 include("server:libs:core:message:message-broker:message-broker-kafka")
+include("server:libs:core:message:message-broker:message-broker-memory")
 include("server:libs:core:message:message-broker:message-broker-redis")
 include("server:libs:core:message:message-broker:message-broker-sync")
 include("server:libs:core:message:message-event:message-event-api")
@@ -146,6 +149,7 @@ include("server:libs:platform:platform-category:platform-category-api")
 include("server:libs:platform:platform-category:platform-category-rest:platform-category-rest-api")
 include("server:libs:platform:platform-category:platform-category-service")
 include("server:libs:platform:platform-component:platform-component-api")
+include("server:libs:platform:platform-component:platform-component-rate-limiter-redis")
 include("server:libs:platform:platform-component:platform-component-service")
 include("server:libs:platform:platform-component:platform-component-rest")
 include("server:libs:platform:platform-component:platform-component-test-int-support")